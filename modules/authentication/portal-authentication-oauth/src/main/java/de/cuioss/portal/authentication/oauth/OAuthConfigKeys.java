@@ -62,6 +62,11 @@ public class OAuthConfigKeys {
      */
     private static final String OPEN_ID_CLIENT_LOGOUT_BASE = OPEN_ID_CLIENT_BASE + "logout.";
 
+    /**
+     * Base configuration namespace for the proactive token renewal.
+     */
+    private static final String OPEN_ID_CLIENT_TOKEN_RENEWAL_BASE = OPEN_ID_CLIENT_BASE + "token_renewal.";
+
     /**
      * Configuration key for the external hostname of the authentication service provider.
      * This hostname is used to calculate the complete redirect URI for the web browser
@@ -193,4 +198,43 @@ public class OAuthConfigKeys {
      * Ensure that the final config is valid, i.e., required attributes are present.
      */
     public static final String CONFIG_VALIDATION_ENABLED = OPEN_ID_BASE + "validation.enabled";
+
+    /**
+     * {@value #OPEN_ID_CLIENT_TOKEN_RENEWAL_ENABLED}
+     * <p>
+     * Enables the proactive renewal of access tokens of logged-in users. If
+     * enabled, tokens with a refresh token are renewed in the background
+     * shortly before they expire, instead of lazily on the first request
+     * after expiry. Defaults to 'false'.
+     * </p>
+     */
+    public static final String OPEN_ID_CLIENT_TOKEN_RENEWAL_ENABLED = OPEN_ID_CLIENT_TOKEN_RENEWAL_BASE + "enabled";
+
+    /**
+     * {@value #OPEN_ID_CLIENT_TOKEN_RENEWAL_LEAD_TIME}
+     * <p>
+     * Number of seconds before the expiry of an access token its renewal is
+     * triggered. Defaults to '30'.
+     * </p>
+     */
+    public static final String OPEN_ID_CLIENT_TOKEN_RENEWAL_LEAD_TIME = OPEN_ID_CLIENT_TOKEN_RENEWAL_BASE
+            + "lead_time";
+
+    /**
+     * {@value #OPEN_ID_CLIENT_TOKEN_RENEWAL_THREADS}
+     * <p>
+     * Number of threads renewing tokens. Defaults to '2'.
+     * </p>
+     */
+    public static final String OPEN_ID_CLIENT_TOKEN_RENEWAL_THREADS = OPEN_ID_CLIENT_TOKEN_RENEWAL_BASE + "threads";
+
+    /**
+     * {@value #OPEN_ID_CLIENT_TOKEN_RENEWAL_MAX_SESSIONS}
+     * <p>
+     * Maximum number of sessions tracked for renewal. Tokens of further
+     * sessions are renewed lazily. Defaults to '10000'.
+     * </p>
+     */
+    public static final String OPEN_ID_CLIENT_TOKEN_RENEWAL_MAX_SESSIONS = OPEN_ID_CLIENT_TOKEN_RENEWAL_BASE
+            + "max_sessions";
 }
@@ -238,6 +238,16 @@ public class PortalAuthenticationOauthLogMessages {
                 .prefix(PREFIX)
                 .identifier(114)
                 .build();
+
+        /**
+         * Logged when the proactive renewal of an access token fails.
+         * Format: "Proactive renewal of access token failed, token will be renewed on demand"
+         */
+        public static final LogRecord TOKEN_RENEWAL_FAILED = LogRecordModel.builder()
+                .template("Proactive renewal of access token failed, token will be renewed on demand")
+                .prefix(PREFIX)
+                .identifier(115)
+                .build();
     }
 
     @UtilityClass
@@ -82,6 +82,14 @@ public class Token implements Serializable {
      */
     private String expires_in;
 
+    /**
+     * Time in seconds until the refresh token expires.
+     * Not part of RFC 6749 but provided by several servers, e.g. Keycloak.
+     * If not present the refresh token is considered valid until the server
+     * rejects it.
+     */
+    private String refresh_expires_in;
+
     /**
      * The state parameter used for CSRF protection.
      * Must match the state sent in the authorization request
@@ -0,0 +1,107 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.authentication.oauth.impl;
+
+import de.cuioss.portal.authentication.oauth.Oauth2Configuration;
+
+import java.util.Objects;
+import java.util.function.UnaryOperator;
+
+/**
+ * Precomputed authorize URL of the OAuth2 authorization code flow.
+ *
+ * <p>The static parts, i.e. authorize endpoint, {@code response_type},
+ * {@code client_id}, {@code code_challenge_method} and the encoded
+ * {@code redirect_uri}, are assembled once per {@link Oauth2Configuration}
+ * snapshot. Creating a concrete URL only appends the per-request values into
+ * a presized {@link StringBuilder}.
+ *
+ * <p>The resulting URL equals the one formerly created by
+ * {@link de.cuioss.tools.net.UrlParameter#createParameterString(boolean, de.cuioss.tools.net.UrlParameter...)},
+ * including the order of the parameters.
+ *
+ * <p>Instances are immutable and therefore thread-safe.
+ */
+final class AuthorizeUrlTemplate {
+
+    private final String authorizeUri;
+    private final String clientId;
+    private final String externalContextPath;
+    private final String redirectPath;
+
+    private final String prefix;
+    private final String clientIdSegment;
+    private final String redirectSegment;
+
+    /**
+     * @param configuration    the configuration snapshot, must not be null
+     * @param redirectPath     the not yet encoded path to be redirected to after login,
+     *                         relative to the external context path
+     * @param redirectEncoder  computing the encoded, absolute redirect URL from the given path,
+     *                         usually {@link de.cuioss.portal.authentication.oauth.Oauth2Service#calcEncodedRedirectUrl(String)}
+     */
+    AuthorizeUrlTemplate(final Oauth2Configuration configuration, final String redirectPath,
+                         final UnaryOperator<String> redirectEncoder) {
+        authorizeUri = configuration.getAuthorizeUri();
+        clientId = configuration.getClientId();
+        externalContextPath = configuration.getExternalContextPath();
+        this.redirectPath = redirectPath;
+
+        prefix = authorizeUri.trim() + "?response_type=code&scope=";
+        clientIdSegment = "&client_id=" + clientId.trim() + "&state=";
+        redirectSegment = "&redirect_uri=" + redirectEncoder.apply(redirectPath);
+    }
+
+    /**
+     * @param configuration to be checked
+     * @param redirectPath  to be checked
+     * @return {@code true} if this template has been created for the given values
+     * and can therefore be reused
+     */
+    boolean isApplicable(final Oauth2Configuration configuration, final String redirectPath) {
+        return Objects.equals(authorizeUri, configuration.getAuthorizeUri())
+                && Objects.equals(clientId, configuration.getClientId())
+                && Objects.equals(externalContextPath, configuration.getExternalContextPath())
+                && Objects.equals(this.redirectPath, redirectPath);
+    }
+
+    /**
+     * Creates the authorize URL for a concrete request.
+     *
+     * @param encodedScopes the url-encoded scopes
+     * @param state         the state parameter
+     * @param nonce         the OpenID Connect nonce
+     * @param codeChallenge the PKCE code challenge
+     * @param idToken       the optional id-token hint, may be null
+     * @return the complete authorize URL
+     */
+    String create(final String encodedScopes, final String state, final String nonce, final String codeChallenge,
+                  final String idToken) {
+        final var builder = new StringBuilder(prefix.length() + clientIdSegment.length() + redirectSegment.length()
+                + encodedScopes.length() + state.length() + nonce.length() + codeChallenge.length()
+                + (null == idToken ? 0 : idToken.length()) + 80);
+        builder.append(prefix).append(encodedScopes)
+                .append(clientIdSegment).append(state)
+                .append("&nonce=").append(nonce)
+                .append("&code_challenge=").append(codeChallenge)
+                .append("&code_challenge_method=S256")
+                .append("&id_token_hint=");
+        if (null != idToken) {
+            builder.append(idToken);
+        }
+        return builder.append(redirectSegment).toString();
+    }
+}
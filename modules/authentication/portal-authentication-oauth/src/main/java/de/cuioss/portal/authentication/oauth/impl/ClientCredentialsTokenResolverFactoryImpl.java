@@ -0,0 +1,37 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.authentication.oauth.impl;
+
+import de.cuioss.portal.configuration.connections.ClientCredentialsTokenResolverFactory;
+import de.cuioss.portal.configuration.connections.TokenResolver;
+import de.cuioss.portal.configuration.connections.impl.CachingTokenResolver;
+import jakarta.enterprise.context.ApplicationScoped;
+
+/**
+ * Creates {@link CachingTokenResolver}s on top of a
+ * {@link ClientCredentialsTokenSource}, so that tokens are cached for their
+ * lifetime and refreshed in the background before they expire.
+ */
+@ApplicationScoped
+public class ClientCredentialsTokenResolverFactoryImpl implements ClientCredentialsTokenResolverFactory {
+
+    @Override
+    public TokenResolver create(final String key, final String tokenUri, final String clientId,
+            final String clientSecret, final String scopes) {
+        return CachingTokenResolver.builder().key(key)
+                .source(new ClientCredentialsTokenSource(tokenUri, clientId, clientSecret, scopes)).build();
+    }
+}
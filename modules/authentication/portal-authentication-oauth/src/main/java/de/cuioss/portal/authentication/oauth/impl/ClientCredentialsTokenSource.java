@@ -0,0 +1,125 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.authentication.oauth.impl;
+
+import de.cuioss.portal.authentication.oauth.Token;
+import de.cuioss.portal.configuration.connections.impl.CachingTokenResolver;
+import de.cuioss.portal.configuration.connections.impl.CachingTokenResolver.ExpiringToken;
+import de.cuioss.portal.restclient.CuiRestClientBuilder;
+import de.cuioss.tools.logging.CuiLogger;
+import de.cuioss.tools.string.MoreStrings;
+import jakarta.ws.rs.FormParam;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.MediaType;
+import lombok.ToString;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Serial;
+import java.time.Duration;
+
+import static de.cuioss.tools.string.MoreStrings.emptyToNull;
+import static de.cuioss.tools.string.MoreStrings.requireNotEmpty;
+
+/**
+ * {@link CachingTokenResolver.TokenSource} requesting an access token from an
+ * OAuth2 token endpoint with the client credentials grant.
+ * <p>
+ * The token is returned as complete header value, i.e. prefixed with its
+ * {@code token_type}, together with its {@code expires_in}. Wrapped into a
+ * {@link CachingTokenResolver} the endpoint is only called once per token
+ * lifetime, see {@link ClientCredentialsTokenResolverFactoryImpl}.
+ */
+@ToString(of = {"tokenUri", "clientId", "scopes"}) // The secret is sensitive
+public final class ClientCredentialsTokenSource implements CachingTokenResolver.TokenSource {
+
+    @Serial
+    private static final long serialVersionUID = 2493165437751018342L;
+
+    private static final CuiLogger LOGGER = new CuiLogger(ClientCredentialsTokenSource.class);
+
+    static final String GRANT_TYPE = "client_credentials";
+    private static final String DEFAULT_TOKEN_TYPE = "Bearer";
+
+    /**
+     * The client credentials token request.
+     */
+    public interface RequestClientCredentialsToken extends Closeable {
+
+        @POST
+        @Produces(MediaType.APPLICATION_FORM_URLENCODED)
+        Token requestToken(@FormParam("grant_type") String grantType, @FormParam("scope") String scope);
+    }
+
+    private final String tokenUri;
+    private final String clientId;
+    private final String clientSecret;
+    private final String scopes;
+
+    /**
+     * @param tokenUri     the token endpoint, must not be empty
+     * @param clientId     the client to authenticate as, must not be empty
+     * @param clientSecret the secret of the client, must not be empty
+     * @param scopes       space separated scopes to request, may be null
+     */
+    public ClientCredentialsTokenSource(final String tokenUri, final String clientId, final String clientSecret,
+            final String scopes) {
+        this.tokenUri = requireNotEmpty(tokenUri, "tokenUri").trim();
+        this.clientId = requireNotEmpty(clientId, "clientId");
+        this.clientSecret = requireNotEmpty(clientSecret, "clientSecret");
+        this.scopes = emptyToNull(scopes);
+    }
+
+    /**
+     * @return the token obtained from the token endpoint
+     * @throws IllegalStateException if the endpoint could not be called or
+     *                               did not return an access token
+     */
+    @Override
+    public ExpiringToken fetch() {
+        LOGGER.debug("Requesting client credentials token from %s for client '%s'", tokenUri, clientId);
+        final var builder = new CuiRestClientBuilder(LOGGER).basicAuth(clientId, clientSecret)
+                .register(new Oauth2ServiceImpl.AcceptJsonHeaderFilter());
+        final Token token;
+        try (var request = builder.url(tokenUri).build(RequestClientCredentialsToken.class)) {
+            token = request.requestToken(GRANT_TYPE, scopes);
+        } catch (WebApplicationException e) {
+            CuiRestClientBuilder.debugResponse(e.getResponse(), LOGGER);
+            throw new IllegalStateException("Token request at " + tokenUri + " failed", e);
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalStateException("Token request at " + tokenUri + " failed", e);
+        }
+        if (null == token || MoreStrings.isEmpty(token.getAccess_token())) {
+            throw new IllegalStateException("Token endpoint " + tokenUri + " did not return an access token");
+        }
+        final var tokenType = MoreStrings.isEmpty(token.getToken_type()) ? DEFAULT_TOKEN_TYPE : token.getToken_type();
+        return new ExpiringToken(tokenType + " " + token.getAccess_token(), parseExpiresIn(token.getExpires_in()));
+    }
+
+    private static Duration parseExpiresIn(final String expiresIn) {
+        if (MoreStrings.isEmpty(expiresIn)) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Long.parseLong(expiresIn.trim()));
+        } catch (NumberFormatException e) {
+            LOGGER.debug(e, "expires_in '%s' is not a valid number, using default lifetime", expiresIn);
+            return null;
+        }
+    }
+}
@@ -30,7 +30,6 @@ import de.cuioss.portal.authentication.oauth.Oauth2Service;
 import de.cuioss.portal.authentication.oauth.OauthAuthenticationException;
 import de.cuioss.portal.authentication.oauth.OauthRedirector;
 import de.cuioss.portal.authentication.oauth.OidcRpInitiatedLogoutParams;
-import de.cuioss.portal.authentication.oauth.PortalAuthenticationOauthLogMessages.ERROR;
 import de.cuioss.portal.authentication.oauth.PortalAuthenticationOauthLogMessages.INFO;
 import de.cuioss.portal.authentication.oauth.PortalAuthenticationOauthLogMessages.WARN;
 import de.cuioss.portal.authentication.oauth.Token;
@@ -38,19 +37,15 @@ import de.cuioss.tools.collect.CollectionBuilder;
 import de.cuioss.tools.logging.CuiLogger;
 import de.cuioss.tools.net.UrlParameter;
 import de.cuioss.tools.string.MoreStrings;
-import de.cuioss.tools.string.Splitter;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.ContextNotActiveException;
 import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
 import jakarta.inject.Provider;
 import jakarta.servlet.http.HttpServletRequest;
 
 import java.io.IOException;
-import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.security.SecureRandom;
 import java.util.Base64;
 import java.util.Collections;
 import java.util.List;
@@ -80,7 +75,7 @@ import static java.util.Objects.requireNonNull;
  *     <ul>
  *       <li>Initial authentication redirect</li>
  *       <li>Token exchange and validation</li>
- *       <li>Automatic token refresh</li>
+ *       <li>Automatic token refresh, optionally proactive via {@link TokenRenewalScheduler}</li>
  *       <li>Logout handling with RP-initiated logout</li>
  *     </ul>
  *   </li>
@@ -97,15 +92,17 @@ import static java.util.Objects.requireNonNull;
  * <p>Session storage keys:
  * <ul>
  *   <li>{@code AuthenticatedUserInfo} - Current authenticated user</li>
- *   <li>{@code State} - OAuth2 state parameter</li>
+ *   <li>{@code OauthLoginState} - Pending login attempt, holding the OAuth2 state
+ *   parameter and the PKCE code verifier</li>
  *   <li>{@code Nonce} - OpenID Connect nonce</li>
  *   <li>{@code Scopes} - Requested OAuth2 scopes</li>
- *   <li>{@code PKCE_CODE} - PKCE code verifier</li>
  * </ul>
  *
  * <p>Implementation notes:
  * <ul>
  *   <li>Thread-safe and application-scoped</li>
+ *   <li>Lock-free: per-session login state is updated with compare-and-set
+ *   semantics, so logins of different users never contend</li>
  *   <li>Uses {@link Oauth2Service} for OAuth2 operations</li>
  *   <li>Integrates with {@link OauthRedirector} for navigation</li>
  *   <li>Supports standard OAuth2 error responses</li>
@@ -126,13 +123,9 @@ public class Oauth2AuthenticationFacadeImpl extends BaseAuthenticationFacade
 
     private static final String ERROR_INVALID_SCOPE = "invalid_scope";
 
-    private static final String AUTHENTICATED_USER_INFO_KEY = "AuthenticatedUserInfo";
-    private static final String STATE_KEY = "State";
+    static final String AUTHENTICATED_USER_INFO_KEY = "AuthenticatedUserInfo";
     private static final String NONCE_KEY = "Nonce";
     private static final String SCOPES_KEY = "Scopes";
-    private static final String PKCE_CODE_KEY = "PKCE_CODE";
-
-    private final Object codeLock = new Object();
 
     private static final AuthenticatedUserInfo NOT_LOGGED_IN = BaseAuthenticatedUserInfo.builder().authenticated(false)
             .build();
@@ -148,7 +141,15 @@ public class Oauth2AuthenticationFacadeImpl extends BaseAuthenticationFacade
 
     private final Provider<HttpServletRequest> servletRequestProvider;
 
-    private final SecureRandom random = new SecureRandom();
+    private final TokenRenewalScheduler tokenRenewalScheduler;
+
+    private final OauthSecretGenerator secretGenerator = new OauthSecretGenerator();
+
+    /**
+     * Lazily created and replaced whenever the configuration changes, see
+     * {@link #resolveAuthorizeUrlTemplate(Oauth2Configuration, String)}
+     */
+    private volatile AuthorizeUrlTemplate authorizeUrlTemplate;
 
     @Inject
     public Oauth2AuthenticationFacadeImpl(
@@ -157,19 +158,27 @@ public class Oauth2AuthenticationFacadeImpl extends BaseAuthenticationFacade
             Provider<Oauth2Configuration> configurationProvider,
             @LoginPagePath Provider<String> loginUrl,
             Provider<OauthRedirector> oauthRedirector,
-            Provider<HttpServletRequest> servletRequestProvider) {
+            Provider<HttpServletRequest> servletRequestProvider,
+            TokenRenewalScheduler tokenRenewalScheduler) {
         super(portalUserEnricher);
         this.oauth2ServiceImpl = oauth2ServiceImpl;
         this.configurationProvider = configurationProvider;
         this.loginUrl = loginUrl;
         this.oauthRedirector = oauthRedirector;
         this.servletRequestProvider = servletRequestProvider;
+        this.tokenRenewalScheduler = tokenRenewalScheduler;
     }
 
     @Override
     public boolean logout(final HttpServletRequest servletRequest) {
         final var currentSession = servletRequest.getSession(false);
         if (null != currentSession) {
+            try {
+                tokenRenewalScheduler
+                        .untrack((AuthenticatedUserInfo) currentSession.getAttribute(AUTHENTICATED_USER_INFO_KEY));
+            } catch (final IllegalStateException e) {
+                LOGGER.debug("getAttribute failed: ", e);
+            }
             currentSession.invalidate();
         }
         return true;
@@ -245,32 +254,26 @@ public class Oauth2AuthenticationFacadeImpl extends BaseAuthenticationFacade
                                                                       final UrlParameter state) {
         final var servletRequest = servletRequestProvider.get();
         LOGGER.debug("code and state parameter are present");
+        final var attempt = OauthLoginState.fromSession(servletRequest.getSession()).consume();
+        if (attempt.isEmpty()) {
+            LOGGER.warn(WARN.UNKNOWN_STATE, state.getValue());
+            return Optional.empty();
+        }
         final AuthenticatedUserInfo sessionUser;
-        synchronized (codeLock) {
-            if (null == servletRequest.getSession().getAttribute(STATE_KEY)) {
-                LOGGER.warn(WARN.UNKNOWN_STATE, state.getValue());
-                return Optional.empty();
-            }
-            if (state.getValue().equals(servletRequest.getSession().getAttribute(STATE_KEY))) {
-                LOGGER.debug("state parameter matches stored value");
-                sessionUser = (AuthenticatedUserInfo) servletRequest.getSession()
-                        .getAttribute(AUTHENTICATED_USER_INFO_KEY);
-            } else {
-                LOGGER.debug("state parameter %s differs from stored value %s", state.getValue(),
-                        servletRequest.getSession().getAttribute(STATE_KEY));
-                sessionUser = null;
-            }
-            servletRequest.getSession().removeAttribute(STATE_KEY);
+        if (state.getValue().equals(attempt.get().state())) {
+            LOGGER.debug("state parameter matches stored value");
+            sessionUser = (AuthenticatedUserInfo) servletRequest.getSession()
+                    .getAttribute(AUTHENTICATED_USER_INFO_KEY);
+        } else {
+            LOGGER.debug("state parameter %s differs from stored value %s", state.getValue(),
+                    attempt.get().state());
+            sessionUser = null;
         }
         var retrievedScoped = (String) servletRequest.getSession().getAttribute(SCOPES_KEY);
         if (null == retrievedScoped) {
             retrievedScoped = scopes;
         }
-        String codeVerifier;
-        synchronized (codeLock) {
-            codeVerifier = (String) servletRequest.getSession().getAttribute(PKCE_CODE_KEY);
-            servletRequest.getSession().removeAttribute(PKCE_CODE_KEY);
-        }
+        final var codeVerifier = attempt.get().codeVerifier();
         LOGGER.trace("handleTriggerAuthenticate codeVerifier: %s", codeVerifier);
         var oauthUser = oauth2ServiceImpl.createAuthenticatedUserInfo(servletRequest, code, state, retrievedScoped,
                 codeVerifier);
@@ -285,6 +288,7 @@ public class Oauth2AuthenticationFacadeImpl extends BaseAuthenticationFacade
             oauthUser = enrich(oauthUser);
             LOGGER.debug("adding oauth user to (new) session.");
             servletRequest.getSession().setAttribute(AUTHENTICATED_USER_INFO_KEY, oauthUser);
+            tokenRenewalScheduler.track(servletRequest.getSession(), oauthUser);
             return Optional.of(oauthUser);
         }
         LOGGER.debug("unable to retrieve authenticated user info");
@@ -295,55 +299,40 @@ public class Oauth2AuthenticationFacadeImpl extends BaseAuthenticationFacade
     public String retrieveOauth2RedirectUrl(final String scopes, final String idToken) {
         final var servletRequest = servletRequestProvider.get();
         requireNonNull(emptyToNull(scopes));
-        synchronized (codeLock) {
-            if (null == servletRequest.getSession().getAttribute(STATE_KEY)) {
-                servletRequest.getSession().setAttribute(STATE_KEY, new BigInteger(130, random).toString(32));
-            }
-        }
-        final var state = (String) servletRequest.getSession().getAttribute(STATE_KEY);
-        final var nonce = new BigInteger(130, random).toString(32);
+        final var attempt = OauthLoginState.fromSession(servletRequest.getSession())
+                .getOrCreate(() -> new OauthLoginState.Attempt(secretGenerator.nextState(),
+                        secretGenerator.nextCodeVerifier()));
+        final var state = attempt.state();
+        final var nonce = secretGenerator.nextNonce();
         servletRequest.getSession().setAttribute(NONCE_KEY, nonce);
         servletRequest.getSession().setAttribute(SCOPES_KEY, scopes);
 
-        synchronized (codeLock) {
-            if (null == servletRequest.getSession().getAttribute(PKCE_CODE_KEY)) {
-                servletRequest.getSession().setAttribute(PKCE_CODE_KEY, new BigInteger(260, random).toString(32));
-                LOGGER.trace("retrieveOauth2RedirectUrl ---- NEW CODE");
-            }
-        }
-
-        var code = (String) servletRequest.getSession().getAttribute(PKCE_CODE_KEY);
+        final var code = attempt.codeVerifier();
         LOGGER.trace("retrieveOauth2RedirectUrl code: %s", code);
-        MessageDigest digest;
-        try {
-            digest = MessageDigest.getInstance("SHA-256");
-        } catch (NoSuchAlgorithmException e) {
-            LOGGER.error(e, ERROR.CANNOT_GENERATE_CODE_CHALLENGE);
-            throw new IllegalStateException(e);
-        }
-
-        final var code_challenge = Base64.getUrlEncoder().withoutPadding()
-                .encodeToString(digest.digest(code.getBytes(StandardCharsets.US_ASCII)));
+        final var code_challenge = secretGenerator.codeChallenge(code);
         LOGGER.trace("retrieveOauth2RedirectUrl code_challenge: %s", code_challenge);
 
         final var scopesParameter = encode(scopes, StandardCharsets.UTF_8);
         final var configuration = configurationProvider.get();
 
-        final var url = configuration.getAuthorizeUri().trim() + UrlParameter.createParameterString(false,
-                new UrlParameter("response_type", "code", false), new UrlParameter("scope", scopesParameter, false),
-                new UrlParameter("client_id", configuration.getClientId().trim(), false),
-                new UrlParameter("state", state, false), new UrlParameter("nonce", nonce, false),
-                new UrlParameter("code_challenge", code_challenge, false),
-                new UrlParameter("code_challenge_method", "S256", false),
-                new UrlParameter("id_token_hint", idToken, false),
-                new UrlParameter("redirect_uri",
-                        oauth2ServiceImpl.calcEncodedRedirectUrl(servletRequest.getContextPath() + loginUrl.get()),
-                        false));
+        final var url = resolveAuthorizeUrlTemplate(configuration, servletRequest.getContextPath() + loginUrl.get())
+                .create(scopesParameter, state, nonce, code_challenge, idToken);
 
         LOGGER.debug("redirect url = %s", url);
         return url;
     }
 
+    private AuthorizeUrlTemplate resolveAuthorizeUrlTemplate(final Oauth2Configuration configuration,
+                                                             final String redirectPath) {
+        var template = authorizeUrlTemplate;
+        if (null == template || !template.isApplicable(configuration, redirectPath)) {
+            LOGGER.debug("Creating authorize url template for redirect path %s", redirectPath);
+            template = new AuthorizeUrlTemplate(configuration, redirectPath, oauth2ServiceImpl::calcEncodedRedirectUrl);
+            authorizeUrlTemplate = template;
+        }
+        return template;
+    }
+
     @Override
     public String retrieveOauth2RenewUrl() {
         final var servletRequest = servletRequestProvider.get();
@@ -357,7 +346,7 @@ public class Oauth2AuthenticationFacadeImpl extends BaseAuthenticationFacade
             if (MoreStrings.isEmpty(scopes)) {
                 return null;
             }
-            if (token != null && checkToken(token, currentUser.get().getTokenTimestamp())) {
+            if (token != null && checkToken(currentUser.get().getTokenState())) {
                 return retrieveOauth2RedirectUrl(scopes, token.getId_token()) + "&prompt=none&response_mode=cors";
             }
             return retrieveOauth2RedirectUrl(scopes, null);
@@ -450,13 +439,11 @@ public class Oauth2AuthenticationFacadeImpl extends BaseAuthenticationFacade
     public String retrieveRenewInterval() {
         final var currentUser = retrieveCurrentUserIfPresent(servletRequestProvider.get());
         if (currentUser.isPresent()) {
-            try {
-                final var interval = currentUser.get().getTokenTimestamp() - (int) (System.currentTimeMillis() / 1000L)
-                        + Integer.parseInt(currentUser.get().getToken().getExpires_in()) - 10;
-                return String.valueOf(interval);
-            } catch (final NumberFormatException e) {
-                LOGGER.debug(e, "token.expires_in not a valid number");
+            final var tokenState = currentUser.get().getTokenState();
+            if (null != tokenState && tokenState.hasAccessTokenExpiry()) {
+                return String.valueOf(tokenState.secondsUntilAccessTokenExpiry());
             }
+            LOGGER.debug("token.expires_in not present or not a valid number");
         }
         return null;
     }
@@ -515,45 +502,53 @@ public class Oauth2AuthenticationFacadeImpl extends BaseAuthenticationFacade
     }
 
     private String checkAndRetrieveToken(final OauthAuthenticatedUserInfo currentUser, final String scopes) {
-        final var token = currentUser.getToken();
-        if (checkToken(token, currentUser.getTokenTimestamp())) {
+        final var tokenState = currentUser.getTokenState();
+        final var token = null == tokenState ? null : tokenState.getToken();
+        if (checkToken(tokenState)) {
             LOGGER.debug("token is valid.");
-            var allFound = true;
-            final var existing = Splitter.on(' ').omitEmptyStrings().splitToList(currentUser.getScopes());
-            for (final String requested : Splitter.on(' ').omitEmptyStrings().splitToList(scopes)) {
-                if (!existing.contains(requested)) {
-                    allFound = false;
-                    LOGGER.debug("Missing scope: %s", requested);
-                    break;
-                }
-            }
-            if (allFound) {
+            final var missing = currentUser.getScopeSet(tokenState).findMissing(ScopeSet.of(scopes));
+            if (missing.isEmpty()) {
                 return token.getAccess_token();
             }
-        } else if (!MoreStrings.isEmpty(token.getRefresh_token())) {
+            LOGGER.debug("Missing scope: %s", missing.get());
+        } else if (null != token && !MoreStrings.isEmpty(token.getRefresh_token())) {
+            if (!tokenState.isRefreshTokenValid()) {
+                LOGGER.debug("AccessToken and RefreshToken expired");
+                return null;
+            }
             LOGGER.debug("AccessToken expired, but RefreshToken present; trying to use it to get a new access token");
-            return oauth2ServiceImpl.refreshToken(currentUser);
+            final var accessToken = currentUser.refreshToken(oauth2ServiceImpl, tokenState);
+            if (null != accessToken) {
+                republish(currentUser);
+            }
+            return accessToken;
         }
         return null;
     }
 
-    private static boolean checkToken(final Token token, final Integer timestamp) {
-        if (null == token) {
-            return false;
-        }
-        if (MoreStrings.isEmpty(token.getExpires_in())) {
-            LOGGER.trace("token has no expiration. token is valid!");
-            return true;
-        }
+    /**
+     * Sets the user as session attribute again after its token has been
+     * renewed, which is the signal for session replication to pick up the
+     * change. Does nothing if the user is not the one of the current session.
+     */
+    private void republish(final OauthAuthenticatedUserInfo currentUser) {
         try {
-            final var expires = timestamp + Integer.parseInt(token.getExpires_in()) - 10;
-            final boolean valid = expires > (int) (System.currentTimeMillis() / 1000L);
-            LOGGER.trace("checked expire time. token valid?: %s", valid);
-            return valid;
-        } catch (final NumberFormatException e) {
-            LOGGER.error(e, ERROR.TOKEN_EXPIRES_IN_NOT_A_VALID_NUMBER);
+            final var session = servletRequestProvider.get().getSession(false);
+            if (null != session && session.getAttribute(AUTHENTICATED_USER_INFO_KEY) == currentUser.getWrapped()) {
+                session.setAttribute(AUTHENTICATED_USER_INFO_KEY, currentUser.getWrapped());
+            }
+        } catch (final IllegalStateException | ContextNotActiveException e) {
+            LOGGER.debug("setAttribute failed: ", e);
+        }
+    }
+
+    private static boolean checkToken(final TokenState tokenState) {
+        if (null == tokenState) {
             return false;
         }
+        final boolean valid = tokenState.isAccessTokenValid();
+        LOGGER.trace("checked expire time. token valid?: %s", valid);
+        return valid;
     }
 
     @Override
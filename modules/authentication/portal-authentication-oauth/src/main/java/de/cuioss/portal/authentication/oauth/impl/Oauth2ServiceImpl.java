@@ -226,7 +226,9 @@ public class Oauth2ServiceImpl implements Oauth2Service {
             var baseAuthenticatedUserInfoBuilder = BaseAuthenticatedUserInfo.builder().authenticated(true)
                     .contextMapElement(OauthAuthenticatedUserInfo.TOKEN_SCOPES_KEY, scopes)
                     .contextMapElement(OauthAuthenticatedUserInfo.TOKEN_KEY, token)
-                    .contextMapElement(OauthAuthenticatedUserInfo.TOKEN_TIMESTAMP_KEY, tokenTimestamp);
+                    .contextMapElement(OauthAuthenticatedUserInfo.TOKEN_TIMESTAMP_KEY, tokenTimestamp)
+                    .contextMapElement(OauthAuthenticatedUserInfo.TOKEN_STATE_KEY,
+                            new TokenHolder(TokenState.of(token, tokenTimestamp, scopes)));
 
             for (Entry<String, Object> entry : userInfo.entrySet()) {
                 if ("preferred_username".equals(entry.getKey())) {
@@ -307,9 +309,8 @@ public class Oauth2ServiceImpl implements Oauth2Service {
             if (null != token) {
                 LOGGER.debug("successfully retrieved new token");
                 LOGGER.trace("new token: %s", token);
-                currentUser.getContextMap().put(OauthAuthenticatedUserInfo.TOKEN_KEY, token);
-                currentUser.getContextMap().put(OauthAuthenticatedUserInfo.TOKEN_TIMESTAMP_KEY,
-                        (int) (System.currentTimeMillis() / 1000L));
+                final var tokenTimestamp = (int) (System.currentTimeMillis() / 1000L);
+                currentUser.updateToken(token, tokenTimestamp);
                 return token.getAccess_token();
             }
             LOGGER.debug("no token received");
@@ -16,11 +16,13 @@
 package de.cuioss.portal.authentication.oauth.impl;
 
 import de.cuioss.portal.authentication.AuthenticatedUserInfo;
+import de.cuioss.portal.authentication.oauth.Oauth2Service;
 import de.cuioss.portal.authentication.oauth.Token;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.Delegate;
 
 import java.io.Serial;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -33,6 +35,8 @@ import java.util.Optional;
  *   <li>Access Token - Stored under key 'token'</li>
  *   <li>Token Scopes - Stored under key 'tokenScopes'</li>
  *   <li>Token Timestamp - Stored under key 'tokenTimestamp'</li>
+ *   <li>Parsed Token State - Stored under key 'tokenState', within a
+ *   thread-safe {@link TokenHolder}</li>
  * </ul>
  *
  * <p>This implementation uses the decorator pattern to wrap a standard
@@ -42,7 +46,9 @@ import java.util.Optional;
  *
  * <p>Implementation notes:
  * <ul>
- *   <li>Thread-safe and immutable</li>
+ *   <li>Renewals of the token are serialized per user and published
+ *   atomically, see {@link #refreshToken(Oauth2Service, TokenState)}. Consumers
+ *   needing token and expiry together should use {@link #getTokenState()}</li>
  *   <li>Serializable for session storage</li>
  *   <li>Null-safe factory method provided via {@link #createOf}</li>
  * </ul>
@@ -73,6 +79,12 @@ public class OauthAuthenticatedUserInfo implements AuthenticatedUserInfo {
      */
     static final String TOKEN_TIMESTAMP_KEY = "tokenTimestamp";
 
+    /**
+     * Key for storing the {@link TokenHolder} of the parsed {@link TokenState}
+     * in the user context map.
+     */
+    static final String TOKEN_STATE_KEY = "tokenState";
+
     @Delegate
     private final AuthenticatedUserInfo wrapped;
 
@@ -107,6 +119,30 @@ public class OauthAuthenticatedUserInfo implements AuthenticatedUserInfo {
         return (String) wrapped.getContextMap().get(TOKEN_SCOPES_KEY);
     }
 
+    /**
+     * Retrieves the parsed OAuth2 token scopes associated with this user. They
+     * are kept with the {@link TokenState}, so the scope string is only split
+     * once per token.
+     *
+     * @return The parsed OAuth2 token scopes, never null
+     */
+    ScopeSet getScopeSet() {
+        return getScopeSet(getTokenState());
+    }
+
+    /**
+     * @param state the token state of this user, as returned by
+     *              {@link #getTokenState()}, may be null
+     * @return The parsed OAuth2 token scopes, never null
+     */
+    ScopeSet getScopeSet(final TokenState state) {
+        final var scopes = getScopes();
+        if (null != state && Objects.equals(scopes, state.getScopes())) {
+            return state.getGrantedScopes();
+        }
+        return ScopeSet.of(scopes);
+    }
+
     /**
      * Retrieves the OAuth2 token timestamp associated with this user.
      *
@@ -116,6 +152,102 @@ public class OauthAuthenticatedUserInfo implements AuthenticatedUserInfo {
         return (Integer) wrapped.getContextMap().get(TOKEN_TIMESTAMP_KEY);
     }
 
+    /**
+     * Retrieves the parsed state of the OAuth2 token associated with this user.
+     * The state is usually computed when the token is received. It is
+     * recomputed only if token or token timestamp have been changed since.
+     *
+     * @return The parsed token state, or null if there is no token
+     */
+    TokenState getTokenState() {
+        final var token = getToken();
+        if (null == token) {
+            return null;
+        }
+        final var holder = getTokenHolder();
+        final var state = holder.get();
+        if (null != state && state.isDerivedFrom(token, getTokenTimestamp())) {
+            return state;
+        }
+        synchronized (holder) {
+            // A renewal may have been published in the meantime
+            final var current = holder.get();
+            final var currentToken = getToken();
+            final var timestamp = getTokenTimestamp();
+            if (null != current && current.isDerivedFrom(currentToken, timestamp)) {
+                return current;
+            }
+            final var recomputed = TokenState.of(currentToken, timestamp, getScopes());
+            holder.set(recomputed);
+            return recomputed;
+        }
+    }
+
+    /**
+     * Refreshes the token of this user with the given service. Concurrent
+     * renewals of the same user, e.g. by a request and the
+     * {@link TokenRenewalScheduler}, are serialized, and a renewal is skipped if
+     * another one has already provided a valid token, because the refresh token
+     * may only be used once.
+     *
+     * @param service  used for the actual renewal, must not be null
+     * @param observed the state the caller has decided to renew, may be null
+     * @return the renewed access token, or null if the renewal failed
+     */
+    String refreshToken(final Oauth2Service service, final TokenState observed) {
+        final var holder = getTokenHolder();
+        synchronized (holder) {
+            final var current = getTokenState();
+            if (null != current && current != observed && current.isAccessTokenValid()) {
+                return current.getToken().getAccess_token();
+            }
+            return service.refreshToken(this);
+        }
+    }
+
+    /**
+     * Publishes a renewed token. The context map entries for token and token
+     * timestamp already exist and are only replaced, the parsed state is
+     * published as a whole with the {@link TokenHolder}.
+     *
+     * @param token     the renewed token, must not be null
+     * @param timestamp epoch seconds the token has been received at
+     */
+    void updateToken(final Token token, final int timestamp) {
+        final var holder = getTokenHolder();
+        synchronized (holder) {
+            wrapped.getContextMap().put(TOKEN_KEY, token);
+            wrapped.getContextMap().put(TOKEN_TIMESTAMP_KEY, timestamp);
+            holder.set(TokenState.of(token, timestamp, getScopes()));
+        }
+    }
+
+    /**
+     * @return the wrapped instance, as stored in the session
+     */
+    AuthenticatedUserInfo getWrapped() {
+        return wrapped;
+    }
+
+    /**
+     * Resolves the {@link TokenHolder} of the wrapped instance. It is created
+     * with the user on login. Only for instances created otherwise it is added
+     * lazily, synchronized on the wrapped instance.
+     */
+    private TokenHolder getTokenHolder() {
+        if (wrapped.getContextMap().get(TOKEN_STATE_KEY) instanceof TokenHolder holder) {
+            return holder;
+        }
+        synchronized (wrapped) {
+            if (wrapped.getContextMap().get(TOKEN_STATE_KEY) instanceof TokenHolder holder) {
+                return holder;
+            }
+            final var holder = new TokenHolder(null);
+            wrapped.getContextMap().put(TOKEN_STATE_KEY, holder);
+            return holder;
+        }
+    }
+
     /**
      * Retrieves the id-token associated with this user.
      *
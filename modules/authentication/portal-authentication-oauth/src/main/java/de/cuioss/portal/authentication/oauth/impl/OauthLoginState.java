@@ -0,0 +1,146 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.authentication.oauth.impl;
+
+import jakarta.servlet.http.HttpSession;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Per-session holder for the state of a pending OAuth2 login, i.e. the
+ * {@code state} parameter and the PKCE code verifier.
+ *
+ * <p>Both values are kept together in one immutable {@link Attempt} that is
+ * published and consumed with compare-and-set semantics. Therefore
+ * concurrent requests of the same session agree on a single attempt, while
+ * requests of different sessions never share a monitor.
+ *
+ * <p>The instance is stored as a single session attribute, see
+ * {@link #SESSION_KEY}, and is serializable for session replication. Each
+ * change of the attempt sets the attribute again, so replicated or clustered
+ * sessions pick up created and consumed attempts.
+ */
+final class OauthLoginState implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Session attribute key the holder is stored under.
+     */
+    static final String SESSION_KEY = "OauthLoginState";
+
+    /**
+     * A single pending login attempt.
+     *
+     * @param state        the OAuth2 state parameter, must not be null
+     * @param codeVerifier the PKCE code verifier, must not be null
+     */
+    record Attempt(String state, String codeVerifier) implements Serializable {
+
+        Attempt {
+            requireNonNull(state);
+            requireNonNull(codeVerifier);
+        }
+    }
+
+    private final AtomicReference<Attempt> current = new AtomicReference<>();
+
+    /** The session the holder has been resolved from, null if not resolved by {@link #fromSession(HttpSession)} */
+    private transient volatile HttpSession session;
+
+    /**
+     * Resolves the holder of the given session, creating and storing it if
+     * not present yet.
+     *
+     * <p>If two requests of the same session create the holder concurrently
+     * the last written instance wins. Both re-read the attribute after
+     * writing, so they converge on the same holder in all but the rarest
+     * interleavings, which would only result in a failed login for that
+     * very session.
+     *
+     * @param session to be looked up, must not be null
+     * @return the holder stored in the session, never null
+     */
+    static OauthLoginState fromSession(final HttpSession session) {
+        var holder = (OauthLoginState) session.getAttribute(SESSION_KEY);
+        if (null == holder) {
+            session.setAttribute(SESSION_KEY, new OauthLoginState());
+            holder = (OauthLoginState) session.getAttribute(SESSION_KEY);
+        }
+        holder.session = session;
+        return holder;
+    }
+
+    /**
+     * Returns the pending attempt or publishes a newly created one. The
+     * factory is only called if there is no pending attempt. If another
+     * thread wins the race its attempt is returned.
+     *
+     * @param factory creating a new attempt, must not return null
+     * @return the pending attempt, never null
+     */
+    Attempt getOrCreate(final Supplier<Attempt> factory) {
+        var existing = current.get();
+        while (null == existing) {
+            final var created = factory.get();
+            if (current.compareAndSet(null, created)) {
+                publish();
+                return created;
+            }
+            existing = current.get();
+        }
+        return existing;
+    }
+
+    /**
+     * @return the pending attempt, if present, without consuming it
+     */
+    Optional<Attempt> peek() {
+        return Optional.ofNullable(current.get());
+    }
+
+    /**
+     * Atomically removes the pending attempt. Only one caller will receive a
+     * given attempt, so a state / verifier pair can be used exactly once.
+     *
+     * @return the pending attempt, if present
+     */
+    Optional<Attempt> consume() {
+        final var consumed = current.getAndSet(null);
+        if (null != consumed) {
+            publish();
+        }
+        return Optional.ofNullable(consumed);
+    }
+
+    /**
+     * Sets the holder as session attribute again, which is the signal for
+     * session replication to pick up the change.
+     */
+    private void publish() {
+        final var resolvedFrom = session;
+        if (null != resolvedFrom) {
+            resolvedFrom.setAttribute(SESSION_KEY, this);
+        }
+    }
+}
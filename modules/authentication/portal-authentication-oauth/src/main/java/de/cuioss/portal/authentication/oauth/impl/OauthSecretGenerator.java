@@ -0,0 +1,125 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.authentication.oauth.impl;
+
+import de.cuioss.portal.authentication.oauth.PortalAuthenticationOauthLogMessages.ERROR;
+import de.cuioss.tools.logging.CuiLogger;
+
+import java.nio.charset.StandardCharsets;
+import java.security.DrbgParameters;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+import static java.security.DrbgParameters.Capability.NONE;
+
+/**
+ * High-throughput generator for the random values of an OAuth2 authorization
+ * request: {@code state}, {@code nonce} and the PKCE code verifier together
+ * with its {@code S256} code challenge.
+ *
+ * <p>Implementation notes:
+ * <ul>
+ *   <li>Every thread uses its own {@code DRBG} {@link SecureRandom}, seeded
+ *   once and without prediction resistance, so generating values never blocks
+ *   on the entropy source and threads never contend on a shared instance</li>
+ *   <li>The SHA-256 {@link MessageDigest} is kept per thread as well instead of
+ *   being looked up for every request</li>
+ *   <li>Random bytes are encoded directly as Base64URL without padding, which is
+ *   the alphabet required for PKCE code verifiers by RFC 7636</li>
+ * </ul>
+ *
+ * <p>Instances are thread-safe.
+ */
+final class OauthSecretGenerator {
+
+    private static final CuiLogger LOGGER = new CuiLogger(OauthSecretGenerator.class);
+
+    /**
+     * 128 bit, matching the entropy of the former state and nonce values.
+     */
+    static final int STATE_BYTES = 16;
+
+    /**
+     * 256 bit, resulting in a 43 character code verifier, the minimum length
+     * defined by RFC 7636.
+     */
+    static final int CODE_VERIFIER_BYTES = 32;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final ThreadLocal<SecureRandom> random = ThreadLocal.withInitial(OauthSecretGenerator::createRandom);
+
+    private final ThreadLocal<MessageDigest> digest = ThreadLocal.withInitial(OauthSecretGenerator::createDigest);
+
+    /**
+     * @return a new random value to be used as OAuth2 {@code state} parameter
+     */
+    String nextState() {
+        return nextValue(STATE_BYTES);
+    }
+
+    /**
+     * @return a new random value to be used as OpenID Connect {@code nonce}
+     */
+    String nextNonce() {
+        return nextValue(STATE_BYTES);
+    }
+
+    /**
+     * @return a new random PKCE code verifier
+     */
+    String nextCodeVerifier() {
+        return nextValue(CODE_VERIFIER_BYTES);
+    }
+
+    /**
+     * Computes the {@code S256} code challenge for the given verifier.
+     *
+     * @param codeVerifier must not be null
+     * @return the Base64URL encoded SHA-256 hash of the given verifier
+     */
+    String codeChallenge(final String codeVerifier) {
+        final var sha256 = digest.get();
+        sha256.reset();
+        return ENCODER.encodeToString(sha256.digest(codeVerifier.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private String nextValue(final int length) {
+        final var bytes = new byte[length];
+        random.get().nextBytes(bytes);
+        return ENCODER.encodeToString(bytes);
+    }
+
+    private static SecureRandom createRandom() {
+        try {
+            return SecureRandom.getInstance("DRBG", DrbgParameters.instantiation(256, NONE, null));
+        } catch (NoSuchAlgorithmException e) {
+            LOGGER.debug(e, "DRBG not available, falling back to default SecureRandom");
+            return new SecureRandom();
+        }
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            LOGGER.error(e, ERROR.CANNOT_GENERATE_CODE_CHALLENGE);
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.authentication.oauth.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import de.cuioss.tools.string.Splitter;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Immutable, parsed representation of a space separated OAuth2 scope string.
+ *
+ * <p>Instances are interned: {@link #of(String)} returns the same instance for
+ * the same scope string, so both the granted scopes of a token and the scopes
+ * requested by callers are split only once. The containment check is a hash
+ * lookup per requested scope instead of a list scan.
+ *
+ * <p>The interning cache is bounded by {@link #MAX_CACHED_SCOPE_STRINGS},
+ * evicting the least used scope strings beyond. Usually an application only
+ * deals with a handful of distinct scope strings. The granted scopes of a
+ * token are additionally kept with its {@link TokenState}.
+ */
+@ToString(of = "scopes")
+@EqualsAndHashCode(of = "scopes")
+final class ScopeSet {
+
+    static final int MAX_CACHED_SCOPE_STRINGS = 256;
+
+    private static final Cache<String, ScopeSet> CACHE = Caffeine.newBuilder()
+            .maximumSize(MAX_CACHED_SCOPE_STRINGS).build();
+
+    static final ScopeSet EMPTY = new ScopeSet(Set.of());
+
+    @Getter
+    private final Set<String> scopes;
+
+    private ScopeSet(final Set<String> scopes) {
+        this.scopes = scopes;
+    }
+
+    /**
+     * @param scopeString space separated scopes, may be null or empty
+     * @return the interned set for the given string, {@link #EMPTY} for null or empty input
+     */
+    static ScopeSet of(final String scopeString) {
+        if (null == scopeString || scopeString.isBlank()) {
+            return EMPTY;
+        }
+        return CACHE.get(scopeString, ScopeSet::parse);
+    }
+
+    private static ScopeSet parse(final String scopeString) {
+        return new ScopeSet(Set.copyOf(Splitter.on(' ').omitEmptyStrings().splitToList(scopeString)));
+    }
+
+    /**
+     * @param requested the scopes to be checked
+     * @return the first requested scope not contained in this set, if any
+     */
+    Optional<String> findMissing(final ScopeSet requested) {
+        if (this == requested) {
+            return Optional.empty();
+        }
+        for (final String scope : requested.scopes) {
+            if (!scopes.contains(scope)) {
+                return Optional.of(scope);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * @param requested the scopes to be checked
+     * @return {@code true} if all requested scopes are contained in this set
+     */
+    boolean containsAll(final ScopeSet requested) {
+        return findMissing(requested).isEmpty();
+    }
+}
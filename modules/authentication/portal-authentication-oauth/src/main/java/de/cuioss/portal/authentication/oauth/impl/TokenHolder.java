@@ -0,0 +1,66 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.authentication.oauth.impl;
+
+import lombok.ToString;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * Thread-safe holder of the current {@link TokenState} of a user, stored once
+ * in the user's context map under {@link OauthAuthenticatedUserInfo#TOKEN_STATE_KEY}.
+ *
+ * <p>A renewed token is published by replacing the immutable state with a
+ * single volatile write, so readers never see a token together with the
+ * timestamp or expiry of another one, and the context map is not modified
+ * structurally after login.
+ *
+ * <p>The monitor of the holder serializes the renewals of the token, see
+ * {@link OauthAuthenticatedUserInfo#refreshToken(de.cuioss.portal.authentication.oauth.Oauth2Service, TokenState)}.
+ * It is shared by all threads working on the same user, i.e. request threads
+ * and the {@link TokenRenewalScheduler}.
+ */
+@ToString
+final class TokenHolder implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private volatile TokenState state;
+
+    /**
+     * @param state the initial state, may be null
+     */
+    TokenHolder(final TokenState state) {
+        this.state = state;
+    }
+
+    /**
+     * @return the current state, may be null
+     */
+    TokenState get() {
+        return state;
+    }
+
+    /**
+     * @param state replacing the current one, must only be called while
+     *              holding the monitor of this holder
+     */
+    void set(final TokenState state) {
+        this.state = state;
+    }
+}
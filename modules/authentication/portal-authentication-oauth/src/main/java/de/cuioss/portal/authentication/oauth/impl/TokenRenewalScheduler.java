@@ -0,0 +1,336 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.authentication.oauth.impl;
+
+import de.cuioss.portal.authentication.AuthenticatedUserInfo;
+import de.cuioss.portal.authentication.oauth.OAuthConfigKeys;
+import de.cuioss.portal.authentication.oauth.Oauth2Service;
+import de.cuioss.portal.authentication.oauth.PortalAuthenticationOauthLogMessages.WARN;
+import de.cuioss.tools.logging.CuiLogger;
+import de.cuioss.tools.string.MoreStrings;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.inject.Provider;
+import jakarta.servlet.http.HttpSession;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static de.cuioss.portal.authentication.oauth.OAuthConfigKeys.OPEN_ID_CLIENT_TOKEN_RENEWAL_ENABLED;
+import static de.cuioss.portal.authentication.oauth.OAuthConfigKeys.OPEN_ID_CLIENT_TOKEN_RENEWAL_LEAD_TIME;
+import static de.cuioss.portal.authentication.oauth.OAuthConfigKeys.OPEN_ID_CLIENT_TOKEN_RENEWAL_MAX_SESSIONS;
+import static de.cuioss.portal.authentication.oauth.OAuthConfigKeys.OPEN_ID_CLIENT_TOKEN_RENEWAL_THREADS;
+
+/**
+ * Opt-in, proactive renewal of the access tokens of logged-in users.
+ *
+ * <p>Without this scheduler an expired access token is refreshed lazily by the
+ * first request needing it, which therefore pays the complete round-trip to
+ * the token endpoint. If enabled via
+ * {@link OAuthConfigKeys#OPEN_ID_CLIENT_TOKEN_RENEWAL_ENABLED}, every tracked
+ * token is refreshed {@link OAuthConfigKeys#OPEN_ID_CLIENT_TOKEN_RENEWAL_LEAD_TIME}
+ * seconds before it expires.
+ *
+ * <p>Implementation notes:
+ * <ul>
+ *   <li>The renewals are ordered by their due time within the priority queue of
+ *   a {@link ScheduledThreadPoolExecutor}, bounded by
+ *   {@link OAuthConfigKeys#OPEN_ID_CLIENT_TOKEN_RENEWAL_THREADS}</li>
+ *   <li>Users are referenced weakly, so sessions being discarded without
+ *   logout do not leak. Such entries are dropped on their next due time, as
+ *   are users whose session has been invalidated, timed out or no longer
+ *   holds them. Their tokens are not refreshed anymore</li>
+ *   <li>The number of tracked sessions is bounded by
+ *   {@link OAuthConfigKeys#OPEN_ID_CLIENT_TOKEN_RENEWAL_MAX_SESSIONS}. Tokens of
+ *   further sessions are still refreshed lazily</li>
+ *   <li>Only tokens with a refresh token and a known expiry are tracked. A
+ *   failed renewal stops the tracking of that session</li>
+ *   <li>Renewals share the per-user lock with the lazy refresh, see
+ *   {@link OauthAuthenticatedUserInfo#refreshToken(Oauth2Service, TokenState)},
+ *   so a refresh token is never sent twice. The renewed token is published
+ *   atomically and the user is set as session attribute again, so replicated
+ *   sessions pick it up</li>
+ * </ul>
+ */
+@ApplicationScoped
+public class TokenRenewalScheduler {
+
+    private static final CuiLogger LOGGER = new CuiLogger(TokenRenewalScheduler.class);
+
+    private static final String THREAD_NAME_PREFIX = "portal-token-renewal-";
+
+    @SuppressWarnings("cdi-ambiguous-dependency")
+    private final Oauth2Service oauth2Service;
+
+    private final Provider<Boolean> enabledProvider;
+
+    private final Provider<Integer> leadTimeProvider;
+
+    private final Provider<Integer> threadsProvider;
+
+    private final Provider<Integer> maxSessionsProvider;
+
+    private final Map<TrackedUser, ScheduledFuture<?>> tracked = new ConcurrentHashMap<>();
+
+    private ScheduledThreadPoolExecutor executor;
+
+    @Inject
+    TokenRenewalScheduler(@SuppressWarnings("cdi-ambiguous-dependency") Oauth2Service oauth2Service,
+                          @ConfigProperty(name = OPEN_ID_CLIENT_TOKEN_RENEWAL_ENABLED) Provider<Boolean> enabledProvider,
+                          @ConfigProperty(name = OPEN_ID_CLIENT_TOKEN_RENEWAL_LEAD_TIME) Provider<Integer> leadTimeProvider,
+                          @ConfigProperty(name = OPEN_ID_CLIENT_TOKEN_RENEWAL_THREADS) Provider<Integer> threadsProvider,
+                          @ConfigProperty(name = OPEN_ID_CLIENT_TOKEN_RENEWAL_MAX_SESSIONS) Provider<Integer> maxSessionsProvider) {
+        this(oauth2Service, enabledProvider, leadTimeProvider, threadsProvider, maxSessionsProvider, null);
+    }
+
+    /**
+     * @param executor to be used instead of the lazily created one, may be null
+     */
+    TokenRenewalScheduler(Oauth2Service oauth2Service, Provider<Boolean> enabledProvider,
+                          Provider<Integer> leadTimeProvider, Provider<Integer> threadsProvider,
+                          Provider<Integer> maxSessionsProvider, ScheduledThreadPoolExecutor executor) {
+        this.oauth2Service = oauth2Service;
+        this.enabledProvider = enabledProvider;
+        this.leadTimeProvider = leadTimeProvider;
+        this.threadsProvider = threadsProvider;
+        this.maxSessionsProvider = maxSessionsProvider;
+        this.executor = executor;
+    }
+
+    /**
+     * Starts tracking the token of the given user, if the renewal is enabled
+     * and the token can be renewed at all. Tracking an already tracked user
+     * reschedules its renewal.
+     *
+     * @param session the session the user is stored in, in order to set the
+     *                attribute again after a renewal. May be null
+     * @param user    the logged-in user, as stored in the session. May be null
+     */
+    public void track(final HttpSession session, final AuthenticatedUserInfo user) {
+        if (null == user || !Boolean.TRUE.equals(enabledProvider.get())) {
+            return;
+        }
+        final var key = new TrackedUser(user, session);
+        if (!tracked.containsKey(key) && tracked.size() >= maxSessionsProvider.get()) {
+            LOGGER.debug("Maximum number of tracked sessions reached, token will be renewed lazily");
+            return;
+        }
+        schedule(key, new OauthAuthenticatedUserInfo(user));
+    }
+
+    /**
+     * Stops tracking the given user, usually on logout.
+     *
+     * @param user may be null
+     */
+    public void untrack(final AuthenticatedUserInfo user) {
+        if (null != user) {
+            cancel(new TrackedUser(user, null));
+        }
+    }
+
+    /**
+     * @return the number of currently tracked sessions
+     */
+    int getTrackedSessionCount() {
+        return tracked.size();
+    }
+
+    private void schedule(final TrackedUser key, final OauthAuthenticatedUserInfo user) {
+        final var tokenState = user.getTokenState();
+        if (null == tokenState || !tokenState.hasAccessTokenExpiry()
+                || MoreStrings.isEmpty(user.getToken().getRefresh_token())) {
+            LOGGER.trace("Token can not be renewed proactively");
+            cancel(key);
+            return;
+        }
+        final long remaining = tokenState.secondsUntilAccessTokenExpiry();
+        final long leadTime = leadTimeProvider.get();
+        final long delay = remaining > leadTime ? remaining - leadTime : Math.max(1, remaining / 2);
+        LOGGER.trace("Scheduling token renewal in %s seconds", delay);
+        final var future = getExecutor().schedule(() -> renew(key), delay, TimeUnit.SECONDS);
+        final var previous = tracked.put(key, future);
+        if (null != previous && previous != future) {
+            previous.cancel(false);
+        }
+    }
+
+    private void renew(final TrackedUser key) {
+        final var userInfo = key.get();
+        if (null == userInfo) {
+            LOGGER.trace("User has been discarded, stop tracking");
+            tracked.remove(key);
+            return;
+        }
+        if (!isSessionActive(key, userInfo)) {
+            LOGGER.trace("Session has been invalidated or does not hold the user anymore, stop tracking");
+            cancel(key);
+            return;
+        }
+        final var user = new OauthAuthenticatedUserInfo(userInfo);
+        final var tokenState = user.getTokenState();
+        if (null != tokenState && tokenState.secondsUntilAccessTokenExpiry() > leadTimeProvider.get()) {
+            LOGGER.trace("Token has been renewed in the meantime");
+            schedule(key, user);
+            return;
+        }
+        if (null != tokenState && !tokenState.isRefreshTokenValid()) {
+            LOGGER.debug("Refresh token expired, stop tracking");
+            cancel(key);
+            return;
+        }
+        try {
+            if (null == user.refreshToken(oauth2Service, tokenState)) {
+                LOGGER.warn(WARN.TOKEN_RENEWAL_FAILED);
+                cancel(key);
+                return;
+            }
+        } catch (RuntimeException e) {
+            LOGGER.warn(e, WARN.TOKEN_RENEWAL_FAILED);
+            cancel(key);
+            return;
+        }
+        LOGGER.debug("Access token renewed proactively");
+        if (republish(key, userInfo)) {
+            schedule(key, user);
+        }
+    }
+
+    /**
+     * @return {@code true} if the user has been tracked without session or
+     *         the session is still valid and holds the user
+     */
+    private static boolean isSessionActive(final TrackedUser key, final AuthenticatedUserInfo userInfo) {
+        if (null == key.session) {
+            return true;
+        }
+        final var session = key.session.get();
+        if (null == session) {
+            return false;
+        }
+        try {
+            return session.getAttribute(Oauth2AuthenticationFacadeImpl.AUTHENTICATED_USER_INFO_KEY) == userInfo;
+        } catch (final IllegalStateException e) {
+            LOGGER.debug("Session has been invalidated: ", e);
+            return false;
+        }
+    }
+
+    /**
+     * Sets the user as session attribute again, which is the signal for
+     * session replication to pick up the renewed token. Stops tracking if
+     * the session is not active anymore.
+     *
+     * @return {@code true} if the user is still to be tracked
+     */
+    private boolean republish(final TrackedUser key, final AuthenticatedUserInfo userInfo) {
+        if (null == key.session) {
+            return true;
+        }
+        final var session = key.session.get();
+        try {
+            if (null != session
+                    && session.getAttribute(Oauth2AuthenticationFacadeImpl.AUTHENTICATED_USER_INFO_KEY) == userInfo) {
+                session.setAttribute(Oauth2AuthenticationFacadeImpl.AUTHENTICATED_USER_INFO_KEY, userInfo);
+                return true;
+            }
+        } catch (final IllegalStateException e) {
+            LOGGER.debug("Session has been invalidated: ", e);
+        }
+        cancel(key);
+        return false;
+    }
+
+    private void cancel(final TrackedUser key) {
+        final var future = tracked.remove(key);
+        if (null != future) {
+            future.cancel(false);
+        }
+    }
+
+    private synchronized ScheduledThreadPoolExecutor getExecutor() {
+        if (null == executor) {
+            final var counter = new AtomicInteger();
+            final ThreadFactory threadFactory = runnable -> {
+                final var thread = new Thread(runnable, THREAD_NAME_PREFIX + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+            executor = new ScheduledThreadPoolExecutor(Math.max(1, threadsProvider.get()), threadFactory);
+            executor.setRemoveOnCancelPolicy(true);
+            LOGGER.debug("Started token renewal with %s threads", executor.getCorePoolSize());
+        }
+        return executor;
+    }
+
+    /**
+     * Stops all scheduled renewals.
+     */
+    @PreDestroy
+    synchronized void destroy() {
+        tracked.clear();
+        if (null != executor) {
+            LOGGER.debug("Shutting down token renewal");
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    /**
+     * Weak, identity based reference to a tracked user, together with a weak
+     * reference to its session that is not part of the identity.
+     */
+    private static final class TrackedUser extends WeakReference<AuthenticatedUserInfo> {
+
+        private final int hash;
+
+        /**
+         * Null if tracked without session
+         */
+        private final WeakReference<HttpSession> session;
+
+        TrackedUser(final AuthenticatedUserInfo user, final HttpSession session) {
+            super(user);
+            hash = System.identityHashCode(user);
+            this.session = null == session ? null : new WeakReference<>(session);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof TrackedUser other)) {
+                return false;
+            }
+            final var referent = get();
+            return null != referent && referent == other.get();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
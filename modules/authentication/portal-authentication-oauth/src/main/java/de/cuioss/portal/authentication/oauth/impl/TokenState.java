@@ -0,0 +1,294 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.authentication.oauth.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import de.cuioss.portal.authentication.oauth.PortalAuthenticationOauthLogMessages.ERROR;
+import de.cuioss.portal.authentication.oauth.Token;
+import de.cuioss.tools.logging.CuiLogger;
+import de.cuioss.tools.string.MoreStrings;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsed, typed view on a {@link Token} with absolute expiry instants.
+ *
+ * <p>The expiry of the access-, refresh- and id-token is computed once when
+ * the token is received. Afterwards validity checks are a single
+ * {@code long} comparison against {@link System#nanoTime()}, a monotonic clock
+ * source that is not affected by wall clock adjustments.
+ *
+ * <p>For serialization, e.g. session replication, the expiry instants are
+ * additionally kept as epoch milliseconds. The monotonic deadlines are
+ * recomputed from these after deserialization, because {@link System#nanoTime()}
+ * values are only meaningful within a single JVM.
+ *
+ * <p>In order to stay compatible with code modifying the {@link Token} or the
+ * token timestamp directly, {@link #isDerivedFrom(Token, int)} tells whether an
+ * instance still reflects the given source values.
+ */
+@ToString(exclude = "token")
+@EqualsAndHashCode(of = {"receivedAt", "accessTokenExpiresAt", "refreshTokenExpiresAt", "idTokenExpiresAt"})
+final class TokenState implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private static final CuiLogger LOGGER = new CuiLogger(TokenState.class);
+
+    private static final ObjectReader JSON_READER = new ObjectMapper().reader();
+
+    /**
+     * Tokens are considered expired that many seconds before their actual
+     * expiry, compensating clock skew and request latency.
+     */
+    static final long EXPIRY_SKEW_SECONDS = 10;
+
+    /**
+     * Marker for tokens without (known) expiry.
+     */
+    static final long NEVER = Long.MAX_VALUE;
+
+    /**
+     * Marker for tokens that must be considered expired, e.g. because of an
+     * unparsable expiry.
+     */
+    static final long EXPIRED = Long.MIN_VALUE;
+
+    /**
+     * The token the state has been derived from
+     */
+    @Getter
+    private final Token token;
+    private final String expiresIn;
+    private final String refreshExpiresIn;
+    private final String idToken;
+
+    /**
+     * The granted scopes the state has been created with, may be null
+     */
+    @Getter
+    private final String scopes;
+
+    /**
+     * Epoch seconds the token has been received at.
+     */
+    @Getter
+    private final int receivedAt;
+
+    /**
+     * Epoch milliseconds the access-token expires at, including the skew,
+     * or {@link #NEVER} / {@link #EXPIRED}
+     */
+    @Getter
+    private final long accessTokenExpiresAt;
+
+    /**
+     * Epoch milliseconds the refresh-token expires at, including the skew,
+     * or {@link #NEVER} / {@link #EXPIRED}
+     */
+    @Getter
+    private final long refreshTokenExpiresAt;
+
+    /**
+     * Epoch milliseconds the id-token expires at, derived from its {@code exp}
+     * claim, or {@link #NEVER} if not present
+     */
+    @Getter
+    private final long idTokenExpiresAt;
+
+    private transient long accessTokenDeadline;
+    private transient long refreshTokenDeadline;
+    private transient long idTokenDeadline;
+    private transient ScopeSet grantedScopes;
+
+    private TokenState(final Token token, final int receivedAt, final String scopes) {
+        this.token = token;
+        this.scopes = scopes;
+        grantedScopes = ScopeSet.of(scopes);
+        expiresIn = token.getExpires_in();
+        refreshExpiresIn = token.getRefresh_expires_in();
+        idToken = token.getId_token();
+        this.receivedAt = receivedAt;
+        accessTokenExpiresAt = computeExpiresAt(receivedAt, expiresIn, true);
+        refreshTokenExpiresAt = computeExpiresAt(receivedAt, refreshExpiresIn, false);
+        idTokenExpiresAt = computeIdTokenExpiresAt(idToken);
+        computeDeadlines();
+    }
+
+    /**
+     * @param token      the received token, must not be null
+     * @param receivedAt epoch seconds the token has been received at
+     * @return the parsed state for the given token
+     */
+    static TokenState of(final Token token, final int receivedAt) {
+        return of(token, receivedAt, null);
+    }
+
+    /**
+     * @param token      the received token, must not be null
+     * @param receivedAt epoch seconds the token has been received at
+     * @param scopes     the space separated scopes granted with the token, may
+     *                   be null
+     * @return the parsed state for the given token
+     */
+    static TokenState of(final Token token, final int receivedAt, final String scopes) {
+        return new TokenState(Objects.requireNonNull(token), receivedAt, scopes);
+    }
+
+    /**
+     * @param source    the token to be checked
+     * @param timestamp the token timestamp to be checked
+     * @return {@code true} if this instance has been computed from the given
+     * values, i.e. it can be used instead of parsing them again
+     */
+    boolean isDerivedFrom(final Token source, final int timestamp) {
+        return token == source && receivedAt == timestamp
+                && Objects.equals(expiresIn, source.getExpires_in())
+                && Objects.equals(refreshExpiresIn, source.getRefresh_expires_in())
+                && Objects.equals(idToken, source.getId_token());
+    }
+
+    /**
+     * @return the parsed {@link #getScopes()}, never null
+     */
+    ScopeSet getGrantedScopes() {
+        return grantedScopes;
+    }
+
+    /**
+     * @return {@code true} if the access-token is not expired
+     */
+    boolean isAccessTokenValid() {
+        return isBefore(accessTokenDeadline);
+    }
+
+    /**
+     * @return {@code true} if the refresh-token is not expired. Does not check
+     * whether there is a refresh-token at all.
+     */
+    boolean isRefreshTokenValid() {
+        return isBefore(refreshTokenDeadline);
+    }
+
+    /**
+     * @return {@code true} if the id-token is not expired. Does not check
+     * whether there is an id-token at all.
+     */
+    boolean isIdTokenValid() {
+        return isBefore(idTokenDeadline);
+    }
+
+    /**
+     * @return {@code true} if the access-token has a finite expiry
+     */
+    boolean hasAccessTokenExpiry() {
+        return NEVER != accessTokenExpiresAt && EXPIRED != accessTokenExpiresAt;
+    }
+
+    /**
+     * @return the monotonic deadline, see {@link System#nanoTime()}, of the
+     * access-token. Only meaningful if {@link #hasAccessTokenExpiry()}
+     */
+    long getAccessTokenDeadline() {
+        return accessTokenDeadline;
+    }
+
+    /**
+     * @return the remaining seconds until the access-token expires, negative if
+     * already expired. Only meaningful if {@link #hasAccessTokenExpiry()}
+     */
+    long secondsUntilAccessTokenExpiry() {
+        return TimeUnit.NANOSECONDS.toSeconds(accessTokenDeadline - System.nanoTime());
+    }
+
+    private static boolean isBefore(final long deadline) {
+        if (NEVER == deadline) {
+            return true;
+        }
+        if (EXPIRED == deadline) {
+            return false;
+        }
+        return System.nanoTime() - deadline < 0;
+    }
+
+    private void computeDeadlines() {
+        final var nowMillis = System.currentTimeMillis();
+        final var nowNanos = System.nanoTime();
+        accessTokenDeadline = toDeadline(accessTokenExpiresAt, nowMillis, nowNanos);
+        refreshTokenDeadline = toDeadline(refreshTokenExpiresAt, nowMillis, nowNanos);
+        idTokenDeadline = toDeadline(idTokenExpiresAt, nowMillis, nowNanos);
+    }
+
+    private static long toDeadline(final long expiresAt, final long nowMillis, final long nowNanos) {
+        if (NEVER == expiresAt || EXPIRED == expiresAt) {
+            return expiresAt;
+        }
+        return nowNanos + TimeUnit.MILLISECONDS.toNanos(expiresAt - nowMillis);
+    }
+
+    private static long computeExpiresAt(final int receivedAt, final String expiresIn, final boolean logInvalid) {
+        if (MoreStrings.isEmpty(expiresIn)) {
+            return NEVER;
+        }
+        try {
+            return TimeUnit.SECONDS.toMillis(receivedAt + Long.parseLong(expiresIn.trim()) - EXPIRY_SKEW_SECONDS);
+        } catch (final NumberFormatException e) {
+            if (logInvalid) {
+                LOGGER.error(e, ERROR.TOKEN_EXPIRES_IN_NOT_A_VALID_NUMBER);
+            } else {
+                LOGGER.debug(e, "refresh_expires_in not a valid number");
+            }
+            return EXPIRED;
+        }
+    }
+
+    private static long computeIdTokenExpiresAt(final String idToken) {
+        if (MoreStrings.isEmpty(idToken)) {
+            return NEVER;
+        }
+        final var parts = idToken.split("\\.");
+        if (parts.length != 3) {
+            return NEVER;
+        }
+        try {
+            final var exp = JSON_READER.readTree(Base64.getUrlDecoder().decode(parts[1])).get("exp");
+            if (null != exp && exp.canConvertToLong()) {
+                return TimeUnit.SECONDS.toMillis(exp.asLong());
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            LOGGER.debug(e, "unable to read exp claim from id-token");
+        }
+        return NEVER;
+    }
+
+    @Serial
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        computeDeadlines();
+        grantedScopes = ScopeSet.of(scopes);
+    }
+}
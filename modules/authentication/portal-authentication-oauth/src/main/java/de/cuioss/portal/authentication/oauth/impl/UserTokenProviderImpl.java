@@ -0,0 +1,61 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.authentication.oauth.impl;
+
+import de.cuioss.portal.authentication.facade.PortalAuthenticationFacade;
+import de.cuioss.portal.authentication.oauth.Oauth2AuthenticationFacade;
+import de.cuioss.portal.configuration.connections.UserTokenProvider;
+import de.cuioss.tools.logging.CuiLogger;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.inject.Provider;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.Optional;
+
+/**
+ * Provides the access token of the user of the current servlet request, see
+ * {@link Oauth2AuthenticationFacade#retrieveToken(de.cuioss.portal.authentication.AuthenticatedUserInfo, String)}.
+ * An expired token is renewed with the refresh token, but the user is never
+ * redirected to the login page.
+ */
+@ApplicationScoped
+public class UserTokenProviderImpl implements UserTokenProvider {
+
+    private static final CuiLogger LOGGER = new CuiLogger(UserTokenProviderImpl.class);
+
+    private final Provider<Oauth2AuthenticationFacade> facadeProvider;
+
+    private final Provider<HttpServletRequest> servletRequestProvider;
+
+    @Inject
+    UserTokenProviderImpl(@PortalAuthenticationFacade final Provider<Oauth2AuthenticationFacade> facadeProvider,
+            final Provider<HttpServletRequest> servletRequestProvider) {
+        this.facadeProvider = facadeProvider;
+        this.servletRequestProvider = servletRequestProvider;
+    }
+
+    @Override
+    public Optional<String> retrieveAccessToken(final String scopes) {
+        final var facade = facadeProvider.get();
+        final var currentUser = facade.retrieveCurrentAuthenticationContext(servletRequestProvider.get());
+        if (!currentUser.isAuthenticated()) {
+            LOGGER.debug("No authenticated user, no token available");
+            return Optional.empty();
+        }
+        return Optional.ofNullable(facade.retrieveToken(currentUser, scopes));
+    }
+}
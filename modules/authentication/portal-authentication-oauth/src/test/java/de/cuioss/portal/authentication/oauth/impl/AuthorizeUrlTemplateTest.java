@@ -0,0 +1,81 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.authentication.oauth.impl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests AuthorizeUrlTemplate")
+class AuthorizeUrlTemplateTest {
+
+    private static final String AUTHORIZE_URI = "https://oidc.example.com/authorize";
+
+    private static Oauth2ConfigurationImpl configuration() {
+        return Oauth2ConfigurationImpl.builder().authorizeUri(AUTHORIZE_URI + " ").clientId(" client")
+                .externalContextPath("https://portal.example.com").build();
+    }
+
+    @Test
+    @DisplayName("Should create the complete authorize url")
+    void shouldCreateUrl() {
+        var underTest = new AuthorizeUrlTemplate(configuration(), "/login.jsf", path -> "encoded" + path);
+        assertEquals(AUTHORIZE_URI
+                        + "?response_type=code&scope=openid+profile&client_id=client&state=state&nonce=nonce"
+                        + "&code_challenge=challenge&code_challenge_method=S256&id_token_hint=idToken"
+                        + "&redirect_uri=encoded/login.jsf",
+                underTest.create("openid+profile", "state", "nonce", "challenge", "idToken"));
+        assertTrue(underTest.create("openid", "state", "nonce", "challenge", null)
+                .endsWith("&id_token_hint=&redirect_uri=encoded/login.jsf"));
+    }
+
+    @Test
+    @DisplayName("Should encode the redirect url only once")
+    void shouldPrecomputeRedirect() {
+        var calls = new AtomicInteger();
+        var underTest = new AuthorizeUrlTemplate(configuration(), "/login.jsf", path -> {
+            calls.incrementAndGet();
+            return path;
+        });
+        underTest.create("openid", "state1", "nonce1", "challenge1", null);
+        underTest.create("openid", "state2", "nonce2", "challenge2", null);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    @DisplayName("Should detect configuration changes")
+    void shouldDetectChanges() {
+        var config = configuration();
+        var underTest = new AuthorizeUrlTemplate(config, "/login.jsf", path -> path);
+        assertTrue(underTest.isApplicable(config, "/login.jsf"));
+        assertTrue(underTest.isApplicable(configuration(), "/login.jsf"));
+        assertFalse(underTest.isApplicable(config, "/other.jsf"));
+
+        config.setClientId("other");
+        assertFalse(underTest.isApplicable(config, "/login.jsf"));
+
+        config = configuration();
+        config.setAuthorizeUri("https://other.example.com/authorize");
+        assertFalse(underTest.isApplicable(config, "/login.jsf"));
+
+        config = configuration();
+        config.setExternalContextPath("https://other.example.com");
+        assertFalse(underTest.isApplicable(config, "/login.jsf"));
+    }
+}
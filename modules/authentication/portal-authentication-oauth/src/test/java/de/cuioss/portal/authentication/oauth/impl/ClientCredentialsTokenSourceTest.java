@@ -0,0 +1,104 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.authentication.oauth.impl;
+
+import de.cuioss.portal.configuration.connections.impl.CachingTokenResolver;
+import de.cuioss.portal.core.test.junit5.EnablePortalConfiguration;
+import de.cuioss.test.juli.junit5.EnableTestLogger;
+import de.cuioss.test.mockwebserver.EnableMockWebServer;
+import de.cuioss.test.mockwebserver.dispatcher.EndpointAnswerHandler;
+import mockwebserver3.MockWebServer;
+import org.jboss.resteasy.cdi.ResteasyCdiExtension;
+import org.jboss.weld.junit5.ExplicitParamInjection;
+import org.jboss.weld.junit5.auto.AddExtensions;
+import org.jboss.weld.junit5.auto.EnableAutoWeld;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@EnableAutoWeld
+@EnablePortalConfiguration
+@EnableMockWebServer
+@EnableTestLogger
+@AddExtensions(ResteasyCdiExtension.class)
+@ExplicitParamInjection
+@DisplayName("Tests ClientCredentialsTokenSource")
+class ClientCredentialsTokenSourceTest {
+
+    private static final String TOKEN_PATH = "/auth/realms/master/protocol/openid-connect/token";
+
+    private final OIDCWellKnownDispatcher dispatcher = new OIDCWellKnownDispatcher();
+
+    private String tokenUri;
+
+    @BeforeEach
+    void beforeEach(MockWebServer mockWebServer) {
+        dispatcher.reset();
+        mockWebServer.setDispatcher(dispatcher);
+        tokenUri = "http://localhost:" + mockWebServer.getPort() + TOKEN_PATH;
+    }
+
+    @Test
+    @DisplayName("Should request token with client credentials grant")
+    void shouldRequestToken(MockWebServer mockWebServer) throws InterruptedException {
+        var underTest = new ClientCredentialsTokenSource(tokenUri, OIDCWellKnownDispatcher.CLIENT_ID,
+                OIDCWellKnownDispatcher.CLIENT_SECRET, "openid profile");
+
+        var token = underTest.fetch();
+
+        assertEquals("Bearer SlAV32hkKG", token.value());
+        assertEquals(Duration.ofSeconds(3600), token.expiresIn());
+
+        var request = mockWebServer.takeRequest(1, TimeUnit.SECONDS);
+        var credentials = OIDCWellKnownDispatcher.CLIENT_ID + ":" + OIDCWellKnownDispatcher.CLIENT_SECRET;
+        assertEquals("Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8)),
+                request.getHeaders().get("Authorization"));
+        assertEquals("grant_type=client_credentials&scope=openid+profile", request.getBody().utf8());
+    }
+
+    @Test
+    @DisplayName("Should fail if token endpoint fails")
+    void shouldFailOnErrorResponse() {
+        dispatcher.setTokenResult(EndpointAnswerHandler.RESPONSE_NOT_FOUND);
+        var underTest = new ClientCredentialsTokenSource(tokenUri, OIDCWellKnownDispatcher.CLIENT_ID,
+                OIDCWellKnownDispatcher.CLIENT_SECRET, null);
+
+        assertThrows(IllegalStateException.class, underTest::fetch);
+    }
+
+    @Test
+    @DisplayName("Should create caching resolver calling the endpoint once")
+    void shouldCreateCachingResolver(MockWebServer mockWebServer) {
+        var resolver = new ClientCredentialsTokenResolverFactoryImpl().create("Authorization", tokenUri,
+                OIDCWellKnownDispatcher.CLIENT_ID, OIDCWellKnownDispatcher.CLIENT_SECRET, null);
+
+        assertInstanceOf(CachingTokenResolver.class, resolver);
+        assertEquals("Bearer SlAV32hkKG", resolver.resolve());
+        assertEquals("Bearer SlAV32hkKG", resolver.resolve());
+        assertEquals(1, mockWebServer.getRequestCount());
+        assertTrue(resolver.toString().contains("Authorization"));
+    }
+}
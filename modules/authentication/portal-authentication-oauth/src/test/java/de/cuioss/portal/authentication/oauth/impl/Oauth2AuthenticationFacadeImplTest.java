@@ -57,7 +57,7 @@ import static org.junit.jupiter.api.Assertions.*;
 @EnableAutoWeld
 @EnablePortalConfiguration(configuration = "authentication.oidc.validation.enabled:false")
 @AddBeanClasses({Oauth2AuthenticationFacadeImpl.class, Oauth2DiscoveryConfigurationProducer.class,
-        RedirectorMock.class})
+        RedirectorMock.class, TokenRenewalScheduler.class})
 @AddExtensions(ResteasyCdiExtension.class)
 @ExplicitParamInjection
 class Oauth2AuthenticationFacadeImplTest
@@ -131,10 +131,9 @@ class Oauth2AuthenticationFacadeImplTest
     }
 
     private UrlParameter getStateParameter() {
-        if (null != servletRequest.getSession().getAttribute("State")) {
-            return new UrlParameter("state", (String) servletRequest.getSession().getAttribute("State"));
-        }
-        return new UrlParameter("state", "abc");
+        return OauthLoginState.fromSession(servletRequest.getSession()).peek()
+                .map(attempt -> new UrlParameter("state", attempt.state()))
+                .orElse(new UrlParameter("state", "abc"));
     }
 
     private List<UrlParameter> calculateUrlParameter() {
@@ -221,19 +220,21 @@ class Oauth2AuthenticationFacadeImplTest
         var url = underTest.retrieveOauth2RedirectUrl("scope", null);
         dispatcher.assertAuthorizeURL(url,
                 "response_type=code&scope=scope&client_id=" + OIDCWellKnownDispatcher.CLIENT_ID + "&state=");
-        assertNotNull(servletRequest.getSession().getAttribute("PKCE_CODE"));
-        assertTrue(((String) servletRequest.getSession().getAttribute("PKCE_CODE")).length() >= 43, """
+        var codeVerifier = OauthLoginState.fromSession(servletRequest.getSession()).peek()
+                .map(OauthLoginState.Attempt::codeVerifier).orElse(null);
+        assertNotNull(codeVerifier);
+        assertTrue(codeVerifier.length() >= 43, """
                 PKCE Code is too\
                  short (minimum 43 characters\
                 """);
-        assertTrue(((String) servletRequest.getSession().getAttribute("PKCE_CODE")).length() <= 128, """
+        assertTrue(codeVerifier.length() <= 128, """
                 PKCE Code is too\
                  long (maximum 128 characters\
                 """);
         MessageDigest digest;
         digest = MessageDigest.getInstance("SHA-256");
-        final var code_challenge = Base64.getUrlEncoder().withoutPadding().encodeToString(digest.digest(
-                ((String) servletRequest.getSession().getAttribute("PKCE_CODE")).getBytes(StandardCharsets.US_ASCII)));
+        final var code_challenge = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(digest.digest(codeVerifier.getBytes(StandardCharsets.US_ASCII)));
         assertTrue(url.contains("&code_challenge=" + code_challenge));
         assertTrue(url.endsWith("&redirect_uri=nulllogin.jsf"));
         url = underTest.retrieveOauth2RedirectUrl("scope", "idtoken");
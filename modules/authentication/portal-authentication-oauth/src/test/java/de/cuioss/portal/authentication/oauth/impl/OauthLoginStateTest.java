@@ -0,0 +1,93 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.authentication.oauth.impl;
+
+import de.cuioss.test.jsf.mocks.CuiMockHttpServletRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests OauthLoginState")
+class OauthLoginStateTest {
+
+    @Test
+    @DisplayName("Should store a single holder per session")
+    void shouldStoreHolderInSession() {
+        var session = new CuiMockHttpServletRequest().getSession();
+        var holder = OauthLoginState.fromSession(session);
+        assertNotNull(holder);
+        assertSame(holder, OauthLoginState.fromSession(session));
+        assertSame(holder, session.getAttribute(OauthLoginState.SESSION_KEY));
+    }
+
+    @Test
+    @DisplayName("Should create an attempt only once")
+    void shouldReuseAttempt() {
+        var holder = new OauthLoginState();
+        var calls = new AtomicInteger();
+        var first = holder.getOrCreate(() -> {
+            calls.incrementAndGet();
+            return new OauthLoginState.Attempt("state", "verifier");
+        });
+        var second = holder.getOrCreate(() -> {
+            calls.incrementAndGet();
+            return new OauthLoginState.Attempt("other", "other");
+        });
+        assertSame(first, second);
+        assertEquals(1, calls.get());
+        assertEquals("state", holder.peek().orElseThrow().state());
+    }
+
+    @Test
+    @DisplayName("Should consume an attempt exactly once")
+    void shouldConsumeOnce() {
+        var holder = new OauthLoginState();
+        assertTrue(holder.consume().isEmpty());
+        holder.getOrCreate(() -> new OauthLoginState.Attempt("state", "verifier"));
+        var consumed = holder.consume();
+        assertTrue(consumed.isPresent());
+        assertEquals("verifier", consumed.get().codeVerifier());
+        assertTrue(holder.consume().isEmpty());
+        assertTrue(holder.peek().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should set the session attribute again on each change")
+    void shouldPublishChanges() {
+        var session = new CuiMockHttpServletRequest().getSession();
+        var holder = OauthLoginState.fromSession(session);
+
+        session.removeAttribute(OauthLoginState.SESSION_KEY);
+        holder.getOrCreate(() -> new OauthLoginState.Attempt("state", "verifier"));
+        assertSame(holder, session.getAttribute(OauthLoginState.SESSION_KEY));
+
+        session.removeAttribute(OauthLoginState.SESSION_KEY);
+        holder.peek();
+        assertNull(session.getAttribute(OauthLoginState.SESSION_KEY));
+        holder.consume();
+        assertSame(holder, session.getAttribute(OauthLoginState.SESSION_KEY));
+    }
+
+    @Test
+    @DisplayName("Should reject incomplete attempts")
+    void shouldRejectNullValues() {
+        assertThrows(NullPointerException.class, () -> new OauthLoginState.Attempt(null, "verifier"));
+        assertThrows(NullPointerException.class, () -> new OauthLoginState.Attempt("state", null));
+    }
+}
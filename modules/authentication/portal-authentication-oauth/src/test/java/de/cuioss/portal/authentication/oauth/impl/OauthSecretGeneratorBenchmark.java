@@ -0,0 +1,96 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.authentication.oauth.impl;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigInteger;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the throughput of creating the random values of an authorize
+ * redirect (state, nonce, PKCE code verifier and challenge) under 64
+ * concurrent threads: the former shared {@link SecureRandom} /
+ * {@link BigInteger} approach versus {@link OauthSecretGenerator}, as well
+ * as the complete redirect URL creation using {@link AuthorizeUrlTemplate}.
+ *
+ * <p>Not executed by the unit tests, run it via {@link #main(String[])} from
+ * the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(64)
+public class OauthSecretGeneratorBenchmark {
+
+    private final SecureRandom sharedRandom = new SecureRandom();
+
+    private final OauthSecretGenerator generator = new OauthSecretGenerator();
+
+    private final AuthorizeUrlTemplate template = new AuthorizeUrlTemplate(Oauth2ConfigurationImpl.builder()
+            .authorizeUri("https://oidc.example.com/authorize").clientId("portal-client")
+            .externalContextPath("https://portal.example.com").build(), "/portal/login.jsf",
+            path -> URLEncoder.encode("https://portal.example.com" + path, StandardCharsets.UTF_8));
+
+    @Benchmark
+    public void sharedSecureRandom(final Blackhole blackhole) throws NoSuchAlgorithmException {
+        blackhole.consume(new BigInteger(130, sharedRandom).toString(32));
+        blackhole.consume(new BigInteger(130, sharedRandom).toString(32));
+        final var verifier = new BigInteger(260, sharedRandom).toString(32);
+        final var digest = MessageDigest.getInstance("SHA-256");
+        blackhole.consume(Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(digest.digest(verifier.getBytes(StandardCharsets.US_ASCII))));
+    }
+
+    @Benchmark
+    public void threadLocalGenerator(final Blackhole blackhole) {
+        blackhole.consume(generator.nextState());
+        blackhole.consume(generator.nextNonce());
+        blackhole.consume(generator.codeChallenge(generator.nextCodeVerifier()));
+    }
+
+    @Benchmark
+    public String redirectUrl() {
+        return template.create("openid+profile", generator.nextState(), generator.nextNonce(),
+                generator.codeChallenge(generator.nextCodeVerifier()), null);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(OauthSecretGeneratorBenchmark.class.getSimpleName()).build()).run();
+    }
+}
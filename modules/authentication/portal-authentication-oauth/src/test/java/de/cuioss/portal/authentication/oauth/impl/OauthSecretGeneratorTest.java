@@ -0,0 +1,74 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.authentication.oauth.impl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests OauthSecretGenerator")
+class OauthSecretGeneratorTest {
+
+    private static final Pattern BASE64_URL = Pattern.compile("[A-Za-z0-9_-]+");
+
+    private final OauthSecretGenerator underTest = new OauthSecretGenerator();
+
+    @Test
+    @DisplayName("Should create RFC 7636 compliant code verifiers")
+    void shouldCreateCodeVerifier() {
+        var verifier = underTest.nextCodeVerifier();
+        assertEquals(43, verifier.length());
+        assertTrue(BASE64_URL.matcher(verifier).matches(), verifier);
+    }
+
+    @Test
+    @DisplayName("Should create unique state and nonce values")
+    void shouldCreateUniqueValues() {
+        var values = new HashSet<String>();
+        for (var i = 0; i < 100; i++) {
+            var state = underTest.nextState();
+            assertEquals(22, state.length());
+            assertTrue(BASE64_URL.matcher(state).matches(), state);
+            assertTrue(values.add(state));
+            assertTrue(values.add(underTest.nextNonce()));
+        }
+    }
+
+    @Test
+    @DisplayName("Should compute S256 code challenge")
+    void shouldComputeCodeChallenge() throws Exception {
+        var verifier = underTest.nextCodeVerifier();
+        var expected = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                MessageDigest.getInstance("SHA-256").digest(verifier.getBytes(StandardCharsets.US_ASCII)));
+        assertEquals(expected, underTest.codeChallenge(verifier));
+        // digest must be reset between invocations
+        assertEquals(expected, underTest.codeChallenge(verifier));
+    }
+
+    @Test
+    @DisplayName("Should compute RFC 7636 appendix B example")
+    void shouldMatchSpecificationExample() {
+        assertEquals("E9Melhoa2OwvFrEMTJguCHaoeK1t8URWbuGJSstw-cM",
+                underTest.codeChallenge("dBjftJeZ4CVP-mB92K27uhbUJU1p1r_wW1gFWFOEjXk"));
+    }
+}
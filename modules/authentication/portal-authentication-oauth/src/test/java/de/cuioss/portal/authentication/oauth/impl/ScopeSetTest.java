@@ -0,0 +1,67 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.authentication.oauth.impl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests ScopeSet")
+class ScopeSetTest {
+
+    @Test
+    @DisplayName("Should parse and intern scope strings")
+    void shouldParseAndIntern() {
+        var scopes = ScopeSet.of("openid  profile email");
+        assertEquals(Set.of("openid", "profile", "email"), scopes.getScopes());
+        assertSame(scopes, ScopeSet.of("openid  profile email"));
+        assertEquals(scopes, ScopeSet.of("email profile openid"));
+    }
+
+    @Test
+    @DisplayName("Should keep interning beyond the cache limit")
+    void shouldEvictBeyondLimit() {
+        for (int i = 0; i < 2 * ScopeSet.MAX_CACHED_SCOPE_STRINGS; i++) {
+            assertEquals(Set.of("scope" + i), ScopeSet.of("scope" + i).getScopes());
+        }
+        var late = ScopeSet.of("late scope");
+        assertSame(late, ScopeSet.of("late scope"));
+    }
+
+    @Test
+    @DisplayName("Should handle null and empty input")
+    void shouldHandleEmpty() {
+        assertSame(ScopeSet.EMPTY, ScopeSet.of(null));
+        assertSame(ScopeSet.EMPTY, ScopeSet.of(""));
+        assertSame(ScopeSet.EMPTY, ScopeSet.of("  "));
+        assertTrue(ScopeSet.EMPTY.containsAll(ScopeSet.EMPTY));
+        assertFalse(ScopeSet.EMPTY.containsAll(ScopeSet.of("openid")));
+    }
+
+    @Test
+    @DisplayName("Should check containment")
+    void shouldCheckContainment() {
+        var granted = ScopeSet.of("openid profile email");
+        assertTrue(granted.containsAll(ScopeSet.of("profile")));
+        assertTrue(granted.containsAll(ScopeSet.of("email openid")));
+        assertTrue(granted.containsAll(granted));
+        assertFalse(granted.containsAll(ScopeSet.of("openid phone")));
+        assertEquals("phone", granted.findMissing(ScopeSet.of("openid phone")).orElseThrow());
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.authentication.oauth.impl;
+
+import de.cuioss.portal.authentication.AuthenticatedUserInfo;
+import de.cuioss.portal.authentication.model.BaseAuthenticatedUserInfo;
+import de.cuioss.portal.authentication.oauth.Token;
+import de.cuioss.test.jsf.mocks.CuiMockHttpServletRequest;
+import de.cuioss.test.juli.junit5.EnableTestLogger;
+import jakarta.servlet.http.HttpSession;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@EnableTestLogger
+@DisplayName("Tests TokenRenewalScheduler")
+class TokenRenewalSchedulerTest {
+
+    private final AtomicInteger refreshCalls = new AtomicInteger();
+
+    private final Oauth2ServiceMock service = new Oauth2ServiceMock() {
+
+        @Override
+        public String refreshToken(OauthAuthenticatedUserInfo currentUser) {
+            refreshCalls.incrementAndGet();
+            var token = token("3600", "refresh");
+            token.setAccess_token("renewed");
+            currentUser.updateToken(token, (int) (System.currentTimeMillis() / 1000L));
+            return token.getAccess_token();
+        }
+    };
+
+    private final ManualExecutor executor = new ManualExecutor();
+
+    private TokenRenewalScheduler underTest;
+
+    @AfterEach
+    void shutdown() {
+        if (null != underTest) {
+            underTest.destroy();
+        }
+    }
+
+    private TokenRenewalScheduler scheduler(boolean enabled, int maxSessions) {
+        underTest = new TokenRenewalScheduler(service, () -> enabled, () -> 100, () -> 1, () -> maxSessions,
+                executor);
+        return underTest;
+    }
+
+    private static Token token(String expiresIn, String refreshToken) {
+        var token = new Token();
+        token.setAccess_token("access");
+        token.setExpires_in(expiresIn);
+        token.setRefresh_token(refreshToken);
+        return token;
+    }
+
+    private static AuthenticatedUserInfo user(Token token) {
+        return BaseAuthenticatedUserInfo.builder().authenticated(true).identifier("user")
+                .contextMapElement(OauthAuthenticatedUserInfo.TOKEN_KEY, token)
+                .contextMapElement(OauthAuthenticatedUserInfo.TOKEN_TIMESTAMP_KEY,
+                        (int) (System.currentTimeMillis() / 1000L))
+                .contextMapElement(OauthAuthenticatedUserInfo.TOKEN_SCOPES_KEY, "openid").build();
+    }
+
+    private static HttpSession countingSession(AtomicInteger setAttributeCalls) {
+        var delegate = new CuiMockHttpServletRequest().getSession();
+        return (HttpSession) Proxy.newProxyInstance(HttpSession.class.getClassLoader(),
+                new Class<?>[]{HttpSession.class}, (proxy, method, args) -> {
+                    if ("setAttribute".equals(method.getName())) {
+                        setAttributeCalls.incrementAndGet();
+                    }
+                    return method.invoke(delegate, args);
+                });
+    }
+
+    @Test
+    @DisplayName("Should renew token before expiry and set the session attribute again")
+    void shouldRenewToken() {
+        var user = user(token("12", "refresh"));
+        var setAttributeCalls = new AtomicInteger();
+        var session = countingSession(setAttributeCalls);
+        session.setAttribute(Oauth2AuthenticationFacadeImpl.AUTHENTICATED_USER_INFO_KEY, user);
+        scheduler(true, 10).track(session, user);
+        assertEquals(1, underTest.getTrackedSessionCount());
+        assertEquals(List.of(1L), executor.delays);
+
+        executor.runNext();
+
+        var renewed = new OauthAuthenticatedUserInfo(user);
+        assertEquals("renewed", renewed.getToken().getAccess_token());
+        assertEquals("renewed", renewed.getTokenState().getToken().getAccess_token());
+        assertSame(user, session.getAttribute(Oauth2AuthenticationFacadeImpl.AUTHENTICATED_USER_INFO_KEY));
+        assertEquals(2, setAttributeCalls.get());
+        assertEquals(1, refreshCalls.get());
+        // rescheduled lead time before expiry of the renewed token
+        assertEquals(2, executor.delays.size());
+        assertTrue(executor.delays.get(1) > 3000);
+    }
+
+    @Test
+    @DisplayName("Should stop tracking without refresh if the session has been invalidated")
+    void shouldStopOnInvalidatedSession() {
+        var user = user(token("12", "refresh"));
+        var invalidated = new AtomicBoolean();
+        var delegate = new CuiMockHttpServletRequest().getSession();
+        var session = (HttpSession) Proxy.newProxyInstance(HttpSession.class.getClassLoader(),
+                new Class<?>[]{HttpSession.class}, (proxy, method, args) -> {
+                    if (invalidated.get()) {
+                        throw new IllegalStateException("invalidated");
+                    }
+                    return method.invoke(delegate, args);
+                });
+        session.setAttribute(Oauth2AuthenticationFacadeImpl.AUTHENTICATED_USER_INFO_KEY, user);
+        scheduler(true, 10).track(session, user);
+        invalidated.set(true);
+
+        executor.runNext();
+
+        assertEquals(0, refreshCalls.get());
+        assertEquals(0, underTest.getTrackedSessionCount());
+        assertEquals(1, executor.delays.size());
+    }
+
+    @Test
+    @DisplayName("Should stop tracking without refresh if the session does not hold the user anymore")
+    void shouldStopOnRemovedUser() {
+        var user = user(token("12", "refresh"));
+        var session = new CuiMockHttpServletRequest().getSession();
+        session.setAttribute(Oauth2AuthenticationFacadeImpl.AUTHENTICATED_USER_INFO_KEY, user);
+        scheduler(true, 10).track(session, user);
+        session.removeAttribute(Oauth2AuthenticationFacadeImpl.AUTHENTICATED_USER_INFO_KEY);
+
+        executor.runNext();
+
+        assertEquals(0, refreshCalls.get());
+        assertEquals(0, underTest.getTrackedSessionCount());
+    }
+
+    @Test
+    @DisplayName("Should not renew a token already renewed by a request")
+    void shouldSkipRenewedToken() {
+        var user = user(token("12", "refresh"));
+        scheduler(true, 10).track(null, user);
+
+        var oauthUser = new OauthAuthenticatedUserInfo(user);
+        var observed = oauthUser.getTokenState();
+        assertEquals("renewed", oauthUser.refreshToken(service, observed));
+        // a second caller having observed the same state does not send the refresh token again
+        assertEquals("renewed", oauthUser.refreshToken(service, observed));
+        assertEquals(1, refreshCalls.get());
+
+        executor.runNext();
+        assertEquals(1, refreshCalls.get());
+        assertEquals(1, underTest.getTrackedSessionCount());
+    }
+
+    @Test
+    @DisplayName("Should serialize concurrent renewals of the same user")
+    void shouldSerializeRenewals() throws InterruptedException {
+        var user = new OauthAuthenticatedUserInfo(user(token("12", "refresh")));
+        var observed = user.getTokenState();
+        var entered = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var blocking = new Oauth2ServiceMock() {
+
+            @Override
+            public String refreshToken(OauthAuthenticatedUserInfo currentUser) {
+                entered.countDown();
+                try {
+                    assertTrue(release.await(10, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return service.refreshToken(currentUser);
+            }
+        };
+        var first = new Thread(() -> user.refreshToken(blocking, observed));
+        first.start();
+        assertTrue(entered.await(10, TimeUnit.SECONDS));
+
+        var second = new Thread(() -> user.refreshToken(service, observed));
+        second.start();
+        release.countDown();
+        first.join(10_000);
+        second.join(10_000);
+
+        assertEquals(1, refreshCalls.get());
+        assertEquals("renewed", user.getTokenState().getToken().getAccess_token());
+    }
+
+    @Test
+    @DisplayName("Should not track if disabled")
+    void shouldIgnoreIfDisabled() {
+        scheduler(false, 10).track(null, user(token("12", "refresh")));
+        assertEquals(0, underTest.getTrackedSessionCount());
+    }
+
+    @Test
+    @DisplayName("Should not track tokens that can not be renewed")
+    void shouldIgnoreNonRenewableTokens() {
+        scheduler(true, 10).track(null, user(token("12", null)));
+        underTest.track(null, user(token(null, "refresh")));
+        underTest.track(null, null);
+        assertEquals(0, underTest.getTrackedSessionCount());
+    }
+
+    @Test
+    @DisplayName("Should respect maximum number of sessions and untrack")
+    void shouldLimitSessions() {
+        var first = user(token("3600", "refresh"));
+        scheduler(true, 1).track(null, first);
+        underTest.track(null, user(token("3600", "refresh")));
+        assertEquals(1, underTest.getTrackedSessionCount());
+        // re-tracking the same user is always possible
+        underTest.track(null, first);
+        assertEquals(1, underTest.getTrackedSessionCount());
+        underTest.untrack(first);
+        assertEquals(0, underTest.getTrackedSessionCount());
+    }
+
+    /**
+     * Executor recording the scheduled renewals instead of running them, see
+     * {@link #runNext()}.
+     */
+    private static final class ManualExecutor extends ScheduledThreadPoolExecutor {
+
+        private final Deque<Runnable> tasks = new ArrayDeque<>();
+        private final List<Long> delays = new ArrayList<>();
+
+        ManualExecutor() {
+            super(1);
+        }
+
+        @Override
+        public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+            tasks.add(command);
+            delays.add(unit.toSeconds(delay));
+            return super.schedule(() -> {
+            }, 1, TimeUnit.DAYS);
+        }
+
+        void runNext() {
+            tasks.removeFirst().run();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.authentication.oauth.impl;
+
+import de.cuioss.portal.authentication.oauth.Token;
+import de.cuioss.test.juli.junit5.EnableTestLogger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@EnableTestLogger
+@DisplayName("Tests TokenState")
+class TokenStateTest {
+
+    private static int now() {
+        return (int) (System.currentTimeMillis() / 1000L);
+    }
+
+    private static Token token(String expiresIn) {
+        var token = new Token();
+        token.setAccess_token("access");
+        token.setExpires_in(expiresIn);
+        return token;
+    }
+
+    @Test
+    @DisplayName("Should treat tokens without expiry as valid")
+    void shouldHandleMissingExpiry() {
+        var state = TokenState.of(token(null), now());
+        assertTrue(state.isAccessTokenValid());
+        assertTrue(state.isRefreshTokenValid());
+        assertTrue(state.isIdTokenValid());
+        assertFalse(state.hasAccessTokenExpiry());
+    }
+
+    @Test
+    @DisplayName("Should compute access token expiry including skew")
+    void shouldComputeAccessTokenExpiry() {
+        var timestamp = now();
+        var state = TokenState.of(token("100"), timestamp);
+        assertTrue(state.isAccessTokenValid());
+        assertTrue(state.hasAccessTokenExpiry());
+        assertEquals((timestamp + 90) * 1000L, state.getAccessTokenExpiresAt());
+        assertTrue(state.secondsUntilAccessTokenExpiry() <= 90);
+
+        var expired = TokenState.of(token("100"), timestamp - 200);
+        assertFalse(expired.isAccessTokenValid());
+        assertEquals(-110, expired.secondsUntilAccessTokenExpiry());
+
+        // within skew
+        assertFalse(TokenState.of(token("5"), timestamp).isAccessTokenValid());
+    }
+
+    @Test
+    @DisplayName("Should treat invalid expiry as expired")
+    void shouldHandleInvalidExpiry() {
+        var state = TokenState.of(token("abc"), now());
+        assertFalse(state.isAccessTokenValid());
+        assertFalse(state.hasAccessTokenExpiry());
+    }
+
+    @Test
+    @DisplayName("Should compute refresh and id token expiry")
+    void shouldComputeRefreshAndIdTokenExpiry() {
+        var token = token("100");
+        token.setRefresh_expires_in("5");
+        var exp = now() - 60;
+        token.setId_token("header." + Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("{\"exp\":" + exp + "}").getBytes(StandardCharsets.UTF_8)) + ".signature");
+        var state = TokenState.of(token, now());
+        assertFalse(state.isRefreshTokenValid());
+        assertFalse(state.isIdTokenValid());
+        assertEquals(exp * 1000L, state.getIdTokenExpiresAt());
+    }
+
+    @Test
+    @DisplayName("Should keep the granted scopes")
+    void shouldKeepGrantedScopes() {
+        var state = TokenState.of(token("100"), now(), "openid profile");
+        assertEquals("openid profile", state.getScopes());
+        assertSame(state.getGrantedScopes(), state.getGrantedScopes());
+        assertTrue(state.getGrantedScopes().containsAll(ScopeSet.of("profile")));
+        assertSame(ScopeSet.EMPTY, TokenState.of(token("100"), now()).getGrantedScopes());
+    }
+
+    @Test
+    @DisplayName("Should detect changed source values")
+    void shouldDetectChanges() {
+        var token = token("100");
+        var timestamp = now();
+        var state = TokenState.of(token, timestamp);
+        assertTrue(state.isDerivedFrom(token, timestamp));
+        assertFalse(state.isDerivedFrom(token, timestamp - 1));
+        assertFalse(state.isDerivedFrom(token("100"), timestamp));
+        token.setExpires_in("200");
+        assertFalse(state.isDerivedFrom(token, timestamp));
+    }
+
+    @Test
+    @DisplayName("Should recompute deadlines after deserialization")
+    void shouldSerialize() throws Exception {
+        var state = TokenState.of(token("100"), now(), "openid profile");
+        var out = new ByteArrayOutputStream();
+        try (var objectOut = new ObjectOutputStream(out)) {
+            objectOut.writeObject(state);
+        }
+        try (var objectIn = new ObjectInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            var read = (TokenState) objectIn.readObject();
+            assertEquals(state, read);
+            assertTrue(read.isAccessTokenValid());
+            assertTrue(read.secondsUntilAccessTokenExpiry() > 80);
+            assertEquals(ScopeSet.of("openid profile"), read.getGrantedScopes());
+        }
+    }
+}
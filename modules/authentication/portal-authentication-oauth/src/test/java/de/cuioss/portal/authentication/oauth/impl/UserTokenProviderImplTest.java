@@ -0,0 +1,79 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.authentication.oauth.impl;
+
+import de.cuioss.portal.authentication.AuthenticatedUserInfo;
+import de.cuioss.portal.authentication.model.BaseAuthenticatedUserInfo;
+import de.cuioss.portal.authentication.oauth.Oauth2AuthenticationFacade;
+import de.cuioss.test.jsf.mocks.CuiMockHttpServletRequest;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayName("Tests UserTokenProviderImpl")
+class UserTokenProviderImplTest {
+
+    private static final String SCOPES = "openid";
+
+    private final HttpServletRequest request = new CuiMockHttpServletRequest();
+
+    private final List<String> invoked = new ArrayList<>();
+
+    @Test
+    @DisplayName("Should provide token of authenticated user")
+    void shouldProvideToken() {
+        var facade = facade(BaseAuthenticatedUserInfo.builder().authenticated(true).build());
+        var underTest = new UserTokenProviderImpl(() -> facade, () -> request);
+
+        assertEquals(Optional.of("token:" + SCOPES), underTest.retrieveAccessToken(SCOPES));
+        assertEquals(List.of("retrieveCurrentAuthenticationContext", "retrieveToken"), invoked);
+    }
+
+    @Test
+    @DisplayName("Should not provide token without authenticated user")
+    void shouldSkipAnonymousUser() {
+        var facade = facade(BaseAuthenticatedUserInfo.builder().authenticated(false).build());
+        var underTest = new UserTokenProviderImpl(() -> facade, () -> request);
+
+        assertEquals(Optional.empty(), underTest.retrieveAccessToken(SCOPES));
+        assertEquals(List.of("retrieveCurrentAuthenticationContext"), invoked);
+    }
+
+    private Oauth2AuthenticationFacade facade(AuthenticatedUserInfo user) {
+        return (Oauth2AuthenticationFacade) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{Oauth2AuthenticationFacade.class}, (proxy, method, args) -> {
+                    invoked.add(method.getName());
+                    return switch (method.getName()) {
+                        case "retrieveCurrentAuthenticationContext" -> {
+                            assertEquals(request, args[0]);
+                            yield user;
+                        }
+                        case "retrieveToken" -> {
+                            assertEquals(user, args[0]);
+                            yield "token:" + args[1];
+                        }
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    };
+                });
+    }
+}
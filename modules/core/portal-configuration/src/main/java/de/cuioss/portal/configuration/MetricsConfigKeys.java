@@ -87,5 +87,16 @@ public class MetricsConfigKeys {
     public static final String PORTAL_METRICS_OS_SUN_ENABLED = PORTAL_METRICS_BASE + "os.sun." + ENABLED;
 
     public static final String PORTAL_METRICS_APP_NAME = PORTAL_METRICS_BASE + "appName";
+
+    /**
+     * Context parameter within configuration-subsystem with the name:
+     * 'portal.metrics.maxTagValues'
+     * <p>
+     * Used to define the maximum number of distinct values per tag of a metric,
+     * further values are reported as 'other'. Default is 100
+     * </p>
+     */
+    public static final String PORTAL_METRICS_MAX_TAG_VALUES = PORTAL_METRICS_BASE + "maxTagValues";
+
     public static final String MP_METRICS_APP_NAME = "mp.metrics.appName";
 }
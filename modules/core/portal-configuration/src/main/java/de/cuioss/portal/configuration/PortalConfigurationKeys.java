@@ -546,6 +546,26 @@ public class PortalConfigurationKeys {
      */
     public static final String CLIENT_STORAGE_COOKIE_MAX_AGE = STORAGE_BASE + "cookieMaxAge";
 
+    /**
+     * Prefix of the configuration of the session storage with the name
+     * 'portal.storage.session'
+     * <p>
+     * The storage is configured like a cache, e.g.
+     * 'portal.storage.session.size' for the maximum number of entries and
+     * 'portal.storage.session.expiration' with
+     * 'portal.storage.session.expiration_unit' for the time to live of an entry.
+     * If neither is configured, the storage is unbounded.
+     * </p>
+     */
+    public static final String SESSION_STORAGE_CONFIG = STORAGE_BASE + "session";
+
+    /**
+     * Prefix of the configuration of the client storage with the name
+     * 'portal.storage.client', see {@link #SESSION_STORAGE_CONFIG} for the
+     * properties.
+     */
+    public static final String CLIENT_STORAGE_CONFIG = STORAGE_BASE + "client";
+
     private static final String CSP_BASE = HTTP_HEADER_BASE + "csp.";
 
     /**
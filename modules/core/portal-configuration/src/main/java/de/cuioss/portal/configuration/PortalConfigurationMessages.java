@@ -223,6 +223,27 @@ public class PortalConfigurationMessages {
                 .identifier(171)
                 .template("Configuration for token based authentication is incomplete. Missing: %s")
                 .build();
+
+        /** Background refresh of a cached token failed (180) */
+        public static final LogRecord TOKEN_REFRESH_FAILED = LogRecordModel.builder()
+                .prefix(PREFIX)
+                .identifier(180)
+                .template("Unable to refresh token for key '%s', using the cached one until it expires")
+                .build();
+
+        /** No factory for client credentials tokens available (181) */
+        public static final LogRecord CLIENT_CREDENTIALS_UNSUPPORTED = LogRecordModel.builder()
+                .prefix(PREFIX)
+                .identifier(181)
+                .template("Connection '%s' is configured for client credentials, but no ClientCredentialsTokenResolverFactory is available")
+                .build();
+
+        /** No provider for user tokens available (182) */
+        public static final LogRecord USER_TOKEN_UNSUPPORTED = LogRecordModel.builder()
+                .prefix(PREFIX)
+                .identifier(182)
+                .template("Connection '%s' uses the token of the user, but no UserTokenProvider is available")
+                .build();
     }
 
     /**
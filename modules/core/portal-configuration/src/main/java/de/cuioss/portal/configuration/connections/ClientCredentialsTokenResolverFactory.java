@@ -0,0 +1,46 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.configuration.connections;
+
+import de.cuioss.portal.configuration.connections.impl.ConnectionMetadataKeys;
+
+/**
+ * Creates {@link TokenResolver}s obtaining their token from an OAuth2 token
+ * endpoint with the client credentials grant.
+ * <p>
+ * Used for connections of type
+ * {@link de.cuioss.portal.configuration.connections.impl.AuthenticationType#TOKEN_APPLICATION}
+ * that configure {@link ConnectionMetadataKeys#AUTH_TOKEN_APPLICATION_TOKEN_URI}
+ * instead of a static token. The implementation is provided as CDI bean by
+ * the module portal-authentication-oauth.
+ * <p>
+ * The created resolvers are expected to cache the token and to refresh it
+ * before it expires, so that requests do not wait for the token endpoint.
+ */
+public interface ClientCredentialsTokenResolverFactory {
+
+    /**
+     * @param key          the key of the token, usually "Authorization", must
+     *                     not be empty
+     * @param tokenUri     the token endpoint, must not be empty
+     * @param clientId     the client to authenticate as, must not be empty
+     * @param clientSecret the secret of the client, must not be empty
+     * @param scopes       space separated scopes to request, may be null
+     * @return a resolver providing the complete header value, e.g.
+     *         "Bearer abc"
+     */
+    TokenResolver create(String key, String tokenUri, String clientId, String clientSecret, String scopes);
+}
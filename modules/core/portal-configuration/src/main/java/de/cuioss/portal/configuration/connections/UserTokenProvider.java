@@ -0,0 +1,40 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.configuration.connections;
+
+import java.util.Optional;
+
+/**
+ * Provides the access token of the currently authenticated user.
+ * <p>
+ * Used by {@link de.cuioss.portal.configuration.connections.impl.UserTokenResolver}
+ * for connections of type
+ * {@link de.cuioss.portal.configuration.connections.impl.AuthenticationType#TOKEN_FROM_USER}.
+ * The implementation is provided as CDI bean by the module
+ * portal-authentication-oauth.
+ */
+public interface UserTokenProvider {
+
+    /**
+     * Must not trigger any user interaction like a redirect to the login page.
+     *
+     * @param scopes space separated scopes the token must provide, must not be
+     *               empty
+     * @return the access token of the current user, renewed if necessary.
+     *         Empty if no user is authenticated or no valid token is available
+     */
+    Optional<String> retrieveAccessToken(String scopes);
+}
@@ -28,6 +28,7 @@ import lombok.Getter;
  *   <li>Security configuration issues (keystores, truststores)</li>
  *   <li>Connection configuration problems (URLs, types, IDs)</li>
  *   <li>Network and I/O errors</li>
+ *   <li>Calls rejected by the client-side resilience layer</li>
  * </ul>
  * <p>
  * Each error reason includes a human-readable error message that can be used
@@ -115,7 +116,14 @@ public enum ErrorReason {
      * Indicates that the connection attempt exceeded the configured
      * timeout period without establishing a connection.
      */
-    IO_TIMEOUT("Connection timeout");
+    IO_TIMEOUT("Connection timeout"),
+
+    /**
+     * Indicates that a call has been rejected without contacting the
+     * service, because its circuit breaker is open or the maximum number of
+     * concurrent calls has been reached.
+     */
+    CALL_REJECTED("The call was rejected, the service is considered unavailable or overloaded");
 
     /**
      * Human-readable description of the error reason.
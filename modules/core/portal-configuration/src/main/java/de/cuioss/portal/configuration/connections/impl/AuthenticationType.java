@@ -65,10 +65,7 @@ public enum AuthenticationType {
     /**
      * Dynamic token authentication using the authenticated user's token.
      * The token is retrieved from the user's authentication context for
-     * each request.
-     * <p>
-     * <strong>Note:</strong> This feature is experimental and not recommended
-     * for production use.
+     * each request, see {@link UserTokenResolver}.
      */
     TOKEN_FROM_USER("token.user", true);
 
@@ -0,0 +1,319 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.configuration.connections.impl;
+
+import de.cuioss.portal.configuration.connections.TokenResolver;
+import de.cuioss.tools.logging.CuiLogger;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static de.cuioss.portal.configuration.PortalConfigurationMessages.WARN;
+import static de.cuioss.tools.base.Preconditions.checkArgument;
+import static de.cuioss.tools.string.MoreStrings.requireNotEmpty;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@link TokenResolver} caching the token of a {@link TokenSource}, e.g. an
+ * OAuth2 token endpoint, until it expires.
+ * <p>
+ * The lifetime of a token is the one reported by the source, or
+ * {@code defaultTtl} if the source does not report one. Once the remaining
+ * lifetime drops below {@code refreshAhead}, the token is refreshed in the
+ * background while the cached one is still returned. Only an expired or
+ * missing token blocks the calling thread. In any case, there is at most one
+ * call to the source at a time: concurrent callers share its result.
+ * <p>
+ * If a background refresh fails, the cached token is used until it expires.
+ * The next refresh is attempted after {@code retryDelay} at the earliest, so
+ * a failing source is not called on every request. Only the first of
+ * consecutive failures is logged as warning. If fetching a missing token
+ * fails, {@link #resolve()} throws an {@link IllegalStateException}. Until
+ * {@code retryDelay} has passed, further calls throw it again without
+ * calling the source.
+ * <p>
+ * Note: This implementation is thread-safe. The cached token is not
+ * serialized, a deserialized instance fetches a new one.
+ */
+@ToString(of = {"key", "source"}) // The token is sensitive
+public final class CachingTokenResolver implements TokenResolver {
+
+    @Serial
+    private static final long serialVersionUID = -1370476416446287254L;
+
+    private static final CuiLogger LOGGER = new CuiLogger(CachingTokenResolver.class);
+
+    /** Default for {@code defaultTtl}: 5 minutes */
+    public static final Duration DEFAULT_TTL = Duration.ofMinutes(5);
+
+    /** Default for {@code refreshAhead}: 30 seconds */
+    public static final Duration DEFAULT_REFRESH_AHEAD = Duration.ofSeconds(30);
+
+    /** Default for {@code fetchTimeout}: 30 seconds */
+    public static final Duration DEFAULT_FETCH_TIMEOUT = Duration.ofSeconds(30);
+
+    /** Default for {@code retryDelay}: 10 seconds */
+    public static final Duration DEFAULT_RETRY_DELAY = Duration.ofSeconds(10);
+
+    /**
+     * Refreshes are rare, therefore each one runs on its own virtual thread
+     * by default. There is no pool to be shut down.
+     */
+    private static final ThreadFactory DEFAULT_THREAD_FACTORY = Thread.ofVirtual().name("portal-token-refresh-", 1)
+            .factory();
+    private static final Executor DEFAULT_EXECUTOR = task -> DEFAULT_THREAD_FACTORY.newThread(task).start();
+
+    /**
+     * A token together with its lifetime.
+     *
+     * @param value     the complete token value, e.g. "Bearer abc", must not be
+     *                  empty
+     * @param expiresIn the lifetime of the token, {@code null} if unknown
+     */
+    public record ExpiringToken(String value, Duration expiresIn) implements Serializable {
+
+        public ExpiringToken {
+            requireNotEmpty(value, "value");
+        }
+    }
+
+    /**
+     * Fetches a new token, usually from a remote system.
+     */
+    @FunctionalInterface
+    public interface TokenSource extends Serializable {
+
+        /**
+         * @return a new token, never null
+         * @throws RuntimeException if no token could be fetched
+         */
+        ExpiringToken fetch();
+    }
+
+    private record CachedToken(String value, long refreshAt, long expiresAt) {
+    }
+
+    private record Failure(RuntimeException cause, long retryAt) {
+    }
+
+    @Getter
+    private final String key;
+    private final TokenSource source;
+    private final Duration defaultTtl;
+    private final Duration refreshAhead;
+    private final Duration fetchTimeout;
+    private final Duration retryDelay;
+    private final transient Executor executor;
+    private final transient AtomicReference<CompletableFuture<CachedToken>> inFlight = new AtomicReference<>();
+    private final transient AtomicReference<CachedToken> cached = new AtomicReference<>();
+    private final transient AtomicBoolean failing = new AtomicBoolean();
+    private final transient AtomicReference<Failure> lastFailure = new AtomicReference<>();
+
+    /**
+     * @param key          the key of the token, must not be empty
+     * @param source       the source of the tokens, must not be null
+     * @param defaultTtl   lifetime of tokens without one, defaults to
+     *                     {@link #DEFAULT_TTL}
+     * @param refreshAhead remaining lifetime at which a token is refreshed in
+     *                     the background, defaults to
+     *                     {@link #DEFAULT_REFRESH_AHEAD}. At most half of the
+     *                     lifetime is used.
+     * @param fetchTimeout maximum time a caller waits for a token fetched by
+     *                     another thread, defaults to
+     *                     {@link #DEFAULT_FETCH_TIMEOUT}
+     * @param retryDelay   minimum time between a failed fetch and the next
+     *                     one, defaults to {@link #DEFAULT_RETRY_DELAY}
+     * @param executor     running background refreshes, defaults to a new
+     *                     virtual thread per refresh
+     */
+    @Builder
+    private CachingTokenResolver(final String key, final TokenSource source, final Duration defaultTtl,
+            final Duration refreshAhead, final Duration fetchTimeout, final Duration retryDelay,
+            final Executor executor) {
+        this.key = requireNotEmpty(key, "key");
+        this.source = requireNonNull(source, "source");
+        this.defaultTtl = null != defaultTtl ? defaultTtl : DEFAULT_TTL;
+        this.refreshAhead = null != refreshAhead ? refreshAhead : DEFAULT_REFRESH_AHEAD;
+        this.fetchTimeout = null != fetchTimeout ? fetchTimeout : DEFAULT_FETCH_TIMEOUT;
+        this.retryDelay = null != retryDelay ? retryDelay : DEFAULT_RETRY_DELAY;
+        this.executor = null != executor ? executor : DEFAULT_EXECUTOR;
+        checkArgument(this.defaultTtl.isPositive(), "defaultTtl must be positive");
+        checkArgument(!this.refreshAhead.isNegative(), "refreshAhead must not be negative");
+        checkArgument(this.fetchTimeout.isPositive(), "fetchTimeout must be positive");
+        checkArgument(!this.retryDelay.isNegative(), "retryDelay must not be negative");
+    }
+
+    /**
+     * @return the cached token, fetching it if it is missing or expired
+     * @throws IllegalStateException if no token could be fetched
+     */
+    @Override
+    public String resolve() {
+        final var current = cached.get();
+        final var now = System.nanoTime();
+        if (null != current && now - current.refreshAt() < 0) {
+            return current.value();
+        }
+        if (null != current && now - current.expiresAt() < 0) {
+            fetch(true);
+            return current.value();
+        }
+        final var failure = lastFailure.get();
+        if (null != failure && now - failure.retryAt() < 0) {
+            throw fetchFailed(failure.cause());
+        }
+        return await(fetch(false)).value();
+    }
+
+    /**
+     * Fetches the token in the background, unless a valid one is cached
+     * already. Used to warm up the cache, so that the first request does not
+     * wait for the source.
+     */
+    public void prefetch() {
+        final var current = cached.get();
+        final var failure = lastFailure.get();
+        final var now = System.nanoTime();
+        if ((null == current || now - current.refreshAt() >= 0)
+                && (null == failure || now - failure.retryAt() >= 0)) {
+            fetch(true);
+        }
+    }
+
+    /**
+     * Drops the cached token, e.g. after it has been rejected by the server.
+     * The next call to {@link #resolve()} fetches a new one.
+     */
+    public void invalidate() {
+        cached.set(null);
+    }
+
+    /**
+     * Starts a fetch, unless one is already running.
+     *
+     * @param background whether the source is called by the executor or the
+     *                   current thread
+     * @return the running fetch
+     */
+    private CompletableFuture<CachedToken> fetch(final boolean background) {
+        while (true) {
+            final var running = inFlight.get();
+            if (null != running) {
+                return running;
+            }
+            final var created = new CompletableFuture<CachedToken>();
+            if (inFlight.compareAndSet(null, created)) {
+                final Runnable task = () -> load(created, background);
+                if (background) {
+                    try {
+                        executor.execute(task);
+                    } catch (RejectedExecutionException e) {
+                        inFlight.compareAndSet(created, null);
+                        created.completeExceptionally(e);
+                    }
+                } else {
+                    task.run();
+                }
+                return created;
+            }
+        }
+    }
+
+    private void load(final CompletableFuture<CachedToken> target, final boolean background) {
+        final var previous = cached.get();
+        try {
+            final var token = requireNonNull(source.fetch(), "fetched token");
+            final var loaded = toCachedToken(token);
+            cached.set(loaded);
+            lastFailure.set(null);
+            failing.set(false);
+            LOGGER.debug("Fetched token for key '%s', expires in %s", key, token.expiresIn());
+            target.complete(loaded);
+        } catch (RuntimeException e) {
+            lastFailure.set(new Failure(e, System.nanoTime() + retryDelay.toNanos()));
+            if (background) {
+                postponeRefresh(previous);
+                if (failing.compareAndSet(false, true)) {
+                    LOGGER.warn(e, WARN.TOKEN_REFRESH_FAILED, key);
+                } else {
+                    LOGGER.debug(e, "Refresh of token for key '%s' failed again", key);
+                }
+            }
+            target.completeExceptionally(e);
+        } finally {
+            inFlight.compareAndSet(target, null);
+        }
+    }
+
+    /**
+     * Lets the given token be used without refresh for {@code retryDelay},
+     * but not beyond its expiry. Does nothing if the token has been replaced
+     * or invalidated meanwhile.
+     */
+    private void postponeRefresh(final CachedToken token) {
+        if (null == token) {
+            return;
+        }
+        final var now = System.nanoTime();
+        final var refreshAt = now + Math.min(retryDelay.toNanos(), token.expiresAt() - now);
+        cached.compareAndSet(token, new CachedToken(token.value(), refreshAt, token.expiresAt()));
+    }
+
+    private CachedToken toCachedToken(final ExpiringToken token) {
+        final var lifetime = null != token.expiresIn() && token.expiresIn().isPositive() ? token.expiresIn()
+                : defaultTtl;
+        final var lifetimeNanos = lifetime.toNanos();
+        final var now = System.nanoTime();
+        final var ahead = Math.min(refreshAhead.toNanos(), lifetimeNanos / 2);
+        return new CachedToken(token.value(), now + lifetimeNanos - ahead, now + lifetimeNanos);
+    }
+
+    private CachedToken await(final CompletableFuture<CachedToken> fetch) {
+        try {
+            return fetch.get(fetchTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            throw fetchFailed(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Timeout while fetching token for key '" + key + "'", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while fetching token for key '" + key + "'", e);
+        }
+    }
+
+    private IllegalStateException fetchFailed(final Throwable cause) {
+        return new IllegalStateException("Unable to fetch token for key '" + key + "'", cause);
+    }
+
+    @Serial
+    private Object readResolve() {
+        return builder().key(key).source(source).defaultTtl(defaultTtl).refreshAhead(refreshAhead)
+                .fetchTimeout(fetchTimeout).retryDelay(retryDelay).build();
+    }
+}
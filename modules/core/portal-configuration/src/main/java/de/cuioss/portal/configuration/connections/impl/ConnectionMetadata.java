@@ -49,7 +49,7 @@ import static de.cuioss.portal.configuration.PortalConfigurationMessages.ERROR.S
  * <ul>
  *   <li>Authentication (basic auth, certificates, tokens)</li>
  *   <li>SSL/TLS configuration with custom keystores and truststores</li>
- *   <li>Connection timeouts and proxy settings</li>
+ *   <li>Connection timeouts, connection pool and proxy settings</li>
  *   <li>Context data storage for runtime information</li>
  * </ul>
  *
@@ -97,6 +97,15 @@ public class ConnectionMetadata implements Serializable {
     @Setter
     private TokenResolver tokenResolver;
 
+    /**
+     * Location of a file holding the password for basic authentication or the
+     * application token. If set, the secret has been read from this file and
+     * clients re-read it whenever the file changes.
+     */
+    @Getter
+    @Setter
+    private String secretFile;
+
     /**
      * Keystore configuration for client certificates.
      * Used for client authentication when {@link #authenticationType} is
@@ -219,6 +228,49 @@ public class ConnectionMetadata implements Serializable {
     @Setter
     private Integer proxyPort;
 
+    /**
+     * The maximum number of pooled connections of a client, 0 for the default
+     * of the client implementation.
+     */
+    @Getter
+    @Setter
+    private int maxConnections;
+
+    /**
+     * The maximum number of pooled connections of a client per route, i.e.
+     * per target host, 0 for the default of the client implementation.
+     */
+    @Getter
+    @Setter
+    private int maxConnectionsPerRoute;
+
+    /**
+     * The time in seconds after which a pooled connection is not reused
+     * anymore, 0 for unlimited. Allows to spread load after a backend scaled
+     * out.
+     */
+    @Getter
+    @Setter
+    private long connectionTimeToLive;
+
+    /**
+     * The time in seconds after which idle pooled connections are closed, 0 to
+     * keep them until closed by the server.
+     */
+    @Getter
+    @Setter
+    private long idleConnectionTimeout;
+
+    /**
+     * Determines whether the connection pool of the client needs to be tuned.
+     *
+     * @return true if at least one of the connection pool settings is set
+     */
+    public boolean isConnectionPoolConfigured() {
+        return maxConnections > 0 || maxConnectionsPerRoute > 0 || connectionTimeToLive > 0
+                || idleConnectionTimeout > 0;
+    }
+
     /**
      * Determines if basic authentication credentials are required for this connection.
      *
@@ -15,6 +15,7 @@
  */
 package de.cuioss.portal.configuration.connections.impl;
 
+import de.cuioss.portal.configuration.cache.CacheConfig;
 import lombok.experimental.UtilityClass;
 
 /**
@@ -66,6 +67,66 @@ public class ConnectionMetadataKeys {
      */
     public static final String AUTH_TOKEN_APPLICATION_KEY = AUTH_TOKEN_APPLICATION_BASE + "key";
 
+    /**
+     * Property key for a file holding the application-wide authentication
+     * token. Takes precedence over {@link #AUTH_TOKEN_APPLICATION_TOKEN}, the
+     * file is re-read on change.
+     * Complete key: "authentication.token.application.tokenFile"
+     */
+    public static final String AUTH_TOKEN_APPLICATION_TOKEN_FILE = AUTH_TOKEN_APPLICATION_BASE + "tokenFile";
+
+    /**
+     * Property key for an OAuth2 token endpoint the application-wide token is
+     * obtained from with the client credentials grant. Takes precedence over
+     * {@link #AUTH_TOKEN_APPLICATION_TOKEN}, requires
+     * {@link #AUTH_TOKEN_APPLICATION_CLIENT_ID} and
+     * {@link #AUTH_TOKEN_APPLICATION_CLIENT_SECRET}. If
+     * {@link #AUTH_TOKEN_APPLICATION_KEY} is missing, "Authorization" is used.
+     * Complete key: "authentication.token.application.tokenUri"
+     */
+    public static final String AUTH_TOKEN_APPLICATION_TOKEN_URI = AUTH_TOKEN_APPLICATION_BASE + "tokenUri";
+
+    /**
+     * Property key for the client id used at
+     * {@link #AUTH_TOKEN_APPLICATION_TOKEN_URI}.
+     * Complete key: "authentication.token.application.clientId"
+     */
+    public static final String AUTH_TOKEN_APPLICATION_CLIENT_ID = AUTH_TOKEN_APPLICATION_BASE + "clientId";
+
+    /**
+     * Property key for the client secret used at
+     * {@link #AUTH_TOKEN_APPLICATION_TOKEN_URI}.
+     * Complete key: "authentication.token.application.clientSecret"
+     */
+    public static final String AUTH_TOKEN_APPLICATION_CLIENT_SECRET = AUTH_TOKEN_APPLICATION_BASE + "clientSecret";
+
+    /**
+     * Property key for the space separated scopes requested at
+     * {@link #AUTH_TOKEN_APPLICATION_TOKEN_URI}, optional.
+     * Complete key: "authentication.token.application.scopes"
+     */
+    public static final String AUTH_TOKEN_APPLICATION_SCOPES = AUTH_TOKEN_APPLICATION_BASE + "scopes";
+
+    /**
+     * Base prefix for authentication with the token of the current user.
+     * Complete prefix: "authentication.token.user."
+     */
+    private static final String AUTH_TOKEN_USER_BASE = AUTH_TOKEN_BASE + "user.";
+
+    /**
+     * Property key for the space separated scopes the token of the current
+     * user must provide.
+     * Complete key: "authentication.token.user.scopes"
+     */
+    public static final String AUTH_TOKEN_USER_SCOPES = AUTH_TOKEN_USER_BASE + "scopes";
+
+    /**
+     * Property key for the name of the header the token of the current user
+     * is sent with, optional, defaults to "Authorization".
+     * Complete key: "authentication.token.user.key"
+     */
+    public static final String AUTH_TOKEN_USER_KEY = AUTH_TOKEN_USER_BASE + "key";
+
     /**
      * Property key for the basic authentication password.
      * Complete key: "authentication.basic.password"
@@ -78,6 +139,14 @@ public class ConnectionMetadataKeys {
      */
     public static final String AUTH_BASIC_USER_NAME = AUTH_BASIC_BASE + "username";
 
+    /**
+     * Property key for a file holding the basic authentication password.
+     * Takes precedence over {@link #AUTH_BASIC_USER_PASSWORD}, the file is
+     * re-read on change.
+     * Complete key: "authentication.basic.passwordFile"
+     */
+    public static final String AUTH_BASIC_USER_PASSWORD_FILE = AUTH_BASIC_BASE + "passwordFile";
+
     /**
      * Property key for the certificate keystore location.
      * Complete key: "authentication.certificate.keystore.location"
@@ -198,6 +267,16 @@ public class ConnectionMetadataKeys {
 
     private static final String TIMEOUT_BASE = "timeout.";
 
+    private static final String POOL_BASE = "pool.";
+
+    private static final String TRACE_LOG_BASE = "traceLog.";
+
+    private static final String RESILIENCE_BASE = "resilience.";
+
+    private static final String RETRY_BASE = "retry.";
+
+    private static final String HTTP_CACHE_BASE = "httpCache.";
+
     /**
      * Property key for connection timeout in seconds.
      * Specifies the maximum time to establish a connection.
@@ -229,4 +308,193 @@ public class ConnectionMetadataKeys {
      * Used in conjunction with {@link #PROXY_HOST} to configure proxy settings.
      */
     public static final String PROXY_PORT = "proxyPort";
+
+    /**
+     * Property key for the maximum number of pooled connections of a client.
+     * Complete key: "pool.maxConnections"
+     */
+    public static final String POOL_MAX_CONNECTIONS = POOL_BASE + "maxConnections";
+
+    /**
+     * Property key for the maximum number of pooled connections of a client
+     * per target host.
+     * Complete key: "pool.maxConnectionsPerRoute"
+     */
+    public static final String POOL_MAX_CONNECTIONS_PER_ROUTE = POOL_BASE + "maxConnectionsPerRoute";
+
+    /**
+     * Property key for the time in seconds after which a pooled connection is
+     * not reused anymore.
+     * Complete key: "pool.timeToLive"
+     */
+    public static final String POOL_TIME_TO_LIVE = POOL_BASE + "timeToLive";
+
+    /**
+     * Property key for the time in seconds after which idle pooled
+     * connections are closed.
+     * Complete key: "pool.idleTimeout"
+     */
+    public static final String POOL_IDLE_TIMEOUT = POOL_BASE + "idleTimeout";
+
+    /**
+     * Context-map key for the rate of exchanges to be trace-logged, a decimal
+     * between 0.0 and 1.0. Like all context-map keys it is located below
+     * {@link #CONFIG_KEY}. Defaults to 0.0, i.e. no sampling.
+     * Complete key: "config.traceLog.sampleRate"
+     */
+    public static final String TRACE_LOG_SAMPLE_RATE = TRACE_LOG_BASE + "sampleRate";
+
+    /**
+     * Context-map key to trace-log every exchange answered with a status code
+     * of 400 or above, regardless of {@link #TRACE_LOG_SAMPLE_RATE}.
+     * Defaults to false.
+     * Complete key: "config.traceLog.onError"
+     */
+    public static final String TRACE_LOG_ON_ERROR = TRACE_LOG_BASE + "onError";
+
+    /**
+     * Context-map key for the number of recent exchanges to be kept in memory
+     * per client, in order to be dumped on demand. Defaults to 0, i.e. no
+     * history.
+     * Complete key: "config.traceLog.historySize"
+     */
+    public static final String TRACE_LOG_HISTORY_SIZE = TRACE_LOG_BASE + "historySize";
+
+    /**
+     * Context-map key for the maximum number of concurrent calls per
+     * connection (bulkhead). Further calls are rejected. Defaults to 0, i.e.
+     * unlimited.
+     * Complete key: "config.resilience.maxConcurrentCalls"
+     */
+    public static final String RESILIENCE_MAX_CONCURRENT_CALLS = RESILIENCE_BASE + "maxConcurrentCalls";
+
+    /**
+     * Context-map key for the failure rate in percent (1-100) that opens the
+     * circuit breaker of a connection. Defaults to 0, i.e. disabled.
+     * Complete key: "config.resilience.failureRateThreshold"
+     */
+    public static final String RESILIENCE_FAILURE_RATE_THRESHOLD = RESILIENCE_BASE + "failureRateThreshold";
+
+    /**
+     * Context-map key for the rate of slow calls in percent (1-100) that opens
+     * the circuit breaker of a connection, see
+     * {@link #RESILIENCE_SLOW_CALL_DURATION}. Defaults to 0, i.e. disabled.
+     * Complete key: "config.resilience.slowCallRateThreshold"
+     */
+    public static final String RESILIENCE_SLOW_CALL_RATE_THRESHOLD = RESILIENCE_BASE + "slowCallRateThreshold";
+
+    /**
+     * Context-map key for the duration in milliseconds from which on a call
+     * is considered slow. Defaults to 5000.
+     * Complete key: "config.resilience.slowCallDuration"
+     */
+    public static final String RESILIENCE_SLOW_CALL_DURATION = RESILIENCE_BASE + "slowCallDuration";
+
+    /**
+     * Context-map key for the number of recent calls the rates are computed
+     * from. Defaults to 20.
+     * Complete key: "config.resilience.windowSize"
+     */
+    public static final String RESILIENCE_WINDOW_SIZE = RESILIENCE_BASE + "windowSize";
+
+    /**
+     * Context-map key for the minimum number of calls in the window before
+     * the circuit breaker may open. Defaults to 10.
+     * Complete key: "config.resilience.minimumCalls"
+     */
+    public static final String RESILIENCE_MINIMUM_CALLS = RESILIENCE_BASE + "minimumCalls";
+
+    /**
+     * Context-map key for the time in milliseconds an open circuit breaker
+     * rejects calls before letting trial calls pass. Defaults to 30000.
+     * Complete key: "config.resilience.openDuration"
+     */
+    public static final String RESILIENCE_OPEN_DURATION = RESILIENCE_BASE + "openDuration";
+
+    /**
+     * Context-map key for the number of trial calls that decide whether a
+     * half-open circuit breaker closes or opens again. Defaults to 3.
+     * Complete key: "config.resilience.halfOpenCalls"
+     */
+    public static final String RESILIENCE_HALF_OPEN_CALLS = RESILIENCE_BASE + "halfOpenCalls";
+
+    /**
+     * Context-map key for the maximum number of attempts of a retryable call,
+     * including the first one. Defaults to 1, i.e. no retry.
+     * Complete key: "config.retry.maxAttempts"
+     */
+    public static final String RETRY_MAX_ATTEMPTS = RETRY_BASE + "maxAttempts";
+
+    /**
+     * Context-map key for the delay in milliseconds before the first retry. It
+     * is doubled for every further retry. Defaults to 100.
+     * Complete key: "config.retry.baseDelay"
+     */
+    public static final String RETRY_BASE_DELAY = RETRY_BASE + "baseDelay";
+
+    /**
+     * Context-map key for the upper bound of the delay between retries in
+     * milliseconds. Defaults to 2000.
+     * Complete key: "config.retry.maxDelay"
+     */
+    public static final String RETRY_MAX_DELAY = RETRY_BASE + "maxDelay";
+
+    /**
+     * Context-map key for the fraction (0.0-1.0) by which a delay is randomly
+     * shortened. Defaults to 0.5.
+     * Complete key: "config.retry.jitter"
+     */
+    public static final String RETRY_JITTER = RETRY_BASE + "jitter";
+
+    /**
+     * Context-map key for the comma separated HTTP status codes that are
+     * retried. Defaults to "502,503,504".
+     * Complete key: "config.retry.statusCodes"
+     */
+    public static final String RETRY_STATUS_CODES = RETRY_BASE + "statusCodes";
+
+    /**
+     * Context-map key for the comma separated fully qualified names of the
+     * exceptions that are retried if found in the cause chain of a failed
+     * call. Defaults to "java.io.IOException".
+     * Complete key: "config.retry.exceptions"
+     */
+    public static final String RETRY_EXCEPTIONS = RETRY_BASE + "exceptions";
+
+    /**
+     * Context-map key for the overall time in milliseconds for all attempts
+     * of a call, including the delays. A retry is only started if it can
+     * complete within this time. Defaults to 0, i.e. no limit.
+     * Complete key: "config.retry.maxDuration"
+     */
+    public static final String RETRY_MAX_DURATION = RETRY_BASE + "maxDuration";
+
+    /**
+     * Context-map key for the maximum number of responses kept by the HTTP
+     * cache of a REST client. Defaults to 0, i.e. no caching.
+     * Complete key: "config.httpCache.size"
+     */
+    public static final String HTTP_CACHE_SIZE = HTTP_CACHE_BASE + CacheConfig.SIZE_KEY;
+
+    /**
+     * Context-map key for the maximum time a response is kept by the HTTP
+     * cache of a REST client, regardless of its freshness. Defaults to 10.
+     * Complete key: "config.httpCache.expiration"
+     */
+    public static final String HTTP_CACHE_EXPIRATION = HTTP_CACHE_BASE + CacheConfig.EXPIRATION_KEY;
+
+    /**
+     * Context-map key for the {@link java.util.concurrent.TimeUnit} of
+     * {@link #HTTP_CACHE_EXPIRATION}. Defaults to MINUTES.
+     * Complete key: "config.httpCache.expiration_unit"
+     */
+    public static final String HTTP_CACHE_EXPIRATION_UNIT = HTTP_CACHE_BASE + CacheConfig.EXPIRATION_UNIT_KEY;
+
+    /**
+     * Context-map key for enabling request coalescing: identical concurrent
+     * GET requests of a REST client share one upstream call. Defaults to
+     * false.
+     * Complete key: "config.coalesceRequests"
+     */
+    public static final String COALESCE_REQUESTS = "coalesceRequests";
 }
@@ -0,0 +1,99 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.configuration.connections.impl;
+
+import de.cuioss.portal.common.cdi.PortalBeanManager;
+import de.cuioss.portal.configuration.connections.TokenResolver;
+import de.cuioss.portal.configuration.connections.UserTokenProvider;
+import de.cuioss.tools.logging.CuiLogger;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.io.Serial;
+import java.util.Optional;
+
+import static de.cuioss.tools.string.MoreStrings.requireNotEmpty;
+
+/**
+ * {@link TokenResolver} for the access token of the currently authenticated
+ * user, obtained from the {@link UserTokenProvider} bean.
+ * <p>
+ * The resolved value is the complete header value, i.e. "Bearer " followed by
+ * the token. As there is no token without an authenticated user,
+ * {@link #resolve()} returns {@code null} in that case. A resolver is not
+ * bound to a user, so a single client can serve all users. Clients are
+ * expected to cache the token per request, as resolving it may include a
+ * session lookup or even a token renewal.
+ * <p>
+ * Note: Instances are equal if key and scopes are equal, so they can be used
+ * as cache key.
+ */
+@EqualsAndHashCode(of = {"key", "scopes"})
+@ToString(of = {"key", "scopes"})
+public final class UserTokenResolver implements TokenResolver {
+
+    @Serial
+    private static final long serialVersionUID = -5816377934250389141L;
+
+    private static final CuiLogger LOGGER = new CuiLogger(UserTokenResolver.class);
+
+    static final String BEARER_PREFIX = "Bearer ";
+
+    @Getter
+    private final String key;
+
+    /**
+     * The space separated scopes the token must provide.
+     */
+    @Getter
+    private final String scopes;
+
+    private transient volatile UserTokenProvider provider;
+
+    /**
+     * @param key    the key of the token, must not be empty
+     * @param scopes space separated scopes the token must provide, must not
+     *               be empty
+     */
+    public UserTokenResolver(final String key, final String scopes) {
+        this.key = requireNotEmpty(key, "key");
+        this.scopes = requireNotEmpty(scopes, "scopes");
+    }
+
+    /**
+     * @return "Bearer " followed by the access token of the current user,
+     *         {@code null} if there is none
+     */
+    @Override
+    public String resolve() {
+        return resolveProvider().flatMap(current -> current.retrieveAccessToken(scopes))
+                .map(token -> BEARER_PREFIX + token).orElse(null);
+    }
+
+    private Optional<UserTokenProvider> resolveProvider() {
+        var current = provider;
+        if (null == current) {
+            try {
+                current = PortalBeanManager.resolveBean(UserTokenProvider.class, null).orElse(null);
+            } catch (IllegalStateException | IllegalArgumentException e) {
+                LOGGER.debug(e, "Unable to resolve UserTokenProvider");
+            }
+            provider = current;
+        }
+        return Optional.ofNullable(current);
+    }
+}
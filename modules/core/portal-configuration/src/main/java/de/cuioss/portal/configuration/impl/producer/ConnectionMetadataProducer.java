@@ -15,13 +15,18 @@
  */
 package de.cuioss.portal.configuration.impl.producer;
 
+import de.cuioss.portal.common.cdi.PortalBeanManager;
+import de.cuioss.portal.configuration.connections.ClientCredentialsTokenResolverFactory;
+import de.cuioss.portal.configuration.connections.UserTokenProvider;
 import de.cuioss.portal.configuration.connections.exception.ConnectionConfigurationException;
 import de.cuioss.portal.configuration.connections.impl.AuthenticationType;
+import de.cuioss.portal.configuration.connections.impl.CachingTokenResolver;
 import de.cuioss.portal.configuration.connections.impl.ConnectionMetadata;
 import de.cuioss.portal.configuration.connections.impl.ConnectionMetadata.ConnectionMetadataBuilder;
 import de.cuioss.portal.configuration.connections.impl.ConnectionMetadataKeys;
 import de.cuioss.portal.configuration.connections.impl.ConnectionType;
 import de.cuioss.portal.configuration.connections.impl.StaticTokenResolver;
+import de.cuioss.portal.configuration.connections.impl.UserTokenResolver;
 import de.cuioss.portal.configuration.types.ConfigAsConnectionMetadata;
 import de.cuioss.portal.configuration.util.ConfigurationHelper;
 import de.cuioss.tools.io.MorePaths;
@@ -36,6 +41,10 @@ import jakarta.enterprise.inject.Produces;
 import jakarta.enterprise.inject.spi.InjectionPoint;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
 import java.util.Map;
 import java.util.Optional;
 
@@ -62,6 +71,7 @@ public class ConnectionMetadataProducer {
     public static final String MISSING_BASENAME_MSG = "Configuration setting for baseName is missing.";
     private static final String MISSING_BASIC_AUTH_CONFIG_MSG = "Configuration for basic authentication is incomplete. Missing: %s";
     private static final String MISSING_TOKEN_CONFIG_MSG = "Configuration for token based authentication is incomplete. Missing: %s";
+    private static final String DEFAULT_TOKEN_KEY = "Authorization";
 
     /**
      * Try to create {@linkplain ConnectionMetadata}<br>
@@ -138,6 +148,19 @@ public class ConnectionMetadataProducer {
         getPositiveInt(name + ConnectionMetadataKeys.PROXY_PORT, properties.get(ConnectionMetadataKeys.PROXY_PORT),
                 failOnInvalidConfiguration).ifPresent(builder::proxyPort);
 
+        getPositiveInt(name + ConnectionMetadataKeys.POOL_MAX_CONNECTIONS,
+                properties.get(ConnectionMetadataKeys.POOL_MAX_CONNECTIONS), failOnInvalidConfiguration)
+                .ifPresent(builder::maxConnections);
+        getPositiveInt(name + ConnectionMetadataKeys.POOL_MAX_CONNECTIONS_PER_ROUTE,
+                properties.get(ConnectionMetadataKeys.POOL_MAX_CONNECTIONS_PER_ROUTE), failOnInvalidConfiguration)
+                .ifPresent(builder::maxConnectionsPerRoute);
+        getPositiveLong(name + ConnectionMetadataKeys.POOL_TIME_TO_LIVE,
+                properties.get(ConnectionMetadataKeys.POOL_TIME_TO_LIVE), failOnInvalidConfiguration)
+                .ifPresent(builder::connectionTimeToLive);
+        getPositiveLong(name + ConnectionMetadataKeys.POOL_IDLE_TIMEOUT,
+                properties.get(ConnectionMetadataKeys.POOL_IDLE_TIMEOUT), failOnInvalidConfiguration)
+                .ifPresent(builder::idleConnectionTimeout);
+
         final var meta = builder.build();
         meta.getContextMap().putAll(ConfigurationHelper.getFilteredPropertyMap(properties,
                 suffixNameWithDot(ConnectionMetadataKeys.CONFIG_KEY), true));
@@ -176,7 +199,9 @@ public class ConnectionMetadataProducer {
                     handleMissingProperty(suffixNameWithDot(baseName) + ConnectionMetadataKeys.AUTH_BASIC_USER_NAME,
                             MISSING_BASIC_AUTH_CONFIG_MSG + "Username", failOnInvalidConfiguration);
                 }
-                final var password = filteredProperties.get(ConnectionMetadataKeys.AUTH_BASIC_USER_PASSWORD);
+                final var password = readSecretFile(baseName, ConnectionMetadataKeys.AUTH_BASIC_USER_PASSWORD_FILE,
+                        builder, filteredProperties)
+                        .orElse(filteredProperties.get(ConnectionMetadataKeys.AUTH_BASIC_USER_PASSWORD));
                 if (MoreStrings.isEmpty(password)) {
                     handleMissingProperty(suffixNameWithDot(baseName) + ConnectionMetadataKeys.AUTH_BASIC_USER_PASSWORD,
                             MISSING_BASIC_AUTH_CONFIG_MSG + "Password", failOnInvalidConfiguration);
@@ -184,12 +209,19 @@ public class ConnectionMetadataProducer {
                 builder.loginCredentials(LoginCredentials.builder().username(userName).password(password).build());
                 break;
             case TOKEN_APPLICATION:
+                final var tokenUri = filteredProperties.get(ConnectionMetadataKeys.AUTH_TOKEN_APPLICATION_TOKEN_URI);
+                if (!MoreStrings.isEmpty(tokenUri)) {
+                    handleClientCredentials(baseName, failOnInvalidConfiguration, builder, filteredProperties);
+                    break;
+                }
                 final var key = filteredProperties.get(ConnectionMetadataKeys.AUTH_TOKEN_APPLICATION_KEY);
                 if (MoreStrings.isEmpty(key)) {
                     handleMissingProperty(suffixNameWithDot(baseName) + ConnectionMetadataKeys.AUTH_TOKEN_APPLICATION_KEY,
                             MISSING_TOKEN_CONFIG_MSG + "Key", failOnInvalidConfiguration);
                 }
-                final var token = filteredProperties.get(ConnectionMetadataKeys.AUTH_TOKEN_APPLICATION_TOKEN);
+                final var token = readSecretFile(baseName, ConnectionMetadataKeys.AUTH_TOKEN_APPLICATION_TOKEN_FILE,
+                        builder, filteredProperties)
+                        .orElse(filteredProperties.get(ConnectionMetadataKeys.AUTH_TOKEN_APPLICATION_TOKEN));
                 if (MoreStrings.isEmpty(token)) {
                     handleMissingProperty(suffixNameWithDot(baseName) + ConnectionMetadataKeys.AUTH_TOKEN_APPLICATION_TOKEN,
                             MISSING_TOKEN_CONFIG_MSG + "Token", failOnInvalidConfiguration);
@@ -201,8 +233,19 @@ public class ConnectionMetadataProducer {
                 LOGGER.debug("Certificate authentication for '%s' - handled via keystore config", baseName);
                 break;
             case TOKEN_FROM_USER:
-                // Token from user context is resolved at runtime, no static config needed
-                LOGGER.debug("Token-from-user authentication for '%s' - resolved at runtime", baseName);
+                // The token itself is resolved at runtime, for the current user
+                final var scopes = filteredProperties.get(ConnectionMetadataKeys.AUTH_TOKEN_USER_SCOPES);
+                if (MoreStrings.isEmpty(scopes)) {
+                    handleMissingProperty(suffixNameWithDot(baseName) + ConnectionMetadataKeys.AUTH_TOKEN_USER_SCOPES,
+                            MISSING_TOKEN_CONFIG_MSG + "Scopes", failOnInvalidConfiguration);
+                    break;
+                }
+                if (resolveOptionalBean(UserTokenProvider.class).isEmpty()) {
+                    LOGGER.warn(WARN.USER_TOKEN_UNSUPPORTED, baseName);
+                }
+                builder.tokenResolver(new UserTokenResolver(
+                        filteredProperties.getOrDefault(ConnectionMetadataKeys.AUTH_TOKEN_USER_KEY, DEFAULT_TOKEN_KEY),
+                        scopes));
                 break;
             case NONE:
                 LOGGER.trace("No authentication configured for '%s'", baseName);
@@ -210,6 +253,55 @@ public class ConnectionMetadataProducer {
         }
     }
 
+    /**
+     * Creates the {@link ClientCredentialsTokenResolverFactory resolver} for a
+     * token obtained from a token endpoint, see
+     * {@link ConnectionMetadataKeys#AUTH_TOKEN_APPLICATION_TOKEN_URI}. The
+     * first token is fetched in the background right away.
+     */
+    private static void handleClientCredentials(final String baseName, final boolean failOnInvalidConfiguration,
+            final ConnectionMetadataBuilder builder, final Map<String, String> filteredProperties) {
+        final var clientId = filteredProperties.get(ConnectionMetadataKeys.AUTH_TOKEN_APPLICATION_CLIENT_ID);
+        if (MoreStrings.isEmpty(clientId)) {
+            handleMissingProperty(suffixNameWithDot(baseName) + ConnectionMetadataKeys.AUTH_TOKEN_APPLICATION_CLIENT_ID,
+                    MISSING_TOKEN_CONFIG_MSG + "ClientId", failOnInvalidConfiguration);
+            return;
+        }
+        final var clientSecret = filteredProperties.get(ConnectionMetadataKeys.AUTH_TOKEN_APPLICATION_CLIENT_SECRET);
+        if (MoreStrings.isEmpty(clientSecret)) {
+            handleMissingProperty(
+                    suffixNameWithDot(baseName) + ConnectionMetadataKeys.AUTH_TOKEN_APPLICATION_CLIENT_SECRET,
+                    MISSING_TOKEN_CONFIG_MSG + "ClientSecret", failOnInvalidConfiguration);
+            return;
+        }
+        final var factory = resolveOptionalBean(ClientCredentialsTokenResolverFactory.class);
+        if (factory.isEmpty()) {
+            LOGGER.warn(WARN.CLIENT_CREDENTIALS_UNSUPPORTED, baseName);
+            if (failOnInvalidConfiguration) {
+                throw new IllegalArgumentException(WARN.CLIENT_CREDENTIALS_UNSUPPORTED.format(baseName));
+            }
+            return;
+        }
+        final var key = filteredProperties.getOrDefault(ConnectionMetadataKeys.AUTH_TOKEN_APPLICATION_KEY,
+                DEFAULT_TOKEN_KEY);
+        final var resolver = factory.get().create(key,
+                filteredProperties.get(ConnectionMetadataKeys.AUTH_TOKEN_APPLICATION_TOKEN_URI).trim(), clientId,
+                clientSecret, filteredProperties.get(ConnectionMetadataKeys.AUTH_TOKEN_APPLICATION_SCOPES));
+        if (resolver instanceof CachingTokenResolver caching) {
+            caching.prefetch();
+        }
+        builder.tokenResolver(resolver);
+    }
+
+    private static <T> Optional<T> resolveOptionalBean(final Class<T> type) {
+        try {
+            return PortalBeanManager.resolveBean(type, null);
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            LOGGER.debug(e, "Unable to resolve %s", type.getName());
+            return Optional.empty();
+        }
+    }
+
     /**
      * @param name to be suffixed, must not be null
      * @return the given name suffixed with a dot
@@ -218,6 +310,32 @@ public class ConnectionMetadataProducer {
         return name.endsWith(".") ? name : name + ".";
     }
 
+    /**
+     * Reads a secret from the file configured with the given key. Only if this
+     * succeeds, the file is recorded at the builder, so that clients can
+     * re-read it on change.
+     *
+     * @return the secret without surrounding whitespace, empty if no file is
+     *         configured or the file can not be read
+     */
+    private static Optional<String> readSecretFile(final String baseName, final String key,
+            final ConnectionMetadataBuilder builder, final Map<String, String> filteredProperties) {
+        final var location = filteredProperties.get(key);
+        if (MoreStrings.isEmpty(location)) {
+            return Optional.empty();
+        }
+        LOGGER.debug("Reading secret for '%s' from '%s'", suffixNameWithDot(baseName) + key, location);
+        try {
+            final var secret = Optional.of(Files.readString(Path.of(location)).strip())
+                    .filter(value -> !value.isEmpty());
+            secret.ifPresent(value -> builder.secretFile(location));
+            return secret;
+        } catch (final IOException | InvalidPathException e) {
+            LOGGER.warn(e, WARN.UNABLE_TO_READ_FILE, location);
+            return Optional.empty();
+        }
+    }
+
     private static void handleMissingProperty(final String propertyName, final String exceptionMessage,
             final boolean failOnInvalidConfiguration) {
         LOGGER.warn(WARN.MISSING_CONFIG, propertyName);
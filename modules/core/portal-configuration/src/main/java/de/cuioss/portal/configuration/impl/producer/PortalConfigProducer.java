@@ -47,14 +47,10 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
-import java.util.concurrent.TimeUnit;
 
 import static de.cuioss.portal.configuration.MetricsConfigKeys.PORTAL_METRICS_ENABLED;
-import static de.cuioss.portal.configuration.PortalConfigurationMessages.ERROR;
 import static de.cuioss.portal.configuration.PortalConfigurationMessages.WARN;
-import static de.cuioss.portal.configuration.cache.CacheConfig.*;
 import static de.cuioss.portal.configuration.util.ConfigurationHelper.*;
-import static de.cuioss.tools.base.BooleanOperations.isValidBoolean;
 import static de.cuioss.tools.base.Preconditions.checkArgument;
 import static de.cuioss.tools.collect.CollectionLiterals.immutableList;
 import static de.cuioss.tools.collect.CollectionLiterals.immutableSet;
@@ -225,55 +221,11 @@ public class PortalConfigProducer {
     CacheConfig produceCacheConfig(final InjectionPoint injectionPoint) {
 
         final var meta = resolveAnnotationOrThrow(injectionPoint, ConfigAsCacheConfig.class);
-        final var configKeyPrefix = appendPropertySeparator(requireNotEmptyTrimmed(meta.name(), "name"));
-        final var configProperties = resolveFilteredConfigProperties(configKeyPrefix, true);
+        final var resolved = resolveCacheConfig(meta.name(), new CacheConfig(meta.defaultExpiration(),
+                meta.defaultTimeUnit(), meta.defaultSize(), meta.recordStatistics()));
 
-        var expiration = meta.defaultExpiration();
-        var size = meta.defaultSize();
-        var timeUnit = meta.defaultTimeUnit();
-        var recordStats = meta.recordStatistics();
-
-        LOGGER.trace("configProperties (%s): %s", configKeyPrefix, configProperties);
-
-        if (configProperties.containsKey(EXPIRATION_KEY)) {
-            try {
-                expiration = Long.parseLong(configProperties.get(EXPIRATION_KEY).trim());
-            } catch (final NumberFormatException e) {
-                LOGGER.error(e, ERROR.INVALID_NUMBER, configKeyPrefix, EXPIRATION_KEY,
-                        configProperties.get(EXPIRATION_KEY));
-            }
-        }
-
-        if (configProperties.containsKey(SIZE_KEY)) {
-            try {
-                size = Long.parseLong(configProperties.get(SIZE_KEY).trim());
-            } catch (final NumberFormatException e) {
-                LOGGER.error(e, ERROR.INVALID_NUMBER, configKeyPrefix, SIZE_KEY, configProperties.get(SIZE_KEY));
-            }
-        }
-
-        if (configProperties.containsKey(EXPIRATION_UNIT_KEY)) {
-            try {
-                timeUnit = TimeUnit.valueOf(configProperties.get(EXPIRATION_UNIT_KEY).trim().toUpperCase());
-            } catch (final IllegalArgumentException e) {
-                LOGGER.error(e, ERROR.INVALID_TIME_UNIT, configKeyPrefix, EXPIRATION_UNIT_KEY, TimeUnit.values(),
-                        configProperties.get(EXPIRATION_UNIT_KEY));
-            }
-        }
-
-        if (configProperties.containsKey(CacheConfig.RECORD_STATISTICS_KEY)) {
-            final var configValue = configProperties.get(CacheConfig.RECORD_STATISTICS_KEY).trim();
-            if (!isValidBoolean(configValue)) {
-                LOGGER.error(ERROR.INVALID_BOOLEAN, configKeyPrefix, CacheConfig.RECORD_STATISTICS_KEY,
-                        configProperties.get(CacheConfig.RECORD_STATISTICS_KEY));
-                recordStats = false;
-            } else {
-                recordStats = Boolean.parseBoolean(configValue);
-            }
-            LOGGER.trace("recordStats: %s", recordStats);
-        }
-
-        final var cacheConfig = new CacheConfig(expiration, timeUnit, size, recordStats && portalMetricsEnabled.get());
+        final var cacheConfig = new CacheConfig(resolved.getExpiration(), resolved.getTimeUnit(), resolved.getSize(),
+                resolved.isRecordStatistics() && portalMetricsEnabled.get());
         LOGGER.trace("CacheConfig: %s", cacheConfig);
         return cacheConfig;
     }
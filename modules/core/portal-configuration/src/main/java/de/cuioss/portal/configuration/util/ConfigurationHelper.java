@@ -17,6 +17,7 @@ package de.cuioss.portal.configuration.util;
 
 import de.cuioss.portal.configuration.PortalConfigurationKeys;
 import de.cuioss.portal.configuration.PortalConfigurationMessages;
+import de.cuioss.portal.configuration.cache.CacheConfig;
 import de.cuioss.tools.collect.MapBuilder;
 import de.cuioss.tools.logging.CuiLogger;
 import de.cuioss.tools.string.MoreStrings;
@@ -40,10 +41,12 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import static de.cuioss.portal.configuration.PortalConfigurationKeys.CONTEXT_PARAM_SEPARATOR;
+import static de.cuioss.tools.base.BooleanOperations.isValidBoolean;
 import static de.cuioss.tools.base.Preconditions.checkArgument;
 import static de.cuioss.tools.collect.CollectionLiterals.immutableList;
 import static de.cuioss.tools.string.MoreStrings.*;
@@ -242,6 +245,75 @@ public final class ConfigurationHelper {
         return resolveFilteredConfigProperties(prefix, false);
     }
 
+    /**
+     * Resolves the {@link CacheConfig} configured with the given prefix, see
+     * {@link de.cuioss.portal.configuration.types.ConfigAsCacheConfig}. Invalid
+     * values are logged and replaced by the corresponding default.
+     * <p>
+     * In contrast to the producer, {@link CacheConfig#isRecordStatistics()} is
+     * not combined with
+     * {@link de.cuioss.portal.configuration.MetricsConfigKeys#PORTAL_METRICS_ENABLED}.
+     *
+     * @param name     the prefix of the cache configuration, must not be empty
+     * @param defaults providing the values for missing or invalid properties,
+     *                 must not be null
+     * @return the resolved {@link CacheConfig}
+     */
+    public static CacheConfig resolveCacheConfig(final String name, final CacheConfig defaults) {
+        requireNonNull(defaults, "defaults");
+        final var configKeyPrefix = appendPropertySeparator(requireNotEmptyTrimmed(name, "name"));
+        final var configProperties = resolveFilteredConfigProperties(configKeyPrefix, true);
+
+        var expiration = defaults.getExpiration();
+        var size = defaults.getSize();
+        var timeUnit = defaults.getTimeUnit();
+        var recordStats = defaults.isRecordStatistics();
+
+        LOGGER.trace("configProperties (%s): %s", configKeyPrefix, configProperties);
+
+        if (configProperties.containsKey(CacheConfig.EXPIRATION_KEY)) {
+            try {
+                expiration = Long.parseLong(configProperties.get(CacheConfig.EXPIRATION_KEY).trim());
+            } catch (final NumberFormatException e) {
+                LOGGER.error(e, PortalConfigurationMessages.ERROR.INVALID_NUMBER, configKeyPrefix,
+                        CacheConfig.EXPIRATION_KEY, configProperties.get(CacheConfig.EXPIRATION_KEY));
+            }
+        }
+
+        if (configProperties.containsKey(CacheConfig.SIZE_KEY)) {
+            try {
+                size = Long.parseLong(configProperties.get(CacheConfig.SIZE_KEY).trim());
+            } catch (final NumberFormatException e) {
+                LOGGER.error(e, PortalConfigurationMessages.ERROR.INVALID_NUMBER, configKeyPrefix,
+                        CacheConfig.SIZE_KEY, configProperties.get(CacheConfig.SIZE_KEY));
+            }
+        }
+
+        if (configProperties.containsKey(CacheConfig.EXPIRATION_UNIT_KEY)) {
+            try {
+                timeUnit = TimeUnit.valueOf(configProperties.get(CacheConfig.EXPIRATION_UNIT_KEY).trim().toUpperCase());
+            } catch (final IllegalArgumentException e) {
+                LOGGER.error(e, PortalConfigurationMessages.ERROR.INVALID_TIME_UNIT, configKeyPrefix,
+                        CacheConfig.EXPIRATION_UNIT_KEY, TimeUnit.values(),
+                        configProperties.get(CacheConfig.EXPIRATION_UNIT_KEY));
+            }
+        }
+
+        if (configProperties.containsKey(CacheConfig.RECORD_STATISTICS_KEY)) {
+            final var configValue = configProperties.get(CacheConfig.RECORD_STATISTICS_KEY).trim();
+            if (!isValidBoolean(configValue)) {
+                LOGGER.error(PortalConfigurationMessages.ERROR.INVALID_BOOLEAN, configKeyPrefix,
+                        CacheConfig.RECORD_STATISTICS_KEY, configProperties.get(CacheConfig.RECORD_STATISTICS_KEY));
+                recordStats = false;
+            } else {
+                recordStats = Boolean.parseBoolean(configValue);
+            }
+            LOGGER.trace("recordStats: %s", recordStats);
+        }
+
+        return new CacheConfig(expiration, timeUnit, size, recordStats);
+    }
+
     /**
      * Resolves a property from the underlying system.
      *
@@ -0,0 +1,269 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.configuration.connections.impl;
+
+import de.cuioss.portal.configuration.PortalConfigurationMessages;
+import de.cuioss.portal.configuration.connections.impl.CachingTokenResolver.ExpiringToken;
+import de.cuioss.portal.configuration.connections.impl.CachingTokenResolver.TokenSource;
+import de.cuioss.test.juli.LogAsserts;
+import de.cuioss.test.juli.TestLogLevel;
+import de.cuioss.test.juli.junit5.EnableTestLogger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@EnableTestLogger
+@DisplayName("Tests CachingTokenResolver")
+class CachingTokenResolverTest {
+
+    private static final String KEY = "Authorization";
+
+    @Test
+    @DisplayName("Should cache token until refresh is due")
+    void shouldCacheToken() {
+        var source = new CountingSource(Duration.ofMinutes(10));
+        var underTest = CachingTokenResolver.builder().key(KEY).source(source).build();
+
+        assertEquals("Bearer 1", underTest.resolve());
+        assertEquals("Bearer 1", underTest.resolve());
+        assertEquals(1, source.calls.get());
+        assertEquals(KEY, underTest.getKey());
+
+        underTest.invalidate();
+        assertEquals("Bearer 2", underTest.resolve());
+    }
+
+    @Test
+    @DisplayName("Should refresh in background and return cached token meanwhile")
+    void shouldRefreshInBackground() {
+        var source = new CountingSource(Duration.ofSeconds(4));
+        var background = new ArrayList<Runnable>();
+        var underTest = CachingTokenResolver.builder().key(KEY).source(source)
+                .refreshAhead(Duration.ofMinutes(1)).executor(background::add).build();
+
+        assertEquals("Bearer 1", underTest.resolve());
+        // refreshAhead is limited to half of the lifetime
+        await().atMost(3, TimeUnit.SECONDS).until(() -> {
+            underTest.resolve();
+            return !background.isEmpty();
+        });
+        assertEquals("Bearer 1", underTest.resolve(), "Cached token must be used while refreshing");
+        assertEquals(1, background.size(), "Only one refresh must be scheduled");
+
+        background.getFirst().run();
+        assertEquals("Bearer 2", underTest.resolve());
+        assertEquals(2, source.calls.get());
+    }
+
+    @Test
+    @DisplayName("Should call source once for concurrent callers")
+    void shouldFetchOnceForConcurrentCallers() throws Exception {
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var calls = new AtomicInteger();
+        TokenSource source = () -> {
+            calls.incrementAndGet();
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new ExpiringToken("Bearer shared", Duration.ofMinutes(5));
+        };
+        var underTest = CachingTokenResolver.builder().key(KEY).source(source).build();
+        var executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            results.add(executor.submit(underTest::resolve));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            for (var i = 0; i < 3; i++) {
+                results.add(executor.submit(underTest::resolve));
+            }
+            release.countDown();
+            for (Future<String> result : results) {
+                assertEquals("Bearer shared", result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, calls.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep cached token if background refresh fails")
+    void shouldKeepTokenOnFailedRefresh() {
+        var fail = new AtomicInteger();
+        TokenSource source = () -> {
+            if (fail.get() > 0) {
+                throw new IllegalStateException("boom");
+            }
+            return new ExpiringToken("Bearer ok", Duration.ofSeconds(4));
+        };
+        var underTest = CachingTokenResolver.builder().key(KEY).source(source)
+                .executor(Runnable::run).build();
+        assertEquals("Bearer ok", underTest.resolve());
+
+        fail.set(1);
+        await().atMost(3, TimeUnit.SECONDS).until(() -> {
+            underTest.resolve();
+            return isRefreshFailureLogged();
+        });
+        assertEquals("Bearer ok", underTest.resolve());
+
+        underTest.invalidate();
+        assertThrows(IllegalStateException.class, underTest::resolve);
+    }
+
+    @Test
+    @DisplayName("Should back off after a failed background refresh and warn once")
+    void shouldBackOffAfterFailedRefresh() throws InterruptedException {
+        var calls = new AtomicInteger();
+        TokenSource source = () -> {
+            if (calls.incrementAndGet() > 1) {
+                throw new IllegalStateException("boom");
+            }
+            return new ExpiringToken("Bearer ok", Duration.ofSeconds(4));
+        };
+        var underTest = CachingTokenResolver.builder().key(KEY).source(source)
+                .retryDelay(Duration.ofMillis(200)).executor(Runnable::run).build();
+        assertEquals("Bearer ok", underTest.resolve());
+
+        await().atMost(3, TimeUnit.SECONDS).until(() -> {
+            underTest.resolve();
+            return calls.get() > 1;
+        });
+        var failed = calls.get();
+        for (var i = 0; i < 10; i++) {
+            assertEquals("Bearer ok", underTest.resolve());
+        }
+        assertEquals(failed, calls.get(), "Source must not be called before the retry delay elapsed");
+
+        TimeUnit.MILLISECONDS.sleep(250);
+        assertEquals("Bearer ok", underTest.resolve());
+        assertEquals(failed + 1, calls.get());
+        LogAsserts.assertSingleLogMessagePresentContaining(TestLogLevel.WARN,
+                PortalConfigurationMessages.WARN.TOKEN_REFRESH_FAILED.resolveIdentifierString());
+    }
+
+    @Test
+    @DisplayName("Should back off after a failed synchronous fetch")
+    void shouldBackOffAfterFailedFetch() throws InterruptedException {
+        var calls = new AtomicInteger();
+        TokenSource source = () -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new IllegalStateException("boom");
+            }
+            return new ExpiringToken("Bearer ok", Duration.ofSeconds(4));
+        };
+        var underTest = CachingTokenResolver.builder().key(KEY).source(source)
+                .retryDelay(Duration.ofMillis(200)).build();
+
+        var first = assertThrows(IllegalStateException.class, underTest::resolve);
+        assertEquals("boom", first.getCause().getMessage());
+        for (var i = 0; i < 10; i++) {
+            var again = assertThrows(IllegalStateException.class, underTest::resolve);
+            assertSame(first.getCause(), again.getCause());
+        }
+        underTest.prefetch();
+        assertEquals(1, calls.get(), "Source must not be called before the retry delay elapsed");
+
+        TimeUnit.MILLISECONDS.sleep(250);
+        assertEquals("Bearer ok", underTest.resolve());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    @DisplayName("Should refresh on the default executor")
+    void shouldRefreshOnDefaultExecutor() {
+        var source = new CountingSource(Duration.ofSeconds(2));
+        var underTest = CachingTokenResolver.builder().key(KEY).source(source).build();
+        assertEquals("Bearer 1", underTest.resolve());
+
+        await().atMost(3, TimeUnit.SECONDS).until(() -> "Bearer 2".equals(underTest.resolve()));
+    }
+
+    @Test
+    @DisplayName("Should use default TTL and survive serialization")
+    void shouldSerialize() throws IOException, ClassNotFoundException {
+        var underTest = CachingTokenResolver.builder().key(KEY).source(new CountingSource(null)).build();
+        assertEquals("Bearer 1", underTest.resolve());
+
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new ObjectOutputStream(bytes)) {
+            out.writeObject(underTest);
+        }
+        try (var in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            var copy = (CachingTokenResolver) in.readObject();
+            assertEquals(KEY, copy.getKey());
+            assertEquals("Bearer 2", copy.resolve(), "Cached token must not be serialized");
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject invalid configuration")
+    void shouldValidate() {
+        var missingSource = CachingTokenResolver.builder().key(KEY);
+        assertThrows(NullPointerException.class, missingSource::build);
+        var negative = CachingTokenResolver.builder().key(KEY).source(new CountingSource(null))
+                .refreshAhead(Duration.ofSeconds(-1));
+        assertThrows(IllegalArgumentException.class, negative::build);
+    }
+
+    private static boolean isRefreshFailureLogged() {
+        try {
+            LogAsserts.assertLogMessagePresentContaining(TestLogLevel.WARN,
+                    PortalConfigurationMessages.WARN.TOKEN_REFRESH_FAILED.resolveIdentifierString());
+            return true;
+        } catch (AssertionError e) {
+            return false;
+        }
+    }
+
+    static class CountingSource implements TokenSource {
+
+        private final Duration expiresIn;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        CountingSource(Duration expiresIn) {
+            this.expiresIn = expiresIn;
+        }
+
+        @Override
+        public ExpiringToken fetch() {
+            return new ExpiringToken("Bearer " + calls.incrementAndGet(), expiresIn);
+        }
+    }
+}
@@ -39,7 +39,7 @@ import static de.cuioss.test.generator.Generators.nonEmptyStrings;
 import static de.cuioss.test.generator.Generators.strings;
 import static org.junit.jupiter.api.Assertions.*;
 
-@PropertyReflectionConfig(exclude = {"loginCredentialsNecessary"})
+@PropertyReflectionConfig(exclude = {"loginCredentialsNecessary", "connectionPoolConfigured"})
 @ObjectTestConfig(equalsAndHashCodeBasicOnly = true)
 @PropertyGenerator({KeyStoreInfoGenerator.class, TrustStoreInfoGenerator.class, ContextMapGenerator.class})
 @PropertyGeneratorHint(declaredType = TokenResolver.class, implementationType = StaticTokenResolver.class)
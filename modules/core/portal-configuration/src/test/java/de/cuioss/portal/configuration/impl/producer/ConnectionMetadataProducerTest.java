@@ -18,9 +18,11 @@ package de.cuioss.portal.configuration.impl.producer;
 import de.cuioss.portal.configuration.PortalConfigurationMessages;
 import de.cuioss.portal.configuration.connections.TokenResolver;
 import de.cuioss.portal.configuration.connections.impl.AuthenticationType;
+import de.cuioss.portal.configuration.connections.impl.CachingTokenResolver;
 import de.cuioss.portal.configuration.connections.impl.ConnectionMetadata;
 import de.cuioss.portal.configuration.connections.impl.ConnectionMetadataKeys;
 import de.cuioss.portal.configuration.connections.impl.ConnectionType;
+import de.cuioss.portal.configuration.connections.impl.UserTokenResolver;
 import de.cuioss.portal.configuration.impl.support.EnablePortalConfigurationLocal;
 import de.cuioss.portal.configuration.impl.support.PortalTestConfigurationLocal;
 import de.cuioss.portal.configuration.types.ConfigAsConnectionMetadata;
@@ -38,7 +40,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.concurrent.TimeUnit;
 
@@ -51,7 +56,8 @@ import static org.junit.jupiter.api.Assertions.*;
  */
 @EnableAutoWeld
 @EnablePortalConfigurationLocal
-@AddBeanClasses({ConnectionMetadataProducer.class, ConnectionMetadata.class})
+@AddBeanClasses({ConnectionMetadataProducer.class, ConnectionMetadata.class,
+        TestClientCredentialsTokenResolverFactory.class, TestUserTokenProvider.class})
 @EnableTestLogger(trace = {ConfigurationHelper.class, PortalTestConfigurationLocal.class})
 @DisplayName("ConnectionMetadataProducer Tests")
 class ConnectionMetadataProducerTest {
@@ -150,6 +156,46 @@ class ConnectionMetadataProducerTest {
             assertEquals(AuthenticationType.NONE, metadataProvider.get().getAuthenticationType());
         }
 
+        @Test
+        @DisplayName("Should read password from secret file")
+        void shouldReadPasswordFile(@TempDir Path tempDir) throws IOException {
+            basicAuthConfig();
+            final var passwordFile = tempDir.resolve("password");
+            Files.writeString(passwordFile, "fromFile\n");
+            configuration.put(BASE_NAME_SUFFIXED + ConnectionMetadataKeys.AUTH_BASIC_USER_PASSWORD_FILE,
+                    passwordFile.toString());
+            configuration.fireEvent();
+            final var metadata = metadataProvider.get();
+            assertEquals(AuthenticationType.BASIC, metadata.getAuthenticationType());
+            assertEquals("fromFile", metadata.getLoginCredentials().getPassword());
+            assertEquals(passwordFile.toString(), metadata.getSecretFile());
+        }
+
+        @Test
+        @DisplayName("Should fall back to inline password without recording an unreadable secret file")
+        void shouldNotRecordUnreadablePasswordFile(@TempDir Path tempDir) {
+            basicAuthConfig();
+            configuration.put(BASE_NAME_SUFFIXED + ConnectionMetadataKeys.AUTH_BASIC_USER_PASSWORD_FILE,
+                    tempDir.resolve("missing").toString());
+            configuration.fireEvent();
+            final var metadata = metadataProvider.get();
+            assertEquals(PASSWORD3, metadata.getLoginCredentials().getPassword());
+            assertNull(metadata.getSecretFile());
+        }
+
+        @Test
+        @DisplayName("Should handle unreadable secret file")
+        void shouldHandleUnreadableTokenFile(@TempDir Path tempDir) {
+            applicationTokenConfig();
+            configuration.remove(BASE_NAME_SUFFIXED + ConnectionMetadataKeys.AUTH_TOKEN_APPLICATION_TOKEN);
+            configuration.put(BASE_NAME_SUFFIXED + ConnectionMetadataKeys.AUTH_TOKEN_APPLICATION_TOKEN_FILE,
+                    tempDir.resolve("missing").toString());
+            configuration.fireEvent();
+            assertThrows(IllegalArgumentException.class, () -> metadataProvider.get());
+            assertLogMessagePresentContaining(TestLogLevel.WARN,
+                    PortalConfigurationMessages.WARN.UNABLE_TO_READ_FILE.resolveIdentifierString());
+        }
+
         @Test
         @DisplayName("Should handle certificate configuration")
         void shouldHandleCertificationConfiguration() {
@@ -365,6 +411,41 @@ class ConnectionMetadataProducerTest {
         }
     }
 
+    @Nested
+    @DisplayName("Connection Pool Tests")
+    class ConnectionPoolTests {
+
+        @Test
+        @DisplayName("Should handle connection pool settings")
+        void shouldHandleConnectionPool() {
+            basicAuthConfig();
+            configuration.fireEvent();
+            assertFalse(metadataProvider.get().isConnectionPoolConfigured());
+
+            configuration.put(BASE_NAME_SUFFIXED + ConnectionMetadataKeys.POOL_MAX_CONNECTIONS, "40");
+            configuration.put(BASE_NAME_SUFFIXED + ConnectionMetadataKeys.POOL_MAX_CONNECTIONS_PER_ROUTE, "20");
+            configuration.put(BASE_NAME_SUFFIXED + ConnectionMetadataKeys.POOL_TIME_TO_LIVE, "300");
+            configuration.put(BASE_NAME_SUFFIXED + ConnectionMetadataKeys.POOL_IDLE_TIMEOUT, "30");
+            configuration.fireEvent();
+            var metadata = metadataProvider.get();
+            assertTrue(metadata.isConnectionPoolConfigured());
+            assertEquals(40, metadata.getMaxConnections());
+            assertEquals(20, metadata.getMaxConnectionsPerRoute());
+            assertEquals(300, metadata.getConnectionTimeToLive());
+            assertEquals(30, metadata.getIdleConnectionTimeout());
+        }
+
+        @Test
+        @DisplayName("Should handle invalid connection pool settings")
+        void shouldHandleInvalidConnectionPool() {
+            basicAuthConfig();
+            configuration.put(BASE_NAME_SUFFIXED + ConnectionMetadataKeys.POOL_MAX_CONNECTIONS, "b00m");
+            configuration.fireEvent();
+            assertEquals(0, metadataNotFailProvider.get().getMaxConnections());
+            assertThrows(IllegalArgumentException.class, () -> metadataProvider.get());
+        }
+    }
+
     @Nested
     @DisplayName("Token Application Authentication Tests")
     class TokenAuthenticationTests {
@@ -420,6 +501,78 @@ class ConnectionMetadataProducerTest {
         }
     }
 
+    @Nested
+    @DisplayName("Client Credentials Authentication Tests")
+    class ClientCredentialsTests {
+
+        @Test
+        @DisplayName("Should create resolver of factory for token endpoint")
+        void shouldCreateClientCredentialsResolver() {
+            clientCredentialsConfig();
+            configuration.fireEvent();
+
+            var metadata = metadataProvider.get();
+            assertEquals(AuthenticationType.TOKEN_APPLICATION, metadata.getAuthenticationType());
+            assertInstanceOf(CachingTokenResolver.class, metadata.getTokenResolver());
+            assertEquals("Authorization", metadata.getTokenResolver().getKey());
+            assertEquals("Bearer client:scope", metadata.getTokenResolver().resolve());
+        }
+
+        @Test
+        @DisplayName("Should handle missing client secret")
+        void shouldHandleMissingClientSecret() {
+            clientCredentialsConfig();
+            configuration.remove(BASE_NAME_SUFFIXED + ConnectionMetadataKeys.AUTH_TOKEN_APPLICATION_CLIENT_SECRET);
+            configuration.fireEvent();
+
+            assertNull(metadataNotFailProvider.get().getTokenResolver());
+            assertLogMessagePresentContaining(TestLogLevel.WARN,
+                    PortalConfigurationMessages.WARN.MISSING_CONFIG.resolveIdentifierString());
+            assertThrows(IllegalArgumentException.class, () -> metadataProvider.get());
+        }
+
+        private void clientCredentialsConfig() {
+            configuration.put(BASE_NAME_SUFFIXED + ConnectionMetadataKeys.AUTH_TOKEN_APPLICATION_TOKEN_URI,
+                    "https://cuioss.de/token");
+            configuration.put(BASE_NAME_SUFFIXED + ConnectionMetadataKeys.AUTH_TOKEN_APPLICATION_CLIENT_ID, "client");
+            configuration.put(BASE_NAME_SUFFIXED + ConnectionMetadataKeys.AUTH_TOKEN_APPLICATION_CLIENT_SECRET,
+                    "secret");
+            configuration.put(BASE_NAME_SUFFIXED + ConnectionMetadataKeys.AUTH_TOKEN_APPLICATION_SCOPES, "scope");
+            configuration.put(BASE_NAME_SUFFIXED + ConnectionMetadataKeys.URL_KEY, CONNECTION_URL);
+        }
+    }
+
+    @Nested
+    @DisplayName("User Token Authentication Tests")
+    class UserTokenTests {
+
+        @Test
+        @DisplayName("Should create resolver for token of current user")
+        void shouldCreateUserTokenResolver() {
+            configuration.put(BASE_NAME_SUFFIXED + ConnectionMetadataKeys.AUTH_TOKEN_USER_SCOPES, "openid");
+            configuration.put(BASE_NAME_SUFFIXED + ConnectionMetadataKeys.URL_KEY, CONNECTION_URL);
+            configuration.fireEvent();
+
+            var metadata = metadataProvider.get();
+            assertEquals(AuthenticationType.TOKEN_FROM_USER, metadata.getAuthenticationType());
+            assertEquals(new UserTokenResolver("Authorization", "openid"), metadata.getTokenResolver());
+            assertEquals("Bearer user:openid", metadata.getTokenResolver().resolve());
+        }
+
+        @Test
+        @DisplayName("Should handle missing scopes")
+        void shouldHandleMissingScopes() {
+            configuration.put(BASE_NAME_SUFFIXED + ConnectionMetadataKeys.AUTH_TOKEN_USER_KEY, TOKEN_KEY);
+            configuration.put(BASE_NAME_SUFFIXED + ConnectionMetadataKeys.URL_KEY, CONNECTION_URL);
+            configuration.fireEvent();
+
+            assertNull(metadataNotFailProvider.get().getTokenResolver());
+            assertLogMessagePresentContaining(TestLogLevel.WARN,
+                    PortalConfigurationMessages.WARN.MISSING_CONFIG.resolveIdentifierString());
+            assertThrows(IllegalArgumentException.class, () -> metadataProvider.get());
+        }
+    }
+
     @Nested
     @DisplayName("Basic Auth Validation Tests")
     class BasicAuthValidationTests {
@@ -0,0 +1,36 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.configuration.impl.producer;
+
+import de.cuioss.portal.configuration.connections.ClientCredentialsTokenResolverFactory;
+import de.cuioss.portal.configuration.connections.TokenResolver;
+import de.cuioss.portal.configuration.connections.impl.CachingTokenResolver;
+import de.cuioss.portal.configuration.connections.impl.CachingTokenResolver.ExpiringToken;
+import jakarta.enterprise.context.ApplicationScoped;
+
+/**
+ * Returns "Bearer clientId:scopes" as token, without calling the token
+ * endpoint.
+ */
+@ApplicationScoped
+public class TestClientCredentialsTokenResolverFactory implements ClientCredentialsTokenResolverFactory {
+
+    @Override
+    public TokenResolver create(String key, String tokenUri, String clientId, String clientSecret, String scopes) {
+        final var token = "Bearer " + clientId + ":" + scopes;
+        return CachingTokenResolver.builder().key(key).source(() -> new ExpiringToken(token, null)).build();
+    }
+}
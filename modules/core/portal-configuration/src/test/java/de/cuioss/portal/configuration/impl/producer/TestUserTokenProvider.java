@@ -0,0 +1,33 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.configuration.impl.producer;
+
+import de.cuioss.portal.configuration.connections.UserTokenProvider;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.util.Optional;
+
+/**
+ * Returns "user:scopes" as token of the current user.
+ */
+@ApplicationScoped
+public class TestUserTokenProvider implements UserTokenProvider {
+
+    @Override
+    public Optional<String> retrieveAccessToken(String scopes) {
+        return Optional.of("user:" + scopes);
+    }
+}
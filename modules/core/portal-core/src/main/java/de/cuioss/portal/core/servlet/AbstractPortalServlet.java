@@ -17,11 +17,13 @@ package de.cuioss.portal.core.servlet;
 
 import de.cuioss.portal.authentication.AuthenticatedUserInfo;
 import de.cuioss.tools.logging.CuiLogger;
+import jakarta.enterprise.inject.spi.CDI;
 import jakarta.inject.Provider;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServlet;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.eclipse.microprofile.metrics.MetricRegistry;
 
 import java.io.IOException;
 import java.io.Serial;
@@ -29,6 +31,8 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 
+import static de.cuioss.portal.configuration.MetricsConfigKeys.PORTAL_METRICS_ENABLED;
+import static de.cuioss.portal.configuration.util.ConfigurationHelper.resolveConfigProperty;
 import static de.cuioss.portal.core.PortalCoreLogMessages.SERVLET;
 
 /**
@@ -43,6 +47,7 @@ import static de.cuioss.portal.core.PortalCoreLogMessages.SERVLET;
  *   <li>Authentication verification</li>
  *   <li>Standardized error handling</li>
  *   <li>Configurable servlet enablement</li>
+ *   <li>Request metrics, if {@code portal.metrics.enabled} is {@code true}</li>
  * </ul>
  *
  * <p><strong>Security features:</strong></p>
@@ -69,6 +74,13 @@ import static de.cuioss.portal.core.PortalCoreLogMessages.SERVLET;
  * }
  * </pre>
  *
+ * <p><strong>Metrics:</strong></p>
+ * If metrics are enabled and a {@link MetricRegistry} is available, the servlet
+ * records histograms of the request, access check and payload durations, counts
+ * the responses by status class and provides the number of requests in
+ * progress, all tagged with the servlet name. The metrics are registered in
+ * {@link #init()}, so recording a request only updates them.
+ *
  * <p><strong>HTTP Status Codes:</strong></p>
  * <ul>
  *   <li>{@code 401} - User is not authenticated but authentication is required</li>
@@ -91,20 +103,49 @@ public abstract class AbstractPortalServlet extends HttpServlet {
 
     private final Provider<AuthenticatedUserInfo> userInfoProvider;
 
+    transient ServletMetrics metrics = ServletMetrics.NOOP;
+
     protected AbstractPortalServlet(Provider<AuthenticatedUserInfo> userInfoProvider) {
         this.userInfoProvider = userInfoProvider;
     }
 
+    /**
+     * Registers the request metrics, if enabled. Subclasses overriding this
+     * method must call {@code super.init()}.
+     */
     @Override
-    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
-        if (!checkAccess(resp)) {
+    public void init() throws ServletException {
+        super.init();
+        if (!resolveConfigProperty(PORTAL_METRICS_ENABLED, Boolean.class).orElse(false)) {
             return;
         }
+        var registry = CDI.current().select(MetricRegistry.class);
+        if (registry.isResolvable()) {
+            metrics = PortalServletMetrics.forServlet(registry.get(), getServletName());
+        } else {
+            LOGGER.debug("No MetricRegistry available, skipping metrics of servlet '%s'", getServletName());
+        }
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+        var requestMetrics = metrics;
+        var started = requestMetrics.requestStarted();
         try {
-            executeDoGet(req, resp);
-        } catch (RuntimeException | IOException e) {
-            LOGGER.error(e, SERVLET.ERROR.REQUEST_PROCESSING_ERROR, e.getMessage());
-            resp.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            var granted = checkAccess(resp);
+            var accessChecked = requestMetrics.accessChecked(started);
+            if (!granted) {
+                return;
+            }
+            try {
+                executeDoGet(req, resp);
+            } catch (RuntimeException | IOException e) {
+                LOGGER.error(e, SERVLET.ERROR.REQUEST_PROCESSING_ERROR, e.getMessage());
+                resp.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            }
+            requestMetrics.payloadExecuted(accessChecked);
+        } finally {
+            requestMetrics.requestFinished(started, resp.getStatus());
         }
     }
 
@@ -0,0 +1,138 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.core.servlet;
+
+import org.eclipse.microprofile.metrics.Counter;
+import org.eclipse.microprofile.metrics.Histogram;
+import org.eclipse.microprofile.metrics.Metadata;
+import org.eclipse.microprofile.metrics.MetadataBuilder;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.MetricUnits;
+import org.eclipse.microprofile.metrics.Tag;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@link ServletMetrics} registered at a {@link MetricRegistry}, all tagged with
+ * the name of the servlet:
+ * <ul>
+ *   <li>{@value #REQUEST_DURATION}, {@value #ACCESS_CHECK_DURATION} and
+ *   {@value #PAYLOAD_DURATION}: histograms in nanoseconds</li>
+ *   <li>{@value #RESPONSES}: counters tagged with the status class, e.g.
+ *   {@code 2xx}</li>
+ *   <li>{@value #IN_FLIGHT}: gauge of the requests currently processed</li>
+ * </ul>
+ * All metrics are resolved on creation, recording only updates them.
+ *
+ * <p>Instances are shared per registry and servlet name, see
+ * {@link #forServlet(MetricRegistry, String)}. The gauge is registered once
+ * and is therefore always bound to the counter of the current instance, even
+ * if the servlet is initialized again. Instances are held weakly by their
+ * registry, so they are discarded together with it.
+ */
+final class PortalServletMetrics implements ServletMetrics {
+
+    static final String REQUEST_DURATION = "portal.servlet.requestDuration";
+    static final String ACCESS_CHECK_DURATION = "portal.servlet.accessCheckDuration";
+    static final String PAYLOAD_DURATION = "portal.servlet.payloadDuration";
+    static final String RESPONSES = "portal.servlet.responses";
+    static final String IN_FLIGHT = "portal.servlet.inFlight";
+
+    static final String SERVLET_TAG = "servlet";
+    static final String STATUS_TAG = "status";
+
+    /** Indexed by status / 100, index 0 collects invalid status codes */
+    private static final String[] STATUS_CLASSES = {"other", "1xx", "2xx", "3xx", "4xx", "5xx"};
+
+    private static final Map<MetricRegistry, Map<String, PortalServletMetrics>> INSTANCES = Collections
+            .synchronizedMap(new WeakHashMap<>());
+
+    private final Histogram requestDuration;
+    private final Histogram accessCheckDuration;
+    private final Histogram payloadDuration;
+    private final Counter[] responses;
+    private final AtomicLong inFlight = new AtomicLong();
+
+    /**
+     * @param registry    to register the metrics at, must not be null
+     * @param servletName used as tag, must not be null
+     * @return the metrics shared by all servlets of the given name and
+     *         registry
+     */
+    static PortalServletMetrics forServlet(final MetricRegistry registry, final String servletName) {
+        requireNonNull(registry, "registry");
+        requireNonNull(servletName, "servletName");
+        synchronized (INSTANCES) {
+            return INSTANCES.computeIfAbsent(registry, key -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(servletName, name -> new PortalServletMetrics(registry, name));
+        }
+    }
+
+    private PortalServletMetrics(final MetricRegistry registry, final String servletName) {
+        final var servletTag = new Tag(SERVLET_TAG, servletName);
+        requestDuration = registry.histogram(durationMetadata(REQUEST_DURATION, "Duration of the requests"),
+                servletTag);
+        accessCheckDuration = registry.histogram(
+                durationMetadata(ACCESS_CHECK_DURATION, "Duration of the access checks"), servletTag);
+        payloadDuration = registry.histogram(
+                durationMetadata(PAYLOAD_DURATION, "Duration of the payload of granted requests"), servletTag);
+        final var responsesMetadata = new MetadataBuilder().withName(RESPONSES)
+                .withDescription("Number of responses by status class").withUnit(MetricUnits.NONE).build();
+        responses = new Counter[STATUS_CLASSES.length];
+        for (var i = 0; i < STATUS_CLASSES.length; i++) {
+            responses[i] = registry.counter(responsesMetadata, servletTag, new Tag(STATUS_TAG, STATUS_CLASSES[i]));
+        }
+        registry.gauge(new MetadataBuilder().withName(IN_FLIGHT).withDescription("Number of requests in progress")
+                .withUnit(MetricUnits.NONE).build(), inFlight::get, servletTag);
+    }
+
+    @Override
+    public long requestStarted() {
+        inFlight.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    @Override
+    public long accessChecked(final long started) {
+        final var now = System.nanoTime();
+        accessCheckDuration.update(now - started);
+        return now;
+    }
+
+    @Override
+    public void payloadExecuted(final long accessChecked) {
+        payloadDuration.update(System.nanoTime() - accessChecked);
+    }
+
+    @Override
+    public void requestFinished(final long started, final int status) {
+        requestDuration.update(System.nanoTime() - started);
+        inFlight.decrementAndGet();
+        final var statusClass = status / 100;
+        responses[statusClass > 0 && statusClass < STATUS_CLASSES.length ? statusClass : 0].inc();
+    }
+
+    private static Metadata durationMetadata(final String name, final String description) {
+        return new MetadataBuilder().withName(name).withDescription(description)
+                .withUnit(MetricUnits.NANOSECONDS).build();
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.core.servlet;
+
+/**
+ * Records the request metrics of an {@link AbstractPortalServlet}. The
+ * timestamps passed around are taken from {@link System#nanoTime()}, so the
+ * request path does not allocate.
+ */
+interface ServletMetrics {
+
+    /**
+     * Does not record anything and does not read the clock.
+     */
+    ServletMetrics NOOP = new ServletMetrics() {
+
+        @Override
+        public long requestStarted() {
+            return 0;
+        }
+
+        @Override
+        public long accessChecked(final long started) {
+            return 0;
+        }
+
+        @Override
+        public void payloadExecuted(final long accessChecked) {
+            // Nothing to record
+        }
+
+        @Override
+        public void requestFinished(final long started, final int status) {
+            // Nothing to record
+        }
+    };
+
+    /**
+     * @return the start of the request
+     */
+    long requestStarted();
+
+    /**
+     * @param started as returned by {@link #requestStarted()}
+     * @return the end of the access check, being the start of the payload
+     */
+    long accessChecked(long started);
+
+    /**
+     * @param accessChecked as returned by {@link #accessChecked(long)}
+     */
+    void payloadExecuted(long accessChecked);
+
+    /**
+     * @param started as returned by {@link #requestStarted()}
+     * @param status  the http status of the response
+     */
+    void requestFinished(long started, int status);
+}
@@ -28,6 +28,7 @@
  * <ul>
  *   <li>Role-based access control</li>
  *   <li>Standardized error handling</li>
+ *   <li>Request metrics for MicroProfile Metrics</li>
  *   <li>Proxy-aware hostname resolution</li>
  *   <li>Authentication integration</li>
  * </ul>
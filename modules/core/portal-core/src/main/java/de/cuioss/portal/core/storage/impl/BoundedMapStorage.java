@@ -0,0 +1,308 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.core.storage.impl;
+
+import de.cuioss.portal.core.storage.MapStorage;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Thread-safe implementation of {@link MapStorage} with a maximum number of
+ * entries and an expiration per entry.
+ *
+ * <p>This implementation:</p>
+ * <ul>
+ *   <li>Evicts the least recently used entry if the maximum number of entries
+ *   is exceeded. Before that, expired entries are removed: the least recently
+ *   used ones on every insert, all of them at most once per tenth of the
+ *   default time to live, but at most once a second</li>
+ *   <li>Expires entries after the default time to live or the one given with
+ *   {@link #put(Serializable, Serializable, Duration)}, measured in wall clock
+ *   time, so that expirations survive session replication</li>
+ *   <li>Removes expired entries on access, see {@link #cleanUp()} for removing
+ *   all of them</li>
+ *   <li>Provides {@link MapStorageStatistics} on size, hits, misses, evictions
+ *   and expirations</li>
+ * </ul>
+ *
+ * <p><strong>Usage example:</strong></p>
+ * <pre>
+ * MapStorage&lt;String, UserData&gt; storage = new BoundedMapStorage&lt;&gt;(100, Duration.ofMinutes(30));
+ * storage.put("user123", userData);
+ * </pre>
+ * Usually created from the configuration with {@link MapStorageFactory}.
+ *
+ * @param <T> type of key, must implement {@link Serializable}
+ * @param <V> type of value, must implement {@link Serializable}
+ *
+ * @see MapStorageImpl
+ */
+@ToString(of = {"maxEntries", "timeToLive"})
+public class BoundedMapStorage<T extends Serializable, V extends Serializable> implements MapStorage<T, V> {
+
+    @Serial
+    private static final long serialVersionUID = -2707455318467018042L;
+
+    private static final long MIN_SWEEP_INTERVAL_MILLIS = 1000;
+
+    private static final int SWEEP_INTERVAL_DIVISOR = 10;
+
+    /** The maximum number of entries, 0 if unbounded */
+    @Getter
+    private final int maxEntries;
+
+    /** The default time to live of an entry, {@link Duration#ZERO} if not expiring */
+    @Getter
+    private final Duration timeToLive;
+
+    private final LruMap<T, V> storage;
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private long expirationCount;
+
+    private transient LongSupplier clock;
+
+    /** Earliest time of the next removal of all expired entries on insert */
+    private transient long nextSweep;
+
+    /**
+     * @param maxEntries the maximum number of entries, 0 for no limit. Must not
+     *                   be negative
+     * @param timeToLive the default time to live of an entry,
+     *                   {@link Duration#ZERO} for no expiration. Must not be
+     *                   null nor negative
+     */
+    public BoundedMapStorage(final int maxEntries, final Duration timeToLive) {
+        this(maxEntries, timeToLive, null);
+    }
+
+    BoundedMapStorage(final int maxEntries, final Duration timeToLive, final LongSupplier clock) {
+        requireNonNull(timeToLive, "timeToLive");
+        if (maxEntries < 0 || timeToLive.isNegative()) {
+            throw new IllegalArgumentException(
+                    "maxEntries and timeToLive must not be negative: " + maxEntries + ", " + timeToLive);
+        }
+        this.maxEntries = maxEntries;
+        this.timeToLive = timeToLive;
+        this.clock = null != clock ? clock : System::currentTimeMillis;
+        storage = new LruMap<>(this);
+    }
+
+    @Override
+    public synchronized V get(final T key) {
+        if (null == key) {
+            return null;
+        }
+        final var entry = storage.get(key);
+        if (null == entry || isExpired(entry, now())) {
+            if (null != entry) {
+                expire(key);
+            }
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        return entry.value();
+    }
+
+    @Override
+    public V get(final T key, final V defaultValue) {
+        var value = get(key);
+        if (null == value) {
+            return defaultValue;
+        }
+        return value;
+    }
+
+    @Override
+    public void put(final T key, final V object) {
+        put(key, object, timeToLive);
+    }
+
+    /**
+     * Put a new object in storage with an individual time to live.
+     *
+     * @param key        If it is <code>null</code> the call will be ignored.
+     * @param object     If it is <code>null</code> the call will be ignored.
+     * @param timeToLive of the entry, {@link Duration#ZERO} for no expiration.
+     *                   Must not be null nor negative
+     */
+    public synchronized void put(final T key, final V object, final Duration timeToLive) {
+        requireNonNull(timeToLive, "timeToLive");
+        if (timeToLive.isNegative()) {
+            throw new IllegalArgumentException("timeToLive must not be negative: " + timeToLive);
+        }
+        if (null == key || null == object) {
+            return;
+        }
+        final var now = now();
+        if (maxEntries > 0 && storage.size() >= maxEntries && !storage.containsKey(key)) {
+            makeRoom(now);
+        }
+        final var expiresAt = timeToLive.isZero() ? 0 : now + timeToLive.toMillis();
+        storage.put(key, new Entry<>(object, expiresAt));
+    }
+
+    @Override
+    public synchronized V remove(final T key) {
+        if (null == key) {
+            return null;
+        }
+        final var entry = storage.remove(key);
+        if (null == entry || isExpired(entry, now())) {
+            return null;
+        }
+        return entry.value();
+    }
+
+    @Override
+    public synchronized boolean containsKey(final T key) {
+        if (null == key) {
+            return false;
+        }
+        final var entry = storage.get(key);
+        if (null == entry) {
+            return false;
+        }
+        if (isExpired(entry, now())) {
+            expire(key);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Removes all expired entries.
+     */
+    public synchronized void cleanUp() {
+        removeExpired(now());
+    }
+
+    /**
+     * @return the current statistics of this storage
+     */
+    public synchronized MapStorageStatistics getStatistics() {
+        return new MapStorageStatistics(storage.size(), maxEntries, hitCount, missCount, evictionCount,
+                expirationCount);
+    }
+
+    /**
+     * Removes the expired least recently used entries. If there are none,
+     * removes all expired entries unless this has been done recently, as the
+     * complete scan is linear in the number of entries. Eviction handles the
+     * rest.
+     */
+    private void makeRoom(final long now) {
+        final var iterator = storage.values().iterator();
+        var removed = false;
+        while (iterator.hasNext()) {
+            if (!isExpired(iterator.next(), now)) {
+                break;
+            }
+            iterator.remove();
+            expirationCount++;
+            removed = true;
+        }
+        if (!removed && now - nextSweep >= 0) {
+            removeExpired(now);
+            nextSweep = now + Math.max(MIN_SWEEP_INTERVAL_MILLIS, timeToLive.toMillis() / SWEEP_INTERVAL_DIVISOR);
+        }
+    }
+
+    private void removeExpired(final long now) {
+        final var iterator = storage.values().iterator();
+        while (iterator.hasNext()) {
+            if (isExpired(iterator.next(), now)) {
+                iterator.remove();
+                expirationCount++;
+            }
+        }
+    }
+
+    private void expire(final T key) {
+        storage.remove(key);
+        expirationCount++;
+    }
+
+    private static boolean isExpired(final Entry<?> entry, final long now) {
+        return 0 != entry.expiresAt() && entry.expiresAt() <= now;
+    }
+
+    private long now() {
+        return clock.getAsLong();
+    }
+
+    /**
+     * Serializes under the lock of this storage: the access ordered map is
+     * modified by every {@link #get(Serializable)}, which would otherwise
+     * corrupt the written map or fail with a
+     * {@link java.util.ConcurrentModificationException}.
+     */
+    @Serial
+    private synchronized void writeObject(final ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+    }
+
+    @Serial
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        clock = System::currentTimeMillis;
+    }
+
+    private record Entry<V extends Serializable>(V value, long expiresAt) implements Serializable {
+    }
+
+    /**
+     * Access ordered map evicting the least recently used entry beyond the
+     * maximum number of entries of its storage.
+     */
+    private static final class LruMap<T extends Serializable, V extends Serializable>
+            extends LinkedHashMap<T, Entry<V>> {
+
+        @Serial
+        private static final long serialVersionUID = 3418929150287427310L;
+
+        private final BoundedMapStorage<T, V> owner;
+
+        LruMap(final BoundedMapStorage<T, V> owner) {
+            super(16, 0.75f, true);
+            this.owner = owner;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<T, Entry<V>> eldest) {
+            if (owner.maxEntries > 0 && size() > owner.maxEntries) {
+                owner.evictionCount++;
+                return true;
+            }
+            return false;
+        }
+    }
+}
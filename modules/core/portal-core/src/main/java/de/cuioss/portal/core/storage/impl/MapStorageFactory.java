@@ -0,0 +1,90 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.core.storage.impl;
+
+import de.cuioss.portal.configuration.PortalConfigurationKeys;
+import de.cuioss.portal.configuration.cache.CacheConfig;
+import de.cuioss.portal.core.storage.MapStorage;
+import de.cuioss.tools.logging.CuiLogger;
+import lombok.experimental.UtilityClass;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static de.cuioss.portal.configuration.util.ConfigurationHelper.resolveCacheConfig;
+
+/**
+ * Creates the {@link MapStorage} backing a {@link de.cuioss.portal.core.storage.SessionStorage}
+ * or {@link de.cuioss.portal.core.storage.ClientStorage} from the configuration.
+ * <p>
+ * The storage is configured like a {@link CacheConfig}, see
+ * {@link PortalConfigurationKeys#SESSION_STORAGE_CONFIG} and
+ * {@link PortalConfigurationKeys#CLIENT_STORAGE_CONFIG}. If a size or an
+ * expiration is configured, a {@link BoundedMapStorage} is created, otherwise
+ * the unbounded {@link MapStorageImpl}.
+ * <p>
+ * Example configuration:
+ * <pre>
+ * portal.storage.session.size=200
+ * portal.storage.session.expiration=30
+ * portal.storage.session.expiration_unit=MINUTES
+ * </pre>
+ */
+@UtilityClass
+public class MapStorageFactory {
+
+    private static final CuiLogger LOGGER = new CuiLogger(MapStorageFactory.class);
+
+    private static final CacheConfig UNBOUNDED = new CacheConfig(0, TimeUnit.MINUTES, 0, false);
+
+    /**
+     * @return the storage configured by
+     *         {@link PortalConfigurationKeys#SESSION_STORAGE_CONFIG}
+     */
+    public static MapStorage<Serializable, Serializable> createSessionStorage() {
+        return create(PortalConfigurationKeys.SESSION_STORAGE_CONFIG);
+    }
+
+    /**
+     * @return the storage configured by
+     *         {@link PortalConfigurationKeys#CLIENT_STORAGE_CONFIG}
+     */
+    public static MapStorage<String, String> createClientStorage() {
+        return create(PortalConfigurationKeys.CLIENT_STORAGE_CONFIG);
+    }
+
+    /**
+     * @param configPrefix the prefix of the storage configuration, must not be
+     *                     empty
+     * @return a {@link BoundedMapStorage} if a size or an expiration is
+     *         configured, a {@link MapStorageImpl} otherwise
+     */
+    public static <T extends Serializable, V extends Serializable> MapStorage<T, V> create(
+            final String configPrefix) {
+        final var config = resolveCacheConfig(configPrefix, UNBOUNDED);
+        final var maxEntries = (int) Math.min(Math.max(config.getSize(), 0), Integer.MAX_VALUE);
+        final var expiration = Math.max(config.getExpiration(), 0);
+        if (0 == maxEntries && 0 == expiration) {
+            LOGGER.debug("Creating unbounded storage for '%s'", configPrefix);
+            return new MapStorageImpl<>();
+        }
+        final var timeToLive = Duration.of(expiration, config.getTimeUnit().toChronoUnit());
+        LOGGER.debug("Creating storage for '%s' with maxEntries=%s, timeToLive=%s", configPrefix, maxEntries,
+                timeToLive);
+        return new BoundedMapStorage<>(maxEntries, timeToLive);
+    }
+}
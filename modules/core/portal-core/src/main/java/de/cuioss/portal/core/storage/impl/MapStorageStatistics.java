@@ -0,0 +1,47 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.core.storage.impl;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * Statistics of a {@link BoundedMapStorage}.
+ *
+ * @param size            the current number of entries, including expired
+ *                        entries not yet removed
+ * @param maxEntries      the maximum number of entries, 0 if unbounded
+ * @param hitCount        the number of lookups returning a value
+ * @param missCount       the number of lookups not returning a value
+ * @param evictionCount   the number of entries removed because of the maximum
+ *                        number of entries
+ * @param expirationCount the number of entries removed because of their time
+ *                        to live
+ */
+public record MapStorageStatistics(int size, int maxEntries, long hitCount, long missCount, long evictionCount,
+        long expirationCount) implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = -4139327561009437751L;
+
+    /**
+     * @return the ratio of hits to lookups, 1.0 if there was no lookup
+     */
+    public double hitRate() {
+        final var lookups = hitCount + missCount;
+        return 0 == lookups ? 1.0 : (double) hitCount / lookups;
+    }
+}
@@ -24,6 +24,9 @@
  *   <li>{@link de.cuioss.portal.core.storage.SessionStorage} - Session-scoped storage</li>
  *   <li>{@link de.cuioss.portal.core.storage.ClientStorage} - Client-side storage</li>
  *   <li>{@link de.cuioss.portal.core.storage.impl.MapStorageImpl} - Thread-safe implementation</li>
+ *   <li>{@link de.cuioss.portal.core.storage.impl.BoundedMapStorage} - Size-bound implementation with
+ *   expiring entries, created from the configuration by
+ *   {@link de.cuioss.portal.core.storage.impl.MapStorageFactory}</li>
  * </ul>
  *
  * <p><strong>Features:</strong></p>
@@ -31,6 +31,8 @@ import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
 import java.io.Serial;
+import java.util.ArrayList;
+import java.util.List;
 
 import static de.cuioss.portal.core.PortalCoreLogMessages.SERVLET;
 import static de.cuioss.test.juli.LogAsserts.assertSingleLogMessagePresentContaining;
@@ -168,6 +170,84 @@ class AbstractPortalServletTest {
         }
     }
 
+    @Nested
+    @DisplayName("Metrics Tests")
+    class MetricsTests {
+
+        private final RecordingServletMetrics metrics = new RecordingServletMetrics();
+
+        private MockPortalServlet servlet;
+
+        @BeforeEach
+        void setup() {
+            servlet = new MockPortalServlet(() -> null);
+            servlet.metrics = metrics;
+        }
+
+        @Test
+        @DisplayName("Should record all phases of a granted request")
+        void shouldRecordGrantedRequest() throws Exception {
+            servlet.setEnabled(true);
+            service(servlet, SC_OK);
+            assertEquals(List.of("started", "accessChecked", "payloadExecuted", "finished:200"), metrics.events);
+        }
+
+        @Test
+        @DisplayName("Should record denied request without payload")
+        void shouldRecordDeniedRequest() throws Exception {
+            service(servlet, SC_SERVICE_UNAVAILABLE);
+            assertEquals(List.of("started", "accessChecked", "finished:503"), metrics.events);
+        }
+
+        @Test
+        @DisplayName("Should record failing payload")
+        void shouldRecordFailingPayload() throws Exception {
+            servlet.setEnabled(true);
+            servlet.setThrowMe(new IOException("boom"));
+            service(servlet, SC_INTERNAL_SERVER_ERROR);
+            assertEquals(List.of("started", "accessChecked", "payloadExecuted", "finished:500"), metrics.events);
+        }
+
+        private void service(AbstractPortalServlet servlet, int status) throws Exception {
+            HttpServletRequest request = createNiceMock(HttpServletRequest.class);
+            HttpServletResponse response = createNiceMock(HttpServletResponse.class);
+            expect(request.getMethod()).andReturn("GET");
+            expect(response.getStatus()).andReturn(status);
+            replay(request, response);
+            servlet.service(request, response);
+        }
+    }
+
+    private static class RecordingServletMetrics implements ServletMetrics {
+
+        private final List<String> events = new ArrayList<>();
+
+        @Override
+        public long requestStarted() {
+            events.add("started");
+            return 1;
+        }
+
+        @Override
+        public long accessChecked(long started) {
+            assertEquals(1, started);
+            events.add("accessChecked");
+            return 2;
+        }
+
+        @Override
+        public void payloadExecuted(long accessChecked) {
+            assertEquals(2, accessChecked);
+            events.add("payloadExecuted");
+        }
+
+        @Override
+        public void requestFinished(long started, int status) {
+            assertEquals(1, started);
+            events.add("finished:" + status);
+        }
+    }
+
     private void verifyCallOk() throws Exception {
         verifyErrorCode(SC_OK);
     }
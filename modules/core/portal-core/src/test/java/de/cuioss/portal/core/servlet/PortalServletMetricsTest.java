@@ -0,0 +1,110 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.core.servlet;
+
+import org.easymock.Capture;
+import org.eclipse.microprofile.metrics.Counter;
+import org.eclipse.microprofile.metrics.Histogram;
+import org.eclipse.microprofile.metrics.Metadata;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.Tag;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Supplier;
+
+import static org.easymock.EasyMock.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@DisplayName("Tests PortalServletMetrics")
+class PortalServletMetricsTest {
+
+    private MetricRegistry registry;
+    private Histogram histogram;
+    private Counter successCounter;
+    private Counter otherCounter;
+    private Capture<Supplier<Long>> inFlight;
+
+    @BeforeEach
+    void setup() {
+        registry = createMock(MetricRegistry.class);
+        histogram = createMock(Histogram.class);
+        successCounter = createMock(Counter.class);
+        otherCounter = createMock(Counter.class);
+        inFlight = newCapture();
+        expect(registry.histogram(anyObject(Metadata.class), anyObject(Tag.class))).andReturn(histogram).times(3);
+        expect(registry.counter(anyObject(Metadata.class), anyObject(Tag.class),
+                eq(new Tag(PortalServletMetrics.STATUS_TAG, "2xx")))).andReturn(successCounter);
+        expect(registry.counter(anyObject(Metadata.class), anyObject(Tag.class), anyObject(Tag.class)))
+                .andStubReturn(otherCounter);
+        expect(registry.gauge(anyObject(Metadata.class), capture(inFlight), anyObject(Tag.class))).andReturn(null);
+    }
+
+    @Test
+    @DisplayName("Should record all phases of a granted request")
+    void shouldRecordGrantedRequest() {
+        histogram.update(anyLong());
+        expectLastCall().times(3);
+        successCounter.inc();
+        replay(registry, histogram, successCounter, otherCounter);
+        var underTest = PortalServletMetrics.forServlet(registry, "test");
+
+        var started = underTest.requestStarted();
+        assertEquals(1L, inFlight.getValue().get());
+        underTest.payloadExecuted(underTest.accessChecked(started));
+        underTest.requestFinished(started, 200);
+
+        assertEquals(0L, inFlight.getValue().get());
+        verify(registry, histogram, successCounter, otherCounter);
+    }
+
+    @Test
+    @DisplayName("Should share the instance and its gauge per registry and servlet name")
+    void shouldShareInstance() {
+        replay(registry, histogram, successCounter, otherCounter);
+        var underTest = PortalServletMetrics.forServlet(registry, "test");
+
+        // e.g. servlet initialized again, the gauge is registered only once
+        var again = PortalServletMetrics.forServlet(registry, "test");
+        assertSame(underTest, again);
+        again.requestStarted();
+        assertEquals(1L, inFlight.getValue().get());
+        verify(registry);
+
+        MetricRegistry otherRegistry = createNiceMock(MetricRegistry.class);
+        replay(otherRegistry);
+        assertNotSame(underTest, PortalServletMetrics.forServlet(otherRegistry, "test"));
+    }
+
+    @Test
+    @DisplayName("Should count invalid status codes separately")
+    void shouldCountInvalidStatus() {
+        histogram.update(anyLong());
+        expectLastCall().times(2);
+        otherCounter.inc();
+        expectLastCall().times(2);
+        replay(registry, histogram, successCounter, otherCounter);
+        var underTest = PortalServletMetrics.forServlet(registry, "test");
+
+        underTest.requestFinished(underTest.requestStarted(), 0);
+        underTest.requestFinished(underTest.requestStarted(), 600);
+
+        verify(registry, histogram, successCounter, otherCounter);
+    }
+}
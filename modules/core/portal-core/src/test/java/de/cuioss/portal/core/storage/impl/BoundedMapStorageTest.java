@@ -0,0 +1,248 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.core.storage.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BoundedMapStorage Tests")
+class BoundedMapStorageTest {
+
+    private static final Duration TIME_TO_LIVE = Duration.ofSeconds(10);
+
+    private final AtomicLong clock = new AtomicLong(1_000);
+
+    @BeforeEach
+    void resetClock() {
+        clock.set(1_000);
+    }
+
+    @Nested
+    @DisplayName("Size Bound Tests")
+    class SizeBoundTests {
+
+        @Test
+        @DisplayName("Should evict least recently used entry")
+        void shouldEvictLeastRecentlyUsed() {
+            var storage = new BoundedMapStorage<String, String>(2, Duration.ZERO, clock::get);
+            storage.put("a", "1");
+            storage.put("b", "2");
+            assertEquals("1", storage.get("a"));
+
+            storage.put("c", "3");
+
+            assertTrue(storage.containsKey("a"));
+            assertFalse(storage.containsKey("b"));
+            assertTrue(storage.containsKey("c"));
+            var statistics = storage.getStatistics();
+            assertEquals(2, statistics.size());
+            assertEquals(2, statistics.maxEntries());
+            assertEquals(1, statistics.evictionCount());
+        }
+
+        @Test
+        @DisplayName("Should remove expired entries before evicting")
+        void shouldPreferExpiredEntries() {
+            var storage = new BoundedMapStorage<String, String>(2, TIME_TO_LIVE, clock::get);
+            storage.put("a", "1", Duration.ofSeconds(1));
+            storage.put("b", "2");
+            clock.addAndGet(2_000);
+
+            storage.put("c", "3");
+
+            assertEquals("2", storage.get("b"));
+            assertEquals("3", storage.get("c"));
+            assertEquals(0, storage.getStatistics().evictionCount());
+            assertEquals(1, storage.getStatistics().expirationCount());
+        }
+
+        @Test
+        @DisplayName("Should remove all expired entries at most once per sweep interval")
+        void shouldLimitSweeps() {
+            var storage = new BoundedMapStorage<String, String>(2, TIME_TO_LIVE, clock::get);
+            storage.put("a", "1", Duration.ZERO);
+            storage.put("b", "2", Duration.ofMillis(500));
+            clock.addAndGet(600);
+
+            // eldest entry is valid, complete sweep
+            storage.put("c", "3");
+            assertEquals(1, storage.getStatistics().expirationCount());
+            assertEquals(0, storage.getStatistics().evictionCount());
+
+            storage.put("c", "3", Duration.ofMillis(100));
+            clock.addAndGet(200);
+            // sweep not due, the expired entry "c" is kept and "a" evicted
+            storage.put("d", "4");
+            assertEquals(1, storage.getStatistics().expirationCount());
+            assertEquals(1, storage.getStatistics().evictionCount());
+
+            clock.addAndGet(TIME_TO_LIVE.toMillis() / 10);
+            // expired eldest entry "c" is removed without sweep
+            storage.put("e", "5");
+            assertEquals(2, storage.getStatistics().expirationCount());
+            assertEquals(1, storage.getStatistics().evictionCount());
+            assertEquals("4", storage.get("d"));
+            assertEquals("5", storage.get("e"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Expiration Tests")
+    class ExpirationTests {
+
+        @Test
+        @DisplayName("Should expire entries after time to live")
+        void shouldExpireEntries() {
+            var storage = new BoundedMapStorage<String, String>(0, TIME_TO_LIVE, clock::get);
+            storage.put("a", "1");
+            storage.put("forever", "2", Duration.ZERO);
+            assertEquals("1", storage.get("a"));
+
+            clock.addAndGet(TIME_TO_LIVE.toMillis());
+
+            assertNull(storage.get("a"));
+            assertEquals("default", storage.get("a", "default"));
+            assertEquals("2", storage.get("forever"));
+            var statistics = storage.getStatistics();
+            assertEquals(1, statistics.expirationCount());
+            assertEquals(2, statistics.hitCount());
+            assertEquals(2, statistics.missCount());
+            assertEquals(0.5, statistics.hitRate());
+        }
+
+        @Test
+        @DisplayName("Should remove all expired entries on clean up")
+        void shouldCleanUp() {
+            var storage = new BoundedMapStorage<String, String>(0, TIME_TO_LIVE, clock::get);
+            storage.put("a", "1");
+            storage.put("b", "2");
+            clock.addAndGet(TIME_TO_LIVE.toMillis() + 1);
+
+            storage.cleanUp();
+
+            assertEquals(0, storage.getStatistics().size());
+            assertEquals(2, storage.getStatistics().expirationCount());
+            assertNull(storage.remove("a"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Contract Tests")
+    class ContractTests {
+
+        @Test
+        @DisplayName("Should ignore null keys and values")
+        void shouldHandleNull() {
+            var storage = new BoundedMapStorage<String, String>(1, TIME_TO_LIVE);
+            storage.put(null, "1");
+            storage.put("a", null);
+
+            assertNull(storage.get(null));
+            assertFalse(storage.containsKey(null));
+            assertFalse(storage.containsKey("a"));
+            assertNull(storage.remove(null));
+            assertEquals(0, storage.getStatistics().size());
+        }
+
+        @Test
+        @DisplayName("Should reject invalid arguments")
+        void shouldRejectInvalidArguments() {
+            assertThrows(IllegalArgumentException.class, () -> new BoundedMapStorage<String, String>(-1,
+                    Duration.ZERO));
+            assertThrows(IllegalArgumentException.class, () -> new BoundedMapStorage<String, String>(0,
+                    Duration.ofSeconds(-1)));
+            var storage = new BoundedMapStorage<String, String>(1, Duration.ZERO);
+            var negative = Duration.ofSeconds(-1);
+            assertThrows(IllegalArgumentException.class, () -> storage.put("a", "1", negative));
+        }
+
+        @Test
+        @DisplayName("Should be serializable with content and bounds")
+        @SuppressWarnings("unchecked")
+        void shouldBeSerializable() throws IOException, ClassNotFoundException {
+            var storage = new BoundedMapStorage<String, String>(2, Duration.ZERO);
+            storage.put("a", "1");
+            storage.put("b", "2");
+
+            var bytes = new ByteArrayOutputStream();
+            try (var out = new ObjectOutputStream(bytes)) {
+                out.writeObject(storage);
+            }
+            BoundedMapStorage<String, String> copy;
+            try (var in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+                copy = (BoundedMapStorage<String, String>) in.readObject();
+            }
+
+            assertEquals("1", copy.get("a"));
+            copy.put("c", "3");
+            assertFalse(copy.containsKey("b"), "Bound should survive serialization");
+        }
+
+        @Test
+        @DisplayName("Should serialize while being read concurrently")
+        @SuppressWarnings("unchecked")
+        void shouldSerializeWhileRead() throws Exception {
+            var storage = new BoundedMapStorage<Integer, String>(0, TIME_TO_LIVE);
+            for (var i = 0; i < 1_000; i++) {
+                storage.put(i, String.valueOf(i));
+            }
+            var running = new AtomicBoolean(true);
+            var failure = new AtomicReference<Throwable>();
+            var reader = new Thread(() -> {
+                var i = 0;
+                while (running.get()) {
+                    try {
+                        storage.get(i++ % 1_000);
+                    } catch (RuntimeException e) {
+                        failure.set(e);
+                    }
+                }
+            });
+            reader.start();
+            try {
+                for (var round = 0; round < 20; round++) {
+                    var bytes = new ByteArrayOutputStream();
+                    try (var out = new ObjectOutputStream(bytes)) {
+                        out.writeObject(storage);
+                    }
+                    try (var in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+                        var copy = (BoundedMapStorage<Integer, String>) in.readObject();
+                        assertEquals(1_000, copy.getStatistics().size());
+                        assertEquals("42", copy.get(42), "Expiration should use the system clock");
+                    }
+                }
+            } finally {
+                running.set(false);
+                reader.join();
+            }
+            assertNull(failure.get());
+        }
+    }
+}
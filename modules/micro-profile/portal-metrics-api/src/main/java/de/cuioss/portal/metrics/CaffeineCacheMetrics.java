@@ -16,6 +16,7 @@
 package de.cuioss.portal.metrics;
 
 import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import de.cuioss.portal.configuration.cache.CacheConfig;
 import de.cuioss.tools.collect.CollectionBuilder;
 import de.cuioss.tools.logging.CuiLogger;
@@ -27,9 +28,12 @@ import org.eclipse.microprofile.metrics.MetricRegistry;
 import org.eclipse.microprofile.metrics.MetricUnits;
 import org.eclipse.microprofile.metrics.Tag;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.function.Function;
 
 import static de.cuioss.tools.string.MoreStrings.emptyToNull;
 import static java.util.Objects.requireNonNull;
@@ -63,7 +67,7 @@ import static org.eclipse.microprofile.metrics.MetricRegistry.name;
  *   <li>Size Information:
  *     <ul>
  *       <li>estimatedSize - Current estimated size of the cache</li>
- *       <li>maxSize - Maximum configured size of the cache</li>
+ *       <li>maxSize - Maximum size of the cache, including changes at runtime</li>
  *       <li>evictionCount - Number of cache evictions</li>
  *     </ul>
  *   </li>
@@ -95,16 +99,29 @@ import static org.eclipse.microprofile.metrics.MetricRegistry.name;
  * <p>All metrics will be prefixed with the provided name to distinguish between multiple caches.
  * Optional tags can be added to provide additional context for the metrics.
  *
+ * <h2>Live Values</h2>
+ * The gauges of a cache share a {@link LiveCacheStats}, which takes a snapshot of
+ * the stats and size at most once per refresh interval, see
+ * {@link LiveCacheStats#DEFAULT_REFRESH_INTERVAL}. A scrape of all gauges therefore
+ * aggregates the counters of the cache only once. {@link #collect()} provides all
+ * values of a cache as a single multi-value result, read from one snapshot.
+ *
  * @author Oliver Wolff
  */
 public class CaffeineCacheMetrics {
 
     private static final CuiLogger LOGGER = new CuiLogger(CaffeineCacheMetrics.class);
 
+    /**
+     * The values derived from {@link CacheStats}, in the order of registration.
+     */
+    private static final Map<String, Function<CacheStats, Number>> STATS_VALUES = createStatsValues();
+
     private final String namePrefix;
     private final Cache<?, ?> cache;
     private final CacheConfig cacheConfig;
     private final Tag[] tags;
+    private final LiveCacheStats liveStats;
 
     /**
      * Creates a new metrics factory for the given cache.
@@ -132,6 +149,26 @@ public class CaffeineCacheMetrics {
      */
     public CaffeineCacheMetrics(final String namePrefix, final Cache<?, ?> cache, final CacheConfig cacheConfig,
             final Iterable<Tag> tags) {
+        this(namePrefix, cache, cacheConfig, tags, LiveCacheStats.DEFAULT_REFRESH_INTERVAL);
+    }
+
+    /**
+     * Creates a new metrics factory for the given cache with additional tags and a
+     * custom refresh interval for the stats snapshot.
+     *
+     * @param namePrefix           must not be null nor empty. Used as prefix for all
+     *                             metrics to distinguish between different caches in
+     *                             the same registry
+     * @param cache                must not be null and should be configured with
+     *                             {@code recordStats()} enabled
+     * @param cacheConfig          the configuration for the cache, must not be null
+     * @param tags                 additional tags to be added to each metric. May be
+     *                             empty but not null.
+     * @param statsRefreshInterval the maximum age of the values reported by the
+     *                             gauges, must not be null nor negative
+     */
+    public CaffeineCacheMetrics(final String namePrefix, final Cache<?, ?> cache, final CacheConfig cacheConfig,
+            final Iterable<Tag> tags, final Duration statsRefreshInterval) {
         requireNonNull(emptyToNull(namePrefix));
         requireNonNull(cache);
         requireNonNull(cacheConfig);
@@ -140,6 +177,7 @@ public class CaffeineCacheMetrics {
         this.cache = cache;
         this.cacheConfig = cacheConfig;
         this.tags = CollectionBuilder.copyFrom(tags).toArray(Tag.class);
+        liveStats = new LiveCacheStats(cache, statsRefreshInterval);
         LOGGER.debug("Created CaffeineCacheMetrics for cache '%s' with %s tags", namePrefix, this.tags.length);
     }
 
@@ -153,31 +191,59 @@ public class CaffeineCacheMetrics {
         LOGGER.debug("Creating metrics for cache '%s'", namePrefix);
         final var metrics = new HashMap<Metadata, Gauge<? extends Number>>();
 
-        // Cache hit/miss metrics
-        metrics.put(getMetadata("hitRate"), cache.stats()::hitRate);
-        metrics.put(getMetadata("hitCount"), cache.stats()::hitCount);
-        metrics.put(getMetadata("missCount"), cache.stats()::missCount);
-        metrics.put(getMetadata("missRate"), cache.stats()::missRate);
-
-        // Cache load metrics
-        metrics.put(getMetadata("loadCount"), cache.stats()::loadCount);
-        metrics.put(getMetadata("loadSuccessCount"), cache.stats()::loadSuccessCount);
-        metrics.put(getMetadata("loadFailureCount"), cache.stats()::loadFailureCount);
-        metrics.put(getMetadata("loadFailureRate"), cache.stats()::loadFailureRate);
+        // Cache hit/miss, load, eviction and timing metrics, read from the shared snapshot
+        STATS_VALUES.forEach((name, value) -> metrics.put(getMetadata(name), () -> value.apply(liveStats.stats())));
 
         // Cache size metrics
-        metrics.put(getMetadata("evictionCount"), cache.stats()::evictionCount);
-        metrics.put(getMetadata("estimatedSize"), cache::estimatedSize);
-        metrics.put(getMetadata("maxSize"), cacheConfig::getSize);
-
-        // Cache timing metrics
-        metrics.put(getMetadata("averageLoadPenalty"), cache.stats()::averageLoadPenalty);
-        metrics.put(getMetadata("totalLoadTime"), cache.stats()::totalLoadTime);
+        metrics.put(getMetadata("estimatedSize"), liveStats::estimatedSize);
+        metrics.put(getMetadata("maxSize"), this::maxSize);
 
         LOGGER.debug("Created %s metrics for cache '%s'", metrics.size(), namePrefix);
         return metrics;
     }
 
+    private static Map<String, Function<CacheStats, Number>> createStatsValues() {
+        final var values = new LinkedHashMap<String, Function<CacheStats, Number>>();
+        values.put("hitRate", CacheStats::hitRate);
+        values.put("hitCount", CacheStats::hitCount);
+        values.put("missCount", CacheStats::missCount);
+        values.put("missRate", CacheStats::missRate);
+        values.put("loadCount", CacheStats::loadCount);
+        values.put("loadSuccessCount", CacheStats::loadSuccessCount);
+        values.put("loadFailureCount", CacheStats::loadFailureCount);
+        values.put("loadFailureRate", CacheStats::loadFailureRate);
+        values.put("evictionCount", CacheStats::evictionCount);
+        values.put("averageLoadPenalty", CacheStats::averageLoadPenalty);
+        values.put("totalLoadTime", CacheStats::totalLoadTime);
+        return Collections.unmodifiableMap(values);
+    }
+
+    /**
+     * Collects the values of all gauges of this cache at once, read from a single
+     * snapshot and therefore consistent with each other. Intended for exporters
+     * and diagnostics that process all values of a cache together instead of
+     * reading each gauge separately.
+     *
+     * @return the values keyed by the metric name without prefix, e.g.
+     *         "hitRate", in a stable order
+     */
+    public Map<String, Number> collect() {
+        final var snapshot = liveStats.snapshot();
+        final var values = new LinkedHashMap<String, Number>();
+        STATS_VALUES.forEach((name, value) -> values.put(name, value.apply(snapshot.stats())));
+        values.put("estimatedSize", snapshot.estimatedSize());
+        values.put("maxSize", maxSize());
+        return values;
+    }
+
+    /**
+     * @return the current maximum size of the cache, which may have been changed
+     *         at runtime, or the configured size for an unbounded cache
+     */
+    private long maxSize() {
+        return cache.policy().eviction().map(eviction -> eviction.getMaximum()).orElse(cacheConfig.getSize());
+    }
+
     private Metadata getMetadata(final String name) {
         return new MetadataBuilder().withName(name(namePrefix, name)).withUnit(MetricUnits.NONE).build();
     }
@@ -0,0 +1,110 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.metrics;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.ToString;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Live view on the {@link CacheStats} and the estimated size of a Caffeine
+ * {@link Cache}, shared by all gauges of that cache.
+ * <p>
+ * {@link Cache#stats()} aggregates the striped counters of the cache into a
+ * new {@link CacheStats} on every call. Instead of doing so for every single
+ * gauge, the snapshot is refreshed at most once per refresh interval. Stats
+ * and size are taken together and therefore consistent with each other.
+ * <p>
+ * Only a single thread refreshes a stale snapshot, concurrent readers get the
+ * previous one in the meantime. A refresh interval of {@link Duration#ZERO}
+ * refreshes on every access.
+ */
+@ToString(of = "refreshInterval")
+public final class LiveCacheStats {
+
+    /**
+     * The default refresh interval, 1 second.
+     */
+    public static final Duration DEFAULT_REFRESH_INTERVAL = Duration.ofSeconds(1);
+
+    private final Cache<?, ?> cache;
+    private final long refreshIntervalNanos;
+    private final Duration refreshInterval;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    private volatile Snapshot current;
+
+    /**
+     * @param cache           must not be null
+     * @param refreshInterval must not be null nor negative
+     */
+    public LiveCacheStats(final Cache<?, ?> cache, final Duration refreshInterval) {
+        this.cache = requireNonNull(cache);
+        requireNonNull(refreshInterval);
+        if (refreshInterval.isNegative()) {
+            throw new IllegalArgumentException("refreshInterval must not be negative: " + refreshInterval);
+        }
+        this.refreshInterval = refreshInterval;
+        refreshIntervalNanos = refreshInterval.toNanos();
+        current = takeSnapshot();
+    }
+
+    /**
+     * @return the current {@link CacheStats}, at most one refresh interval old
+     */
+    public CacheStats stats() {
+        return snapshot().stats();
+    }
+
+    /**
+     * @return the estimated size of the cache taken together with
+     *         {@link #stats()}
+     */
+    public long estimatedSize() {
+        return snapshot().estimatedSize();
+    }
+
+    /**
+     * @return the current snapshot, refreshed if it is older than the refresh
+     *         interval. Use it to read stats and size consistently.
+     */
+    Snapshot snapshot() {
+        final var snapshot = current;
+        if (System.nanoTime() - snapshot.createdNanos() < refreshIntervalNanos
+                || !refreshing.compareAndSet(false, true)) {
+            return snapshot;
+        }
+        try {
+            final var refreshed = takeSnapshot();
+            current = refreshed;
+            return refreshed;
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    private Snapshot takeSnapshot() {
+        return new Snapshot(cache.stats(), cache.estimatedSize(), System.nanoTime());
+    }
+
+    record Snapshot(CacheStats stats, long estimatedSize, long createdNanos) {
+    }
+}
@@ -80,5 +80,64 @@ public class PortalMetricsLogMessages {
                 .identifier(3)
                 .template("Removed metrics for cache '%s'")
                 .build();
+
+        /**
+         * ID: 004
+         * Logged when a changed configuration is applied to a running cache.
+         * Parameters:
+         * 1. Cache name
+         * 2. The applied configuration
+         */
+        public static final LogRecord CACHE_CONFIG_APPLIED = LogRecordModel.builder()
+                .prefix(PREFIX)
+                .identifier(4)
+                .template("Applied changed configuration to cache '%s': %s")
+                .build();
+    }
+
+    @UtilityClass
+    public static final class WARN {
+        /**
+         * ID: 100
+         * Logged when a changed cache configuration can not be applied to a
+         * running cache.
+         * Parameters:
+         * 1. The changed property
+         * 2. Cache name
+         */
+        public static final LogRecord CACHE_CONFIG_NOT_APPLICABLE = LogRecordModel.builder()
+                .prefix(PREFIX)
+                .identifier(100)
+                .template("Changed %s of cache '%s' can not be applied at runtime, a restart is required")
+                .build();
+
+        /**
+         * ID: 101
+         * Logged when a cache property can not be converted.
+         * Parameters:
+         * 1. The config key
+         * 2. The value used instead
+         */
+        public static final LogRecord INVALID_CACHE_PROPERTY = LogRecordModel.builder()
+                .prefix(PREFIX)
+                .identifier(101)
+                .template("Invalid value for '%s', using %s")
+                .build();
+
+        /**
+         * ID: 102
+         * Logged when a tag of a metric exceeds its maximum number of distinct
+         * values for the first time.
+         * Parameters:
+         * 1. Tag name
+         * 2. Metric name
+         * 3. Maximum number of distinct values
+         * 4. The value used instead
+         */
+        public static final LogRecord TAG_CARDINALITY_EXCEEDED = LogRecordModel.builder()
+                .prefix(PREFIX)
+                .identifier(102)
+                .template("Tag '%s' of metric '%s' exceeds %s distinct values, further values are reported as '%s'")
+                .build();
     }
 }
@@ -0,0 +1,62 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.metrics.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import de.cuioss.portal.configuration.cache.CacheConfig;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * A cache managed by the {@link PortalCacheRegistry} together with the
+ * configuration currently applied to it.
+ */
+@ToString(of = {"name", "config", "refreshAfterWrite"})
+final class ManagedCache {
+
+    @Getter
+    private final String name;
+
+    /**
+     * Used for properties that are not configured when the configuration is
+     * resolved again.
+     */
+    @Getter
+    private final CacheConfig defaults;
+
+    @Getter
+    private final Cache<?, ?> cache;
+
+    @Getter
+    private volatile CacheConfig config;
+
+    @Getter
+    private volatile long refreshAfterWrite;
+
+    ManagedCache(final String name, final CacheConfig defaults, final Cache<?, ?> cache, final CacheConfig config,
+            final long refreshAfterWrite) {
+        this.name = name;
+        this.defaults = defaults;
+        this.cache = cache;
+        this.config = config;
+        this.refreshAfterWrite = refreshAfterWrite;
+    }
+
+    void update(final CacheConfig changed, final long changedRefreshAfterWrite) {
+        config = changed;
+        refreshAfterWrite = changedRefreshAfterWrite;
+    }
+}
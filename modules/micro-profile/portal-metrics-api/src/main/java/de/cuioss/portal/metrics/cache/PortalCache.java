@@ -0,0 +1,93 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.metrics.cache;
+
+import de.cuioss.portal.configuration.cache.CacheConfig;
+import jakarta.enterprise.util.Nonbinding;
+import jakarta.inject.Qualifier;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.annotation.ElementType.*;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * CDI qualifier for injecting a Caffeine {@link com.github.benmanes.caffeine.cache.Cache}
+ * built from the {@link CacheConfig} with the given prefix, see
+ * {@link de.cuioss.portal.configuration.types.ConfigAsCacheConfig} for the
+ * properties. The cache is created by {@link PortalCacheFactory}, which binds
+ * its metrics, and is managed by {@link PortalCacheRegistry}, which applies
+ * configuration changes at runtime.
+ * <p>
+ * Usage example:
+ * <pre>
+ * &#64;Inject
+ * &#64;PortalCache(name = "cache.users", defaultExpiration = 30, defaultSize = 1000)
+ * private Cache&lt;String, UserInfo&gt; userCache;
+ * </pre>
+ * <p>
+ * Example configuration:
+ * <pre>
+ * cache.users.expiration=60
+ * cache.users.expiration_unit=MINUTES
+ * cache.users.size=500
+ * </pre>
+ * <p>
+ * A {@link com.github.benmanes.caffeine.cache.LoadingCache} requires a loader
+ * and is therefore created with
+ * {@link PortalCacheFactory#createLoadingCache(String, CacheConfig, com.github.benmanes.caffeine.cache.CacheLoader)}.
+ */
+@Qualifier
+@Target({TYPE, METHOD, FIELD, PARAMETER})
+@Retention(RUNTIME)
+public @interface PortalCache {
+
+    /**
+     * @return the prefix of the cache configuration, used as name of the cache
+     *         and its metrics as well
+     */
+    @Nonbinding
+    String name();
+
+    /**
+     * @return the default expiration after the last access, a value of 0
+     *         indicates no expiration
+     */
+    @Nonbinding
+    long defaultExpiration() default 0;
+
+    /**
+     * @return the default maximum number of entries, a value of 0 indicates no
+     *         size limit
+     */
+    @Nonbinding
+    long defaultSize() default 0;
+
+    /**
+     * @return the default time unit for the expiration
+     */
+    @Nonbinding
+    TimeUnit defaultTimeUnit() default TimeUnit.MINUTES;
+
+    /**
+     * @return {@code true} to record statistics and bind the cache metrics, only
+     *         effective if metrics are enabled
+     */
+    @Nonbinding
+    boolean recordStatistics() default true;
+}
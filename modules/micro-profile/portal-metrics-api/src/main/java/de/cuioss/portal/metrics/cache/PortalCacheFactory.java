@@ -0,0 +1,151 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.metrics.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import de.cuioss.portal.configuration.cache.CacheConfig;
+import de.cuioss.portal.metrics.CaffeineCacheMetrics;
+import de.cuioss.tools.logging.CuiLogger;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.Dependent;
+import jakarta.enterprise.inject.Instance;
+import jakarta.enterprise.inject.Produces;
+import jakarta.enterprise.inject.spi.InjectionPoint;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+
+import static de.cuioss.portal.configuration.util.ConfigurationHelper.resolveAnnotationOrThrow;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Creates Caffeine caches from their {@link CacheConfig}, see {@link PortalCache}.
+ * <ul>
+ *   <li>The size is used as maximum size and the expiration as expiration after
+ *   access, a value of 0 disables the corresponding bound.</li>
+ *   <li>A {@link LoadingCache} can additionally be refreshed asynchronously,
+ *   configured with {@code <prefix>.refresh_after_write} in the time unit of the
+ *   expiration.</li>
+ *   <li>If the cache records statistics, which requires metrics to be enabled,
+ *   its {@link CaffeineCacheMetrics} are bound to the {@link MetricRegistry}.</li>
+ *   <li>The caches are added to the {@link PortalCacheRegistry}, which applies
+ *   configuration changes at runtime.</li>
+ * </ul>
+ * Caches are identified by their name, creating a cache with a name already in
+ * use returns the existing one.
+ */
+@ApplicationScoped
+public class PortalCacheFactory {
+
+    private static final CuiLogger LOGGER = new CuiLogger(PortalCacheFactory.class);
+
+    static final String UNUSED = "unused";
+
+    private final PortalCacheRegistry registry;
+
+    private final Instance<MetricRegistry> metricRegistry;
+
+    @Inject
+    PortalCacheFactory(PortalCacheRegistry registry, Instance<MetricRegistry> metricRegistry) {
+        this.registry = registry;
+        this.metricRegistry = metricRegistry;
+    }
+
+    /**
+     * @param injectionPoint providing the {@link PortalCache}
+     * @return the cache with the name given by {@link PortalCache#name()}
+     */
+    @Produces
+    @Dependent
+    @PortalCache(name = UNUSED)
+    <K, V> Cache<K, V> produceCache(final InjectionPoint injectionPoint) {
+        final var meta = resolveAnnotationOrThrow(injectionPoint, PortalCache.class);
+        return createCache(meta.name(), new CacheConfig(meta.defaultExpiration(), meta.defaultTimeUnit(),
+                meta.defaultSize(), meta.recordStatistics()));
+    }
+
+    /**
+     * @param name     the prefix of the cache configuration, must not be empty
+     * @param defaults used for properties that are not configured, must not be
+     *                 null
+     * @return the cache with the given name, created if necessary
+     */
+    @SuppressWarnings("unchecked")
+    public <K, V> Cache<K, V> createCache(final String name, final CacheConfig defaults) {
+        return (Cache<K, V>) manage(name, defaults, null).getCache();
+    }
+
+    /**
+     * @param name     the prefix of the cache configuration, must not be empty
+     * @param defaults used for properties that are not configured, must not be
+     *                 null
+     * @param loader   loading the values, must not be null
+     * @return the loading cache with the given name, created if necessary
+     * @throws IllegalStateException if a cache with the given name exists that is
+     *                               not a {@link LoadingCache}
+     */
+    @SuppressWarnings("unchecked")
+    public <K, V> LoadingCache<K, V> createLoadingCache(final String name, final CacheConfig defaults,
+            final CacheLoader<K, V> loader) {
+        requireNonNull(loader, "loader");
+        final var cache = manage(name, defaults, loader).getCache();
+        if (cache instanceof LoadingCache<?, ?> loadingCache) {
+            return (LoadingCache<K, V>) loadingCache;
+        }
+        throw new IllegalStateException("Cache '" + name + "' is not a LoadingCache");
+    }
+
+    private ManagedCache manage(final String name, final CacheConfig defaults, final CacheLoader<?, ?> loader) {
+        requireNonNull(defaults, "defaults");
+        return registry.computeIfAbsent(name, key -> create(key, defaults, loader));
+    }
+
+    @SuppressWarnings("unchecked")
+    private ManagedCache create(final String name, final CacheConfig defaults, final CacheLoader<?, ?> loader) {
+        final var config = registry.resolveConfig(name, defaults);
+        final var refreshAfterWrite = null == loader ? 0 : PortalCacheRegistry.resolveRefreshAfterWrite(name);
+        final var builder = Caffeine.newBuilder();
+        if (config.getSize() > 0) {
+            builder.maximumSize(config.getSize());
+        }
+        if (config.getExpiration() > 0) {
+            builder.expireAfterAccess(config.getExpiration(), config.getTimeUnit());
+        }
+        if (refreshAfterWrite > 0) {
+            builder.refreshAfterWrite(refreshAfterWrite, config.getTimeUnit());
+        }
+        if (config.isRecordStatistics()) {
+            builder.recordStats();
+        }
+        final Cache<Object, Object> cache = null == loader ? builder.build()
+                : builder.build((CacheLoader<Object, Object>) loader);
+        LOGGER.debug("Created cache '%s' with %s, refreshAfterWrite=%s", name, config, refreshAfterWrite);
+        if (config.isRecordStatistics()) {
+            bindMetrics(name, cache, config);
+        }
+        return new ManagedCache(name, defaults, cache, config, refreshAfterWrite);
+    }
+
+    private void bindMetrics(final String name, final Cache<?, ?> cache, final CacheConfig config) {
+        if (metricRegistry.isResolvable()) {
+            new CaffeineCacheMetrics(name, cache, config).bindTo(metricRegistry.get());
+        } else {
+            LOGGER.debug("No MetricRegistry available, skipping metrics of cache '%s'", name);
+        }
+    }
+}
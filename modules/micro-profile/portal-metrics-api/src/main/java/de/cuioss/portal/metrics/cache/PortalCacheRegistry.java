@@ -0,0 +1,214 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.metrics.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Policy;
+import de.cuioss.portal.configuration.cache.CacheConfig;
+import de.cuioss.portal.configuration.schedule.FileChangedEvent;
+import de.cuioss.portal.metrics.PortalMetricsLogMessages;
+import de.cuioss.tools.logging.CuiLogger;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.inject.Provider;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import static de.cuioss.portal.configuration.MetricsConfigKeys.PORTAL_METRICS_ENABLED;
+import static de.cuioss.portal.configuration.util.ConfigurationHelper.appendPropertySeparator;
+import static de.cuioss.portal.configuration.util.ConfigurationHelper.resolveCacheConfig;
+import static de.cuioss.portal.configuration.util.ConfigurationHelper.resolveConfigProperty;
+import static de.cuioss.tools.string.MoreStrings.requireNotEmptyTrimmed;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Registry of the named Caffeine caches created from a {@link CacheConfig}.
+ * <p>
+ * Contains the caches created by {@link PortalCacheFactory} and caches built
+ * elsewhere and added with {@link #register(String, Cache, CacheConfig)}. The
+ * name of a cache is the prefix of its configuration.
+ * <p>
+ * On a {@link FileChangedEvent}, or explicitly with
+ * {@link #applyConfigurationChanges()}, the configuration of every cache is
+ * resolved again. Changed maximum sizes, expirations and refresh intervals are
+ * applied through the {@link com.github.benmanes.caffeine.cache.Policy} of the
+ * cache, so its content is kept. Changes that can not be applied this way, e.g.
+ * adding a bound to an unbounded cache, are logged and take effect after a
+ * restart.
+ * <p>
+ * {@link #snapshot()} provides the size, hit rate and configuration of every
+ * cache for administrative purposes.
+ */
+@ApplicationScoped
+public class PortalCacheRegistry {
+
+    private static final CuiLogger LOGGER = new CuiLogger(PortalCacheRegistry.class);
+
+    /** The config key suffix for the refresh after write interval */
+    public static final String REFRESH_AFTER_WRITE_KEY = "refresh_after_write";
+
+    private final Provider<Boolean> metricsEnabled;
+
+    private final Map<String, ManagedCache> caches = new ConcurrentHashMap<>();
+
+    @Inject
+    PortalCacheRegistry(@ConfigProperty(name = PORTAL_METRICS_ENABLED, defaultValue = "false") Provider<Boolean> metricsEnabled) {
+        this.metricsEnabled = metricsEnabled;
+    }
+
+    /**
+     * Adds a cache that has not been created by {@link PortalCacheFactory}.
+     *
+     * @param name   the prefix of the cache configuration, must not be empty
+     * @param cache  must not be null
+     * @param config the configuration the cache was built with, usually
+     *               injected with
+     *               {@link de.cuioss.portal.configuration.types.ConfigAsCacheConfig}.
+     *               Used as default for properties that are not configured.
+     *               Must not be null
+     * @throws IllegalStateException if a different cache is registered with the
+     *                               given name
+     */
+    public void register(final String name, final Cache<?, ?> cache, final CacheConfig config) {
+        requireNonNull(cache, "cache");
+        requireNonNull(config, "config");
+        final long refreshAfterWrite = cache.policy().refreshAfterWrite()
+                .map(refresh -> refresh.getRefreshesAfter(config.getTimeUnit())).orElse(0L);
+        final var managed = computeIfAbsent(name, key -> new ManagedCache(key, config, cache, config,
+                refreshAfterWrite));
+        if (managed.getCache() != cache) {
+            throw new IllegalStateException("A different cache is already registered as '" + name + "'");
+        }
+    }
+
+    /**
+     * @param name of the cache
+     * @return the cache registered with the given name, if present
+     */
+    public Optional<Cache<?, ?>> getCache(final String name) {
+        return Optional.ofNullable(caches.get(name)).map(ManagedCache::getCache);
+    }
+
+    /**
+     * Resolves the configuration of all caches again and applies the changes.
+     */
+    public void applyConfigurationChanges() {
+        caches.values().forEach(this::applyChanges);
+    }
+
+    /**
+     * @return the current state of all caches, ordered by name
+     */
+    public List<PortalCacheSnapshot> snapshot() {
+        return caches.values().stream().sorted(Comparator.comparing(ManagedCache::getName))
+                .map(PortalCacheRegistry::snapshot).toList();
+    }
+
+    void onFileChanged(@Observes @FileChangedEvent final Path path) {
+        LOGGER.debug("Checking cache configurations after change of '%s'", path);
+        applyConfigurationChanges();
+    }
+
+    ManagedCache computeIfAbsent(final String name, final Function<String, ManagedCache> factory) {
+        requireNotEmptyTrimmed(name, "name");
+        return caches.computeIfAbsent(name, factory);
+    }
+
+    /**
+     * @return the configuration with the given prefix, recording statistics only
+     *         if metrics are enabled
+     */
+    CacheConfig resolveConfig(final String name, final CacheConfig defaults) {
+        final var resolved = resolveCacheConfig(name, defaults);
+        return new CacheConfig(resolved.getExpiration(), resolved.getTimeUnit(), resolved.getSize(),
+                resolved.isRecordStatistics() && metricsEnabled.get());
+    }
+
+    static long resolveRefreshAfterWrite(final String name) {
+        final var key = appendPropertySeparator(name) + REFRESH_AFTER_WRITE_KEY;
+        try {
+            return resolveConfigProperty(key, Long.class).orElse(0L);
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn(e, PortalMetricsLogMessages.WARN.INVALID_CACHE_PROPERTY, key, 0);
+            return 0;
+        }
+    }
+
+    private static PortalCacheSnapshot snapshot(final ManagedCache managed) {
+        final var cache = managed.getCache();
+        final var recording = cache.policy().isRecordingStats();
+        final var stats = cache.stats();
+        return new PortalCacheSnapshot(managed.getName(), managed.getConfig(), managed.getRefreshAfterWrite(),
+                cache.estimatedSize(), recording ? stats.hitRate() : Double.NaN, stats.hitCount(),
+                stats.missCount(), stats.evictionCount());
+    }
+
+    /**
+     * @return the expiration after access or, for caches registered from
+     *         elsewhere, after write
+     */
+    private static <K, V> Optional<Policy.FixedExpiration<K, V>> fixedExpiration(final Policy<K, V> policy) {
+        return policy.expireAfterAccess().or(policy::expireAfterWrite);
+    }
+
+    private void applyChanges(final ManagedCache managed) {
+        final var name = managed.getName();
+        final var current = managed.getConfig();
+        final var changed = resolveConfig(name, managed.getDefaults());
+        final var refreshAfterWrite = managed.getCache() instanceof LoadingCache<?, ?>
+                ? resolveRefreshAfterWrite(name)
+                : 0;
+        if (current.equals(changed) && refreshAfterWrite == managed.getRefreshAfterWrite()) {
+            return;
+        }
+        final var policy = managed.getCache().policy();
+        if (changed.getSize() != current.getSize()) {
+            policy.eviction().filter(eviction -> changed.getSize() > 0)
+                    .ifPresentOrElse(eviction -> eviction.setMaximum(changed.getSize()),
+                            () -> LOGGER.warn(PortalMetricsLogMessages.WARN.CACHE_CONFIG_NOT_APPLICABLE,
+                                    CacheConfig.SIZE_KEY, name));
+        }
+        final var unitChanged = changed.getTimeUnit() != current.getTimeUnit();
+        if (changed.getExpiration() != current.getExpiration() || unitChanged && changed.getExpiration() > 0) {
+            fixedExpiration(policy).filter(expiration -> changed.getExpiration() > 0)
+                    .ifPresentOrElse(expiration -> expiration.setExpiresAfter(changed.getExpiration(),
+                            changed.getTimeUnit()),
+                            () -> LOGGER.warn(PortalMetricsLogMessages.WARN.CACHE_CONFIG_NOT_APPLICABLE,
+                                    CacheConfig.EXPIRATION_KEY, name));
+        }
+        if (refreshAfterWrite != managed.getRefreshAfterWrite() || unitChanged && refreshAfterWrite > 0) {
+            policy.refreshAfterWrite().filter(refresh -> refreshAfterWrite > 0)
+                    .ifPresentOrElse(refresh -> refresh.setRefreshesAfter(refreshAfterWrite, changed.getTimeUnit()),
+                            () -> LOGGER.warn(PortalMetricsLogMessages.WARN.CACHE_CONFIG_NOT_APPLICABLE,
+                                    REFRESH_AFTER_WRITE_KEY, name));
+        }
+        if (changed.isRecordStatistics() != current.isRecordStatistics()) {
+            LOGGER.warn(PortalMetricsLogMessages.WARN.CACHE_CONFIG_NOT_APPLICABLE, CacheConfig.RECORD_STATISTICS_KEY,
+                    name);
+        }
+        managed.update(changed, refreshAfterWrite);
+        LOGGER.info(PortalMetricsLogMessages.INFO.CACHE_CONFIG_APPLIED, name, changed);
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.metrics.cache;
+
+import de.cuioss.portal.configuration.cache.CacheConfig;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * Administrative view on a cache of the {@link PortalCacheRegistry} at a point in
+ * time.
+ *
+ * @param name              the name of the cache, equal to its configuration
+ *                          prefix
+ * @param config            the configuration currently applied to the cache
+ * @param refreshAfterWrite the refresh interval in the time unit of the
+ *                          configuration, 0 if not refreshing
+ * @param estimatedSize     the approximate number of entries
+ * @param hitRate           the ratio of hits to requests, {@link Double#NaN} if
+ *                          the cache does not record statistics
+ * @param hitCount          the number of hits, 0 if the cache does not record
+ *                          statistics
+ * @param missCount         the number of misses, 0 if the cache does not record
+ *                          statistics
+ * @param evictionCount     the number of evictions, 0 if the cache does not
+ *                          record statistics
+ */
+public record PortalCacheSnapshot(String name, CacheConfig config, long refreshAfterWrite, long estimatedSize,
+        double hitRate, long hitCount, long missCount, long evictionCount) implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 6518234470961358843L;
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/**
+ * Provides Caffeine caches built from {@link de.cuioss.portal.configuration.cache.CacheConfig}.
+ *
+ * <h2>Core Components</h2>
+ * <ul>
+ *   <li>{@link de.cuioss.portal.metrics.cache.PortalCache} - Qualifier for injecting a configured cache</li>
+ *   <li>{@link de.cuioss.portal.metrics.cache.PortalCacheFactory} - Creates the caches and binds their metrics</li>
+ *   <li>{@link de.cuioss.portal.metrics.cache.PortalCacheRegistry} - Contains all named caches, applies
+ *   configuration changes at runtime and provides a {@link de.cuioss.portal.metrics.cache.PortalCacheSnapshot}
+ *   of each cache</li>
+ * </ul>
+ *
+ * <h2>Usage</h2>
+ * <pre>
+ * &#64;Inject
+ * &#64;PortalCache(name = "cache.users", defaultSize = 1000, defaultExpiration = 30)
+ * private Cache&lt;String, UserInfo&gt; userCache;
+ * </pre>
+ *
+ * @see de.cuioss.portal.metrics.CaffeineCacheMetrics
+ */
+package de.cuioss.portal.metrics.cache;
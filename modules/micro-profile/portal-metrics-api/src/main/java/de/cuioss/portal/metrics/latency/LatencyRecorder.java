@@ -0,0 +1,197 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.metrics.latency;
+
+import lombok.ToString;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Lock-free recorder of latencies in nanoseconds with fixed memory, following
+ * the bucket layout of HdrHistogram.
+ * <p>
+ * Values below {@value #EXACT_VALUES} are counted exactly. Larger values are
+ * counted in buckets of {@value #HALF_SUB_BUCKETS} per power of two, so every
+ * value, and therefore every percentile, is resolved with a relative error
+ * below 1%. Values above the highest trackable value are counted in the
+ * highest bucket, the maximum is tracked exactly.
+ * <p>
+ * Recording a value only increments counters and never allocates.
+ * {@link #intervalSnapshot()} provides the values recorded since the previous
+ * interval snapshot, {@link #cumulativeSnapshot()} all recorded values.
+ * <p>
+ * Usage example:
+ * <pre>
+ * private final LatencyRecorder recorder = new LatencyRecorder(Duration.ofSeconds(30));
+ *
+ * final long started = System.nanoTime();
+ * callBackend();
+ * recorder.recordSince(started);
+ * </pre>
+ *
+ * @see LatencyRecorderMetrics
+ */
+@ToString(of = "highestTrackableValue")
+public final class LatencyRecorder {
+
+    /** The default highest trackable value, 1 minute */
+    public static final Duration DEFAULT_HIGHEST_TRACKABLE_VALUE = Duration.ofMinutes(1);
+
+    private static final int PRECISION_BITS = 8;
+    static final int EXACT_VALUES = 1 << PRECISION_BITS;
+    static final int HALF_SUB_BUCKETS = EXACT_VALUES >> 1;
+
+    private final long highestTrackableValue;
+    private final AtomicLongArray counts;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    private long[] intervalCounts;
+    private long intervalSum;
+
+    /**
+     * Creates a recorder with {@link #DEFAULT_HIGHEST_TRACKABLE_VALUE}.
+     */
+    public LatencyRecorder() {
+        this(DEFAULT_HIGHEST_TRACKABLE_VALUE);
+    }
+
+    /**
+     * @param highestTrackableValue must not be null and must be positive. The
+     *                              memory footprint grows with the logarithm of
+     *                              this value, about 30 KB for 1 minute.
+     */
+    public LatencyRecorder(final Duration highestTrackableValue) {
+        requireNonNull(highestTrackableValue, "highestTrackableValue");
+        if (highestTrackableValue.isNegative() || highestTrackableValue.isZero()) {
+            throw new IllegalArgumentException("highestTrackableValue must be positive: " + highestTrackableValue);
+        }
+        this.highestTrackableValue = highestTrackableValue.toNanos();
+        counts = new AtomicLongArray(bucketIndex(this.highestTrackableValue) + 1);
+        intervalCounts = new long[counts.length()];
+    }
+
+    /**
+     * @param nanos the latency to be recorded, negative values are ignored
+     */
+    public void record(final long nanos) {
+        if (nanos < 0) {
+            return;
+        }
+        counts.incrementAndGet(bucketIndex(Math.min(nanos, highestTrackableValue)));
+        count.increment();
+        sum.add(nanos);
+        if (nanos > max.get()) {
+            max.accumulateAndGet(nanos, Math::max);
+        }
+    }
+
+    /**
+     * Records the time elapsed since the given start.
+     *
+     * @param startNanos taken from {@link System#nanoTime()}
+     */
+    public void recordSince(final long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * @return the number of values recorded since the creation of the recorder
+     */
+    public long getTotalCount() {
+        return count.sum();
+    }
+
+    /**
+     * @return the sum of the values recorded since the creation of the
+     *         recorder
+     */
+    public long getTotalSum() {
+        return sum.sum();
+    }
+
+    /**
+     * @return the values recorded since the creation of the recorder
+     */
+    public LatencySnapshot cumulativeSnapshot() {
+        final var current = new long[counts.length()];
+        for (var i = 0; i < current.length; i++) {
+            current[i] = counts.get(i);
+        }
+        return new LatencySnapshot(current, sum.sum(), max.get());
+    }
+
+    /**
+     * @return the values recorded since the previous call of this method or, on
+     *         the first call, since the creation of the recorder. The maximum of
+     *         an interval is resolved with the precision of the buckets.
+     */
+    public synchronized LatencySnapshot intervalSnapshot() {
+        final var current = new long[counts.length()];
+        final var interval = new long[current.length];
+        for (var i = 0; i < current.length; i++) {
+            current[i] = counts.get(i);
+            interval[i] = current[i] - intervalCounts[i];
+        }
+        final var currentSum = sum.sum();
+        final var intervalMax = Math.min(highestValue(interval), max.get());
+        final var snapshot = new LatencySnapshot(interval, currentSum - intervalSum, intervalMax);
+        intervalCounts = current;
+        intervalSum = currentSum;
+        return snapshot;
+    }
+
+    private static long highestValue(final long[] bucketCounts) {
+        for (var i = bucketCounts.length - 1; i >= 0; i--) {
+            if (bucketCounts[i] > 0) {
+                return highestEquivalentValue(i);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @param value must not be negative
+     * @return the index of the bucket counting the given value
+     */
+    static int bucketIndex(final long value) {
+        if (value < EXACT_VALUES) {
+            return (int) value;
+        }
+        final var shift = 64 - Long.numberOfLeadingZeros(value) - PRECISION_BITS;
+        return EXACT_VALUES + (shift - 1) * HALF_SUB_BUCKETS + (int) ((value >>> shift) - HALF_SUB_BUCKETS);
+    }
+
+    /**
+     * @param index of a bucket
+     * @return the highest value counted in the given bucket
+     */
+    static long highestEquivalentValue(final int index) {
+        if (index < EXACT_VALUES) {
+            return index;
+        }
+        final var offset = index - EXACT_VALUES;
+        final var shift = offset / HALF_SUB_BUCKETS + 1;
+        final long subBucket = offset % HALF_SUB_BUCKETS + HALF_SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.metrics.latency;
+
+import de.cuioss.tools.collect.CollectionBuilder;
+import de.cuioss.tools.logging.CuiLogger;
+import org.eclipse.microprofile.metrics.Metadata;
+import org.eclipse.microprofile.metrics.MetadataBuilder;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.MetricUnits;
+import org.eclipse.microprofile.metrics.Tag;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static de.cuioss.tools.string.MoreStrings.emptyToNull;
+import static java.util.Objects.requireNonNull;
+import static org.eclipse.microprofile.metrics.MetricRegistry.name;
+
+/**
+ * Exports a {@link LatencyRecorder} to a MicroProfile {@link MetricRegistry}.
+ * <p>
+ * MicroProfile Metrics does not allow registering custom {@code Histogram} or
+ * {@code Timer} implementations, so the values are exported as gauges, all
+ * prefixed with the given name:
+ * <ul>
+ *   <li>count - Number of values recorded since start</li>
+ *   <li>sum - Sum of the values recorded since start in nanoseconds</li>
+ *   <li>max, mean, p50, p90, p99 and p999 - Values of the latest interval in
+ *   nanoseconds</li>
+ * </ul>
+ * The interval values are taken from a shared {@link LatencyRecorder#intervalSnapshot()},
+ * which is replaced at most once per interval, see {@link #DEFAULT_INTERVAL}. A
+ * bound recorder should therefore not be used for other interval snapshots.
+ * <p>
+ * Usage example:
+ * <pre>
+ * &#64;Inject
+ * &#64;RegistryType(type = MetricRegistry.Type.APPLICATION)
+ * private MetricRegistry appRegistry;
+ *
+ * private final LatencyRecorder recorder = new LatencyRecorder();
+ *
+ * new LatencyRecorderMetrics("backend.latency", recorder).bindTo(appRegistry);
+ * </pre>
+ */
+public class LatencyRecorderMetrics {
+
+    private static final CuiLogger LOGGER = new CuiLogger(LatencyRecorderMetrics.class);
+
+    /**
+     * The default interval, 1 minute.
+     */
+    public static final Duration DEFAULT_INTERVAL = Duration.ofMinutes(1);
+
+    /**
+     * The exported quantiles keyed by their metric name.
+     */
+    private static final Map<String, Double> QUANTILES = createQuantiles();
+
+    private final String namePrefix;
+    private final LatencyRecorder recorder;
+    private final Tag[] tags;
+    private final long intervalNanos;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    private volatile LatencySnapshot current;
+    private volatile long createdNanos;
+
+    /**
+     * @param namePrefix must not be null nor empty
+     * @param recorder   must not be null
+     */
+    public LatencyRecorderMetrics(final String namePrefix, final LatencyRecorder recorder) {
+        this(namePrefix, recorder, Collections.emptySet(), DEFAULT_INTERVAL);
+    }
+
+    /**
+     * @param namePrefix must not be null nor empty
+     * @param recorder   must not be null
+     * @param tags       additional tags to be added to each metric. May be empty
+     *                   but not null.
+     * @param interval   the length of the interval the max, mean and percentiles
+     *                   are computed for, must not be null nor negative
+     */
+    public LatencyRecorderMetrics(final String namePrefix, final LatencyRecorder recorder, final Iterable<Tag> tags,
+            final Duration interval) {
+        requireNonNull(emptyToNull(namePrefix));
+        requireNonNull(recorder);
+        requireNonNull(interval);
+        if (interval.isNegative()) {
+            throw new IllegalArgumentException("interval must not be negative: " + interval);
+        }
+        this.namePrefix = namePrefix;
+        this.recorder = recorder;
+        this.tags = CollectionBuilder.copyFrom(tags).toArray(Tag.class);
+        intervalNanos = interval.toNanos();
+        current = recorder.intervalSnapshot();
+        createdNanos = System.nanoTime();
+    }
+
+    /**
+     * Registers all gauges with the given registry.
+     *
+     * @param registry must not be null
+     */
+    public void bindTo(final MetricRegistry registry) {
+        requireNonNull(registry);
+        LOGGER.debug("Binding latency metrics '%s' to registry", namePrefix);
+        registry.gauge(metadata("count", MetricUnits.NONE), recorder::getTotalCount, tags);
+        registry.gauge(metadata("sum", MetricUnits.NANOSECONDS), recorder::getTotalSum, tags);
+        registry.gauge(metadata("max", MetricUnits.NANOSECONDS), () -> snapshot().getMax(), tags);
+        registry.gauge(metadata("mean", MetricUnits.NANOSECONDS), () -> snapshot().getMean(), tags);
+        QUANTILES.forEach((name, quantile) -> registry.gauge(metadata(name, MetricUnits.NANOSECONDS),
+                () -> snapshot().getValue(quantile), tags));
+    }
+
+    /**
+     * @return the snapshot of the latest interval, replaced if it is older than
+     *         the interval
+     */
+    LatencySnapshot snapshot() {
+        final var snapshot = current;
+        if (System.nanoTime() - createdNanos < intervalNanos || !refreshing.compareAndSet(false, true)) {
+            return snapshot;
+        }
+        try {
+            final var refreshed = recorder.intervalSnapshot();
+            current = refreshed;
+            createdNanos = System.nanoTime();
+            return refreshed;
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    private Metadata metadata(final String name, final String unit) {
+        return new MetadataBuilder().withName(name(namePrefix, name)).withUnit(unit).build();
+    }
+
+    private static Map<String, Double> createQuantiles() {
+        final var quantiles = new LinkedHashMap<String, Double>();
+        quantiles.put("p50", 0.5);
+        quantiles.put("p90", 0.9);
+        quantiles.put("p99", 0.99);
+        quantiles.put("p999", 0.999);
+        return Collections.unmodifiableMap(quantiles);
+    }
+}
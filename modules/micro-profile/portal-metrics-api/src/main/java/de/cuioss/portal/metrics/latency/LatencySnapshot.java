@@ -0,0 +1,89 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.metrics.latency;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Immutable state of a {@link LatencyRecorder}, all values in nanoseconds.
+ */
+@ToString(of = {"count", "sum", "max"})
+public final class LatencySnapshot {
+
+    private final long[] counts;
+
+    /** The number of recorded values */
+    @Getter
+    private final long count;
+
+    /** The sum of the recorded values */
+    @Getter
+    private final long sum;
+
+    /** The highest recorded value, 0 if empty */
+    @Getter
+    private final long max;
+
+    LatencySnapshot(final long[] counts, final long sum, final long max) {
+        this.counts = counts;
+        var total = 0L;
+        for (final long bucketCount : counts) {
+            total += bucketCount;
+        }
+        count = total;
+        this.sum = sum;
+        this.max = max;
+    }
+
+    /**
+     * @return the arithmetic mean of the recorded values, 0 if empty
+     */
+    public double getMean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * @param quantile between 0 and 1, e.g. 0.999 for the 99.9th percentile
+     * @return the value the given share of the recorded values is less than or
+     *         equal to, resolved with the precision of the recorder. 0 if empty
+     * @throws IllegalArgumentException if the quantile is not within [0, 1]
+     */
+    public long getValue(final double quantile) {
+        if (!(quantile >= 0 && quantile <= 1)) {
+            throw new IllegalArgumentException("quantile must be within [0, 1]: " + quantile);
+        }
+        if (count == 0) {
+            return 0;
+        }
+        final var rank = Math.max(1, (long) Math.ceil(quantile * count));
+        var seen = 0L;
+        for (var i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(LatencyRecorder.highestEquivalentValue(i), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * @return {@code true} if no value has been recorded
+     */
+    public boolean isEmpty() {
+        return count == 0;
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/**
+ * Provides low-overhead recording of latencies with accurate percentiles.
+ *
+ * <h2>Core Components</h2>
+ * <ul>
+ *   <li>{@link de.cuioss.portal.metrics.latency.LatencyRecorder} - Lock-free, fixed-memory histogram of
+ *   latencies in nanoseconds</li>
+ *   <li>{@link de.cuioss.portal.metrics.latency.LatencySnapshot} - Immutable cumulative or interval state of
+ *   a recorder</li>
+ *   <li>{@link de.cuioss.portal.metrics.latency.LatencyRecorderMetrics} - Exports a recorder as gauges to a
+ *   MicroProfile metric registry</li>
+ * </ul>
+ *
+ * <h2>Usage</h2>
+ * <pre>
+ * final long started = System.nanoTime();
+ * callBackend();
+ * recorder.recordSince(started);
+ * </pre>
+ */
+package de.cuioss.portal.metrics.latency;
@@ -22,13 +22,19 @@ import org.eclipse.microprofile.metrics.Tag;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
 import java.util.function.Function;
 
 import static de.cuioss.tools.base.Preconditions.checkArgument;
 
 /**
  * Builder for MicroProfile {@link MetricID}.
+ * <p>
+ * {@link Tag}s are immutable and are therefore used as given. Debug logging is
+ * guarded, as the builder is used on the hot path of request metrics.
+ * <p>
+ * With a {@link #cardinalityLimiter(TagCardinalityLimiter)} the values of all
+ * tags, including the ones created by the exception tag mappers, are limited
+ * per metric name.
  */
 @Getter
 public class MetricIdBuilder {
@@ -43,13 +49,14 @@ public class MetricIdBuilder {
 
     private final List<Function<Throwable, Tag>> exceptionTagMappers;
 
+    private TagCardinalityLimiter cardinalityLimiter;
+
     /**
      * Default Constructor
      */
     public MetricIdBuilder() {
         tags = new ArrayList<>();
         exceptionTagMappers = new ArrayList<>();
-        LOGGER.debug("Created new MetricIdBuilder");
     }
 
     /**
@@ -59,7 +66,6 @@ public class MetricIdBuilder {
      */
     public MetricIdBuilder name(String name) {
         this.name = name;
-        LOGGER.debug("Set metric name: %s", name);
         return this;
     }
 
@@ -70,9 +76,6 @@ public class MetricIdBuilder {
      */
     public MetricIdBuilder exception(final Throwable cause) {
         exception = cause;
-        if (cause != null) {
-            LOGGER.debug("Set exception: %s", cause.getClass().getName());
-        }
         return this;
     }
 
@@ -84,7 +87,16 @@ public class MetricIdBuilder {
      */
     public MetricIdBuilder exceptionTagMapper(final Function<Throwable, Tag> mapper) {
         exceptionTagMappers.add(mapper);
-        LOGGER.debug("Added exception tag mapper, total mappers: %s", exceptionTagMappers.size());
+        return this;
+    }
+
+    /**
+     * @param limiter limiting the distinct values per tag, may be null
+     *
+     * @return this builder
+     */
+    public MetricIdBuilder cardinalityLimiter(final TagCardinalityLimiter limiter) {
+        cardinalityLimiter = limiter;
         return this;
     }
 
@@ -95,11 +107,8 @@ public class MetricIdBuilder {
      */
     public MetricIdBuilder tags(Tag[] tags) {
         if (null != tags) {
-            LOGGER.debug("Adding %s tags", tags.length);
             for (Tag tag : tags) {
-                if (null != tag) {
-                    this.tags.add(deepCopy(tag));
-                }
+                tag(tag);
             }
         }
         return this;
@@ -112,8 +121,7 @@ public class MetricIdBuilder {
      */
     public MetricIdBuilder tag(Tag tag) {
         if (null != tag) {
-            tags.add(deepCopy(tag));
-            LOGGER.debug("Added tag: %s=%s", tag.getTagName(), tag.getTagValue());
+            tags.add(tag);
         }
         return this;
     }
@@ -122,23 +130,30 @@ public class MetricIdBuilder {
      * @return the create {@link MetricID}
      */
     public MetricID build() {
-        LOGGER.debug("Building MetricID");
-        checkArgument(null != name && !name.trim().isEmpty(), "name must be set");
-
-        if (null != exception) {
-            LOGGER.debug("Processing %s exception tag mappers", exceptionTagMappers.size());
-            exceptionTagMappers.stream()
-                    .map(mapper -> mapper.apply(exception))
-                    .filter(Objects::nonNull)
-                    .forEach(tags::add);
+        checkArgument(null != name && !name.isBlank(), "name must be set");
+
+        final Tag[] resultTags;
+        if (null == exception) {
+            resultTags = tags.toArray(new Tag[0]);
+        } else {
+            final var combined = new ArrayList<Tag>(tags.size() + exceptionTagMappers.size());
+            combined.addAll(tags);
+            for (Function<Throwable, Tag> mapper : exceptionTagMappers) {
+                final var mapped = mapper.apply(exception);
+                if (null != mapped) {
+                    combined.add(mapped);
+                }
+            }
+            resultTags = combined.toArray(new Tag[0]);
+        }
+        if (null != cardinalityLimiter) {
+            cardinalityLimiter.limit(name, resultTags);
         }
 
-        var metricId = new MetricID(name, tags.toArray(new Tag[0]));
-        LOGGER.debug("Built MetricID '%s' with %s tags", name, tags.size());
+        final var metricId = new MetricID(name, resultTags);
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Built MetricID '%s' with %s tags", name, resultTags.length);
+        }
         return metricId;
     }
-
-    private static Tag deepCopy(final Tag tag) {
-        return new Tag(tag.getTagName(), tag.getTagValue());
-    }
 }
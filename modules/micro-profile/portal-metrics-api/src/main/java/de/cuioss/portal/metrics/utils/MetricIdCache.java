@@ -0,0 +1,150 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.metrics.utils;
+
+import jakarta.ws.rs.WebApplicationException;
+import lombok.Getter;
+import org.eclipse.microprofile.metrics.MetricID;
+import org.eclipse.microprofile.metrics.Tag;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache for the {@link MetricID}s created by
+ * {@link MetricsUtils#createMetricId(String, Throwable, Tag...)}.
+ * <p>
+ * A {@link MetricID} is fully determined by its name, the additional tags,
+ * the class of the exception and, for a {@link WebApplicationException}, its
+ * http status. The cache is organized by name, each name holding a small
+ * copy-on-write array of the known variants. A lookup therefore only compares
+ * the given values and does not allocate anything, in contrast to a composite
+ * key object.
+ * <p>
+ * The cache is bound to the application tag it was created with and is
+ * bounded by {@link #MAX_NAMES} and {@link #MAX_VARIANTS_PER_NAME}. Beyond
+ * these limits the ids are still created, but not cached.
+ */
+final class MetricIdCache {
+
+    static final int MAX_NAMES = 1024;
+
+    static final int MAX_VARIANTS_PER_NAME = 64;
+
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+
+    private static final Tag[] NO_TAGS = new Tag[0];
+
+    @Getter
+    private final Tag appTag;
+
+    private final ConcurrentHashMap<String, Entry[]> entries = new ConcurrentHashMap<>();
+
+    MetricIdCache(final Tag appTag) {
+        this.appTag = appTag;
+    }
+
+    /**
+     * @param name      metric name, must not be null
+     * @param exception may be null
+     * @param tags      may be null or contain null elements
+     * @return the cached {@link MetricID}, {@code null} if there is none
+     */
+    MetricID lookup(final String name, final Throwable exception, final Tag[] tags) {
+        final var variants = entries.get(name);
+        if (null == variants) {
+            return null;
+        }
+        final var exceptionType = null == exception ? null : exception.getClass();
+        final var httpStatus = httpStatus(exception);
+        for (Entry entry : variants) {
+            if (entry.matches(exceptionType, httpStatus, tags)) {
+                return entry.metricId;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Stores the given {@link MetricID} unless the cache is exhausted or an
+     * equivalent one has been stored concurrently.
+     *
+     * @param name      metric name, must not be null
+     * @param exception may be null
+     * @param tags      may be null or contain null elements
+     * @param metricId  the {@link MetricID} created for the given values
+     * @return the {@link MetricID} to be used, either the given or the one
+     *         stored concurrently
+     */
+    MetricID store(final String name, final Throwable exception, final Tag[] tags, final MetricID metricId) {
+        if (entries.size() >= MAX_NAMES && !entries.containsKey(name)) {
+            return metricId;
+        }
+        final var created = new Entry(null == tags ? NO_TAGS : tags.clone(),
+                null == exception ? null : exception.getClass(), httpStatus(exception), metricId);
+        final var result = new MetricID[]{metricId};
+        entries.compute(name, (key, current) -> {
+            final var known = null == current ? NO_ENTRIES : current;
+            for (Entry entry : known) {
+                if (entry.matches(created.exceptionType, created.httpStatus, created.tags)) {
+                    result[0] = entry.metricId;
+                    return current;
+                }
+            }
+            if (known.length >= MAX_VARIANTS_PER_NAME) {
+                return current;
+            }
+            final var extended = Arrays.copyOf(known, known.length + 1);
+            extended[known.length] = created;
+            return extended;
+        });
+        return result[0];
+    }
+
+    /**
+     * @return the number of cached {@link MetricID}s
+     */
+    int size() {
+        return entries.values().stream().mapToInt(variants -> variants.length).sum();
+    }
+
+    private static int httpStatus(final Throwable exception) {
+        if (exception instanceof WebApplicationException wae && null != wae.getResponse()) {
+            return wae.getResponse().getStatus();
+        }
+        return -1;
+    }
+
+    private static final class Entry {
+
+        private final Tag[] tags;
+        private final Class<?> exceptionType;
+        private final int httpStatus;
+        private final MetricID metricId;
+
+        private Entry(final Tag[] tags, final Class<?> exceptionType, final int httpStatus, final MetricID metricId) {
+            this.tags = tags;
+            this.exceptionType = exceptionType;
+            this.httpStatus = httpStatus;
+            this.metricId = metricId;
+        }
+
+        private boolean matches(final Class<?> otherExceptionType, final int otherHttpStatus, final Tag[] otherTags) {
+            return exceptionType == otherExceptionType && httpStatus == otherHttpStatus
+                    && Arrays.equals(tags, null == otherTags ? NO_TAGS : otherTags);
+        }
+    }
+}
@@ -27,7 +27,6 @@ import org.eclipse.microprofile.metrics.Tag;
 
 import java.util.Collection;
 import java.util.NoSuchElementException;
-import java.util.Optional;
 import java.util.function.Function;
 
 import static de.cuioss.portal.configuration.util.ConfigurationHelper.resolveConfigProperty;
@@ -41,6 +40,11 @@ import static de.cuioss.tools.collect.CollectionLiterals.immutableList;
  * <ul>
  *   <li>Automatic application name tagging for all metrics</li>
  *   <li>Configurable through portal configuration properties</li>
+ *   <li>Created {@link MetricID}s are cached, so that repeated calls with the
+ *   same name, tags and exception type return the identical instance without
+ *   allocating</li>
+ *   <li>The number of distinct values per tag of a metric is limited by a
+ *   shared {@link TagCardinalityLimiter}, see {@link #getCardinalityLimiter()}</li>
  * </ul>
  *
  * <h2>Configuration</h2>
@@ -50,6 +54,9 @@ import static de.cuioss.tools.collect.CollectionLiterals.immutableList;
  *   <li>{@code portal.metrics.appName} - Portal-specific property</li>
  *   <li>{@code portal.application.name} - Fallback to application name</li>
  * </ol>
+ * The maximum number of distinct values per tag is configured by
+ * {@code portal.metrics.maxTagValues}, see
+ * {@link TagCardinalityLimiter#DEFAULT_MAX_VALUES_PER_TAG}.
  */
 @UtilityClass
 public class MetricsUtils {
@@ -66,6 +73,8 @@ public class MetricsUtils {
 
     private static String metricsAppName;
     private static Tag metricsAppTag;
+    private static volatile MetricIdCache metricIdCache;
+    private static volatile TagCardinalityLimiter cardinalityLimiter;
 
     /**
      * Retrieves the application name used for metrics tagging. The name is resolved
@@ -100,28 +109,33 @@ public class MetricsUtils {
      */
     public static Tag getAppTag() {
         if (null == metricsAppTag) {
-            LOGGER.debug("Creating application tag");
             metricsAppTag = new Tag("_app", getAppName());
-            LOGGER.debug("Created application tag: %s=%s", metricsAppTag.getTagName(), metricsAppTag.getTagValue());
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Created application tag: %s=%s", metricsAppTag.getTagName(), metricsAppTag.getTagValue());
+            }
         }
         return metricsAppTag;
     }
 
     /**
      * Creates a MetricID with the application tag and any additional tags provided.
+     * The result is cached, see {@link #createMetricId(String, Throwable, Tag...)}.
      *
      * @param name metric name
      * @param tags optional additional tags
      * @return MetricID with application tag and provided tags
      */
     public static MetricID createMetricId(final String name, final Tag... tags) {
-        LOGGER.debug("Creating metric ID for name '%s' with %s tags", name, tags != null ? tags.length : 0);
         return createMetricId(name, null, tags);
     }
 
     /**
      * Creates a MetricID with the application tag, exception-related tags, and any
      * additional tags provided.
+     * <p>
+     * The resulting {@link MetricID}s are immutable and therefore cached by name,
+     * tags, exception type and, for a {@link WebApplicationException}, http status.
+     * A cache hit returns the identical instance and does not allocate.
      *
      * @param name      metric name
      * @param exception exception to extract tags from (may be null)
@@ -129,8 +143,57 @@ public class MetricsUtils {
      * @return MetricID with application tag, exception tags, and provided tags
      */
     public static MetricID createMetricId(final String name, final Throwable exception, final Tag... tags) {
-        LOGGER.debug("Creating metric ID for name '%s' with exception and %s tags", name, tags != null ? tags.length : 0);
-        return createMetricIdBuilder(name, exception, immutableList(tags), null).build();
+        if (null == name) {
+            return createMetricIdBuilder(null, exception, immutableList(tags), null).build();
+        }
+        final var cache = resolveMetricIdCache();
+        final var cached = cache.lookup(name, exception, tags);
+        if (null != cached) {
+            return cached;
+        }
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Creating metric ID for name '%s' with %s tags", name, null != tags ? tags.length : 0);
+        }
+        return cache.store(name, exception, tags,
+                createMetricIdBuilder(name, exception, immutableList(tags), null).build());
+    }
+
+    /**
+     * The limiter is shared by all {@link MetricID}s created by this class and,
+     * like their cache, bound to the application tag.
+     *
+     * @return the {@link TagCardinalityLimiter} providing the dropped series and
+     *         the cardinality per metric name
+     */
+    public static TagCardinalityLimiter getCardinalityLimiter() {
+        resolveMetricIdCache();
+        return cardinalityLimiter;
+    }
+
+    private static MetricIdCache resolveMetricIdCache() {
+        final var appTag = getAppTag();
+        var cache = metricIdCache;
+        if (null == cache || cache.getAppTag() != appTag) {
+            cardinalityLimiter = new TagCardinalityLimiter(resolveMaxTagValues());
+            cache = new MetricIdCache(appTag);
+            metricIdCache = cache;
+        }
+        return cache;
+    }
+
+    private static int resolveMaxTagValues() {
+        final var key = MetricsConfigKeys.PORTAL_METRICS_MAX_TAG_VALUES;
+        try {
+            final var configured = resolveConfigProperty(key, Integer.class);
+            if (configured.isEmpty() || configured.get() > 0) {
+                return configured.orElse(TagCardinalityLimiter.DEFAULT_MAX_VALUES_PER_TAG);
+            }
+        } catch (IllegalArgumentException e) {
+            LOGGER.debug(e, "Unable to convert '%s'", key);
+        }
+        LOGGER.warn(PortalMetricsLogMessages.WARN.INVALID_CACHE_PROPERTY, key,
+                TagCardinalityLimiter.DEFAULT_MAX_VALUES_PER_TAG);
+        return TagCardinalityLimiter.DEFAULT_MAX_VALUES_PER_TAG;
     }
 
     /**
@@ -145,21 +208,21 @@ public class MetricsUtils {
     public static MetricIdBuilder createMetricIdBuilder(final String name, final Throwable exception,
             final Collection<Tag> tags, final Collection<Function<Throwable, Tag>> exceptionTagMappers) {
 
-        LOGGER.debug("Building metric ID for name '%s'", name);
         final var idBuilder = new MetricIdBuilder().name(name).tag(getAppTag()).exception(exception)
+                .cardinalityLimiter(getCardinalityLimiter())
                 .exceptionTagMapper(CLASSNAME_EXCEPTION_TAG_MAPPER)
                 .exceptionTagMapper(WEB_APPLICATION_EXCEPTION_TAG_MAPPER);
 
-        Optional.ofNullable(tags).ifPresent(t -> {
-            LOGGER.debug("Adding %s tags to metric ID", t.size());
-            t.forEach(idBuilder::tag);
-        });
-
-        Optional.ofNullable(exceptionTagMappers).ifPresent(mappers -> {
-            LOGGER.debug("Adding %s exception tag mappers to metric ID", mappers.size());
-            mappers.forEach(idBuilder::exceptionTagMapper);
-        });
-
+        if (null != tags) {
+            for (Tag tag : tags) {
+                idBuilder.tag(tag);
+            }
+        }
+        if (null != exceptionTagMappers) {
+            for (Function<Throwable, Tag> mapper : exceptionTagMappers) {
+                idBuilder.exceptionTagMapper(mapper);
+            }
+        }
         return idBuilder;
     }
 
@@ -168,9 +231,9 @@ public class MetricsUtils {
      * @return the resulting {@link Tag}
      */
     public static Tag createHttpStatusCodeTag(final Response response) {
-        return Optional.ofNullable(response)
-                .map(Response::getStatus)
-                .map(status -> new Tag("http_status", String.valueOf(status)))
-                .orElse(null);
+        if (null == response) {
+            return null;
+        }
+        return new Tag("http_status", String.valueOf(response.getStatus()));
     }
 }
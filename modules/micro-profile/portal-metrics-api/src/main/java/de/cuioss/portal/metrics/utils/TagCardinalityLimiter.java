@@ -0,0 +1,156 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.metrics.utils;
+
+import de.cuioss.portal.metrics.PortalMetricsLogMessages;
+import de.cuioss.tools.logging.CuiLogger;
+import lombok.ToString;
+import org.eclipse.microprofile.metrics.MetricID;
+import org.eclipse.microprofile.metrics.Tag;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static de.cuioss.tools.base.Preconditions.checkArgument;
+
+/**
+ * Limits the number of distinct values per tag of a metric, and therefore the
+ * number of series a metric can create in the registry.
+ * <p>
+ * Tags with values like exception class names or http status codes can create
+ * an unbounded number of series, e.g. during an incident. Once a tag of a
+ * metric has reached the maximum number of distinct values, further values
+ * are replaced by {@value #OTHER}. The first replacement per tag is logged as
+ * warning.
+ * <p>
+ * Known values are checked without locking or allocating. The number of
+ * {@link MetricID}s built with a replaced tag is available as
+ * {@link #getDroppedCount()}, the current number of distinct values per tag of
+ * a metric as {@link #getCardinality(String)}.
+ */
+@ToString(of = "maxValuesPerTag")
+public final class TagCardinalityLimiter {
+
+    private static final CuiLogger LOGGER = new CuiLogger(TagCardinalityLimiter.class);
+
+    /** The default maximum number of distinct values per tag of a metric */
+    public static final int DEFAULT_MAX_VALUES_PER_TAG = 100;
+
+    /** The value replacing the values exceeding the limit */
+    public static final String OTHER = "other";
+
+    private final int maxValuesPerTag;
+
+    private final Map<String, Map<String, TagValues>> metrics = new ConcurrentHashMap<>();
+
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * @param maxValuesPerTag must be positive
+     */
+    public TagCardinalityLimiter(final int maxValuesPerTag) {
+        checkArgument(maxValuesPerTag > 0, "maxValuesPerTag must be positive");
+        this.maxValuesPerTag = maxValuesPerTag;
+    }
+
+    /**
+     * Replaces the values of the given tags exceeding the limit.
+     *
+     * @param name of the metric, must not be null
+     * @param tags to be checked, replaced values are written to the array. Must
+     *             not be null, but may contain null elements
+     * @return {@code true} if at least one tag has been replaced
+     */
+    public boolean limit(final String name, final Tag[] tags) {
+        if (0 == tags.length) {
+            return false;
+        }
+        final var tagsOfMetric = metrics.computeIfAbsent(name, key -> new ConcurrentHashMap<>());
+        var replaced = false;
+        for (var i = 0; i < tags.length; i++) {
+            final var tag = tags[i];
+            if (null == tag) {
+                continue;
+            }
+            final var values = tagsOfMetric.computeIfAbsent(tag.getTagName(), TagValues::new);
+            if (!values.accept(tag.getTagValue(), maxValuesPerTag)) {
+                if (values.overflowLogged.compareAndSet(false, true)) {
+                    LOGGER.warn(PortalMetricsLogMessages.WARN.TAG_CARDINALITY_EXCEEDED, tag.getTagName(), name,
+                            maxValuesPerTag, OTHER);
+                }
+                tags[i] = values.otherTag;
+                replaced = true;
+            }
+        }
+        if (replaced) {
+            dropped.increment();
+        }
+        return replaced;
+    }
+
+    /**
+     * @return the number of {@link MetricID}s built with at least one tag value
+     *         replaced by {@value #OTHER}
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * @param name of the metric
+     * @return the number of distinct values per tag name of the given metric,
+     *         sorted by tag name. Empty if the metric is unknown
+     */
+    public Map<String, Integer> getCardinality(final String name) {
+        final var result = new TreeMap<String, Integer>();
+        final var tagsOfMetric = metrics.get(name);
+        if (null != tagsOfMetric) {
+            tagsOfMetric.forEach((tagName, values) -> result.put(tagName, values.values.size()));
+        }
+        return result;
+    }
+
+    private static final class TagValues {
+
+        private final Set<String> values = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicBoolean overflowLogged = new AtomicBoolean();
+        private final Tag otherTag;
+
+        TagValues(final String tagName) {
+            otherTag = new Tag(tagName, OTHER);
+        }
+
+        boolean accept(final String value, final int maxValues) {
+            if (values.contains(value)) {
+                return true;
+            }
+            if (size.incrementAndGet() > maxValues) {
+                size.decrementAndGet();
+                return false;
+            }
+            if (!values.add(value)) {
+                size.decrementAndGet();
+            }
+            return true;
+        }
+    }
+}
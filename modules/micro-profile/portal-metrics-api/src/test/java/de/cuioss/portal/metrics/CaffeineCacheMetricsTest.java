@@ -21,12 +21,14 @@ import de.cuioss.portal.configuration.cache.CacheConfig;
 import de.cuioss.test.juli.LogAsserts;
 import de.cuioss.test.juli.TestLogLevel;
 import de.cuioss.test.juli.junit5.EnableTestLogger;
+import org.eclipse.microprofile.metrics.MetricID;
 import org.eclipse.microprofile.metrics.MetricRegistry;
 import org.eclipse.microprofile.metrics.Tag;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
@@ -80,6 +82,67 @@ class CaffeineCacheMetricsTest {
         }
     }
 
+    @Nested
+    @DisplayName("Live Values")
+    class LiveValueTests {
+
+        @Test
+        @DisplayName("Should report current cache activity")
+        void shouldReportLiveValues() {
+            final var cacheConfig = new CacheConfig(CACHE_EXPIRY, TimeUnit.MINUTES, CACHE_SIZE, true);
+            final Cache<String, String> cache = createTestCache(cacheConfig);
+            final MetricRegistry registry = new PortalTestMetricRegistry();
+            new CaffeineCacheMetrics(CACHE_PREFIX, cache, cacheConfig, Set.of(), Duration.ZERO).bindTo(registry);
+
+            cache.put("key", "value");
+            cache.getIfPresent("key");
+            cache.getIfPresent("key");
+            cache.getIfPresent("missing");
+
+            assertEquals(2L, gaugeValue(registry, "hitCount"));
+            assertEquals(1L, gaugeValue(registry, "missCount"));
+            assertEquals(1L, gaugeValue(registry, "estimatedSize"));
+            assertEquals((long) CACHE_SIZE, gaugeValue(registry, "maxSize"));
+        }
+
+        @Test
+        @DisplayName("Should refresh values at most once per interval")
+        void shouldShareSnapshotWithinInterval() {
+            final var cacheConfig = new CacheConfig(CACHE_EXPIRY, TimeUnit.MINUTES, CACHE_SIZE, true);
+            final Cache<String, String> cache = createTestCache(cacheConfig);
+            final MetricRegistry registry = new PortalTestMetricRegistry();
+            new CaffeineCacheMetrics(CACHE_PREFIX, cache, cacheConfig, Set.of(), Duration.ofHours(1))
+                    .bindTo(registry);
+
+            cache.getIfPresent("missing");
+
+            assertEquals(0L, gaugeValue(registry, "missCount"), "Snapshot must not be refreshed within interval");
+        }
+
+        @Test
+        @DisplayName("Should collect all values at once")
+        void shouldCollectAllValues() {
+            final var cacheConfig = new CacheConfig(CACHE_EXPIRY, TimeUnit.MINUTES, CACHE_SIZE, true);
+            final Cache<String, String> cache = createTestCache(cacheConfig);
+            final var metrics = new CaffeineCacheMetrics(CACHE_PREFIX, cache, cacheConfig, Set.of(), Duration.ZERO);
+            final MetricRegistry registry = new PortalTestMetricRegistry();
+            metrics.bindTo(registry);
+
+            cache.getIfPresent("missing");
+            final var values = metrics.collect();
+
+            assertEquals(registry.getGauges().size(), values.size(), "All gauges should be collected");
+            assertEquals("hitRate", values.keySet().iterator().next());
+            assertEquals(1L, values.get("missCount"));
+            assertEquals(1.0, values.get("missRate"));
+            assertEquals((long) CACHE_SIZE, values.get("maxSize"));
+        }
+
+        private Object gaugeValue(final MetricRegistry registry, final String name) {
+            return registry.getGauges().get(new MetricID(CACHE_PREFIX + "." + name)).getValue();
+        }
+    }
+
     @Nested
     @DisplayName("Parameter Validation")
     class ValidationTests {
@@ -105,6 +168,19 @@ class CaffeineCacheMetricsTest {
                     () -> new CaffeineCacheMetrics("", cache, cacheConfig),
                     "Should throw on empty prefix");
         }
+
+        @Test
+        @DisplayName("Should throw on negative refresh interval")
+        void shouldThrowOnNegativeRefreshInterval() {
+            final var cacheConfig = new CacheConfig(CACHE_EXPIRY, TimeUnit.MINUTES, CACHE_SIZE, true);
+            final Cache<String, String> cache = createTestCache(cacheConfig);
+            final Set<Tag> tags = Set.of();
+            final var interval = Duration.ofSeconds(-1);
+
+            assertThrows(IllegalArgumentException.class,
+                    () -> new CaffeineCacheMetrics(CACHE_PREFIX, cache, cacheConfig, tags, interval),
+                    "Should throw on negative refresh interval");
+        }
     }
 
     private Cache<String, String> createTestCache(CacheConfig config) {
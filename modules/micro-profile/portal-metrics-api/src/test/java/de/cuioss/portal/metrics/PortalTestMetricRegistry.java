@@ -145,7 +145,7 @@ public class PortalTestMetricRegistry implements MetricRegistry {
 
     @Override
     public <T extends Number> Gauge<T> gauge(Metadata metadata, Supplier<T> supplier, Tag... tags) {
-        metricMap.put(new MetricID(metadata.getName()), (Gauge) () -> null);
+        metricMap.put(new MetricID(metadata.getName()), (Gauge<T>) supplier::get);
         LOGGER.info("Gauge for metric '%s', tags: %s", metadata.getName(), CollectionLiterals.mutableList(tags).stream().map(tag -> tag.getTagName() + "=" + tag.getTagValue()).toList());
         return null;
     }
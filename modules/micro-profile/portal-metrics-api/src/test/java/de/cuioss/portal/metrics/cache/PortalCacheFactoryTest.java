@@ -0,0 +1,127 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.metrics.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import de.cuioss.portal.configuration.MetricsConfigKeys;
+import de.cuioss.portal.configuration.cache.CacheConfig;
+import de.cuioss.portal.core.test.junit5.EnablePortalConfiguration;
+import de.cuioss.portal.core.test.mocks.configuration.PortalTestConfiguration;
+import de.cuioss.portal.metrics.PortalMetricsLogMessages;
+import de.cuioss.portal.metrics.PortalTestMetricRegistry;
+import de.cuioss.test.juli.LogAsserts;
+import de.cuioss.test.juli.TestLogLevel;
+import de.cuioss.test.juli.junit5.EnableTestLogger;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.metrics.MetricID;
+import org.jboss.weld.junit5.auto.AddBeanClasses;
+import org.jboss.weld.junit5.auto.EnableAutoWeld;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@EnableAutoWeld
+@EnablePortalConfiguration(configuration = {
+        MetricsConfigKeys.PORTAL_METRICS_ENABLED + ":true",
+        PortalCacheFactoryTest.CACHE_NAME + "." + CacheConfig.SIZE_KEY + ":10"
+})
+@EnableTestLogger
+@AddBeanClasses({PortalCacheFactory.class, PortalCacheRegistry.class, PortalTestMetricRegistry.class})
+@DisplayName("Tests PortalCacheFactory")
+class PortalCacheFactoryTest {
+
+    static final String CACHE_NAME = "test.cache";
+
+    private static final Path CONFIG_FILE = Path.of("portal.properties");
+
+    @Inject
+    @PortalCache(name = CACHE_NAME, defaultSize = 5, defaultExpiration = 10)
+    private Cache<String, String> cache;
+
+    @Inject
+    private PortalCacheFactory underTest;
+
+    @Inject
+    private PortalCacheRegistry cacheRegistry;
+
+    @Inject
+    private PortalTestConfiguration configuration;
+
+    @Inject
+    private PortalTestMetricRegistry registry;
+
+    @Test
+    @DisplayName("Should create cache from configuration and bind metrics")
+    void shouldCreateConfiguredCache() {
+        assertNotNull(cache);
+        assertEquals(10, cache.policy().eviction().orElseThrow().getMaximum());
+        assertEquals(10, cache.policy().expireAfterAccess().orElseThrow().getExpiresAfter(TimeUnit.MINUTES));
+        assertTrue(cache.policy().isRecordingStats());
+        assertNotNull(registry.getGauges().get(new MetricID(CACHE_NAME + ".hitCount")));
+        assertSame(cache, underTest.createCache(CACHE_NAME, new CacheConfig(0, TimeUnit.MINUTES, 0, false)),
+                "Caches should be shared by name");
+    }
+
+    @Test
+    @DisplayName("Should apply changed configuration without dropping content")
+    void shouldApplyChangedConfiguration() {
+        cache.put("key", "value");
+        configuration.update(CACHE_NAME + "." + CacheConfig.SIZE_KEY, "20",
+                CACHE_NAME + "." + CacheConfig.EXPIRATION_KEY, "30");
+
+        cacheRegistry.onFileChanged(CONFIG_FILE);
+
+        assertEquals(20, cache.policy().eviction().orElseThrow().getMaximum());
+        assertEquals(30, cache.policy().expireAfterAccess().orElseThrow().getExpiresAfter(TimeUnit.MINUTES));
+        assertEquals("value", cache.getIfPresent("key"));
+        assertEquals(20L, registry.getGauges().get(new MetricID(CACHE_NAME + ".maxSize")).getValue());
+        LogAsserts.assertLogMessagePresentContaining(TestLogLevel.INFO,
+                PortalMetricsLogMessages.INFO.CACHE_CONFIG_APPLIED.resolveIdentifierString());
+    }
+
+    @Test
+    @DisplayName("Should create refreshing loading cache")
+    void shouldCreateLoadingCache() {
+        configuration.update("loading.cache." + PortalCacheRegistry.REFRESH_AFTER_WRITE_KEY, "1");
+        var loading = underTest.<String, String>createLoadingCache("loading.cache",
+                new CacheConfig(5, TimeUnit.MINUTES, 5, false), key -> key + "-loaded");
+
+        assertEquals("a-loaded", loading.get("a"));
+        assertEquals(1, loading.policy().refreshAfterWrite().orElseThrow().getRefreshesAfter(TimeUnit.MINUTES));
+        assertThrows(IllegalStateException.class, () -> underTest.createLoadingCache(CACHE_NAME,
+                new CacheConfig(0, TimeUnit.MINUTES, 0, false), key -> key));
+    }
+
+    @Test
+    @DisplayName("Should warn about changes that can not be applied")
+    void shouldWarnOnInapplicableChange() {
+        var unbounded = underTest.createCache("unbounded.cache", new CacheConfig(0, TimeUnit.MINUTES, 0, false));
+        configuration.update("unbounded.cache." + CacheConfig.SIZE_KEY, "20");
+
+        cacheRegistry.onFileChanged(CONFIG_FILE);
+
+        assertTrue(unbounded.policy().eviction().isEmpty());
+        LogAsserts.assertLogMessagePresentContaining(TestLogLevel.WARN, "Portal-Metrics-100");
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.metrics.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import de.cuioss.portal.configuration.MetricsConfigKeys;
+import de.cuioss.portal.configuration.cache.CacheConfig;
+import de.cuioss.portal.core.test.junit5.EnablePortalConfiguration;
+import de.cuioss.portal.core.test.mocks.configuration.PortalTestConfiguration;
+import de.cuioss.test.juli.junit5.EnableTestLogger;
+import jakarta.inject.Inject;
+import org.jboss.weld.junit5.auto.AddBeanClasses;
+import org.jboss.weld.junit5.auto.EnableAutoWeld;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@EnableAutoWeld
+@EnablePortalConfiguration(configuration = MetricsConfigKeys.PORTAL_METRICS_ENABLED + ":true")
+@EnableTestLogger
+@AddBeanClasses(PortalCacheRegistry.class)
+@DisplayName("Tests PortalCacheRegistry")
+class PortalCacheRegistryTest {
+
+    private static final String CACHE_NAME = "registered.cache";
+
+    private static final CacheConfig CONFIG = new CacheConfig(10, TimeUnit.MINUTES, 5, true);
+
+    @Inject
+    private PortalCacheRegistry underTest;
+
+    @Inject
+    private PortalTestConfiguration configuration;
+
+    @Test
+    @DisplayName("Should resize registered cache without dropping content")
+    void shouldApplyChangesToRegisteredCache() {
+        final Cache<String, String> cache = createCache();
+        underTest.register(CACHE_NAME, cache, CONFIG);
+        cache.put("key", "value");
+
+        configuration.update(CACHE_NAME + "." + CacheConfig.SIZE_KEY, "50",
+                CACHE_NAME + "." + CacheConfig.EXPIRATION_KEY, "2");
+        underTest.applyConfigurationChanges();
+
+        assertEquals(50, cache.policy().eviction().orElseThrow().getMaximum());
+        assertEquals(2, cache.policy().expireAfterWrite().orElseThrow().getExpiresAfter(TimeUnit.MINUTES));
+        assertEquals("value", cache.getIfPresent("key"));
+        assertSame(cache, underTest.getCache(CACHE_NAME).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Should provide snapshot of all caches")
+    void shouldProvideSnapshot() {
+        final Cache<String, String> cache = createCache();
+        underTest.register(CACHE_NAME, cache, CONFIG);
+        underTest.register("another.cache", Caffeine.newBuilder().build(), new CacheConfig(0, TimeUnit.MINUTES, 0,
+                false));
+        cache.put("key", "value");
+        cache.getIfPresent("key");
+        cache.getIfPresent("missing");
+
+        final var snapshot = underTest.snapshot();
+
+        assertEquals(2, snapshot.size());
+        assertEquals("another.cache", snapshot.get(0).name());
+        assertTrue(Double.isNaN(snapshot.get(0).hitRate()), "No hit rate without statistics");
+        final var registered = snapshot.get(1);
+        assertEquals(CACHE_NAME, registered.name());
+        assertEquals(CONFIG, registered.config());
+        assertEquals(1, registered.estimatedSize());
+        assertEquals(0.5, registered.hitRate());
+        assertEquals(1, registered.hitCount());
+        assertEquals(1, registered.missCount());
+    }
+
+    @Test
+    @DisplayName("Should reject different cache with the same name")
+    void shouldRejectDuplicateName() {
+        final Cache<String, String> cache = createCache();
+        underTest.register(CACHE_NAME, cache, CONFIG);
+        underTest.register(CACHE_NAME, cache, CONFIG);
+        final Cache<String, String> other = createCache();
+
+        assertThrows(IllegalStateException.class, () -> underTest.register(CACHE_NAME, other, CONFIG));
+    }
+
+    private static Cache<String, String> createCache() {
+        return Caffeine.newBuilder().maximumSize(CONFIG.getSize())
+                .expireAfterWrite(CONFIG.getExpiration(), CONFIG.getTimeUnit()).recordStats().build();
+    }
+}
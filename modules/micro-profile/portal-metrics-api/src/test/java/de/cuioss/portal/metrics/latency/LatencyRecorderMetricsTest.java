@@ -0,0 +1,68 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.metrics.latency;
+
+import de.cuioss.portal.metrics.PortalTestMetricRegistry;
+import org.eclipse.microprofile.metrics.MetricID;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LatencyRecorderMetrics Tests")
+class LatencyRecorderMetricsTest {
+
+    private static final String PREFIX = "backend.latency";
+
+    @Test
+    @DisplayName("Should export count, sum, mean, max and percentiles")
+    void shouldRegisterGauges() {
+        final var recorder = new LatencyRecorder();
+        final MetricRegistry registry = new PortalTestMetricRegistry();
+        new LatencyRecorderMetrics(PREFIX, recorder, Set.of(), Duration.ZERO).bindTo(registry);
+
+        for (long i = 1; i <= 1_000; i++) {
+            recorder.record(i * 1_000);
+        }
+
+        assertEquals(8, registry.getGauges().size());
+        assertEquals(1_000L, gauge(registry, "count"));
+        assertEquals(500_500_000L, gauge(registry, "sum"));
+        final var p99 = gauge(registry, "p99").longValue();
+        assertTrue(Math.abs(p99 - 990_000) <= 9_900, "Unexpected p99 " + p99);
+    }
+
+    @Test
+    @DisplayName("Should share the snapshot within an interval")
+    void shouldShareSnapshotWithinInterval() {
+        final var recorder = new LatencyRecorder();
+        final var underTest = new LatencyRecorderMetrics(PREFIX, recorder, Set.of(), Duration.ofHours(1));
+        recorder.record(1_000);
+
+        assertSame(underTest.snapshot(), underTest.snapshot());
+        assertTrue(underTest.snapshot().isEmpty(), "Values should be reported after the interval");
+        assertThrows(IllegalArgumentException.class,
+                () -> new LatencyRecorderMetrics(PREFIX, recorder, Set.of(), Duration.ofSeconds(-1)));
+    }
+
+    private static Number gauge(final MetricRegistry registry, final String name) {
+        return (Number) registry.getGauges().get(new MetricID(MetricRegistry.name(PREFIX, name))).getValue();
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.metrics.latency;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LatencyRecorder Tests")
+class LatencyRecorderTest {
+
+    private static final long MICROS = 1_000L;
+
+    @Nested
+    @DisplayName("Bucket Layout")
+    class BucketTests {
+
+        @Test
+        @DisplayName("Should resolve every value with a relative error below 1%")
+        void shouldResolveWithinPrecision() {
+            var previousIndex = -1;
+            for (long value = 0; value < 10_000_000L; value += 1 + value / 100) {
+                final var index = LatencyRecorder.bucketIndex(value);
+                final var highest = LatencyRecorder.highestEquivalentValue(index);
+                assertTrue(index >= previousIndex, "Buckets should be ordered");
+                assertTrue(highest >= value, "Bucket should contain " + value);
+                assertTrue(highest - value <= value / 100.0, "Relative error too large for " + value);
+                previousIndex = index;
+            }
+        }
+
+        @Test
+        @DisplayName("Should count small values exactly")
+        void shouldCountSmallValuesExactly() {
+            for (var value = 0; value < LatencyRecorder.EXACT_VALUES; value++) {
+                assertEquals(value, LatencyRecorder.highestEquivalentValue(LatencyRecorder.bucketIndex(value)));
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Recording")
+    class RecordingTests {
+
+        @Test
+        @DisplayName("Should provide accurate percentiles")
+        void shouldProvidePercentiles() {
+            final var underTest = new LatencyRecorder();
+            for (long i = 1; i <= 10_000; i++) {
+                underTest.record(i * MICROS);
+            }
+
+            final var snapshot = underTest.cumulativeSnapshot();
+
+            assertEquals(10_000, snapshot.getCount());
+            assertEquals(10_000 * MICROS, snapshot.getMax());
+            assertEquals(5_000.5 * MICROS, snapshot.getMean(), 0.01);
+            assertWithinPrecision(5_000 * MICROS, snapshot.getValue(0.5));
+            assertWithinPrecision(9_900 * MICROS, snapshot.getValue(0.99));
+            assertWithinPrecision(9_990 * MICROS, snapshot.getValue(0.999));
+            assertEquals(10_000 * MICROS, snapshot.getValue(1));
+            assertEquals(10_000, underTest.getTotalCount());
+        }
+
+        @Test
+        @DisplayName("Should ignore negative and clamp too large values")
+        void shouldHandleOutOfRangeValues() {
+            final var underTest = new LatencyRecorder(Duration.ofMillis(1));
+            underTest.record(-1);
+            underTest.record(Duration.ofSeconds(1).toNanos());
+
+            final var snapshot = underTest.cumulativeSnapshot();
+
+            assertEquals(1, snapshot.getCount());
+            assertEquals(Duration.ofSeconds(1).toNanos(), snapshot.getMax());
+            assertWithinPrecision(Duration.ofMillis(1).toNanos(), snapshot.getValue(0.5));
+        }
+
+        @Test
+        @DisplayName("Should provide values of the interval only")
+        void shouldProvideIntervalSnapshots() {
+            final var underTest = new LatencyRecorder();
+            underTest.record(10 * MICROS);
+            underTest.record(20 * MICROS);
+
+            final var first = underTest.intervalSnapshot();
+            underTest.record(5 * MICROS);
+            final var second = underTest.intervalSnapshot();
+
+            assertEquals(2, first.getCount());
+            assertEquals(30 * MICROS, first.getSum());
+            assertWithinPrecision(20 * MICROS, first.getMax());
+            assertEquals(1, second.getCount());
+            assertWithinPrecision(5 * MICROS, second.getMax());
+            assertTrue(underTest.intervalSnapshot().isEmpty());
+            assertEquals(3, underTest.cumulativeSnapshot().getCount());
+        }
+
+        @Test
+        @DisplayName("Should handle empty snapshots and invalid arguments")
+        void shouldHandleInvalidArguments() {
+            final var snapshot = new LatencyRecorder().cumulativeSnapshot();
+
+            assertEquals(0, snapshot.getValue(0.99));
+            assertEquals(0, snapshot.getMean());
+            assertThrows(IllegalArgumentException.class, () -> snapshot.getValue(1.5));
+            assertThrows(IllegalArgumentException.class, () -> new LatencyRecorder(Duration.ZERO));
+        }
+    }
+
+    private static void assertWithinPrecision(final long expected, final long actual) {
+        assertTrue(Math.abs(actual - expected) <= expected / 100, "Expected " + expected + " but was " + actual);
+    }
+}
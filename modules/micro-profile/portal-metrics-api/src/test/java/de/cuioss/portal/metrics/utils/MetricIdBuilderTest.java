@@ -118,6 +118,19 @@ class MetricIdBuilderTest {
             assertEquals("value3", tags.get("test3"), "Third tag should have correct value");
         }
 
+        @Test
+        @DisplayName("Should limit tag values with cardinality limiter")
+        void shouldLimitTagValues() {
+            var limiter = new TagCardinalityLimiter(1);
+            new MetricIdBuilder().name("test").cardinalityLimiter(limiter).tag(new Tag("test1", "value1")).build();
+
+            var metricID = new MetricIdBuilder().name("test").cardinalityLimiter(limiter)
+                    .tag(new Tag("test1", "value2")).build();
+
+            assertEquals(TagCardinalityLimiter.OTHER, metricID.getTags().get("test1"));
+            assertEquals(1, limiter.getDroppedCount());
+        }
+
         @Test
         @DisplayName("Should handle null tags gracefully")
         void shouldHandleNullTags() {
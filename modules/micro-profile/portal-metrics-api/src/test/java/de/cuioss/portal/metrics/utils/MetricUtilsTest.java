@@ -32,6 +32,7 @@ import org.junit.jupiter.api.Test;
 
 import java.io.Serial;
 import java.lang.reflect.Field;
+import java.util.Map;
 
 import static de.cuioss.tools.collect.CollectionLiterals.immutableList;
 import static org.junit.jupiter.api.Assertions.*;
@@ -131,6 +132,128 @@ class MetricUtilsTest {
         }
     }
 
+    @Nested
+    @DisplayName("Metric ID Cache Tests")
+    class MetricIdCacheTests {
+        @Test
+        @DisplayName("Should return identical instance for equal input")
+        void shouldReturnCachedInstance() {
+            var first = MetricsUtils.createMetricId("cached", new Tag("tag1", "a-value"));
+            var second = MetricsUtils.createMetricId("cached", new Tag("tag1", "a-value"));
+            assertSame(first, second, "Equal input should result in the cached instance");
+
+            var withException = MetricsUtils.createMetricId("cached", new MetricUtilsTestException(),
+                    new Tag("tag1", "a-value"));
+            assertSame(withException, MetricsUtils.createMetricId("cached", new MetricUtilsTestException(),
+                    new Tag("tag1", "a-value")), "Exceptions of the same type should result in the cached instance");
+        }
+
+        @Test
+        @DisplayName("Should distinguish tags, exception types and http status")
+        void shouldDistinguishVariants() {
+            var plain = MetricsUtils.createMetricId("variants");
+            var tagged = MetricsUtils.createMetricId("variants", new Tag("tag1", "a-value"));
+            var otherValue = MetricsUtils.createMetricId("variants", new Tag("tag1", "b-value"));
+            var withException = MetricsUtils.createMetricId("variants", new MetricUtilsTestException());
+            var otherException = MetricsUtils.createMetricId("variants", new IllegalStateException());
+            var notFound = MetricsUtils.createMetricId("variants", webApplicationException(404));
+            var serverError = MetricsUtils.createMetricId("variants", webApplicationException(500));
+
+            assertNotEquals(plain, tagged);
+            assertNotEquals(tagged, otherValue);
+            assertNotEquals(plain, withException);
+            assertNotEquals(withException, otherException);
+            assertEquals("404", notFound.getTags().get("http_status"));
+            assertEquals("500", serverError.getTags().get("http_status"));
+            assertEquals(plain, MetricsUtils.createMetricId("variants"));
+        }
+
+        @Test
+        @DisplayName("Should not cache beyond the per name limit")
+        void shouldLimitVariants() {
+            for (int i = 0; i < MetricIdCache.MAX_VARIANTS_PER_NAME + 10; i++) {
+                var metricId = MetricsUtils.createMetricId("limited", new Tag("index", String.valueOf(i)));
+                assertEquals(String.valueOf(i), metricId.getTags().get("index"));
+            }
+            var overflow = MetricsUtils.createMetricId("limited", new Tag("index", "overflow"));
+            assertNotSame(overflow, MetricsUtils.createMetricId("limited", new Tag("index", "overflow")),
+                    "Variants beyond the limit should not be cached");
+            assertEquals(overflow, MetricsUtils.createMetricId("limited", new Tag("index", "overflow")));
+        }
+
+        @Test
+        @DisplayName("Should create new instances after app tag change")
+        void shouldInvalidateOnAppTagChange() throws ReflectiveOperationException {
+            var before = MetricsUtils.createMetricId("app-change");
+            Field appNameField = MetricsUtils.class.getDeclaredField("metricsAppName");
+            Field appTagField = MetricsUtils.class.getDeclaredField("metricsAppTag");
+            appNameField.setAccessible(true);
+            appTagField.setAccessible(true);
+            appNameField.set(null, null);
+            appTagField.set(null, null);
+            configuration.update(MetricsConfigKeys.PORTAL_METRICS_APP_NAME, "other-app");
+
+            var after = MetricsUtils.createMetricId("app-change");
+
+            assertEquals("test-app", before.getTags().get("_app"));
+            assertEquals("other-app", after.getTags().get("_app"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Cardinality Limiter Tests")
+    class CardinalityLimiterTests {
+        @Test
+        @DisplayName("Should report tag values beyond the configured limit as other")
+        void shouldLimitTagValues() {
+            configuration.update(MetricsConfigKeys.PORTAL_METRICS_MAX_TAG_VALUES, "2");
+
+            MetricsUtils.createMetricId("cardinality", new Tag("user", "a"));
+            MetricsUtils.createMetricId("cardinality", new Tag("user", "b"));
+            var overflow = MetricsUtils.createMetricId("cardinality", new Tag("user", "c"));
+            var known = MetricsUtils.createMetricId("cardinality", new Tag("user", "a"));
+
+            assertEquals(TagCardinalityLimiter.OTHER, overflow.getTags().get("user"));
+            assertEquals("a", known.getTags().get("user"));
+            var limiter = MetricsUtils.getCardinalityLimiter();
+            assertEquals(1, limiter.getDroppedCount());
+            assertEquals(Map.of("_app", 1, "user", 2), limiter.getCardinality("cardinality"));
+        }
+
+        @Test
+        @DisplayName("Should limit exception tags")
+        void shouldLimitExceptionTags() {
+            configuration.update(MetricsConfigKeys.PORTAL_METRICS_MAX_TAG_VALUES, "1");
+
+            MetricsUtils.createMetricId("exceptions", new MetricUtilsTestException());
+            var overflow = MetricsUtils.createMetricId("exceptions", new IllegalStateException());
+
+            assertEquals(TagCardinalityLimiter.OTHER, overflow.getTags().get("cause"));
+        }
+
+        @Test
+        @DisplayName("Should use default for invalid configuration")
+        void shouldHandleInvalidConfiguration() {
+            configuration.update(MetricsConfigKeys.PORTAL_METRICS_MAX_TAG_VALUES, "0");
+
+            MetricsUtils.createMetricId("invalid", new Tag("user", "a"));
+            MetricsUtils.createMetricId("invalid", new Tag("user", "b"));
+
+            assertEquals(0, MetricsUtils.getCardinalityLimiter().getDroppedCount());
+        }
+    }
+
+    private static WebApplicationException webApplicationException(int status) {
+        Response response = EasyMock.createNiceMock(Response.class);
+        EasyMock.expect(response.getStatus()).andReturn(status).anyTimes();
+        EasyMock.replay(response);
+
+        WebApplicationException exception = EasyMock.createNiceMock(WebApplicationException.class);
+        EasyMock.expect(exception.getResponse()).andReturn(response).anyTimes();
+        EasyMock.replay(exception);
+        return exception;
+    }
+
     static class MetricUtilsTestException extends Exception {
         @Serial
         private static final long serialVersionUID = 1L;
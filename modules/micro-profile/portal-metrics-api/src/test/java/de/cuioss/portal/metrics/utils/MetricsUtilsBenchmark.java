@@ -0,0 +1,95 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.metrics.utils;
+
+import de.cuioss.portal.configuration.MetricsConfigKeys;
+import org.eclipse.microprofile.metrics.MetricID;
+import org.eclipse.microprofile.metrics.Tag;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares creating a {@link MetricID} with a new {@link MetricIdBuilder} on
+ * every call, the former implementation of
+ * {@link MetricsUtils#createMetricId(String, Throwable, Tag...)}, with the
+ * cached variant. Run with the gc profiler ({@code -prof gc}) to verify that
+ * cache hits do not allocate, i.e. report ~0 B/op for {@code cached*}.
+ *
+ * <p>Not executed by the unit tests, run it via {@link #main(String[])} from
+ * the test classpath, e.g.
+ *
+ * <pre>
+ * mvn -pl modules/micro-profile/portal-metrics-api -am test-compile
+ * mvn -pl modules/micro-profile/portal-metrics-api exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=de.cuioss.portal.metrics.utils.MetricsUtilsBenchmark
+ * </pre>
+ *
+ * Compare {@code gc.alloc.rate.norm} of {@code builder} with the
+ * {@code cached*} results.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class MetricsUtilsBenchmark {
+
+    private final Tag[] tags = {new Tag("method", "GET"), new Tag("servlet", "portal")};
+
+    private final IllegalStateException exception = new IllegalStateException();
+
+    @Setup
+    public void setup() {
+        System.setProperty(MetricsConfigKeys.MP_METRICS_APP_NAME, "benchmark");
+    }
+
+    @Benchmark
+    public MetricID builder() {
+        return MetricsUtils.createMetricIdBuilder("portal.request", exception, List.of(tags), null).build();
+    }
+
+    @Benchmark
+    public MetricID cached() {
+        return MetricsUtils.createMetricId("portal.request", tags);
+    }
+
+    @Benchmark
+    public MetricID cachedWithException() {
+        return MetricsUtils.createMetricId("portal.request", exception, tags);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MetricsUtilsBenchmark.class.getSimpleName())
+                .addProfiler("gc").build()).run();
+    }
+}
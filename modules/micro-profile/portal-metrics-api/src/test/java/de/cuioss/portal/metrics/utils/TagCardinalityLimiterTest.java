@@ -0,0 +1,68 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.metrics.utils;
+
+import de.cuioss.test.juli.LogAsserts;
+import de.cuioss.test.juli.TestLogLevel;
+import de.cuioss.test.juli.junit5.EnableTestLogger;
+import org.eclipse.microprofile.metrics.Tag;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@EnableTestLogger
+@DisplayName("TagCardinalityLimiter Tests")
+class TagCardinalityLimiterTest {
+
+    private static final String METRIC = "requests";
+
+    @Test
+    @DisplayName("Should replace values beyond the limit per tag and metric")
+    void shouldReplaceValuesBeyondLimit() {
+        var underTest = new TagCardinalityLimiter(2);
+
+        assertFalse(underTest.limit(METRIC, tags("a", "200")));
+        assertFalse(underTest.limit(METRIC, tags("b", "200")));
+        var overflow = tags("c", "500");
+        assertTrue(underTest.limit(METRIC, overflow));
+        assertFalse(underTest.limit(METRIC, tags("a", "500")));
+        assertFalse(underTest.limit("other-metric", tags("c", "200")));
+
+        assertEquals(new Tag("user", TagCardinalityLimiter.OTHER), overflow[0]);
+        assertEquals(new Tag("status", "500"), overflow[1]);
+        assertEquals(1, underTest.getDroppedCount());
+        assertEquals(Map.of("status", 2, "user", 2), underTest.getCardinality(METRIC));
+        assertTrue(underTest.getCardinality("unknown").isEmpty());
+        LogAsserts.assertSingleLogMessagePresentContaining(TestLogLevel.WARN, "Portal-Metrics-102");
+    }
+
+    @Test
+    @DisplayName("Should handle empty and null tags")
+    void shouldHandleEmptyTags() {
+        var underTest = new TagCardinalityLimiter(1);
+
+        assertFalse(underTest.limit(METRIC, new Tag[0]));
+        assertFalse(underTest.limit(METRIC, new Tag[]{null}));
+        assertThrows(IllegalArgumentException.class, () -> new TagCardinalityLimiter(0));
+    }
+
+    private static Tag[] tags(final String user, final String status) {
+        return new Tag[]{new Tag("user", user), new Tag("status", status)};
+    }
+}
@@ -16,20 +16,23 @@
 package de.cuioss.portal.restclient;
 
 import de.cuioss.portal.configuration.types.ConfigAsConnectionMetadata;
-import de.cuioss.tools.logging.CuiLogger;
-import de.cuioss.tools.string.MoreStrings;
 import jakarta.ws.rs.client.ClientRequestContext;
 import jakarta.ws.rs.client.ClientRequestFilter;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.util.Base64;
+
+import static java.util.Objects.requireNonNull;
 
 /**
  * Client filter that adds HTTP Basic Authentication to outgoing requests.
  * Credentials are provided through the Portal configuration system using
  * {@link ConfigAsConnectionMetadata}.
  *
+ * <p>The header value is provided by a {@link CredentialProvider} that
+ * precomputes the encoding, so a request does not encode anything. With a
+ * {@link RefreshingCredentialProvider} backed by a password file, rotated
+ * passwords are picked up without rebuilding the client.
+ *
  * <p>The filter is automatically configured by {@link CuiRestClientBuilder}
  * when Basic Authentication is specified in the configuration.
  *
@@ -38,11 +41,7 @@ import java.util.Base64;
  */
 public class BasicAuthenticationFilter implements ClientRequestFilter {
 
-    private static final CuiLogger LOGGER = new CuiLogger(BasicAuthenticationFilter.class);
-    private static final String AUTHORIZATION = "Authorization";
-    private static final String BASIC_PREFIX = "Basic ";
-
-    private final String authHeader;
+    private final CredentialProvider credentials;
 
     /**
      * Constructs a new BasicAuthenticationFilter with the given credentials.
@@ -52,16 +51,23 @@ public class BasicAuthenticationFilter implements ClientRequestFilter {
      * @throws IllegalArgumentException if username or password is null
      */
     public BasicAuthenticationFilter(String username, String password) {
-        MoreStrings.requireNotEmpty(username, "username");
-        MoreStrings.requireNotEmpty(password, "password");
-        String auth = username + ":" + password;
-        byte[] encodedAuth = Base64.getEncoder().encode(auth.getBytes(StandardCharsets.UTF_8));
-        this.authHeader = BASIC_PREFIX + new String(encodedAuth, StandardCharsets.UTF_8);
-        LOGGER.trace("Using auth header %s", this.authHeader);
+        this(RefreshingCredentialProvider.basic(username, password));
+    }
+
+    /**
+     * Constructs a new BasicAuthenticationFilter with the given credential provider.
+     *
+     * @param credentials providing the complete header, must not be null
+     */
+    public BasicAuthenticationFilter(CredentialProvider credentials) {
+        this.credentials = requireNonNull(credentials);
     }
 
     @Override
     public void filter(ClientRequestContext requestContext) throws IOException {
-        requestContext.getHeaders().add(AUTHORIZATION, authHeader);
+        final var value = credentials.getHeaderValue();
+        if (null != value) {
+            requestContext.getHeaders().add(credentials.getHeaderName(), value);
+        }
     }
 }
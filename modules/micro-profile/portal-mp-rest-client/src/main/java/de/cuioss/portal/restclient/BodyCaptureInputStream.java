@@ -0,0 +1,124 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.restclient;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Tee stream that passes all bytes of the wrapped stream through untouched
+ * while copying at most {@code buffer.length} of them into the given buffer.
+ *
+ * <p>The buffer is provided by the caller, so it can be reused across
+ * exchanges. The stream neither buffers nor copies the payload beyond the
+ * captured prefix, therefore logging a body does not scale with its size.
+ *
+ * @see LogReaderInterceptor
+ */
+final class BodyCaptureInputStream extends FilterInputStream {
+
+    private final byte[] buffer;
+    private int captured;
+    private long total;
+    private boolean detached;
+
+    /**
+     * @param in     the stream to be passed through, must not be null
+     * @param buffer the buffer to capture the prefix into, must not be null.
+     *               Its length defines the maximum number of captured bytes.
+     */
+    BodyCaptureInputStream(final InputStream in, final byte[] buffer) {
+        super(requireNonNull(in));
+        this.buffer = requireNonNull(buffer);
+    }
+
+    @Override
+    public int read() throws IOException {
+        final var read = in.read();
+        if (read >= 0 && !detached) {
+            if (captured < buffer.length) {
+                buffer[captured++] = (byte) read;
+            }
+            total++;
+        }
+        return read;
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+        final var read = in.read(b, off, len);
+        if (read > 0 && !detached) {
+            final var toCapture = Math.min(read, buffer.length - captured);
+            if (toCapture > 0) {
+                System.arraycopy(b, off, buffer, captured, toCapture);
+                captured += toCapture;
+            }
+            total += read;
+        }
+        return read;
+    }
+
+    @Override
+    public boolean markSupported() {
+        // Resetting would capture bytes twice
+        return false;
+    }
+
+    @Override
+    public synchronized void mark(final int readlimit) {
+        // Not supported, see markSupported()
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("mark/reset not supported");
+    }
+
+    /**
+     * Stops capturing, further bytes are passed through without touching the
+     * buffer, which can be reused afterwards. Captured values are kept.
+     */
+    void detach() {
+        detached = true;
+    }
+
+    /**
+     * @return the number of bytes passed through so far
+     */
+    long getTotalLength() {
+        return total;
+    }
+
+    /**
+     * @return {@code true} if more bytes were passed through than captured
+     */
+    boolean isTruncated() {
+        return total > captured;
+    }
+
+    /**
+     * @param charset to decode the captured bytes with, must not be null
+     * @return the captured prefix. A multibyte character cut at the capture
+     *         limit is replaced according to {@link String#String(byte[], int, int, Charset)}
+     */
+    String getCaptured(final Charset charset) {
+        return new String(buffer, 0, captured, charset);
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.restclient;
+
+import java.io.Closeable;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.CompletionStage;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Ends the flight a call leads at its {@link RequestCoalescingFilter}, once
+ * the call returns or, for methods returning a {@link CompletionStage}, once
+ * the stage completes.
+ *
+ * <p>Filters are not notified about calls failing without response, e.g. on
+ * connection refused or timeouts. Without this proxy the flight of such a
+ * call would stay registered and identical requests would wait for the
+ * timeout of the filter.
+ */
+final class CoalescingInvocationHandler implements InvocationHandler {
+
+    private final Object delegate;
+    private final RequestCoalescingFilter filter;
+
+    private CoalescingInvocationHandler(final Object delegate, final RequestCoalescingFilter filter) {
+        this.delegate = requireNonNull(delegate);
+        this.filter = requireNonNull(filter);
+    }
+
+    /**
+     * @param serviceInterface the interface of the client, must not be null
+     * @param delegate         the client registering the filter, must not be
+     *                         null
+     * @param filter           registered at the client, must not be null
+     * @return a proxy implementing the given interface and {@link Closeable}
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T wrap(final Class<T> serviceInterface, final T delegate, final RequestCoalescingFilter filter) {
+        return (T) Proxy.newProxyInstance(serviceInterface.getClassLoader(),
+                new Class<?>[]{serviceInterface, Closeable.class}, new CoalescingInvocationHandler(delegate, filter));
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+        if (isClose(method)) {
+            if (delegate instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+            return null;
+        }
+        if (Object.class.equals(method.getDeclaringClass())) {
+            return invokeDelegate(method, args);
+        }
+        final var call = new RequestCoalescingFilter.Call();
+        final var previous = filter.open(call);
+        var async = false;
+        try {
+            final var result = invokeDelegate(method, args);
+            if (result instanceof CompletionStage<?> stage) {
+                async = true;
+                return stage.whenComplete((value, failure) -> filter.abandon(call));
+            }
+            return result;
+        } finally {
+            filter.close(previous);
+            if (!async) {
+                filter.abandon(call);
+            }
+        }
+    }
+
+    private Object invokeDelegate(final Method method, final Object[] args) throws Throwable {
+        try {
+            return method.invoke(delegate, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static boolean isClose(final Method method) {
+        return "close".equals(method.getName()) && 0 == method.getParameterCount();
+    }
+}
@@ -0,0 +1,292 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.restclient;
+
+import de.cuioss.portal.configuration.connections.exception.ConnectionException;
+import de.cuioss.portal.configuration.connections.exception.ErrorReason;
+import de.cuioss.portal.metrics.utils.MetricsUtils;
+import de.cuioss.tools.logging.CuiLogger;
+import jakarta.ws.rs.ProcessingException;
+import lombok.Getter;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.Tag;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static de.cuioss.tools.string.MoreStrings.requireNotEmpty;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Bulkhead and circuit breaker for all REST clients of a single connection,
+ * identified by its connection id, configured by {@link ResilienceConfig}.
+ *
+ * <p>The circuit breaker computes the rates of failed and slow calls over the
+ * last {@link ResilienceConfig#getWindowSize()} calls. If one of them reaches
+ * its threshold, the breaker opens and rejects all calls for
+ * {@link ResilienceConfig#getOpenDurationMillis()}. Afterwards it is half-open
+ * and lets {@link ResilienceConfig#getHalfOpenCalls()} trial calls pass, which
+ * decide whether it closes or opens again.
+ *
+ * <p>Rejected calls fail fast with a {@link ProcessingException} caused by a
+ * {@link ConnectionException} with {@link ErrorReason#CALL_REJECTED}.
+ *
+ * <p>The state is shared by all clients of a connection, see
+ * {@link #forConnection(String, ResilienceConfig)}. Calls are network bound,
+ * therefore the bookkeeping is simply synchronized.
+ *
+ * @see GuardedInvocationHandler
+ */
+public final class ConnectionGuard {
+
+    private static final CuiLogger LOGGER = new CuiLogger(ConnectionGuard.class);
+
+    static final String STATE = "portal.restclient.circuitbreaker.state";
+    static final String REJECTED = "portal.restclient.rejected";
+    static final String CONCURRENT = "portal.restclient.concurrent";
+
+    private static final byte FAILED = 1;
+    private static final byte SLOW = 2;
+
+    private static final Map<String, ConnectionGuard> INSTANCES = new ConcurrentHashMap<>();
+
+    /**
+     * The states of the circuit breaker. The ordinal is exposed as gauge.
+     */
+    public enum State {
+        /** Calls pass. */
+        CLOSED,
+        /** Calls are rejected. */
+        OPEN,
+        /** Trial calls pass. */
+        HALF_OPEN
+    }
+
+    @Getter
+    private final String connectionId;
+    @Getter
+    private final ResilienceConfig config;
+    private final long openDurationNanos;
+    private final long slowCallNanos;
+    private final byte[] window;
+    private final LongAdder rejected = new LongAdder();
+    private final Set<MetricRegistry> boundRegistries = Collections.synchronizedSet(
+            Collections.newSetFromMap(new WeakHashMap<>()));
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int windowIndex;
+    private int windowCount;
+    private int windowFailures;
+    private int windowSlow;
+    private int halfOpenPermits;
+    private int halfOpenCompleted;
+    private int halfOpenFailures;
+    private int halfOpenSlow;
+    private int concurrentCalls;
+
+    /**
+     * @param connectionId identifying the connection, must not be empty
+     * @param config       to be applied, must not be null
+     * @return the guard shared by all clients of the given connection. A
+     *         changed configuration replaces the guard, also for clients
+     *         built before, see {@link GuardedInvocationHandler}.
+     */
+    static ConnectionGuard forConnection(final String connectionId, final ResilienceConfig config) {
+        requireNonNull(config);
+        return INSTANCES.compute(requireNotEmpty(connectionId),
+                (id, existing) -> null != existing && existing.config.equals(config) ? existing
+                        : new ConnectionGuard(id, config));
+    }
+
+    /**
+     * @return the guard currently registered for the connection of this
+     *         instance, i.e. the replacing one after a configuration change.
+     *         This instance if it is not registered.
+     */
+    ConnectionGuard current() {
+        final var registered = INSTANCES.get(connectionId);
+        return null == registered ? this : registered;
+    }
+
+    ConnectionGuard(final String connectionId, final ResilienceConfig config) {
+        this.connectionId = connectionId;
+        this.config = config;
+        openDurationNanos = TimeUnit.MILLISECONDS.toNanos(config.getOpenDurationMillis());
+        slowCallNanos = TimeUnit.MILLISECONDS.toNanos(config.getSlowCallDurationMillis());
+        window = new byte[config.getWindowSize()];
+    }
+
+    /**
+     * Acquires the permission for a call.
+     *
+     * @throws ProcessingException caused by a {@link ConnectionException} with
+     *                             {@link ErrorReason#CALL_REJECTED} if the
+     *                             call is rejected
+     */
+    synchronized void acquire() {
+        final var current = resolveState(System.nanoTime());
+        if (State.OPEN == current) {
+            reject("circuit breaker open");
+        }
+        if (State.HALF_OPEN == current) {
+            if (halfOpenPermits >= config.getHalfOpenCalls()) {
+                reject("circuit breaker half-open, trial calls in progress");
+            }
+            halfOpenPermits++;
+        }
+        if (config.getMaxConcurrentCalls() > 0 && concurrentCalls >= config.getMaxConcurrentCalls()) {
+            if (State.HALF_OPEN == current) {
+                halfOpenPermits--;
+            }
+            reject("maximum of " + config.getMaxConcurrentCalls() + " concurrent calls reached");
+        }
+        concurrentCalls++;
+    }
+
+    /**
+     * Releases the permission acquired by {@link #acquire()} and records the
+     * outcome of the call.
+     *
+     * @param failed        whether the call failed
+     * @param durationNanos the duration of the call
+     */
+    synchronized void release(final boolean failed, final long durationNanos) {
+        concurrentCalls--;
+        if (!config.isCircuitBreakerEnabled()) {
+            return;
+        }
+        var outcome = failed ? FAILED : 0;
+        if (durationNanos >= slowCallNanos) {
+            outcome |= SLOW;
+        }
+        switch (state) {
+            case CLOSED -> recordClosed((byte) outcome);
+            case HALF_OPEN -> recordHalfOpen((byte) outcome);
+            default -> {
+                // Started before the breaker opened, not relevant anymore
+            }
+        }
+    }
+
+    /**
+     * @return the current state of the circuit breaker. An open breaker
+     *         whose open duration has elapsed is reported as half-open.
+     */
+    public synchronized State getState() {
+        return resolveState(System.nanoTime());
+    }
+
+    /**
+     * @return the number of calls rejected so far
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * @return the number of calls currently in progress
+     */
+    public synchronized int getConcurrentCalls() {
+        return concurrentCalls;
+    }
+
+    /**
+     * Registers gauges for state, rejected and concurrent calls at the given
+     * registry, unless already done.
+     *
+     * @param registry to register at, must not be null
+     */
+    void bindTo(final MetricRegistry registry) {
+        if (!boundRegistries.add(requireNonNull(registry))) {
+            return;
+        }
+        final var tag = new Tag(RestClientMetrics.CONNECTION_TAG, connectionId);
+        // A registry keeps the first gauge per id, so the gauges follow a replacing guard
+        registry.gauge(MetricsUtils.createMetricId(STATE, tag), () -> current().getState().ordinal());
+        registry.gauge(MetricsUtils.createMetricId(REJECTED, tag), () -> current().getRejectedCount());
+        registry.gauge(MetricsUtils.createMetricId(CONCURRENT, tag), () -> current().getConcurrentCalls());
+    }
+
+    private State resolveState(final long now) {
+        if (State.OPEN == state && now - openedAt >= openDurationNanos) {
+            transitionTo(State.HALF_OPEN, now);
+        }
+        return state;
+    }
+
+    private void recordClosed(final byte outcome) {
+        if (windowCount == window.length) {
+            final var evicted = window[windowIndex];
+            windowFailures -= evicted & FAILED;
+            windowSlow -= (evicted & SLOW) >> 1;
+        } else {
+            windowCount++;
+        }
+        window[windowIndex] = outcome;
+        windowIndex = (windowIndex + 1) % window.length;
+        windowFailures += outcome & FAILED;
+        windowSlow += (outcome & SLOW) >> 1;
+        if (windowCount >= config.getMinimumCalls() && exceedsThreshold(windowFailures, windowSlow, windowCount)) {
+            transitionTo(State.OPEN, System.nanoTime());
+        }
+    }
+
+    private void recordHalfOpen(final byte outcome) {
+        halfOpenCompleted++;
+        halfOpenFailures += outcome & FAILED;
+        halfOpenSlow += (outcome & SLOW) >> 1;
+        if (halfOpenCompleted >= config.getHalfOpenCalls()) {
+            transitionTo(exceedsThreshold(halfOpenFailures, halfOpenSlow, halfOpenCompleted) ? State.OPEN
+                    : State.CLOSED, System.nanoTime());
+        }
+    }
+
+    private boolean exceedsThreshold(final int failures, final int slow, final int calls) {
+        return config.getFailureRateThreshold() > 0 && failures * 100 >= config.getFailureRateThreshold() * calls
+                || config.getSlowCallRateThreshold() > 0 && slow * 100 >= config.getSlowCallRateThreshold() * calls;
+    }
+
+    private void transitionTo(final State target, final long now) {
+        if (State.OPEN == target) {
+            LOGGER.warn(RestClientLogMessages.WARN.CIRCUIT_BREAKER_OPENED, connectionId);
+            openedAt = now;
+        } else {
+            LOGGER.info(RestClientLogMessages.INFO.CIRCUIT_BREAKER_STATE_CHANGED, connectionId, state, target);
+        }
+        state = target;
+        windowIndex = 0;
+        windowCount = 0;
+        windowFailures = 0;
+        windowSlow = 0;
+        halfOpenPermits = 0;
+        halfOpenCompleted = 0;
+        halfOpenFailures = 0;
+        halfOpenSlow = 0;
+    }
+
+    private void reject(final String cause) {
+        rejected.increment();
+        LOGGER.debug("Rejecting call to connection '%s': %s", connectionId, cause);
+        throw new ProcessingException("Call to connection '" + connectionId + "' rejected: " + cause,
+                new ConnectionException(ErrorReason.CALL_REJECTED));
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.restclient;
+
+import de.cuioss.portal.metrics.utils.MetricsUtils;
+import de.cuioss.tools.logging.CuiLogger;
+import lombok.Getter;
+import org.apache.http.HttpHost;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.DefaultHostnameVerifier;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.ssl.SSLContexts;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.Tag;
+import org.jboss.resteasy.client.jaxrs.ClientHttpEngine;
+import org.jboss.resteasy.client.jaxrs.engines.ApacheHttpClient43Engine;
+
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.SSLContext;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+
+import static de.cuioss.tools.string.MoreStrings.requireNotEmpty;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Creates pooled HTTP engines for the clients of a connection, configured by a
+ * {@link ConnectionPoolConfig}, and exposes the statistics of their pools.
+ *
+ * <p>The engine is the Apache HttpClient 4.3 engine of RESTEasy on top of a
+ * {@link PoolingHttpClientConnectionManager}. It is handed over to RESTEasy
+ * by registering it at the client builder, which uses a registered
+ * {@link ClientHttpEngine} instead of creating its own. As RESTEasy does not
+ * configure a given engine, SSL context, hostname verifier, proxy, redirects and
+ * timeouts are applied here, see {@link Transport}.
+ *
+ * <p>There is one instance per connection, see {@link #forConnection(String)}.
+ * The gauges sum up the pools of all open clients of the connection. The pool
+ * of a client is closed together with the client.
+ *
+ * <p>The class is only loaded if a pool is configured, so the builder itself
+ * does not depend on RESTEasy.
+ */
+final class ConnectionPool {
+
+    private static final CuiLogger LOGGER = new CuiLogger(ConnectionPool.class);
+
+    static final String LEASED = "portal.restclient.pool.leased";
+    static final String AVAILABLE = "portal.restclient.pool.available";
+    static final String PENDING = "portal.restclient.pool.pending";
+    static final String MAX = "portal.restclient.pool.max";
+
+    private static final Map<String, ConnectionPool> INSTANCES = new ConcurrentHashMap<>();
+
+    /**
+     * Transport settings of a client that need to be applied to the engine.
+     *
+     * @param sslContext           may be null for the default
+     * @param hostnameVerifier     may be null for the default
+     * @param proxyHost            may be null for no proxy
+     * @param proxyPort            the port of the proxy, if any
+     * @param followRedirects      whether redirects are followed
+     * @param connectTimeoutMillis 0 for no timeout
+     * @param readTimeoutMillis    0 for no timeout
+     */
+    record Transport(SSLContext sslContext, HostnameVerifier hostnameVerifier, String proxyHost,
+            int proxyPort, boolean followRedirects, long connectTimeoutMillis, long readTimeoutMillis) {
+    }
+
+    @Getter
+    private final String connectionId;
+    private final Set<PoolingHttpClientConnectionManager> managers = Collections.synchronizedSet(
+            Collections.newSetFromMap(new WeakHashMap<>()));
+    private final Set<MetricRegistry> boundRegistries = Collections.synchronizedSet(
+            Collections.newSetFromMap(new WeakHashMap<>()));
+
+    /**
+     * @param connectionId identifying the connection, must not be empty
+     * @return the pool statistics shared by all clients of the given
+     *         connection
+     */
+    static ConnectionPool forConnection(final String connectionId) {
+        return INSTANCES.computeIfAbsent(requireNotEmpty(connectionId), ConnectionPool::new);
+    }
+
+    ConnectionPool(final String connectionId) {
+        this.connectionId = connectionId;
+    }
+
+    /**
+     * @param config    the pool settings, must not be null
+     * @param transport the transport settings of the client, must not be null
+     * @return a new engine with its own pool, closing the pool when closed
+     */
+    // The engine is deprecated for removal, but its supported replacement, the
+    // ClientHttpEngineBuilder43, creates the connection manager internally and
+    // does not expose the pool statistics needed for the gauges
+    @SuppressWarnings("removal")
+    ClientHttpEngine createEngine(final ConnectionPoolConfig config, final Transport transport) {
+        requireNonNull(config);
+        requireNonNull(transport);
+        final var manager = createManager(config, transport);
+        final var requestConfig = RequestConfig.custom()
+                .setConnectTimeout(toTimeout(transport.connectTimeoutMillis()))
+                .setSocketTimeout(toTimeout(transport.readTimeoutMillis()))
+                .setRedirectsEnabled(transport.followRedirects()).build();
+        final var httpClientBuilder = HttpClientBuilder.create().setConnectionManager(manager)
+                .setDefaultRequestConfig(requestConfig);
+        if (null != transport.proxyHost()) {
+            httpClientBuilder.setProxy(new HttpHost(transport.proxyHost(), transport.proxyPort()));
+        }
+        if (config.getIdleTimeoutMillis() > 0) {
+            httpClientBuilder.evictIdleConnections(config.getIdleTimeoutMillis(), TimeUnit.MILLISECONDS)
+                    .evictExpiredConnections();
+        }
+        final var engine = new ApacheHttpClient43Engine(httpClientBuilder.build(), true) {
+
+            @Override
+            public void close() {
+                managers.remove(manager);
+                super.close();
+            }
+        };
+        engine.setFollowRedirects(transport.followRedirects());
+        managers.add(manager);
+        LOGGER.debug("Created pooled engine for connection '%s': %s", connectionId, config);
+        return engine;
+    }
+
+    /**
+     * @return the statistics summed up over the pools of all open clients
+     */
+    PoolStats getTotalStats() {
+        return new PoolStats(sum(PoolStats::getLeased), sum(PoolStats::getPending), sum(PoolStats::getAvailable),
+                sum(PoolStats::getMax));
+    }
+
+    /**
+     * Registers gauges for leased, available, pending and maximum connections
+     * at the given registry, unless already done.
+     *
+     * @param registry to register at, must not be null
+     */
+    void bindTo(final MetricRegistry registry) {
+        if (!boundRegistries.add(requireNonNull(registry))) {
+            return;
+        }
+        final var tag = new Tag(RestClientMetrics.CONNECTION_TAG, connectionId);
+        registry.gauge(MetricsUtils.createMetricId(LEASED, tag), () -> sum(PoolStats::getLeased));
+        registry.gauge(MetricsUtils.createMetricId(AVAILABLE, tag), () -> sum(PoolStats::getAvailable));
+        registry.gauge(MetricsUtils.createMetricId(PENDING, tag), () -> sum(PoolStats::getPending));
+        registry.gauge(MetricsUtils.createMetricId(MAX, tag), () -> sum(PoolStats::getMax));
+    }
+
+    private int sum(final ToIntFunction<PoolStats> value) {
+        final List<PoolingHttpClientConnectionManager> current;
+        synchronized (managers) {
+            current = new ArrayList<>(managers);
+        }
+        var result = 0;
+        for (final PoolingHttpClientConnectionManager manager : current) {
+            result += value.applyAsInt(manager.getTotalStats());
+        }
+        return result;
+    }
+
+    private static PoolingHttpClientConnectionManager createManager(final ConnectionPoolConfig config,
+            final Transport transport) {
+        final var sslContext = null != transport.sslContext() ? transport.sslContext() : SSLContexts.createDefault();
+        final var hostnameVerifier = null != transport.hostnameVerifier() ? transport.hostnameVerifier()
+                : new DefaultHostnameVerifier();
+        final Registry<ConnectionSocketFactory> socketFactories = RegistryBuilder.<ConnectionSocketFactory>create()
+                .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                .register("https", new SSLConnectionSocketFactory(sslContext, hostnameVerifier)).build();
+        final var manager = new PoolingHttpClientConnectionManager(socketFactories, null, null, null,
+                config.getTimeToLiveMillis() > 0 ? config.getTimeToLiveMillis() : -1, TimeUnit.MILLISECONDS);
+        manager.setMaxTotal(config.resolveMaxConnections());
+        manager.setDefaultMaxPerRoute(config.resolveMaxConnectionsPerRoute());
+        return manager;
+    }
+
+    private static int toTimeout(final long millis) {
+        // -1 is the 'undefined' of HttpClient, resulting in the system default
+        return millis > 0 ? (int) Math.min(millis, Integer.MAX_VALUE) : -1;
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.restclient;
+
+import de.cuioss.portal.configuration.connections.impl.ConnectionMetadata;
+import lombok.Builder;
+import lombok.Value;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+
+import static de.cuioss.tools.base.Preconditions.checkArgument;
+
+/**
+ * Connection pool settings of a REST client, applied by {@link ConnectionPool}.
+ *
+ * <p>Usually created from a {@link ConnectionMetadata} by
+ * {@link #fromConnectionMetadata(ConnectionMetadata)}. If
+ * {@link #isEnabled()} is {@code false} the client keeps the pool of the
+ * underlying implementation.
+ *
+ * @see CuiRestClientBuilder#connectionPool(ConnectionPoolConfig)
+ */
+@Value
+@Builder(toBuilder = true)
+public class ConnectionPoolConfig implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 5210771263538434713L;
+
+    /**
+     * Default for {@link #getMaxConnections()}, same as the one of RESTEasy.
+     */
+    public static final int DEFAULT_MAX_CONNECTIONS = 50;
+
+    /**
+     * The pool of the underlying implementation is used.
+     */
+    public static final ConnectionPoolConfig DISABLED = builder().build();
+
+    /**
+     * Maximum number of pooled connections, 0 for
+     * {@link #DEFAULT_MAX_CONNECTIONS}.
+     */
+    int maxConnections;
+
+    /**
+     * Maximum number of pooled connections per target host, 0 for
+     * {@link #getMaxConnections()}.
+     */
+    int maxConnectionsPerRoute;
+
+    /**
+     * Time in milliseconds after which a pooled connection is not reused, 0
+     * for unlimited.
+     */
+    long timeToLiveMillis;
+
+    /**
+     * Time in milliseconds after which an idle pooled connection is closed,
+     * 0 to keep it until closed by the server.
+     */
+    long idleTimeoutMillis;
+
+    private ConnectionPoolConfig(final int maxConnections, final int maxConnectionsPerRoute,
+            final long timeToLiveMillis, final long idleTimeoutMillis) {
+        checkArgument(maxConnections >= 0, "maxConnections must not be negative");
+        checkArgument(maxConnectionsPerRoute >= 0, "maxConnectionsPerRoute must not be negative");
+        checkArgument(timeToLiveMillis >= 0, "timeToLiveMillis must not be negative");
+        checkArgument(idleTimeoutMillis >= 0, "idleTimeoutMillis must not be negative");
+        this.maxConnections = maxConnections;
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+        this.timeToLiveMillis = timeToLiveMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+    }
+
+    /**
+     * @return {@code true} if at least one setting deviates from the
+     *         defaults of the underlying implementation
+     */
+    public boolean isEnabled() {
+        return maxConnections > 0 || maxConnectionsPerRoute > 0 || timeToLiveMillis > 0 || idleTimeoutMillis > 0;
+    }
+
+    /**
+     * @return the effective maximum number of pooled connections
+     */
+    int resolveMaxConnections() {
+        return maxConnections > 0 ? maxConnections : DEFAULT_MAX_CONNECTIONS;
+    }
+
+    /**
+     * @return the effective maximum number of pooled connections per target
+     *         host
+     */
+    int resolveMaxConnectionsPerRoute() {
+        return maxConnectionsPerRoute > 0 ? maxConnectionsPerRoute : resolveMaxConnections();
+    }
+
+    /**
+     * @param metadata to be read, must not be null
+     * @return the configuration, {@link #DISABLED} if no pool setting is
+     *         configured
+     */
+    public static ConnectionPoolConfig fromConnectionMetadata(final ConnectionMetadata metadata) {
+        if (!metadata.isConnectionPoolConfigured()) {
+            return DISABLED;
+        }
+        return builder().maxConnections(metadata.getMaxConnections())
+                .maxConnectionsPerRoute(metadata.getMaxConnectionsPerRoute())
+                .timeToLiveMillis(TimeUnit.SECONDS.toMillis(metadata.getConnectionTimeToLive()))
+                .idleTimeoutMillis(TimeUnit.SECONDS.toMillis(metadata.getIdleConnectionTimeout())).build();
+    }
+}
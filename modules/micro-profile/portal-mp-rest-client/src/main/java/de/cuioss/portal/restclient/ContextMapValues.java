@@ -0,0 +1,98 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.restclient;
+
+import de.cuioss.tools.logging.CuiLogger;
+import de.cuioss.tools.string.Splitter;
+import lombok.experimental.UtilityClass;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Lenient accessors for the settings a REST client reads from the context map
+ * of a {@link de.cuioss.portal.configuration.connections.impl.ConnectionMetadata}.
+ * Invalid values are logged and replaced by the given default.
+ */
+@UtilityClass
+class ContextMapValues {
+
+    private static final CuiLogger LOGGER = new CuiLogger(ContextMapValues.class);
+
+    static boolean readBoolean(final Map<? extends Serializable, ? extends Serializable> contextMap,
+            final String key, final boolean defaultValue) {
+        final var value = contextMap.get(key);
+        return null == value ? defaultValue : Boolean.parseBoolean(String.valueOf(value).trim());
+    }
+
+    static int readInt(final Map<? extends Serializable, ? extends Serializable> contextMap, final String key,
+            final int defaultValue, final int min, final int max) {
+        final var value = contextMap.get(key);
+        if (null == value) {
+            return defaultValue;
+        }
+        try {
+            final var parsed = Integer.parseInt(String.valueOf(value).trim());
+            if (parsed >= min && parsed <= max) {
+                return parsed;
+            }
+        } catch (NumberFormatException e) {
+            LOGGER.trace(e, "Not a number: %s", value);
+        }
+        warnInvalid(key, value);
+        return defaultValue;
+    }
+
+    static double readDouble(final Map<? extends Serializable, ? extends Serializable> contextMap, final String key,
+            final double defaultValue, final double min, final double max) {
+        final var value = contextMap.get(key);
+        if (null == value) {
+            return defaultValue;
+        }
+        try {
+            final var parsed = Double.parseDouble(String.valueOf(value).trim());
+            if (parsed >= min && parsed <= max) {
+                return parsed;
+            }
+        } catch (NumberFormatException e) {
+            LOGGER.trace(e, "Not a number: %s", value);
+        }
+        warnInvalid(key, value);
+        return defaultValue;
+    }
+
+    /**
+     * @return the comma separated, trimmed and non-empty elements of the
+     *         value, if present
+     */
+    static Optional<List<String>> readList(final Map<? extends Serializable, ? extends Serializable> contextMap,
+            final String key) {
+        final var value = contextMap.get(key);
+        if (null == value) {
+            return Optional.empty();
+        }
+        return Optional.of(Splitter.on(',').trimResults().omitEmptyStrings().splitToList(String.valueOf(value)));
+    }
+
+    /**
+     * Logs the given value as invalid.
+     */
+    static void warnInvalid(final String key, final Object value) {
+        LOGGER.warn(RestClientLogMessages.WARN.INVALID_CONNECTION_CONFIGURATION, key, value);
+    }
+}
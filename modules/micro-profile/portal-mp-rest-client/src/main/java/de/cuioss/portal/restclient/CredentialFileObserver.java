@@ -0,0 +1,59 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.restclient;
+
+import de.cuioss.portal.common.cdi.PortalBeanManager;
+import de.cuioss.portal.configuration.schedule.FileChangedEvent;
+import de.cuioss.portal.configuration.schedule.FileWatcherService;
+import de.cuioss.portal.configuration.schedule.PortalFileWatcherService;
+import de.cuioss.tools.logging.CuiLogger;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+
+import java.nio.file.Path;
+
+/**
+ * Refreshes the {@link RefreshingCredentialProvider}s backed by a secret file
+ * when the {@link FileWatcherService} reports a change of that file.
+ */
+@ApplicationScoped
+public class CredentialFileObserver {
+
+    private static final CuiLogger LOGGER = new CuiLogger(CredentialFileObserver.class);
+
+    void onFileChanged(@Observes @FileChangedEvent final Path path) {
+        LOGGER.debug("Refreshing credentials backed by '%s'", path);
+        RefreshingCredentialProvider.refreshAll(path);
+    }
+
+    /**
+     * Registers the secret file of the given provider at the
+     * {@link PortalFileWatcherService}, if present. Outside a CDI container
+     * the provider is only refreshed explicitly.
+     *
+     * @param provider to be watched, must not be null
+     */
+    static void watch(final RefreshingCredentialProvider provider) {
+        provider.getSecretFile().ifPresent(file -> {
+            try {
+                PortalBeanManager.resolveBean(FileWatcherService.class, PortalFileWatcherService.class)
+                        .ifPresent(watcher -> watcher.register(file));
+            } catch (IllegalStateException | IllegalArgumentException e) {
+                LOGGER.debug(e, "Unable to watch '%s' for credential changes", file);
+            }
+        });
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.restclient;
+
+/**
+ * Supplies the authentication header of a REST client, used by
+ * {@link BasicAuthenticationFilter} and {@link TokenFilter}.
+ *
+ * <p>{@link #getHeaderValue()} is called on every request. Implementations
+ * should therefore precompute the value and only recompute it when the
+ * underlying credentials change, see {@link RefreshingCredentialProvider}.
+ */
+public interface CredentialProvider {
+
+    /**
+     * @return the name of the header, e.g. {@code Authorization}, never null
+     */
+    String getHeaderName();
+
+    /**
+     * @return the complete value of the header, e.g. {@code Basic dXNlcjpwYXNz}.
+     *         If null, no header is added.
+     */
+    String getHeaderValue();
+}
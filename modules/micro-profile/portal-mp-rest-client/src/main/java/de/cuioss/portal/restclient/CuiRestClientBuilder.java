@@ -15,13 +15,19 @@
  */
 package de.cuioss.portal.restclient;
 
+import de.cuioss.portal.common.cdi.PortalBeanManager;
+import de.cuioss.portal.configuration.MetricsConfigKeys;
+import de.cuioss.portal.configuration.cache.CacheConfig;
 import de.cuioss.portal.configuration.connections.impl.ConnectionMetadata;
+import de.cuioss.portal.configuration.connections.impl.ConnectionMetadataKeys;
+import de.cuioss.portal.configuration.util.ConfigurationHelper;
 import de.cuioss.portal.configuration.types.ConfigAsConnectionMetadata;
 import de.cuioss.tools.logging.CuiLogger;
 import de.cuioss.tools.string.MoreStrings;
 import jakarta.ws.rs.core.Configurable;
 import jakarta.ws.rs.core.Configuration;
 import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.metrics.MetricRegistry;
 import org.eclipse.microprofile.rest.client.RestClientBuilder;
 import org.eclipse.microprofile.rest.client.ext.QueryParamStyle;
 import org.eclipse.microprofile.rest.client.ext.ResponseExceptionMapper;
@@ -33,9 +39,14 @@ import java.io.Serializable;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
+import java.nio.file.Path;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
+import static de.cuioss.tools.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
 /**
  * Implementation of MicroProfile REST Client builder for the Portal environment.
  * Provides configuration and integration with Portal's authentication and
@@ -66,6 +77,25 @@ public class CuiRestClientBuilder {
 
     private final RestClientBuilder mpRestClientBuilder;
     private boolean traceLogEnabled;
+    private int traceLogMaxBodyBytes = LogReaderInterceptor.DEFAULT_MAX_BODY_BYTES;
+    private TraceLogSampling traceLogSampling = TraceLogSampling.DISABLED;
+    private ExchangeHistory exchangeHistory;
+    private ResilienceConfig resilience = ResilienceConfig.DISABLED;
+    private ConnectionGuard connectionGuard;
+    private RetryConfig retry = RetryConfig.DISABLED;
+    private CacheConfig responseCache;
+    private boolean coalesceRequests;
+    private ConnectionPoolConfig connectionPool = ConnectionPoolConfig.DISABLED;
+    private SSLContext sslContext;
+    private HostnameVerifier hostnameVerifier;
+    private String proxyHost;
+    private int proxyPort;
+    private boolean followRedirects;
+    private MetricRegistry metricRegistry;
+    private Boolean metricsEnabled;
+    private String connectionId;
+    private long connectTimeoutNanos;
+    private long readTimeoutNanos;
     private final CuiLogger givenLogger;
 
     /**
@@ -94,6 +124,18 @@ public class CuiRestClientBuilder {
         disableDefaultExceptionHandler();
     }
 
+    /**
+     * Default period after which a request without response is no longer
+     * counted as in-flight, if neither connect nor read timeout is set.
+     */
+    private static final long DEFAULT_STALE_AFTER_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    /**
+     * Maximum time a coalesced request waits for the shared response, if no
+     * read timeout is set.
+     */
+    private static final long DEFAULT_COALESCING_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(30);
+
     /**
      * Debugs a given Response to the given logger
      *
@@ -127,11 +169,17 @@ public class CuiRestClientBuilder {
      * <li>service url</li>
      * <li>tracing enabled</li>
      * <li>ssl context</li>
-     * <li>login credentials</li>
+     * <li>login credentials, re-read on change if taken from a secret file, see
+     * {@link RefreshingCredentialProvider}</li>
+     * <li>token of the current user, resolved once per request, see
+     * {@link UserTokenCredentialProvider}</li>
      * <li>context map</li>
      * <li>hostname verifier</li>
      * <li>connection timeout</li>
      * <li>read timeout</li>
+     * <li>connection id for metrics</li>
+     * <li>trace-log sampling, see {@link TraceLogSampling#fromContextMap(Map)}</li>
+     * <li>connection pool, see {@link ConnectionPoolConfig#fromConnectionMetadata(ConnectionMetadata)}</li>
      * </ul>
      *
      * @return this builder
@@ -139,15 +187,39 @@ public class CuiRestClientBuilder {
     @SuppressWarnings("squid:S3510") // owolff: False Positive, By design
     public CuiRestClientBuilder connectionMetadata(final ConnectionMetadata connectionMeta) {
         url(connectionMeta.getServiceUrl());
+        if (!MoreStrings.isBlank(connectionMeta.getConnectionId())) {
+            connectionId(connectionMeta.getConnectionId());
+        }
 
         sslContext(connectionMeta.resolveSSLContext());
         switch (connectionMeta.getAuthenticationType()) {
             case BASIC:
-                basicAuth(connectionMeta.getLoginCredentials().getUsername(),
-                        connectionMeta.getLoginCredentials().getPassword());
+                if (MoreStrings.isBlank(connectionMeta.getSecretFile())) {
+                    basicAuth(connectionMeta.getLoginCredentials().getUsername(),
+                            connectionMeta.getLoginCredentials().getPassword());
+                } else {
+                    // The secret has already been read, the file is only needed for refreshing it
+                    final var credentials = connectionMeta.getLoginCredentials();
+                    mpRestClientBuilder.register(new BasicAuthenticationFilter(watched(RefreshingCredentialProvider
+                            .basic(credentials.getUsername(), credentials.getPassword(),
+                                    Path.of(connectionMeta.getSecretFile())))));
+                }
                 break;
             case TOKEN_APPLICATION:
-                mpRestClientBuilder.register(new TokenFilter(connectionMeta.getTokenResolver()));
+                if (MoreStrings.isBlank(connectionMeta.getSecretFile())) {
+                    mpRestClientBuilder.register(new TokenFilter(connectionMeta.getTokenResolver()));
+                } else {
+                    final var tokenResolver = connectionMeta.getTokenResolver();
+                    mpRestClientBuilder.register(new TokenFilter(watched(RefreshingCredentialProvider.token(
+                            tokenResolver.getKey(), tokenResolver.resolve(),
+                            Path.of(connectionMeta.getSecretFile())))));
+                }
+                break;
+            case TOKEN_FROM_USER:
+                if (null != connectionMeta.getTokenResolver()) {
+                    mpRestClientBuilder.register(
+                            new TokenFilter(new UserTokenCredentialProvider(connectionMeta.getTokenResolver())));
+                }
                 break;
             default:
                 break;
@@ -169,9 +241,21 @@ public class CuiRestClientBuilder {
                 && connectionMeta.getProxyPort() > 0) {
             proxyAddress(connectionMeta.getProxyHost(), connectionMeta.getProxyPort());
         }
+        traceLogSampling(TraceLogSampling.fromContextMap(connectionMeta.getContextMap()));
+        resilience(ResilienceConfig.fromContextMap(connectionMeta.getContextMap()));
+        retry(RetryConfig.fromContextMap(connectionMeta.getContextMap()));
+        ResponseCacheFilter.readConfig(connectionMeta.getContextMap()).ifPresent(this::responseCache);
+        coalesceRequests(ContextMapValues.readBoolean(connectionMeta.getContextMap(),
+                ConnectionMetadataKeys.COALESCE_REQUESTS, false));
+        connectionPool(ConnectionPoolConfig.fromConnectionMetadata(connectionMeta));
         return this;
     }
 
+    private static RefreshingCredentialProvider watched(final RefreshingCredentialProvider provider) {
+        CredentialFileObserver.watch(provider);
+        return provider;
+    }
+
     /**
      * @param value Enable|Disable trace logging capabilities for this REST client.
      *              Defaults to {@link CuiLogger#isTraceEnabled()} for the given
@@ -186,6 +270,151 @@ public class CuiRestClientBuilder {
         return this;
     }
 
+    /**
+     * @param maxBodyBytes the maximum number of bytes of a response body to be
+     *                     trace-logged, must be positive. Defaults to
+     *                     {@value LogReaderInterceptor#DEFAULT_MAX_BODY_BYTES}.
+     *                     The remainder is passed to the reader without being
+     *                     captured.
+     * @return this builder
+     * @see LogReaderInterceptor
+     */
+    public CuiRestClientBuilder traceLogMaxBodyBytes(final int maxBodyBytes) {
+        checkArgument(maxBodyBytes > 0, "maxBodyBytes must be positive");
+        traceLogMaxBodyBytes = maxBodyBytes;
+        return this;
+    }
+
+    /**
+     * Enables sampled trace-logging and / or the recording of recent exchanges.
+     * Sampling is only effective if {@link #traceLogEnabled(boolean)} is not
+     * set, which logs every exchange anyway. The history is recorded in
+     * either case.
+     *
+     * @param sampling to be applied, must not be null
+     * @return this builder
+     * @see #getExchangeHistory()
+     */
+    public CuiRestClientBuilder traceLogSampling(final TraceLogSampling sampling) {
+        traceLogSampling = requireNonNull(sampling);
+        return this;
+    }
+
+    /**
+     * @return the history of the client created by the last call to
+     *         {@link #build(Class)}, if {@link TraceLogSampling#getHistorySize()}
+     *         is positive
+     */
+    public Optional<ExchangeHistory> getExchangeHistory() {
+        return Optional.ofNullable(exchangeHistory);
+    }
+
+    /**
+     * Enables the bulkhead and / or circuit breaker for the connection. All
+     * clients built with the same connection id and configuration share one
+     * {@link ConnectionGuard}.
+     *
+     * @param config to be applied, must not be null
+     * @return this builder
+     * @see #getConnectionGuard()
+     */
+    public CuiRestClientBuilder resilience(final ResilienceConfig config) {
+        resilience = requireNonNull(config);
+        return this;
+    }
+
+    /**
+     * @return the guard of the client created by the last call to
+     *         {@link #build(Class)}, if {@link ResilienceConfig#isEnabled()}
+     */
+    public Optional<ConnectionGuard> getConnectionGuard() {
+        return Optional.ofNullable(connectionGuard);
+    }
+
+    /**
+     * Enables retrying failed calls of idempotent or {@link Retryable} methods.
+     * {@link RetryConfig#getMaxDurationMillis()}, if set, limits the overall
+     * time of all attempts, each assumed to take the connect and read timeout.
+     *
+     * @param config to be applied, must not be null
+     * @return this builder
+     */
+    public CuiRestClientBuilder retry(final RetryConfig config) {
+        retry = requireNonNull(config);
+        return this;
+    }
+
+    /**
+     * Enables a client-side HTTP cache for {@code GET} requests, honouring
+     * {@code Cache-Control}, {@code ETag} and {@code Last-Modified}, see
+     * {@link ResponseCacheFilter}.
+     *
+     * @param config defining the maximum number of responses and how long they
+     *               are kept at most, may be null to disable the cache
+     * @return this builder
+     */
+    public CuiRestClientBuilder responseCache(final CacheConfig config) {
+        responseCache = config;
+        return this;
+    }
+
+    /**
+     * @param value Enable|Disable sharing one upstream call between identical
+     *              concurrent {@code GET} requests of the same identity, see
+     *              {@link RequestCoalescingFilter}. Defaults to {@code false}.
+     * @return this builder
+     */
+    public CuiRestClientBuilder coalesceRequests(final boolean value) {
+        coalesceRequests = value;
+        return this;
+    }
+
+    /**
+     * @param config the connection pool settings, see {@link ConnectionPool}.
+     *               Defaults to {@link ConnectionPoolConfig#DISABLED}, i.e.
+     *               the pool of the underlying implementation.
+     * @return this builder
+     */
+    public CuiRestClientBuilder connectionPool(final ConnectionPoolConfig config) {
+        connectionPool = requireNonNull(config);
+        return this;
+    }
+
+    /**
+     * @param registry to record the client metrics at. If not set, the
+     *                 {@link MetricRegistry} bean is looked up on
+     *                 {@link #build(Class)}.
+     * @return this builder
+     * @see #metricsEnabled(boolean)
+     */
+    public CuiRestClientBuilder metricRegistry(final MetricRegistry registry) {
+        metricRegistry = registry;
+        return this;
+    }
+
+    /**
+     * @param value Enable|Disable the client metrics, see {@link RestClientMetrics}.
+     *              Defaults to
+     *              {@link MetricsConfigKeys#PORTAL_METRICS_ENABLED}.
+     * @return this builder
+     */
+    public CuiRestClientBuilder metricsEnabled(final boolean value) {
+        metricsEnabled = value;
+        return this;
+    }
+
+    /**
+     * @param connectionId identifying the connection in metrics and for the
+     *                     {@link ConnectionGuard}. Set by
+     *                     {@link #connectionMetadata(ConnectionMetadata)},
+     *                     defaults to the simple name of the service interface.
+     * @return this builder
+     */
+    public CuiRestClientBuilder connectionId(final String connectionId) {
+        this.connectionId = connectionId;
+        return this;
+    }
+
     /**
      * @param component to be registered
      * @return this builder
@@ -337,6 +566,7 @@ public class CuiRestClientBuilder {
      */
     public CuiRestClientBuilder sslContext(final SSLContext sslContext) {
         mpRestClientBuilder.sslContext(sslContext);
+        this.sslContext = sslContext;
         return this;
     }
 
@@ -349,6 +579,7 @@ public class CuiRestClientBuilder {
      */
     public CuiRestClientBuilder connectTimeout(long amount, TimeUnit timeUnit) {
         mpRestClientBuilder.connectTimeout(amount, timeUnit);
+        connectTimeoutNanos = timeUnit.toNanos(amount);
         return this;
     }
 
@@ -361,6 +592,7 @@ public class CuiRestClientBuilder {
      */
     public CuiRestClientBuilder readTimeout(long amount, TimeUnit timeUnit) {
         mpRestClientBuilder.readTimeout(amount, timeUnit);
+        readTimeoutNanos = timeUnit.toNanos(amount);
         return this;
     }
 
@@ -384,6 +616,8 @@ public class CuiRestClientBuilder {
      */
     public CuiRestClientBuilder proxyAddress(String host, int port) {
         mpRestClientBuilder.proxyAddress(host, port);
+        proxyHost = host;
+        proxyPort = port;
         return this;
     }
 
@@ -395,6 +629,7 @@ public class CuiRestClientBuilder {
      */
     public CuiRestClientBuilder followRedirects(boolean followRedirects) {
         mpRestClientBuilder.followRedirects(followRedirects);
+        this.followRedirects = followRedirects;
         return this;
     }
 
@@ -406,6 +641,7 @@ public class CuiRestClientBuilder {
      */
     public CuiRestClientBuilder hostnameVerifier(HostnameVerifier hostnameVerifier) {
         mpRestClientBuilder.hostnameVerifier(hostnameVerifier);
+        this.hostnameVerifier = hostnameVerifier;
         return this;
     }
 
@@ -418,7 +654,16 @@ public class CuiRestClientBuilder {
 
     /**
      * Create an implementation of the service interface T using the rest client.
-     * If {@code traceLogEnabled} it implicitly registers a {@link LogClientRequestFilter} two {@link LogClientResponseFilter} and a {@link LogReaderInterceptor}
+     * If {@code traceLogEnabled} it implicitly registers a {@link LogClientRequestFilter} two {@link LogClientResponseFilter} and a {@link LogReaderInterceptor}.
+     * The same is done for a {@link TraceLogSampling} that is logging, together with a {@link TraceLogSampler}
+     * that decides which exchanges are logged.
+     * If metrics are enabled and a {@link MetricRegistry} is available, it registers {@link RestClientMetrics} and
+     * wraps the client by a proxy recording calls failing without response.
+     * If {@link ConnectionPoolConfig#isEnabled()}, the client uses its own pooled engine created by the
+     * {@link ConnectionPool} of the connection.
+     * If requests are coalesced, the client is wrapped by a proxy ending the flights of calls failing without response.
+     * If {@link ResilienceConfig#isEnabled()}, the client is wrapped by a proxy applying the {@link ConnectionGuard}
+     * of the connection. If {@link RetryConfig#isEnabled()}, it is wrapped by a proxy retrying failed calls.
      *
      * @param clazz the service interface which also must extend
      *              {@link java.io.Closeable}
@@ -427,7 +672,15 @@ public class CuiRestClientBuilder {
      */
     public <T extends Closeable> T build(final Class<T> clazz) {
         LOGGER.debug("Building REST client for class: %s", clazz.getName());
-        if (traceLogEnabled) {
+        final var sampled = !traceLogEnabled && traceLogSampling.isLogging();
+        exchangeHistory = traceLogSampling.getHistorySize() > 0
+                ? new ExchangeHistory(traceLogSampling.getHistorySize())
+                : null;
+        if (sampled || null != exchangeHistory) {
+            LOGGER.debug("Configuring trace-log sampling: %s", traceLogSampling);
+            register(new TraceLogSampler(traceLogSampling, traceLogEnabled, exchangeHistory));
+        }
+        if (traceLogEnabled || sampled) {
             LOGGER.debug("Configuring trace-logging");
             register(new LogClientRequestFilter(givenLogger));
 
@@ -438,9 +691,101 @@ public class CuiRestClientBuilder {
             register(new LogClientResponseFilter(givenLogger, "Last ClientResponseFilter") {
 
             }, Integer.MIN_VALUE);
-            register(new LogReaderInterceptor(givenLogger));
+            register(new LogReaderInterceptor(givenLogger, traceLogMaxBodyBytes));
+        }
+
+        if (null != responseCache && responseCache.getSize() > 0) {
+            LOGGER.debug("Configuring response cache: %s", responseCache);
+            register(new ResponseCacheFilter(responseCache));
+        }
+        final var coalescingFilter = coalesceRequests ? new RequestCoalescingFilter(
+                readTimeoutNanos > 0 ? readTimeoutNanos : DEFAULT_COALESCING_TIMEOUT_NANOS) : null;
+        if (null != coalescingFilter) {
+            LOGGER.debug("Configuring request coalescing");
+            register(coalescingFilter);
+            register(coalescingFilter.asyncInterceptorFactory());
+        }
+
+        final var id = resolveConnectionId(clazz);
+        final var registry = resolveMetricRegistry();
+        final var metrics = registry.map(value -> registerMetrics(value, id)).orElse(null);
+        if (connectionPool.isEnabled()) {
+            LOGGER.debug("Configuring connection pool for connection '%s': %s", id, connectionPool);
+            final var pool = ConnectionPool.forConnection(id);
+            registry.ifPresent(pool::bindTo);
+            // RESTEasy uses an engine registered as provider instance for the client
+            mpRestClientBuilder.register(pool.createEngine(connectionPool,
+                    new ConnectionPool.Transport(sslContext, hostnameVerifier, proxyHost, proxyPort, followRedirects,
+                            TimeUnit.NANOSECONDS.toMillis(connectTimeoutNanos),
+                            TimeUnit.NANOSECONDS.toMillis(readTimeoutNanos))));
+        }
+        var client = mpRestClientBuilder.build(clazz);
+        if (null != metrics) {
+            client = MeteredInvocationHandler.wrap(clazz, client, metrics);
+        }
+        if (null != coalescingFilter) {
+            client = CoalescingInvocationHandler.wrap(clazz, client, coalescingFilter);
+        }
+
+        connectionGuard = resilience.isEnabled() ? ConnectionGuard.forConnection(id, resilience) : null;
+        if (null != connectionGuard) {
+            LOGGER.debug("Configuring connection guard for connection '%s': %s", id, resilience);
+            registry.ifPresent(connectionGuard::bindTo);
+            client = GuardedInvocationHandler.wrap(clazz, client, connectionGuard);
+        }
+        if (retry.isEnabled()) {
+            LOGGER.debug("Configuring retry for connection '%s': %s", id, retry);
+            client = RetryInvocationHandler.wrap(clazz, client, retry, connectTimeoutNanos + readTimeoutNanos);
+        }
+        return client;
+    }
+
+    private String resolveConnectionId(final Class<?> clazz) {
+        return MoreStrings.isBlank(connectionId) ? clazz.getSimpleName() : connectionId;
+    }
+
+    /**
+     * @return the registry to record metrics at, empty if metrics are disabled
+     *         or there is no registry
+     */
+    private Optional<MetricRegistry> resolveMetricRegistry() {
+        final var enabled = null != metricsEnabled ? metricsEnabled : resolveMetricsEnabled();
+        if (!enabled) {
+            return Optional.empty();
+        }
+        final var registry = Optional.ofNullable(metricRegistry).or(CuiRestClientBuilder::lookupMetricRegistry);
+        if (registry.isEmpty()) {
+            LOGGER.debug("Metrics enabled, but no MetricRegistry available, skipping client metrics");
+        }
+        return registry;
+    }
+
+    private RestClientMetrics registerMetrics(final MetricRegistry registry, final String id) {
+        final var timeouts = connectTimeoutNanos + readTimeoutNanos;
+        LOGGER.debug("Configuring client metrics for connection '%s'", id);
+        final var metrics = RestClientMetrics.forConnection(registry, id,
+                timeouts > 0 ? timeouts : DEFAULT_STALE_AFTER_NANOS);
+        register(metrics);
+        register(metrics.asyncInterceptorFactory());
+        return metrics;
+    }
+
+    private static boolean resolveMetricsEnabled() {
+        try {
+            return ConfigurationHelper.resolveConfigProperty(MetricsConfigKeys.PORTAL_METRICS_ENABLED)
+                    .map(Boolean::parseBoolean).orElse(false);
+        } catch (IllegalStateException e) {
+            LOGGER.debug(e, "Unable to resolve %s", MetricsConfigKeys.PORTAL_METRICS_ENABLED);
+            return false;
         }
+    }
 
-        return mpRestClientBuilder.build(clazz);
+    private static Optional<MetricRegistry> lookupMetricRegistry() {
+        try {
+            return PortalBeanManager.resolveBean(MetricRegistry.class, null);
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            LOGGER.debug(e, "Unable to look up MetricRegistry");
+            return Optional.empty();
+        }
     }
 }
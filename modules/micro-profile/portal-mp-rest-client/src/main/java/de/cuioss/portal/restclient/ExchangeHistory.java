@@ -0,0 +1,120 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.restclient;
+
+import lombok.Getter;
+
+import java.net.URI;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static de.cuioss.tools.base.Preconditions.checkArgument;
+
+/**
+ * Ring buffer of the most recent exchanges of a single REST client, to be
+ * dumped on demand, e.g. while debugging a partner API.
+ *
+ * <p>Recording an exchange stores a single immutable {@link Exchange} into a
+ * fixed size array without locking or formatting. Formatting happens only in
+ * {@link #dump()}. Exchanges that fail before a response is received, e.g. on
+ * connection errors, are not recorded.
+ *
+ * <p>Obtained via {@link RestClientHolder#getExchangeHistory()} or
+ * {@link CuiRestClientBuilder#getExchangeHistory()} if
+ * {@link TraceLogSampling#getHistorySize()} is positive.
+ */
+public final class ExchangeHistory {
+
+    /**
+     * A single recorded exchange.
+     *
+     * @param timestamp      when the response was received
+     * @param method         the HTTP method
+     * @param uri            the request URI
+     * @param status         the response status code
+     * @param durationMillis the time between sending the request and receiving
+     *                       the response
+     * @param traced         whether the exchange was trace-logged
+     */
+    public record Exchange(Instant timestamp, String method, URI uri, int status, long durationMillis,
+            boolean traced) {
+
+        @Override
+        public String toString() {
+            return timestamp + " " + method + " " + uri + " -> " + status + " (" + durationMillis + " ms"
+                    + (traced ? ", traced)" : ")");
+        }
+    }
+
+    @Getter
+    private final int capacity;
+    private final AtomicReferenceArray<Exchange> ring;
+    private final AtomicLong recorded = new AtomicLong();
+
+    /**
+     * @param capacity the number of exchanges to be kept, must be positive
+     */
+    public ExchangeHistory(final int capacity) {
+        checkArgument(capacity > 0, "capacity must be positive");
+        this.capacity = capacity;
+        ring = new AtomicReferenceArray<>(capacity);
+    }
+
+    void record(final Exchange exchange) {
+        ring.set((int) (recorded.getAndIncrement() % capacity), exchange);
+    }
+
+    /**
+     * @return the total number of exchanges recorded so far, including the
+     *         ones already overwritten
+     */
+    public long getRecordedCount() {
+        return recorded.get();
+    }
+
+    /**
+     * @return the retained exchanges, oldest first. Exchanges recorded
+     *         concurrently to this call may or may not be contained.
+     */
+    public List<Exchange> getExchanges() {
+        final var end = recorded.get();
+        final var start = Math.max(0, end - capacity);
+        final List<Exchange> result = new ArrayList<>((int) (end - start));
+        for (var index = start; index < end; index++) {
+            final var exchange = ring.get((int) (index % capacity));
+            if (null != exchange) {
+                result.add(exchange);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the retained exchanges, one per line, oldest first
+     */
+    public String dump() {
+        final var builder = new StringBuilder();
+        builder.append("-- Last ").append(capacity).append(" exchanges, ").append(getRecordedCount())
+                .append(" recorded --");
+        for (final Exchange exchange : getExchanges()) {
+            builder.append('\n').append(exchange);
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.restclient;
+
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Response;
+
+import java.io.Closeable;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Future;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Routes all service calls of a REST client through a {@link ConnectionGuard}.
+ *
+ * <p>A proxy is used instead of client filters, because filters do not see
+ * calls that fail before a response is received, e.g. on connection refused
+ * or timeouts, which are exactly the failures a circuit breaker has to count.
+ *
+ * <p>A call counts as failed if it throws, with the exception of a
+ * {@link WebApplicationException} with a status below 500, or if it returns a
+ * {@link Response} with a status of 500 or above.
+ *
+ * <p>For asynchronous methods returning a {@link CompletionStage} the permit
+ * is held and the outcome recorded when the stage completes, the same rules
+ * applying to its result or exception. Other asynchronous return types, i.e.
+ * {@link Future}, are rejected when the proxy is created, because their
+ * completion can not be observed.
+ *
+ * <p>The guard is resolved per call, see {@link ConnectionGuard#current()},
+ * so clients built before a configuration change apply the replacing guard.
+ */
+final class GuardedInvocationHandler implements InvocationHandler {
+
+    private static final int SERVER_ERROR = 500;
+
+    private final Object delegate;
+    private final ConnectionGuard guard;
+
+    private GuardedInvocationHandler(final Object delegate, final ConnectionGuard guard) {
+        this.delegate = requireNonNull(delegate);
+        this.guard = requireNonNull(guard);
+    }
+
+    /**
+     * @param serviceInterface the interface of the client, must not be null
+     * @param delegate         the client to be guarded, must not be null
+     * @param guard            to be applied, must not be null
+     * @return a proxy implementing the given interface and {@link Closeable}
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T wrap(final Class<T> serviceInterface, final T delegate, final ConnectionGuard guard) {
+        for (final Method method : serviceInterface.getMethods()) {
+            if (Future.class.isAssignableFrom(method.getReturnType())
+                    && !CompletionStage.class.isAssignableFrom(method.getReturnType())) {
+                throw new IllegalArgumentException("Method " + method + " can not be guarded, asynchronous calls "
+                        + "are only supported for " + CompletionStage.class.getName());
+            }
+        }
+        return (T) Proxy.newProxyInstance(serviceInterface.getClassLoader(),
+                new Class<?>[]{serviceInterface, Closeable.class}, new GuardedInvocationHandler(delegate, guard));
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+        if (isClose(method)) {
+            if (delegate instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+            return null;
+        }
+        if (Object.class.equals(method.getDeclaringClass())) {
+            return invokeDelegate(method, args);
+        }
+        final var current = guard.current();
+        current.acquire();
+        final var start = System.nanoTime();
+        var released = false;
+        try {
+            final var result = invokeDelegate(method, args);
+            if (result instanceof CompletionStage<?> stage) {
+                released = true;
+                return stage.whenComplete((value, error) -> current.release(isFailure(value, error),
+                        System.nanoTime() - start));
+            }
+            released = true;
+            current.release(isFailure(result, null), System.nanoTime() - start);
+            return result;
+        } catch (Throwable e) {
+            if (!released) {
+                current.release(isFailure(null, e), System.nanoTime() - start);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * @param result of the call, may be null
+     * @param error  thrown by the call, may be null
+     * @return {@code true} if the call is to be counted as failed
+     */
+    static boolean isFailure(final Object result, final Throwable error) {
+        var cause = error;
+        while (cause instanceof CompletionException && null != cause.getCause()) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof WebApplicationException e) {
+            return null == e.getResponse() || e.getResponse().getStatus() >= SERVER_ERROR;
+        }
+        if (null != cause) {
+            return true;
+        }
+        return result instanceof Response response && response.getStatus() >= SERVER_ERROR;
+    }
+
+    private Object invokeDelegate(final Method method, final Object[] args) throws Throwable {
+        try {
+            return method.invoke(delegate, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static boolean isClose(final Method method) {
+        return "close".equals(method.getName()) && 0 == method.getParameterCount();
+    }
+}
@@ -34,6 +34,9 @@ import static de.cuioss.tools.string.MoreStrings.nullToEmpty;
  *   <li>Request body (if enabled)</li>
  * </ul>
  *
+ * <p>If a {@link TraceLogSampler} is registered, only sampled requests are
+ * logged.
+ *
  * <p>The filter is automatically configured by {@link CuiRestClientBuilder}
  * and can be controlled through the Portal logging configuration.
  *
@@ -61,6 +64,9 @@ class LogClientRequestFilter implements ClientRequestFilter {
     // cui-rewrite:disable CuiLogRecordPatternRecipe
     @Override
     public void filter(final ClientRequestContext reqContext) throws IOException {
+        if (!givenLogger.isInfoEnabled() || !TraceLogSampler.isTraced(reqContext)) {
+            return;
+        }
         try {
             final var headers = new StringBuilder();
             reqContext.getStringHeaders()
@@ -31,6 +31,10 @@ import java.io.IOException;
  *   <li>Headers</li>
  * </ul>
  *
+ * <p>If a {@link TraceLogSampler} is registered, only sampled responses are
+ * logged. Responses with an error status switch an exchange that is to be
+ * logged on error to be traced, including the request URI and method.
+ *
  * <p>The filter is automatically configured by {@link CuiRestClientBuilder}
  * and can be controlled through the Portal logging configuration.
  *
@@ -56,7 +60,18 @@ abstract class LogClientResponseFilter implements ClientResponseFilter {
     @Override
     public void filter(final ClientRequestContext clientRequestContext,
             final ClientResponseContext clientResponseContext) throws IOException {
+        if (!givenLogger.isInfoEnabled()) {
+            return;
+        }
         try {
+            if (!TraceLogSampler.isTraced(clientRequestContext)) {
+                if (!TraceLogSampler.traceOnError(clientRequestContext, clientResponseContext.getStatus())) {
+                    return;
+                }
+                // The request has not been logged, because it was not sampled
+                givenLogger.info(RestClientLogMessages.INFO.REQUEST_ON_ERROR_INFO, clientRequestContext.getUri(),
+                        clientRequestContext.getMethod());
+            }
             givenLogger.info(RestClientLogMessages.INFO.RESPONSE_INFO, name, clientResponseContext.getStatus(),
                     clientResponseContext.getStatusInfo(), clientResponseContext.getAllowedMethods(),
                     clientResponseContext.getEntityTag(), clientResponseContext.getCookies(),
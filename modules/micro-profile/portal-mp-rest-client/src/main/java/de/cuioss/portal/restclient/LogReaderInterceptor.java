@@ -15,23 +15,35 @@
  */
 package de.cuioss.portal.restclient;
 
-import de.cuioss.tools.io.IOStreams;
 import de.cuioss.tools.logging.CuiLogger;
 import jakarta.annotation.Priority;
 import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.ext.ReaderInterceptor;
 import jakarta.ws.rs.ext.ReaderInterceptorContext;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 
+import static de.cuioss.tools.base.Preconditions.checkArgument;
+
 /**
  * Reader interceptor that logs message bodies in REST client communication.
  * Provides detailed logging of request and response bodies while preserving
  * the original content.
  *
+ * <p>The body is not read upfront. Instead, the entity stream is wrapped in a
+ * {@link BodyCaptureInputStream} that passes it through to the actual reader
+ * and captures at most {@link #getMaxBodyBytes()} bytes into a buffer that is
+ * reused per thread. The message is logged after the entity has been read by
+ * the reader, therefore only for entity types that are read completely, like
+ * strings or mapped objects. Streamed entity types, like {@link InputStream}
+ * or {@link java.io.Reader}, are read by the caller after the interceptor has
+ * returned, so their body is not logged. Nothing is formatted or captured if
+ * the logger is not enabled for info or the exchange has not been sampled, see
+ * {@link TraceLogSampler}.
+ *
  * <p>The interceptor is automatically configured by {@link CuiRestClientBuilder}
  * and can be controlled through the Portal logging configuration.
  *
@@ -42,45 +54,108 @@ import java.util.List;
 @Priority(Integer.MIN_VALUE)
 class LogReaderInterceptor implements ReaderInterceptor {
 
+    /**
+     * Default for the maximum number of body bytes to be logged: {@value}
+     */
+    static final int DEFAULT_MAX_BODY_BYTES = 4096;
+
     private static final String LINE_BREAK = "\n";
 
     private final CuiLogger givenLogger;
+    private final int maxBodyBytes;
+    private final ThreadLocal<byte[]> buffers;
 
     public LogReaderInterceptor(final CuiLogger givenLogger) {
+        this(givenLogger, DEFAULT_MAX_BODY_BYTES);
+    }
+
+    /**
+     * @param givenLogger  to log to
+     * @param maxBodyBytes the maximum number of body bytes to be logged, must be
+     *                     positive
+     */
+    public LogReaderInterceptor(final CuiLogger givenLogger, final int maxBodyBytes) {
+        checkArgument(maxBodyBytes > 0, "maxBodyBytes must be positive");
         this.givenLogger = givenLogger;
+        this.maxBodyBytes = maxBodyBytes;
+        buffers = ThreadLocal.withInitial(() -> new byte[maxBodyBytes]);
+    }
+
+    /**
+     * @return the maximum number of body bytes to be logged
+     */
+    int getMaxBodyBytes() {
+        return maxBodyBytes;
     }
 
     // cui-rewrite:disable CuiLogRecordPatternRecipe
     @Override
     public Object aroundReadFrom(final ReaderInterceptorContext context) throws IOException, WebApplicationException {
+        if (!givenLogger.isInfoEnabled() || !TraceLogSampler.isTraced(context) || null == context.getInputStream()) {
+            return context.proceed();
+        }
+        final StringBuilder logMsg;
         try {
-            final var logMsg = new StringBuilder();
-
+            logMsg = new StringBuilder();
             logMsg.append("-- Client response info --").append(LINE_BREAK);
             logMsg.append("MediaType: ").append(context.getMediaType()).append(LINE_BREAK);
             logMsg.append("GenericType: ").append(context.getGenericType()).append(LINE_BREAK);
             appendProperties(logMsg, context);
             appendHeaders(logMsg, context);
-            logBody(logMsg, context);
-
-            givenLogger.info(logMsg.toString());
             // cui-rewrite:disable InvalidExceptionUsageRecipe
         } catch (final RuntimeException e) {
             givenLogger.error(e, RestClientLogMessages.ERROR.TRACE_LOG_ERROR);
+            return context.proceed();
+        }
+
+        if (isStreamed(context.getType())) {
+            logMsg.append("Body: [not logged, streamed entity of type ").append(context.getType().getName())
+                    .append(']');
+            givenLogger.info(logMsg.toString());
+            return context.proceed();
         }
-        return context.proceed();
-    }
 
-    private void logBody(StringBuilder logMsg, final ReaderInterceptorContext context) throws IOException {
-        final String body;
-        try (final var inputStream = context.getInputStream()) {
-            body = IOStreams.toString(inputStream, StandardCharsets.UTF_8);
+        // Borrow the buffer of this thread, a nested read on the same thread gets its own one
+        var buffer = buffers.get();
+        if (null == buffer) {
+            buffer = new byte[maxBodyBytes];
+        } else {
+            buffers.set(null);
+        }
+        final var capture = new BodyCaptureInputStream(context.getInputStream(), buffer);
+        context.setInputStream(capture);
+        try {
+            return context.proceed();
+        } finally {
+            logBody(logMsg, capture);
+            // A reader still holding the stream must not write into the buffer once it is handed back
+            capture.detach();
+            buffers.set(buffer);
         }
+    }
 
-        logMsg.append("Body:").append(LINE_BREAK).append(body);
+    /**
+     * @param type of the entity, may be null
+     * @return {@code true} if the entity is read by the caller, after the
+     *         interceptor has returned, e.g. {@link InputStream}
+     */
+    static boolean isStreamed(final Class<?> type) {
+        return null != type && AutoCloseable.class.isAssignableFrom(type);
+    }
 
-        // put the read body back into the response
-        context.setInputStream(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    // cui-rewrite:disable CuiLogRecordPatternRecipe
+    private void logBody(final StringBuilder logMsg, final BodyCaptureInputStream capture) {
+        try {
+            logMsg.append("Body:").append(LINE_BREAK).append(capture.getCaptured(StandardCharsets.UTF_8));
+            if (capture.isTruncated()) {
+                logMsg.append(LINE_BREAK).append("... [truncated, ").append(capture.getTotalLength())
+                        .append(" bytes read, ").append(maxBodyBytes).append(" logged]");
+            }
+            givenLogger.info(logMsg.toString());
+            // cui-rewrite:disable InvalidExceptionUsageRecipe
+        } catch (final RuntimeException e) {
+            givenLogger.error(e, RestClientLogMessages.ERROR.TRACE_LOG_ERROR);
+        }
     }
 
     private void appendHeaders(StringBuilder logMsg, final ReaderInterceptorContext context) {
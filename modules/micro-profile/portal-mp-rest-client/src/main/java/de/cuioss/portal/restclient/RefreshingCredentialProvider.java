@@ -0,0 +1,211 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.restclient;
+
+import de.cuioss.tools.logging.CuiLogger;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.Supplier;
+
+import static de.cuioss.portal.restclient.RestClientLogMessages.INFO;
+import static de.cuioss.portal.restclient.RestClientLogMessages.WARN;
+import static de.cuioss.tools.string.MoreStrings.requireNotEmpty;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@link CredentialProvider} holding a precomputed header value, so that a
+ * request only reads a field.
+ *
+ * <p>The value is recomputed on {@link #refresh()}. Providers created with a
+ * secret file, see {@link #basic(String, Path)} and
+ * {@link #token(String, Path)} or their variants taking the already read
+ * secret, are refreshed whenever that file changes, see
+ * {@link CredentialFileObserver}. Therefore, rotating a password or token does
+ * not require rebuilding the clients using it. If a refresh fails, the
+ * previous value is kept.
+ */
+@ToString(of = {"headerName", "secretFile"}) // The header value is sensitive
+public final class RefreshingCredentialProvider implements CredentialProvider {
+
+    private static final CuiLogger LOGGER = new CuiLogger(RefreshingCredentialProvider.class);
+
+    static final String AUTHORIZATION = "Authorization";
+    private static final String BASIC_PREFIX = "Basic ";
+
+    private static final Set<RefreshingCredentialProvider> FILE_BACKED = Collections.synchronizedSet(
+            Collections.newSetFromMap(new WeakHashMap<>()));
+
+    @Getter
+    private final String headerName;
+    private final Supplier<String> source;
+    private final Path secretFile;
+    private volatile String headerValue;
+
+    private RefreshingCredentialProvider(final String headerName, final Supplier<String> source,
+            final Path secretFile, final String initialValue) {
+        this.headerName = requireNotEmpty(headerName, "headerName");
+        this.source = source;
+        this.secretFile = secretFile;
+        headerValue = null != initialValue ? initialValue : source.get();
+        if (null != secretFile) {
+            FILE_BACKED.add(this);
+        }
+    }
+
+    /**
+     * @param username must not be empty
+     * @param password must not be empty
+     * @return a provider for a fixed basic authentication header
+     */
+    public static RefreshingCredentialProvider basic(final String username, final String password) {
+        final var header = encodeBasic(username, password);
+        return new RefreshingCredentialProvider(AUTHORIZATION, () -> header, null, null);
+    }
+
+    /**
+     * @param username     must not be empty
+     * @param passwordFile holding the password, must be readable
+     * @return a provider for a basic authentication header, re-reading the
+     *         password when the file changes
+     * @throws UncheckedIOException if the file can not be read
+     */
+    public static RefreshingCredentialProvider basic(final String username, final Path passwordFile) {
+        requireNotEmpty(username, "username");
+        final var file = passwordFile.toAbsolutePath().normalize();
+        return new RefreshingCredentialProvider(AUTHORIZATION, () -> encodeBasic(username, readSecret(file)), file,
+                null);
+    }
+
+    /**
+     * @param username     must not be empty
+     * @param password     the password already read from the file, must not
+     *                     be empty
+     * @param passwordFile holding the password, only read on refresh
+     * @return a provider for a basic authentication header, re-reading the
+     *         password when the file changes
+     */
+    public static RefreshingCredentialProvider basic(final String username, final String password,
+            final Path passwordFile) {
+        final var file = passwordFile.toAbsolutePath().normalize();
+        return new RefreshingCredentialProvider(AUTHORIZATION, () -> encodeBasic(username, readSecret(file)), file,
+                encodeBasic(username, password));
+    }
+
+    /**
+     * @param key       the name of the header, must not be empty
+     * @param tokenFile holding the token, i.e. the complete header value, must
+     *                  be readable
+     * @return a provider re-reading the token when the file changes
+     * @throws UncheckedIOException if the file can not be read
+     */
+    public static RefreshingCredentialProvider token(final String key, final Path tokenFile) {
+        final var file = tokenFile.toAbsolutePath().normalize();
+        return new RefreshingCredentialProvider(key, () -> readSecret(file), file, null);
+    }
+
+    /**
+     * @param key       the name of the header, must not be empty
+     * @param token     the token already read from the file, must not be
+     *                  empty
+     * @param tokenFile holding the token, only read on refresh
+     * @return a provider re-reading the token when the file changes
+     */
+    public static RefreshingCredentialProvider token(final String key, final String token, final Path tokenFile) {
+        final var file = tokenFile.toAbsolutePath().normalize();
+        return new RefreshingCredentialProvider(key, () -> readSecret(file), file, requireNotEmpty(token, "token"));
+    }
+
+    @Override
+    public String getHeaderValue() {
+        return headerValue;
+    }
+
+    /**
+     * @return the file the secret is read from, if any
+     */
+    public Optional<Path> getSecretFile() {
+        return Optional.ofNullable(secretFile);
+    }
+
+    /**
+     * Recomputes the header value. If this fails, e.g. because the secret file
+     * is being replaced, the previous value is kept.
+     *
+     * @return {@code true} if the value changed
+     */
+    public synchronized boolean refresh() {
+        final String refreshed;
+        try {
+            refreshed = source.get();
+        } catch (UncheckedIOException | IllegalArgumentException e) {
+            LOGGER.warn(e, WARN.CREDENTIALS_REFRESH_FAILED, secretFile);
+            return false;
+        }
+        if (refreshed.equals(headerValue)) {
+            return false;
+        }
+        headerValue = refreshed;
+        LOGGER.info(INFO.CREDENTIALS_REFRESHED, headerName, secretFile);
+        return true;
+    }
+
+    /**
+     * Refreshes all providers whose secret file is the given path or located
+     * in the given directory.
+     *
+     * @param changed the changed file or directory, must not be null
+     */
+    static void refreshAll(final Path changed) {
+        final var path = changed.toAbsolutePath().normalize();
+        final List<RefreshingCredentialProvider> candidates;
+        synchronized (FILE_BACKED) {
+            candidates = new ArrayList<>(FILE_BACKED);
+        }
+        for (final RefreshingCredentialProvider provider : candidates) {
+            if (provider.secretFile.equals(path) || path.equals(provider.secretFile.getParent())) {
+                provider.refresh();
+            }
+        }
+    }
+
+    private static String encodeBasic(final String username, final String password) {
+        requireNotEmpty(username, "username");
+        requireNotEmpty(password, "password");
+        final var credentials = (username + ":" + password).getBytes(StandardCharsets.UTF_8);
+        return BASIC_PREFIX + Base64.getEncoder().encodeToString(credentials);
+    }
+
+    private static String readSecret(final Path file) {
+        try {
+            return requireNotEmpty(Files.readString(requireNonNull(file)).strip(), "secret");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,291 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.restclient;
+
+import de.cuioss.tools.logging.CuiLogger;
+import jakarta.annotation.Priority;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.client.ClientRequestContext;
+import jakarta.ws.rs.client.ClientRequestFilter;
+import jakarta.ws.rs.client.ClientResponseContext;
+import jakarta.ws.rs.client.ClientResponseFilter;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MultivaluedHashMap;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.rest.client.ext.AsyncInvocationInterceptor;
+import org.eclipse.microprofile.rest.client.ext.AsyncInvocationInterceptorFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.SequenceInputStream;
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lets identical concurrent {@code GET} requests of a REST client share a
+ * single upstream call (single-flight).
+ *
+ * <p>The first request of a key is sent, all further requests with the same
+ * key wait for its response and receive a copy of status, headers and body.
+ * The key consists of URI, {@code Authorization}, {@code Cookie},
+ * {@code Accept} and {@code Accept-Language}, so responses are only shared
+ * between requests of the same identity asking for the same representation.
+ *
+ * <p>The flight is kept as request property and ended by the response
+ * filter. Filters are not notified about requests failing without response,
+ * therefore {@link CoalescingInvocationHandler} opens a {@link Call} for
+ * every invocation and ends its flight once the call returns or, for
+ * asynchronous calls, once the returned stage completes. The call is passed
+ * to the thread sending an asynchronous request by
+ * {@link #asyncInterceptorFactory()}. Waiters then send their own request.
+ * As a fallback waiters wait at most for the given timeout, usually the read
+ * timeout of the client. Waiters also send their own request if the shared
+ * body exceeds {@link #MAX_SHARED_BYTES}.
+ * Conditional requests, e.g. revalidations by {@link ResponseCacheFilter},
+ * are never coalesced.
+ *
+ * @see CuiRestClientBuilder#coalesceRequests(boolean)
+ */
+@Priority(Integer.MAX_VALUE - 2)
+class RequestCoalescingFilter implements ClientRequestFilter, ClientResponseFilter {
+
+    private static final CuiLogger LOGGER = new CuiLogger(RequestCoalescingFilter.class);
+
+    private static final String FLIGHT_PROPERTY = RequestCoalescingFilter.class.getName() + ".flight";
+
+    /**
+     * Bodies exceeding this size are not shared.
+     */
+    static final int MAX_SHARED_BYTES = 1024 * 1024;
+
+    record Key(URI uri, String authorization, String cookie, String accept, String acceptLanguage) {
+    }
+
+    record SharedResponse(int status, MultivaluedMap<String, String> headers, byte[] body) {
+
+        Response toResponse() {
+            final var builder = Response.status(status).entity(body);
+            headers.forEach((name, values) -> values.forEach(value -> builder.header(name, value)));
+            return builder.build();
+        }
+    }
+
+    private record Flight(Key key, CompletableFuture<SharedResponse> result) {
+    }
+
+    /**
+     * A single invocation of the client, referencing the flight led by its
+     * request.
+     */
+    static final class Call {
+
+        private volatile Flight flight;
+    }
+
+    private final Map<Key, Flight> inFlight = new ConcurrentHashMap<>();
+    /**
+     * The call whose request is currently sent on this thread.
+     */
+    private final ThreadLocal<Call> current = new ThreadLocal<>();
+    private final long timeoutNanos;
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * @param timeoutNanos the maximum time to wait for the response of
+     *                     another request, must be positive
+     */
+    RequestCoalescingFilter(final long timeoutNanos) {
+        this.timeoutNanos = timeoutNanos;
+    }
+
+    @Override
+    public void filter(final ClientRequestContext requestContext) {
+        if (!HttpMethod.GET.equals(requestContext.getMethod())
+                || null != requestContext.getHeaderString(HttpHeaders.IF_NONE_MATCH)
+                || null != requestContext.getHeaderString(HttpHeaders.IF_MODIFIED_SINCE)) {
+            return;
+        }
+        final var key = new Key(requestContext.getUri(), requestContext.getHeaderString(HttpHeaders.AUTHORIZATION),
+                requestContext.getHeaderString(HttpHeaders.COOKIE), requestContext.getHeaderString(HttpHeaders.ACCEPT),
+                requestContext.getHeaderString(HttpHeaders.ACCEPT_LANGUAGE));
+        final var own = new Flight(key, new CompletableFuture<>());
+        final var leader = inFlight.putIfAbsent(key, own);
+        if (null == leader) {
+            requestContext.setProperty(FLIGHT_PROPERTY, own);
+            final var call = current.get();
+            if (null != call) {
+                call.flight = own;
+            }
+            return;
+        }
+        final var shared = await(leader);
+        if (null != shared) {
+            coalesced.increment();
+            LOGGER.trace("Coalesced request to %s", key.uri());
+            requestContext.abortWith(shared.toResponse());
+        }
+    }
+
+    @Override
+    public void filter(final ClientRequestContext requestContext, final ClientResponseContext responseContext)
+            throws IOException {
+        final var flight = (Flight) requestContext.getProperty(FLIGHT_PROPERTY);
+        if (null == flight) {
+            return;
+        }
+        try {
+            flight.result().complete(share(responseContext));
+        } finally {
+            end(flight);
+        }
+    }
+
+    /**
+     * Opens a call on the current thread. Requests sent on this thread until
+     * {@link #close(Call)} are attributed to it.
+     *
+     * @return the call previously open on this thread, may be null
+     */
+    Call open(final Call call) {
+        final var previous = current.get();
+        current.set(call);
+        return previous;
+    }
+
+    /**
+     * Restores the call open on the current thread before
+     * {@link #open(Call)}.
+     */
+    void close(final Call previous) {
+        if (null == previous) {
+            current.remove();
+        } else {
+            current.set(previous);
+        }
+    }
+
+    /**
+     * Ends the flight led by the request of the given call, if it did not
+     * receive a response. Waiters send their own request. Does nothing if
+     * there is no such flight.
+     */
+    void abandon(final Call call) {
+        final var flight = call.flight;
+        if (null != flight && !flight.result().isDone()) {
+            LOGGER.trace("Request to %s failed without response, releasing waiters", flight.key().uri());
+            end(flight);
+        }
+    }
+
+    /**
+     * @return to be registered at the client, passes the call open on the
+     *         invoking thread to the thread sending an asynchronous request
+     */
+    AsyncInvocationInterceptorFactory asyncInterceptorFactory() {
+        return () -> new AsyncInvocationInterceptor() {
+
+            private Call call;
+            private Call previous;
+
+            @Override
+            public void prepareContext() {
+                call = current.get();
+            }
+
+            @Override
+            public void applyContext() {
+                if (null != call) {
+                    previous = open(call);
+                }
+            }
+
+            @Override
+            public void removeContext() {
+                if (null != call) {
+                    close(previous);
+                }
+            }
+        };
+    }
+
+    private void end(final Flight flight) {
+        inFlight.remove(flight.key(), flight);
+        // Completes waiters if there is no response to be shared
+        flight.result().complete(null);
+    }
+
+    private SharedResponse await(final Flight leader) {
+        try {
+            return leader.result().get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            LOGGER.debug("No response from coalesced request to %s, sending own request", leader.key().uri());
+            // Most likely failed without response, let the next request lead
+            inFlight.remove(leader.key(), leader);
+            return null;
+        } catch (ExecutionException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * Reads the body into memory and replaces the entity stream, so the
+     * reader of the leading request sees the unchanged body.
+     *
+     * @return the response to be shared, {@code null} if the body exceeds
+     *         {@link #MAX_SHARED_BYTES}
+     */
+    private static SharedResponse share(final ClientResponseContext responseContext) throws IOException {
+        var body = new byte[0];
+        if (responseContext.hasEntity()) {
+            if (responseContext.getLength() > MAX_SHARED_BYTES) {
+                return null;
+            }
+            final var in = responseContext.getEntityStream();
+            body = in.readNBytes(MAX_SHARED_BYTES + 1);
+            if (body.length > MAX_SHARED_BYTES) {
+                responseContext.setEntityStream(new SequenceInputStream(new ByteArrayInputStream(body), in));
+                return null;
+            }
+            responseContext.setEntityStream(new ByteArrayInputStream(body));
+        }
+        return new SharedResponse(responseContext.getStatus(),
+                new MultivaluedHashMap<>(responseContext.getHeaders()), body);
+    }
+
+    /**
+     * @return the number of requests answered by the response of another one
+     */
+    long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    /**
+     * @return the number of requests currently leading a flight
+     */
+    int getInFlightCount() {
+        return inFlight.size();
+    }
+}
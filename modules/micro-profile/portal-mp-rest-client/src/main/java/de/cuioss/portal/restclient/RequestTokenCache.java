@@ -0,0 +1,43 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.restclient;
+
+import de.cuioss.portal.configuration.connections.TokenResolver;
+import jakarta.enterprise.context.RequestScoped;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches the values of {@link TokenResolver}s for the current request, so
+ * that all REST calls of a request share a single resolution, see
+ * {@link UserTokenCredentialProvider}.
+ */
+@RequestScoped
+public class RequestTokenCache {
+
+    private final Map<TokenResolver, Optional<String>> tokens = new ConcurrentHashMap<>();
+
+    /**
+     * @param resolver to be called on the first call of the current request,
+     *                 must not be null
+     * @return the value of the resolver, may be null
+     */
+    public String resolve(final TokenResolver resolver) {
+        return tokens.computeIfAbsent(resolver, current -> Optional.ofNullable(current.resolve())).orElse(null);
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.restclient;
+
+import de.cuioss.portal.configuration.connections.impl.ConnectionMetadataKeys;
+import lombok.Builder;
+import lombok.Value;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Map;
+
+import static de.cuioss.tools.base.Preconditions.checkArgument;
+
+/**
+ * Configuration of the resilience layer of a connection, see
+ * {@link ConnectionGuard}:
+ * <ul>
+ *   <li>a bulkhead capping the number of concurrent calls</li>
+ *   <li>a circuit breaker opening on a high rate of failed or slow calls</li>
+ * </ul>
+ *
+ * <p>Usually created from the context map of a
+ * {@link de.cuioss.portal.configuration.connections.impl.ConnectionMetadata}
+ * by {@link #fromContextMap(Map)}.
+ *
+ * @see CuiRestClientBuilder#resilience(ResilienceConfig)
+ */
+@Value
+@Builder(toBuilder = true)
+public class ResilienceConfig implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = -2645340387017421117L;
+
+    /**
+     * Neither bulkhead nor circuit breaker.
+     */
+    public static final ResilienceConfig DISABLED = builder().build();
+
+    /**
+     * Maximum number of concurrent calls, 0 for unlimited.
+     */
+    int maxConcurrentCalls;
+
+    /**
+     * Failure rate in percent that opens the circuit breaker, 0 to ignore
+     * failures.
+     */
+    int failureRateThreshold;
+
+    /**
+     * Slow call rate in percent that opens the circuit breaker, 0 to ignore
+     * slow calls.
+     */
+    int slowCallRateThreshold;
+
+    /**
+     * Duration in milliseconds from which on a call is considered slow.
+     */
+    @Builder.Default
+    long slowCallDurationMillis = 5000;
+
+    /**
+     * Number of recent calls the rates are computed from.
+     */
+    @Builder.Default
+    int windowSize = 20;
+
+    /**
+     * Minimum number of calls in the window before the circuit breaker may
+     * open.
+     */
+    @Builder.Default
+    int minimumCalls = 10;
+
+    /**
+     * Time in milliseconds an open circuit breaker rejects all calls.
+     */
+    @Builder.Default
+    long openDurationMillis = 30000;
+
+    /**
+     * Number of trial calls of a half-open circuit breaker.
+     */
+    @Builder.Default
+    int halfOpenCalls = 3;
+
+    @SuppressWarnings("java:S107") // Used by the builder only
+    private ResilienceConfig(final int maxConcurrentCalls, final int failureRateThreshold,
+            final int slowCallRateThreshold, final long slowCallDurationMillis, final int windowSize,
+            final int minimumCalls, final long openDurationMillis, final int halfOpenCalls) {
+        checkArgument(maxConcurrentCalls >= 0, "maxConcurrentCalls must not be negative");
+        checkArgument(failureRateThreshold >= 0 && failureRateThreshold <= 100,
+                "failureRateThreshold must be between 0 and 100");
+        checkArgument(slowCallRateThreshold >= 0 && slowCallRateThreshold <= 100,
+                "slowCallRateThreshold must be between 0 and 100");
+        checkArgument(slowCallDurationMillis > 0, "slowCallDurationMillis must be positive");
+        checkArgument(windowSize > 0, "windowSize must be positive");
+        checkArgument(minimumCalls > 0 && minimumCalls <= windowSize,
+                "minimumCalls must be between 1 and windowSize");
+        checkArgument(openDurationMillis > 0, "openDurationMillis must be positive");
+        checkArgument(halfOpenCalls > 0, "halfOpenCalls must be positive");
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.slowCallDurationMillis = slowCallDurationMillis;
+        this.windowSize = windowSize;
+        this.minimumCalls = minimumCalls;
+        this.openDurationMillis = openDurationMillis;
+        this.halfOpenCalls = halfOpenCalls;
+    }
+
+    /**
+     * @return {@code true} if either bulkhead or circuit breaker are enabled
+     */
+    public boolean isEnabled() {
+        return maxConcurrentCalls > 0 || isCircuitBreakerEnabled();
+    }
+
+    /**
+     * @return {@code true} if the circuit breaker is enabled
+     */
+    public boolean isCircuitBreakerEnabled() {
+        return failureRateThreshold > 0 || slowCallRateThreshold > 0;
+    }
+
+    /**
+     * Reads the configuration from the given context map, see the
+     * {@code RESILIENCE_*} keys of {@link ConnectionMetadataKeys}. Invalid
+     * values are logged and replaced by their defaults.
+     *
+     * @param contextMap to be read, must not be null
+     * @return the configuration, {@link #DISABLED} if neither bulkhead nor
+     *         circuit breaker are configured
+     */
+    public static ResilienceConfig fromContextMap(final Map<? extends Serializable, ? extends Serializable> contextMap) {
+        final var config = builder()
+                .maxConcurrentCalls(ContextMapValues.readInt(contextMap,
+                        ConnectionMetadataKeys.RESILIENCE_MAX_CONCURRENT_CALLS, 0, 0, Integer.MAX_VALUE))
+                .failureRateThreshold(ContextMapValues.readInt(contextMap,
+                        ConnectionMetadataKeys.RESILIENCE_FAILURE_RATE_THRESHOLD, 0, 0, 100))
+                .slowCallRateThreshold(ContextMapValues.readInt(contextMap,
+                        ConnectionMetadataKeys.RESILIENCE_SLOW_CALL_RATE_THRESHOLD, 0, 0, 100))
+                .slowCallDurationMillis(ContextMapValues.readInt(contextMap,
+                        ConnectionMetadataKeys.RESILIENCE_SLOW_CALL_DURATION, 5000, 1, Integer.MAX_VALUE))
+                .openDurationMillis(ContextMapValues.readInt(contextMap,
+                        ConnectionMetadataKeys.RESILIENCE_OPEN_DURATION, 30000, 1, Integer.MAX_VALUE))
+                .halfOpenCalls(ContextMapValues.readInt(contextMap,
+                        ConnectionMetadataKeys.RESILIENCE_HALF_OPEN_CALLS, 3, 1, Integer.MAX_VALUE));
+        final var windowSize = ContextMapValues.readInt(contextMap, ConnectionMetadataKeys.RESILIENCE_WINDOW_SIZE,
+                20, 1, Integer.MAX_VALUE);
+        config.windowSize(windowSize).minimumCalls(ContextMapValues.readInt(contextMap,
+                ConnectionMetadataKeys.RESILIENCE_MINIMUM_CALLS, Math.min(10, windowSize), 1, windowSize));
+        final var result = config.build();
+        return result.isEnabled() ? result : DISABLED;
+    }
+}
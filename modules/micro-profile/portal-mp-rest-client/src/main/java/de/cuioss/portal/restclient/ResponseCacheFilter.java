@@ -0,0 +1,383 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.restclient;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import de.cuioss.portal.configuration.cache.CacheConfig;
+import de.cuioss.portal.configuration.connections.impl.ConnectionMetadataKeys;
+import de.cuioss.tools.logging.CuiLogger;
+import jakarta.annotation.Priority;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.client.ClientRequestContext;
+import jakarta.ws.rs.client.ClientRequestFilter;
+import jakarta.ws.rs.client.ClientResponseContext;
+import jakarta.ws.rs.client.ClientResponseFilter;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MultivaluedHashMap;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.Response;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.Serializable;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Client-side HTTP cache for {@code GET} requests of a single REST client.
+ *
+ * <p>Responses are kept in a bounded Caffeine cache, keyed by method, URI and
+ * the values of the request headers named by the {@code Vary} header of the
+ * response. The {@link CacheConfig} defines the maximum number of entries and
+ * how long an entry is kept at most. Whether an entry may be served without
+ * asking the server is defined by the response:
+ * <ul>
+ *   <li>{@code Cache-Control: s-maxage} or {@code max-age}, reduced by
+ *   {@code Age}, define how long a response is fresh</li>
+ *   <li>stale entries, and entries stored with {@code no-cache}, are
+ *   revalidated with {@code If-None-Match} / {@code If-Modified-Since}. A
+ *   {@code 304} answer is replaced by the cached response.</li>
+ *   <li>{@code no-store}, {@code private}, {@code Vary: *} and responses
+ *   being neither fresh nor revalidatable are not stored</li>
+ * </ul>
+ *
+ * <p>The client may be shared by several users, therefore the cache acts as a
+ * shared cache: a response to a request carrying an {@code Authorization} or
+ * {@code Cookie} header is only stored if marked {@code public}.
+ * {@code Set-Cookie} headers are never stored, so they only reach the caller
+ * of the request they were sent for.
+ *
+ * <p>Request filters run in ascending priority, so authentication filters
+ * have already set their headers when the cache is consulted.
+ *
+ * @see CuiRestClientBuilder#responseCache(CacheConfig)
+ */
+@Priority(Integer.MAX_VALUE - 3)
+class ResponseCacheFilter implements ClientRequestFilter, ClientResponseFilter {
+
+    private static final CuiLogger LOGGER = new CuiLogger(ResponseCacheFilter.class);
+
+    private static final String ENTRY_PROPERTY = ResponseCacheFilter.class.getName() + ".entry";
+    private static final String HIT_PROPERTY = ResponseCacheFilter.class.getName() + ".hit";
+
+    /**
+     * Bodies exceeding this size are passed through without being cached.
+     */
+    static final int MAX_ENTRY_BYTES = 1024 * 1024;
+
+    private static final int NOT_MODIFIED = 304;
+
+    /**
+     * Headers updated from a {@code 304} answer, see RFC 9111, section 4.3.4.
+     */
+    private static final List<String> REVALIDATION_HEADERS = List.of("cache-control", "etag", "expires", "date",
+            "last-modified", "age");
+
+    /**
+     * Headers bound to the user of a single request, never stored.
+     */
+    private static final List<String> USER_HEADERS = List.of("set-cookie", "set-cookie2");
+
+    record Key(String method, URI uri, Map<String, String> varyValues) {
+    }
+
+    record Entry(MultivaluedMap<String, String> headers, byte[] body, long freshUntilNanos) {
+
+        boolean isFresh(final long now) {
+            return freshUntilNanos - now > 0;
+        }
+
+        String getHeader(final String name) {
+            return headers.getFirst(name.toLowerCase(Locale.ROOT));
+        }
+    }
+
+    private final Cache<Key, Entry> entries;
+    /**
+     * The {@code Vary} header names of the last response per URI, needed to
+     * compute the key of a request.
+     */
+    private final Cache<URI, List<String>> varyHeaders;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder revalidations = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param config defining size and maximum lifetime of the entries, must
+     *               not be null. An expiration of 0 keeps entries until
+     *               evicted by size.
+     */
+    ResponseCacheFilter(final CacheConfig config) {
+        requireNonNull(config);
+        entries = newCache(config);
+        varyHeaders = newCache(config);
+    }
+
+    private static <K, V> Cache<K, V> newCache(final CacheConfig config) {
+        final var builder = Caffeine.newBuilder().maximumSize(config.getSize());
+        if (config.getExpiration() > 0) {
+            builder.expireAfterWrite(config.getExpiration(), config.getTimeUnit());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Reads the configuration from the given context map, see the
+     * {@code HTTP_CACHE_*} keys of {@link ConnectionMetadataKeys}.
+     *
+     * @param contextMap to be read, must not be null
+     * @return the configuration, if a positive size is configured
+     */
+    static Optional<CacheConfig> readConfig(final Map<? extends Serializable, ? extends Serializable> contextMap) {
+        final var size = ContextMapValues.readInt(contextMap, ConnectionMetadataKeys.HTTP_CACHE_SIZE, 0, 0,
+                Integer.MAX_VALUE);
+        if (0 == size) {
+            return Optional.empty();
+        }
+        final var expiration = ContextMapValues.readInt(contextMap, ConnectionMetadataKeys.HTTP_CACHE_EXPIRATION,
+                10, 0, Integer.MAX_VALUE);
+        var unit = TimeUnit.MINUTES;
+        final var unitValue = contextMap.get(ConnectionMetadataKeys.HTTP_CACHE_EXPIRATION_UNIT);
+        if (null != unitValue) {
+            try {
+                unit = TimeUnit.valueOf(String.valueOf(unitValue).trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                ContextMapValues.warnInvalid(ConnectionMetadataKeys.HTTP_CACHE_EXPIRATION_UNIT, unitValue);
+            }
+        }
+        return Optional.of(new CacheConfig(expiration, unit, size, false));
+    }
+
+    @Override
+    public void filter(final ClientRequestContext requestContext) {
+        if (!HttpMethod.GET.equals(requestContext.getMethod())) {
+            return;
+        }
+        final var vary = varyHeaders.getIfPresent(requestContext.getUri());
+        final var entry = null == vary ? null
+                : entries.getIfPresent(createKey(requestContext, vary));
+        if (null == entry) {
+            misses.increment();
+            return;
+        }
+        if (entry.isFresh(System.nanoTime())) {
+            hits.increment();
+            LOGGER.trace("Serving %s from cache", requestContext.getUri());
+            requestContext.setProperty(HIT_PROPERTY, Boolean.TRUE);
+            requestContext.abortWith(toResponse(entry));
+            return;
+        }
+        final var etag = entry.getHeader(HttpHeaders.ETAG);
+        final var lastModified = entry.getHeader(HttpHeaders.LAST_MODIFIED);
+        if (null != etag) {
+            requestContext.getHeaders().putSingle(HttpHeaders.IF_NONE_MATCH, etag);
+        }
+        if (null != lastModified) {
+            requestContext.getHeaders().putSingle(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+        }
+        requestContext.setProperty(ENTRY_PROPERTY, entry);
+    }
+
+    @Override
+    public void filter(final ClientRequestContext requestContext, final ClientResponseContext responseContext)
+            throws IOException {
+        if (!HttpMethod.GET.equals(requestContext.getMethod())
+                || null != requestContext.getProperty(HIT_PROPERTY)) {
+            return;
+        }
+        final var revalidated = (Entry) requestContext.getProperty(ENTRY_PROPERTY);
+        if (null != revalidated && NOT_MODIFIED == responseContext.getStatus()) {
+            revalidations.increment();
+            LOGGER.trace("Revalidated %s", requestContext.getUri());
+            final var headers = new MultivaluedHashMap<String, String>(revalidated.headers());
+            final var updated = normalize(responseContext.getHeaders());
+            for (final String name : REVALIDATION_HEADERS) {
+                final var values = updated.get(name);
+                if (null != values) {
+                    headers.put(name, values);
+                }
+            }
+            responseContext.setStatus(Response.Status.OK.getStatusCode());
+            responseContext.getHeaders().clear();
+            responseContext.getHeaders().putAll(headers);
+            for (final String name : USER_HEADERS) {
+                final var values = updated.get(name);
+                if (null != values) {
+                    responseContext.getHeaders().put(name, values);
+                }
+            }
+            responseContext.setEntityStream(new ByteArrayInputStream(revalidated.body()));
+            store(requestContext, headers, revalidated.body());
+            return;
+        }
+        if (Response.Status.OK.getStatusCode() == responseContext.getStatus() && responseContext.hasEntity()) {
+            final var headers = normalize(responseContext.getHeaders());
+            if (!isStorable(requestContext, headers)) {
+                return;
+            }
+            final var body = readBody(responseContext);
+            if (null != body) {
+                store(requestContext, headers, body);
+            }
+        }
+    }
+
+    private void store(final ClientRequestContext requestContext, final MultivaluedMap<String, String> headers,
+            final byte[] body) {
+        final var directives = parseCacheControl(headers.get("cache-control"));
+        final var vary = parseVary(headers.get("vary"));
+        final var freshness = TimeUnit.SECONDS.toNanos(resolveFreshnessSeconds(directives, headers));
+        final var stored = new MultivaluedHashMap<String, String>(headers);
+        USER_HEADERS.forEach(stored::remove);
+        final var entry = new Entry(stored, body, System.nanoTime() + freshness);
+        varyHeaders.put(requestContext.getUri(), vary);
+        entries.put(createKey(requestContext, vary), entry);
+    }
+
+    private static boolean isStorable(final ClientRequestContext requestContext,
+            final MultivaluedMap<String, String> headers) {
+        final var directives = parseCacheControl(headers.get("cache-control"));
+        if (directives.containsKey("no-store") || directives.containsKey("private")
+                || parseVary(headers.get("vary")).contains("*")) {
+            return false;
+        }
+        if ((null != requestContext.getHeaderString(HttpHeaders.AUTHORIZATION)
+                || null != requestContext.getHeaderString(HttpHeaders.COOKIE)) && !directives.containsKey("public")) {
+            return false;
+        }
+        return resolveFreshnessSeconds(directives, headers) > 0 || headers.containsKey("etag")
+                || headers.containsKey("last-modified");
+    }
+
+    private static long resolveFreshnessSeconds(final Map<String, String> directives,
+            final MultivaluedMap<String, String> headers) {
+        if (directives.containsKey("no-cache")) {
+            return 0;
+        }
+        final var maxAge = parseSeconds(directives.getOrDefault("s-maxage", directives.get("max-age")));
+        return Math.max(0, maxAge - parseSeconds(headers.getFirst("age")));
+    }
+
+    /**
+     * Reads the body into memory and replaces the entity stream, so the
+     * reader sees the unchanged body.
+     *
+     * @return the body or {@code null} if it exceeds {@link #MAX_ENTRY_BYTES}
+     */
+    private static byte[] readBody(final ClientResponseContext responseContext) throws IOException {
+        if (responseContext.getLength() > MAX_ENTRY_BYTES) {
+            return null;
+        }
+        final InputStream in = responseContext.getEntityStream();
+        final var prefix = in.readNBytes(MAX_ENTRY_BYTES + 1);
+        if (prefix.length > MAX_ENTRY_BYTES) {
+            responseContext.setEntityStream(new SequenceInputStream(new ByteArrayInputStream(prefix), in));
+            return null;
+        }
+        responseContext.setEntityStream(new ByteArrayInputStream(prefix));
+        return prefix;
+    }
+
+    private static Key createKey(final ClientRequestContext requestContext, final List<String> vary) {
+        if (vary.isEmpty()) {
+            return new Key(requestContext.getMethod(), requestContext.getUri(), Map.of());
+        }
+        final Map<String, String> values = new HashMap<>();
+        for (final String name : vary) {
+            values.put(name, requestContext.getHeaderString(name));
+        }
+        return new Key(requestContext.getMethod(), requestContext.getUri(), values);
+    }
+
+    private static Response toResponse(final Entry entry) {
+        final var builder = Response.ok(entry.body());
+        entry.headers().forEach((name, values) -> values.forEach(value -> builder.header(name, value)));
+        return builder.build();
+    }
+
+    static Map<String, String> parseCacheControl(final List<String> headerValues) {
+        if (null == headerValues) {
+            return Map.of();
+        }
+        final Map<String, String> result = new HashMap<>();
+        for (final String headerValue : headerValues) {
+            for (final String directive : headerValue.split(",")) {
+                final var separator = directive.indexOf('=');
+                if (separator < 0) {
+                    result.put(directive.trim().toLowerCase(Locale.ROOT), "");
+                } else {
+                    result.put(directive.substring(0, separator).trim().toLowerCase(Locale.ROOT),
+                            directive.substring(separator + 1).trim().replace("\"", ""));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return a copy with lower case header names, as plain maps are not case
+     *         insensitive like the header maps of the contexts
+     */
+    private static MultivaluedMap<String, String> normalize(final MultivaluedMap<String, String> headers) {
+        final var result = new MultivaluedHashMap<String, String>();
+        headers.forEach((name, values) -> result.addAll(name.toLowerCase(Locale.ROOT), values));
+        return result;
+    }
+
+    private static List<String> parseVary(final List<String> headerValues) {
+        if (null == headerValues) {
+            return List.of();
+        }
+        return headerValues.stream().flatMap(value -> List.of(value.split(",")).stream()).map(String::trim)
+                .filter(name -> !name.isEmpty()).map(name -> name.toLowerCase(Locale.ROOT)).sorted().distinct()
+                .toList();
+    }
+
+    private static long parseSeconds(final String value) {
+        if (null == value || value.isEmpty()) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            LOGGER.trace(e, "Not a number of seconds: %s", value);
+            return 0;
+        }
+    }
+
+    long getHitCount() {
+        return hits.sum();
+    }
+
+    long getRevalidationCount() {
+        return revalidations.sum();
+    }
+
+    long getMissCount() {
+        return misses.sum();
+    }
+}
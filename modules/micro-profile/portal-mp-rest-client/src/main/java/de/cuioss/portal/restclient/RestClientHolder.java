@@ -17,7 +17,8 @@ package de.cuioss.portal.restclient;
 
 import de.cuioss.uimodel.service.OptionalService;
 import de.cuioss.uimodel.service.ServiceState;
-import lombok.RequiredArgsConstructor;
+
+import java.util.Optional;
 
 /**
  * Holder for REST client instances in the Portal environment.
@@ -28,24 +29,80 @@ import lombok.RequiredArgsConstructor;
  * @see PortalRestClient
  * @see RestClientProducer
  */
-@RequiredArgsConstructor
 public class RestClientHolder<T> implements OptionalService {
 
     private final T restClient;
+    private final ExchangeHistory exchangeHistory;
+    private final ConnectionGuard connectionGuard;
+
+    /**
+     * @param restClient the REST client, may be null if not configured
+     */
+    public RestClientHolder(final T restClient) {
+        this(restClient, null);
+    }
+
+    /**
+     * @param restClient      the REST client, may be null if not configured
+     * @param exchangeHistory the history of the client, may be null
+     */
+    public RestClientHolder(final T restClient, final ExchangeHistory exchangeHistory) {
+        this(restClient, exchangeHistory, null);
+    }
+
+    /**
+     * @param restClient      the REST client, may be null if not configured
+     * @param exchangeHistory the history of the client, may be null
+     * @param connectionGuard guarding the client, may be null
+     */
+    public RestClientHolder(final T restClient, final ExchangeHistory exchangeHistory,
+            final ConnectionGuard connectionGuard) {
+        this.restClient = restClient;
+        this.exchangeHistory = exchangeHistory;
+        this.connectionGuard = connectionGuard;
+    }
 
     /**
-     * @return the REST client
-     * @throws IllegalStateException if service is not available
+     * @return the recent exchanges of the client, if configured by
+     *         {@link TraceLogSampling#getHistorySize()}
+     */
+    public Optional<ExchangeHistory> getExchangeHistory() {
+        return Optional.ofNullable(exchangeHistory);
+    }
+
+    /**
+     * @return the guard of the client, if configured by {@link ResilienceConfig}
+     */
+    public Optional<ConnectionGuard> getConnectionGuard() {
+        return Optional.ofNullable(connectionGuard);
+    }
+
+    /**
+     * @return the REST client. It is returned even if the circuit breaker of
+     *         the connection is open, in that case calls are rejected.
+     * @throws IllegalStateException if the client is not configured
      */
     public T get() {
-        if (isServiceAvailable()) {
+        if (null != restClient) {
             return restClient;
         }
         throw new IllegalStateException("Service not available");
     }
 
+    /**
+     * @return {@link ServiceState#NOT_CONFIGURED} if there is no client,
+     *         {@link ServiceState#TEMPORARILY_UNAVAILABLE} while the circuit
+     *         breaker of the connection is open, otherwise
+     *         {@link ServiceState#ACTIVE}
+     */
     @Override
     public ServiceState getServiceState() {
-        return null != restClient ? ServiceState.ACTIVE : ServiceState.NOT_CONFIGURED;
+        if (null == restClient) {
+            return ServiceState.NOT_CONFIGURED;
+        }
+        if (null != connectionGuard && ConnectionGuard.State.OPEN == connectionGuard.getState()) {
+            return ServiceState.TEMPORARILY_UNAVAILABLE;
+        }
+        return ServiceState.ACTIVE;
     }
 }
@@ -26,6 +26,7 @@ import lombok.experimental.UtilityClass;
  * <h2>Message Categories</h2>
  * <ul>
  *   <li>INFO - Normal operational events (identifiers 001-099)</li>
+ *   <li>WARN - Potential issues, e.g. invalid configuration (identifiers 100-199)</li>
  *   <li>ERROR - Error conditions and exceptions (identifiers 200-299)</li>
  * </ul>
  *
@@ -79,6 +80,66 @@ public final class RestClientLogMessages {
                 .prefix(PREFIX)
                 .identifier(2)
                 .build();
+
+        /**
+         * Logged when an exchange that has not been sampled is trace-logged because of an error status.
+         */
+        public static final LogRecord REQUEST_ON_ERROR_INFO = LogRecordModel.builder()
+                .template("""
+                        -- Client request info (traced on error) --
+                        Request URI: %s
+                        Method: %s""")
+                .prefix(PREFIX)
+                .identifier(3)
+                .build();
+
+        /**
+         * Logged when the circuit breaker of a connection changes to half-open or closed.
+         */
+        public static final LogRecord CIRCUIT_BREAKER_STATE_CHANGED = LogRecordModel.builder()
+                .template("Circuit breaker of connection '%s' changed from %s to %s")
+                .prefix(PREFIX)
+                .identifier(4)
+                .build();
+
+        /**
+         * Logged when a credential provider picked up changed credentials.
+         */
+        public static final LogRecord CREDENTIALS_REFRESHED = LogRecordModel.builder()
+                .template("Refreshed credentials for header '%s' from '%s'")
+                .prefix(PREFIX)
+                .identifier(5)
+                .build();
+    }
+
+    @UtilityClass
+    public static final class WARN {
+        /**
+         * Logged when a client setting from the context map of a connection could not be parsed.
+         */
+        public static final LogRecord INVALID_CONNECTION_CONFIGURATION = LogRecordModel.builder()
+                .template("Ignoring invalid connection configuration '%s': '%s'")
+                .prefix(PREFIX)
+                .identifier(100)
+                .build();
+
+        /**
+         * Logged when the circuit breaker of a connection opens and starts rejecting calls.
+         */
+        public static final LogRecord CIRCUIT_BREAKER_OPENED = LogRecordModel.builder()
+                .template("Circuit breaker of connection '%s' opened, calls are rejected")
+                .prefix(PREFIX)
+                .identifier(101)
+                .build();
+
+        /**
+         * Logged when changed credentials could not be read, the previous ones are kept.
+         */
+        public static final LogRecord CREDENTIALS_REFRESH_FAILED = LogRecordModel.builder()
+                .template("Unable to refresh credentials from '%s', keeping the previous ones")
+                .prefix(PREFIX)
+                .identifier(102)
+                .build();
     }
 
     @UtilityClass
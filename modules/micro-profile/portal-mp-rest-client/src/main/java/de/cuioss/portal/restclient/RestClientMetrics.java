@@ -0,0 +1,384 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.restclient;
+
+import de.cuioss.portal.metrics.utils.MetricsUtils;
+import de.cuioss.tools.logging.CuiLogger;
+import jakarta.annotation.Priority;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.client.ClientRequestContext;
+import jakarta.ws.rs.client.ClientRequestFilter;
+import jakarta.ws.rs.client.ClientResponseContext;
+import jakarta.ws.rs.client.ClientResponseFilter;
+import jakarta.ws.rs.ext.WriterInterceptor;
+import jakarta.ws.rs.ext.WriterInterceptorContext;
+import lombok.Getter;
+import org.eclipse.microprofile.metrics.Counter;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.Tag;
+import org.eclipse.microprofile.metrics.Timer;
+import org.eclipse.microprofile.rest.client.ext.AsyncInvocationInterceptor;
+import org.eclipse.microprofile.rest.client.ext.AsyncInvocationInterceptorFactory;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static de.cuioss.tools.string.MoreStrings.requireNotEmpty;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Records metrics for all exchanges of the REST clients of a single
+ * connection, identified by its connection id:
+ * <ul>
+ *   <li>{@value #REQUESTS}: timer per HTTP method</li>
+ *   <li>{@value #RESPONSES}: counter per status code, {@value #ERROR_STATUS}
+ *   for calls failing without response</li>
+ *   <li>{@value #REQUEST_BYTES}: counter of request body bytes written</li>
+ *   <li>{@value #RESPONSE_BYTES}: counter of response body bytes as announced by
+ *   the {@code Content-Length} header</li>
+ *   <li>{@value #IN_FLIGHT}: gauge of requests sent without a response yet</li>
+ * </ul>
+ * Each metric is tagged with {@value #CONNECTION_TAG} and the application tag,
+ * see {@link MetricsUtils#getAppTag()}.
+ *
+ * <p>All metric IDs and metrics are resolved upfront, status code counters on
+ * first use, so the filters do not register or look up metrics by ID. Per
+ * exchange there are still small allocations: the in-flight marker, its set
+ * entry and the {@link Duration} passed to the timer.
+ * Clients of the same connection and registry share one instance, see
+ * {@link #forConnection(MetricRegistry, String, long)}. Instances are held
+ * weakly by their registry, so they are discarded together with it, e.g. on
+ * redeploy.
+ *
+ * <p>The start of an exchange is kept as property of the request context. A
+ * request that fails without response, e.g. on a connection error, is not
+ * visible to a {@link ClientResponseFilter}. {@link MeteredInvocationHandler}
+ * therefore opens a {@link Call} for every invocation and reports it by
+ * {@link #completed(Call)} once the call returns or its stage completes. An
+ * exchange of a call without response is then timed and counted as
+ * {@value #ERROR_STATUS}. The call is passed to the thread sending an
+ * asynchronous request by {@link #asyncInterceptorFactory()}. Requests of
+ * clients not wrapped by that proxy are dropped from the in-flight gauge
+ * once they are older than the stale period, usually the sum of connect and
+ * read timeout. The request context itself is never retained.
+ *
+ * @see CuiRestClientBuilder#metricRegistry(MetricRegistry)
+ */
+@Priority(Integer.MAX_VALUE - 1)
+class RestClientMetrics implements ClientRequestFilter, ClientResponseFilter, WriterInterceptor {
+
+    private static final CuiLogger LOGGER = new CuiLogger(RestClientMetrics.class);
+
+    static final String REQUESTS = "portal.restclient.requests";
+    static final String RESPONSES = "portal.restclient.responses";
+    static final String REQUEST_BYTES = "portal.restclient.request.bytes";
+    static final String RESPONSE_BYTES = "portal.restclient.response.bytes";
+    static final String IN_FLIGHT = "portal.restclient.inflight";
+    static final String CONNECTION_TAG = "connection";
+    static final String METHOD_TAG = "method";
+    static final String STATUS_TAG = "http_status";
+    static final String ERROR_STATUS = "error";
+
+    private static final List<String> KNOWN_METHODS = List.of(HttpMethod.GET, HttpMethod.POST, HttpMethod.PUT,
+            HttpMethod.DELETE, HttpMethod.PATCH, HttpMethod.HEAD, HttpMethod.OPTIONS);
+
+    private static final int PURGE_THRESHOLD = 256;
+
+    private static final int MIN_STATUS = 100;
+    private static final int MAX_STATUS = 599;
+
+    /**
+     * Request context property holding the {@link InFlight} marker of an exchange.
+     */
+    static final String IN_FLIGHT_PROPERTY = RestClientMetrics.class.getName() + ".inFlight";
+
+    private static final Map<MetricRegistry, Map<String, RestClientMetrics>> INSTANCES = Collections
+            .synchronizedMap(new WeakHashMap<>());
+
+    private final WeakReference<MetricRegistry> registry;
+    @Getter
+    private final String connectionId;
+    private final Tag connectionTag;
+    private final AtomicLong staleAfterNanos;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final AtomicReferenceArray<Counter> statusCounters = new AtomicReferenceArray<>(MAX_STATUS + 1);
+    private final Counter otherStatusCounter;
+    private final Counter errorCounter;
+    private final Counter requestBytes;
+    private final Counter responseBytes;
+    private final Set<InFlight> inFlight = ConcurrentHashMap.newKeySet();
+    /**
+     * The call whose request is currently sent on this thread.
+     */
+    private final ThreadLocal<Call> current = new ThreadLocal<>();
+
+    /**
+     * @param registry        to register the metrics at, must not be null
+     * @param connectionId    to tag the metrics with, must not be empty
+     * @param staleAfterNanos the period after which a request without response
+     *                        is no longer counted as in-flight. If clients of
+     *                        the same connection pass different periods, the
+     *                        longest one applies
+     * @return the metrics shared by all clients of the given connection and
+     *         registry
+     */
+    static RestClientMetrics forConnection(final MetricRegistry registry, final String connectionId,
+            final long staleAfterNanos) {
+        requireNonNull(registry);
+        requireNotEmpty(connectionId);
+        final RestClientMetrics metrics;
+        synchronized (INSTANCES) {
+            metrics = INSTANCES.computeIfAbsent(registry, key -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(connectionId, id -> new RestClientMetrics(registry, id, staleAfterNanos));
+        }
+        metrics.staleAfterNanos.accumulateAndGet(staleAfterNanos, Math::max);
+        return metrics;
+    }
+
+    private RestClientMetrics(final MetricRegistry registry, final String connectionId, final long staleAfterNanos) {
+        LOGGER.debug("Creating REST client metrics for connection '%s'", connectionId);
+        this.registry = new WeakReference<>(registry);
+        this.connectionId = connectionId;
+        this.staleAfterNanos = new AtomicLong(staleAfterNanos);
+        connectionTag = new Tag(CONNECTION_TAG, connectionId);
+        for (final String method : KNOWN_METHODS) {
+            timers.put(method, createTimer(method));
+        }
+        otherStatusCounter = registry.counter(MetricsUtils.createMetricId(RESPONSES, connectionTag,
+                new Tag(STATUS_TAG, "other")));
+        errorCounter = registry.counter(MetricsUtils.createMetricId(RESPONSES, connectionTag,
+                new Tag(STATUS_TAG, ERROR_STATUS)));
+        requestBytes = registry.counter(MetricsUtils.createMetricId(REQUEST_BYTES, connectionTag));
+        responseBytes = registry.counter(MetricsUtils.createMetricId(RESPONSE_BYTES, connectionTag));
+        registry.gauge(MetricsUtils.createMetricId(IN_FLIGHT, connectionTag), this::getInFlightCount);
+    }
+
+    @Override
+    public void filter(final ClientRequestContext requestContext) {
+        if (inFlight.size() > PURGE_THRESHOLD) {
+            // Failed requests are never removed by the response filter
+            getInFlightCount();
+        }
+        final var marker = new InFlight(requestContext.getMethod(), System.nanoTime());
+        requestContext.setProperty(IN_FLIGHT_PROPERTY, marker);
+        inFlight.add(marker);
+        final var call = current.get();
+        if (null != call) {
+            call.exchange = marker;
+        }
+    }
+
+    @Override
+    public void filter(final ClientRequestContext requestContext, final ClientResponseContext responseContext) {
+        if (requestContext.getProperty(IN_FLIGHT_PROPERTY) instanceof InFlight marker) {
+            marker.answered = true;
+            inFlight.remove(marker);
+            resolveTimer(requestContext.getMethod()).update(Duration.ofNanos(System.nanoTime() - marker.start));
+        }
+        resolveStatusCounter(responseContext.getStatus()).inc();
+        final var length = responseContext.getLength();
+        if (length > 0) {
+            responseBytes.inc(length);
+        }
+    }
+
+    @Override
+    public void aroundWriteTo(final WriterInterceptorContext context) throws IOException {
+        final var counting = new CountingOutputStream(context.getOutputStream());
+        context.setOutputStream(counting);
+        try {
+            context.proceed();
+        } finally {
+            if (counting.count > 0) {
+                requestBytes.inc(counting.count);
+            }
+        }
+    }
+
+    /**
+     * Opens a call on the current thread. Requests sent on this thread until
+     * {@link #close(Call)} are attributed to it.
+     *
+     * @return the call previously open on this thread, may be null
+     */
+    Call open(final Call call) {
+        final var previous = current.get();
+        current.set(call);
+        return previous;
+    }
+
+    /**
+     * Restores the call open on the current thread before
+     * {@link #open(Call)}.
+     */
+    void close(final Call previous) {
+        if (null == previous) {
+            current.remove();
+        } else {
+            current.set(previous);
+        }
+    }
+
+    /**
+     * Records the exchange of the given, completed call if it did not
+     * receive a response: its duration and the {@value #ERROR_STATUS}
+     * counter. Does nothing if no request has been sent.
+     */
+    void completed(final Call call) {
+        final var exchange = call.exchange;
+        if (null != exchange && !exchange.answered) {
+            inFlight.remove(exchange);
+            resolveTimer(exchange.method).update(Duration.ofNanos(System.nanoTime() - exchange.start));
+            errorCounter.inc();
+        }
+    }
+
+    /**
+     * @return to be registered at the client, passes the call open on the
+     *         invoking thread to the thread sending an asynchronous request
+     */
+    AsyncInvocationInterceptorFactory asyncInterceptorFactory() {
+        return () -> new AsyncInvocationInterceptor() {
+
+            private Call call;
+            private Call previous;
+
+            @Override
+            public void prepareContext() {
+                call = current.get();
+            }
+
+            @Override
+            public void applyContext() {
+                if (null != call) {
+                    previous = open(call);
+                }
+            }
+
+            @Override
+            public void removeContext() {
+                if (null != call) {
+                    close(previous);
+                }
+            }
+        };
+    }
+
+    /**
+     * @return the number of requests sent without a response yet, ignoring
+     *         stale ones
+     */
+    long getInFlightCount() {
+        final var staleBefore = System.nanoTime() - staleAfterNanos.get();
+        inFlight.removeIf(marker -> marker.start - staleBefore < 0);
+        return inFlight.size();
+    }
+
+    private Timer resolveTimer(final String method) {
+        final var timer = timers.get(null == method ? "" : method);
+        if (null != timer) {
+            return timer;
+        }
+        return timers.computeIfAbsent(null == method ? "" : method, this::createTimer);
+    }
+
+    /**
+     * @return the registry, held weakly so that it can be discarded together
+     *         with its instances
+     */
+    private MetricRegistry registry() {
+        final var current = registry.get();
+        if (null == current) {
+            throw new IllegalStateException("MetricRegistry of connection '" + connectionId + "' has been discarded");
+        }
+        return current;
+    }
+
+    private Timer createTimer(final String method) {
+        return registry().timer(MetricsUtils.createMetricId(REQUESTS, connectionTag, new Tag(METHOD_TAG, method)));
+    }
+
+    private Counter resolveStatusCounter(final int status) {
+        if (status < MIN_STATUS || status > MAX_STATUS) {
+            return otherStatusCounter;
+        }
+        final var counter = statusCounters.get(status);
+        if (null != counter) {
+            return counter;
+        }
+        // Registries return the existing counter for an existing id, so racing threads agree
+        final var created = registry().counter(MetricsUtils.createMetricId(RESPONSES, connectionTag,
+                new Tag(STATUS_TAG, String.valueOf(status))));
+        statusCounters.compareAndSet(status, null, created);
+        return statusCounters.get(status);
+    }
+
+    /**
+     * A single invocation of the client, referencing the exchange of its
+     * request.
+     */
+    static final class Call {
+
+        private volatile InFlight exchange;
+    }
+
+    /**
+     * Identity based marker of an exchange in progress.
+     */
+    private static final class InFlight {
+
+        private final String method;
+        private final long start;
+        private volatile boolean answered;
+
+        InFlight(final String method, final long start) {
+            this.method = method;
+            this.start = start;
+        }
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(final OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
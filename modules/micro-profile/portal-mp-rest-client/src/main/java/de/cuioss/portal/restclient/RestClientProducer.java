@@ -90,8 +90,11 @@ public class RestClientProducer {
         try {
             var connectionMetadata = ConnectionMetadataProducer.createConnectionMetadata(baseName,
                     failOnInvalidConfiguration);
-            return new RestClientHolder<>(new CuiRestClientBuilder(resolveCuiLogger(injectionPoint, serviceInterface))
-                    .connectionMetadata(connectionMetadata).build(serviceInterface));
+            final var builder = new CuiRestClientBuilder(resolveCuiLogger(injectionPoint, serviceInterface))
+                    .connectionMetadata(connectionMetadata);
+            final var client = builder.build(serviceInterface);
+            return new RestClientHolder<>(client, builder.getExchangeHistory().orElse(null),
+                    builder.getConnectionGuard().orElse(null));
         } catch (IllegalArgumentException e) {
             LOGGER.error(e, RestClientLogMessages.ERROR.INITIALIZATION_FAILED);
             return new RestClientHolder<>(null);
@@ -0,0 +1,216 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.restclient;
+
+import de.cuioss.portal.configuration.connections.impl.ConnectionMetadataKeys;
+import lombok.Builder;
+import lombok.Value;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static de.cuioss.tools.base.Preconditions.checkArgument;
+
+/**
+ * Retry settings of a REST client, applied by {@link RetryInvocationHandler}.
+ *
+ * <p>The delay before the n-th retry is {@code baseDelay * 2^(n-1)}, capped
+ * by {@code maxDelay} and randomly shortened by up to {@code jitter} of its
+ * length, so that clients failing together do not retry together.
+ *
+ * <p>Only idempotent methods or methods annotated with {@link Retryable} are
+ * retried. {@link #getMaxDurationMillis()}, if set, limits the overall time
+ * spent on all attempts, see {@link RetryInvocationHandler}.
+ *
+ * <p>Usually created from the context map of a
+ * {@link de.cuioss.portal.configuration.connections.impl.ConnectionMetadata}
+ * by {@link #fromContextMap(Map)}.
+ *
+ * @see CuiRestClientBuilder#retry(RetryConfig)
+ */
+@Value
+@Builder(toBuilder = true)
+public class RetryConfig {
+
+    /**
+     * No retry.
+     */
+    public static final RetryConfig DISABLED = builder().build();
+
+    /**
+     * Maximum number of attempts including the first one, 1 for no retry.
+     */
+    @Builder.Default
+    int maxAttempts = 1;
+
+    /**
+     * Delay in milliseconds before the first retry.
+     */
+    @Builder.Default
+    long baseDelayMillis = 100;
+
+    /**
+     * Upper bound of the delay between two attempts in milliseconds.
+     */
+    @Builder.Default
+    long maxDelayMillis = 2000;
+
+    /**
+     * Fraction (0.0-1.0) by which a delay is randomly shortened.
+     */
+    @Builder.Default
+    double jitter = 0.5;
+
+    /**
+     * HTTP status codes that are retried.
+     */
+    @Builder.Default
+    Set<Integer> retryStatusCodes = Set.of(502, 503, 504);
+
+    /**
+     * Exceptions that are retried if found in the cause chain of a failed
+     * call.
+     */
+    @Builder.Default
+    Set<Class<? extends Throwable>> retryExceptions = Set.of(IOException.class);
+
+    /**
+     * Overall time in milliseconds for all attempts of a call, including the
+     * delays, 0 for no limit. A retry is only started if it can complete
+     * within this time, assuming it takes as long as the connect and read
+     * timeouts of the client.
+     */
+    @Builder.Default
+    long maxDurationMillis = 0;
+
+    private RetryConfig(final int maxAttempts, final long baseDelayMillis, final long maxDelayMillis,
+            final double jitter, final Set<Integer> retryStatusCodes,
+            final Set<Class<? extends Throwable>> retryExceptions, final long maxDurationMillis) {
+        checkArgument(maxAttempts > 0, "maxAttempts must be positive");
+        checkArgument(baseDelayMillis >= 0, "baseDelayMillis must not be negative");
+        checkArgument(maxDelayMillis >= baseDelayMillis, "maxDelayMillis must not be less than baseDelayMillis");
+        checkArgument(jitter >= 0.0 && jitter <= 1.0, "jitter must be between 0.0 and 1.0");
+        checkArgument(maxDurationMillis >= 0, "maxDurationMillis must not be negative");
+        this.maxAttempts = maxAttempts;
+        this.baseDelayMillis = baseDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+        this.jitter = jitter;
+        this.retryStatusCodes = Set.copyOf(retryStatusCodes);
+        this.retryExceptions = Set.copyOf(retryExceptions);
+        this.maxDurationMillis = maxDurationMillis;
+    }
+
+    /**
+     * @return {@code true} if calls may be retried at all
+     */
+    public boolean isEnabled() {
+        return maxAttempts > 1;
+    }
+
+    /**
+     * @param attempt the number of the failed attempt, starting with 1
+     * @param random  a random value between 0.0 and 1.0
+     * @return the delay in milliseconds before the next attempt
+     */
+    long computeDelayMillis(final int attempt, final double random) {
+        // The shift is capped, base delays are read as int and must not overflow
+        final var delay = Math.min(maxDelayMillis, baseDelayMillis << Math.min(attempt - 1, 30));
+        return delay - (long) (delay * jitter * random);
+    }
+
+    /**
+     * @param throwable to be checked, must not be null
+     * @return {@code true} if one of {@link #getRetryExceptions()} is in the
+     *         cause chain of the given throwable
+     */
+    boolean isRetryable(final Throwable throwable) {
+        var current = throwable;
+        while (null != current) {
+            final var candidate = current;
+            if (retryExceptions.stream().anyMatch(type -> type.isInstance(candidate))) {
+                return true;
+            }
+            current = current.getCause() == current ? null : current.getCause();
+        }
+        return false;
+    }
+
+    /**
+     * Reads the configuration from the given context map, see the
+     * {@code RETRY_*} keys of {@link ConnectionMetadataKeys}. Invalid values
+     * are logged and replaced by their defaults.
+     *
+     * @param contextMap to be read, must not be null
+     * @return the configuration, {@link #DISABLED} if no retry is configured
+     */
+    public static RetryConfig fromContextMap(final Map<? extends Serializable, ? extends Serializable> contextMap) {
+        final var maxAttempts = ContextMapValues.readInt(contextMap, ConnectionMetadataKeys.RETRY_MAX_ATTEMPTS, 1, 1,
+                Integer.MAX_VALUE);
+        if (maxAttempts < 2) {
+            return DISABLED;
+        }
+        final var baseDelay = ContextMapValues.readInt(contextMap, ConnectionMetadataKeys.RETRY_BASE_DELAY, 100, 0,
+                Integer.MAX_VALUE);
+        final var builder = builder().maxAttempts(maxAttempts).baseDelayMillis(baseDelay)
+                .maxDelayMillis(ContextMapValues.readInt(contextMap, ConnectionMetadataKeys.RETRY_MAX_DELAY,
+                        Math.max(2000, baseDelay), baseDelay, Integer.MAX_VALUE))
+                .jitter(ContextMapValues.readDouble(contextMap, ConnectionMetadataKeys.RETRY_JITTER, 0.5, 0.0, 1.0))
+                .maxDurationMillis(ContextMapValues.readInt(contextMap, ConnectionMetadataKeys.RETRY_MAX_DURATION, 0,
+                        0, Integer.MAX_VALUE));
+        ContextMapValues.readList(contextMap, ConnectionMetadataKeys.RETRY_STATUS_CODES)
+                .ifPresent(codes -> builder.retryStatusCodes(parseStatusCodes(codes)));
+        ContextMapValues.readList(contextMap, ConnectionMetadataKeys.RETRY_EXCEPTIONS)
+                .ifPresent(names -> builder.retryExceptions(resolveExceptions(names)));
+        return builder.build();
+    }
+
+    private static Set<Integer> parseStatusCodes(final Iterable<String> codes) {
+        final Set<Integer> result = new HashSet<>();
+        for (final String code : codes) {
+            try {
+                final var parsed = Integer.parseInt(code);
+                if (parsed >= 100 && parsed <= 599) {
+                    result.add(parsed);
+                    continue;
+                }
+            } catch (NumberFormatException e) {
+                // Logged below
+            }
+            ContextMapValues.warnInvalid(ConnectionMetadataKeys.RETRY_STATUS_CODES, code);
+        }
+        return result;
+    }
+
+    private static Set<Class<? extends Throwable>> resolveExceptions(final Iterable<String> names) {
+        final Set<Class<? extends Throwable>> result = new HashSet<>();
+        for (final String name : names) {
+            try {
+                final var type = Class.forName(name, false, RetryConfig.class.getClassLoader());
+                if (Throwable.class.isAssignableFrom(type)) {
+                    result.add(type.asSubclass(Throwable.class));
+                    continue;
+                }
+            } catch (ClassNotFoundException e) {
+                // Logged below
+            }
+            ContextMapValues.warnInvalid(ConnectionMetadataKeys.RETRY_EXCEPTIONS, name);
+        }
+        return result;
+    }
+}
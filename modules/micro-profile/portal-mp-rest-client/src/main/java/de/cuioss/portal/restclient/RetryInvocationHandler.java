@@ -0,0 +1,196 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.restclient;
+
+import de.cuioss.tools.logging.CuiLogger;
+import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HEAD;
+import jakarta.ws.rs.OPTIONS;
+import jakarta.ws.rs.PUT;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+
+import java.io.Closeable;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Retries failed calls of a REST client according to a {@link RetryConfig}.
+ *
+ * <p>A call is retried if it throws a {@link WebApplicationException} or
+ * returns a {@link Response} with one of the
+ * {@link RetryConfig#getRetryStatusCodes()}, or if it throws an exception
+ * with one of the {@link RetryConfig#getRetryExceptions()} in its cause chain.
+ * Only idempotent methods and methods annotated with {@link Retryable} are
+ * retried, see {@link Retryable} for details. Methods with a parameter that
+ * can only be sent once, i.e. a stream, reader, channel or
+ * {@link StreamingOutput}, are never retried.
+ *
+ * <p>Like {@link GuardedInvocationHandler} it is implemented as proxy, because
+ * client filters can neither repeat a call nor see calls failing without
+ * response. It is placed outside the {@link ConnectionGuard}, so every
+ * attempt passes the guard and rejected calls are not retried.
+ *
+ * <p>{@link RetryConfig#getMaxDurationMillis()} limits the time spent on all
+ * attempts: a retry is only started if its delay plus the timeout of an
+ * attempt, i.e. the connect and read timeout of the client, ends before the
+ * deadline. Otherwise the last result is passed to the caller. A call
+ * therefore takes at most the longer of its first attempt and the maximum
+ * duration, as far as the attempts keep to the timeouts. Without timeouts
+ * only the delays are checked against the deadline.
+ */
+final class RetryInvocationHandler implements InvocationHandler {
+
+    private static final CuiLogger LOGGER = new CuiLogger(RetryInvocationHandler.class);
+
+    private static final Set<Class<? extends Annotation>> IDEMPOTENT_METHODS = Set.of(GET.class, HEAD.class,
+            OPTIONS.class, PUT.class, DELETE.class);
+
+    private final Object delegate;
+    private final RetryConfig config;
+    private final long deadlineNanos;
+    private final long attemptTimeoutNanos;
+    private final Map<Method, Boolean> retryableMethods = new ConcurrentHashMap<>();
+
+    private RetryInvocationHandler(final Object delegate, final RetryConfig config, final long attemptTimeoutNanos) {
+        this.delegate = requireNonNull(delegate);
+        this.config = requireNonNull(config);
+        deadlineNanos = TimeUnit.MILLISECONDS.toNanos(config.getMaxDurationMillis());
+        this.attemptTimeoutNanos = attemptTimeoutNanos;
+    }
+
+    /**
+     * @param serviceInterface    the interface of the client, must not be null
+     * @param delegate            the client to be retried, must not be null
+     * @param config              to be applied, must not be null
+     * @param attemptTimeoutNanos the maximum time of a single attempt, i.e.
+     *                            the sum of connect and read timeout, 0 if
+     *                            unknown
+     * @return a proxy implementing the given interface and {@link Closeable}
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T wrap(final Class<T> serviceInterface, final T delegate, final RetryConfig config,
+            final long attemptTimeoutNanos) {
+        return (T) Proxy.newProxyInstance(serviceInterface.getClassLoader(),
+                new Class<?>[]{serviceInterface, Closeable.class},
+                new RetryInvocationHandler(delegate, config, attemptTimeoutNanos));
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+        if (isClose(method)) {
+            if (delegate instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+            return null;
+        }
+        if (Object.class.equals(method.getDeclaringClass())
+                || !retryableMethods.computeIfAbsent(method, RetryInvocationHandler::isRetryableMethod)) {
+            return invokeDelegate(method, args);
+        }
+        final var start = System.nanoTime();
+        var attempt = 1;
+        while (true) {
+            try {
+                final var result = invokeDelegate(method, args);
+                if (attempt < config.getMaxAttempts() && result instanceof Response response
+                        && config.getRetryStatusCodes().contains(response.getStatus())
+                        && awaitRetry(method, attempt, start, response.getStatus())) {
+                    response.close();
+                } else {
+                    return result;
+                }
+            } catch (Throwable e) {
+                if (attempt >= config.getMaxAttempts() || !isRetryable(e)
+                        || !awaitRetry(method, attempt, start, e)) {
+                    throw e;
+                }
+            }
+            attempt++;
+        }
+    }
+
+    private boolean isRetryable(final Throwable throwable) {
+        if (throwable instanceof WebApplicationException e && null != e.getResponse()) {
+            return config.getRetryStatusCodes().contains(e.getResponse().getStatus());
+        }
+        return config.isRetryable(throwable);
+    }
+
+    /**
+     * Sleeps for the backoff delay, unless the delay and the following attempt
+     * could exceed the deadline.
+     *
+     * @return {@code true} if the call should be retried
+     */
+    private boolean awaitRetry(final Method method, final int attempt, final long start, final Object cause) {
+        final var delayMillis = config.computeDelayMillis(attempt, ThreadLocalRandom.current().nextDouble());
+        if (deadlineNanos > 0 && System.nanoTime() - start + TimeUnit.MILLISECONDS.toNanos(delayMillis)
+                + attemptTimeoutNanos > deadlineNanos) {
+            LOGGER.debug("Not retrying %s after attempt %s, deadline would be exceeded", method.getName(), attempt);
+            return false;
+        }
+        LOGGER.debug("Retrying %s in %s ms after attempt %s of %s failed: %s", method.getName(), delayMillis,
+                attempt, config.getMaxAttempts(), cause);
+        try {
+            TimeUnit.MILLISECONDS.sleep(delayMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private Object invokeDelegate(final Method method, final Object[] args) throws Throwable {
+        try {
+            return method.invoke(delegate, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static boolean isRetryableMethod(final Method method) {
+        for (final Class<?> type : method.getParameterTypes()) {
+            if (AutoCloseable.class.isAssignableFrom(type) || StreamingOutput.class.isAssignableFrom(type)) {
+                LOGGER.debug("Not retrying %s, parameter of type %s can only be sent once", method.getName(),
+                        type.getName());
+                return false;
+            }
+        }
+        final var annotation = null != method.getAnnotation(Retryable.class) ? method.getAnnotation(Retryable.class)
+                : method.getDeclaringClass().getAnnotation(Retryable.class);
+        if (null != annotation) {
+            return annotation.value();
+        }
+        return IDEMPOTENT_METHODS.stream().anyMatch(method::isAnnotationPresent);
+    }
+
+    private static boolean isClose(final Method method) {
+        return "close".equals(method.getName()) && 0 == method.getParameterCount();
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.restclient;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Overrides whether the methods of a REST client interface are retried
+ * according to the {@link RetryConfig} of the connection.
+ *
+ * <p>Without the annotation only idempotent methods, i.e. {@code GET},
+ * {@code HEAD}, {@code OPTIONS}, {@code PUT} and {@code DELETE}, are retried.
+ * A method annotation takes precedence over a type annotation.
+ *
+ * <p>Example usage:
+ * <pre>
+ * &#64;POST
+ * &#64;Path("search")
+ * &#64;Retryable
+ * Result search(Query query);
+ * </pre>
+ *
+ * @see CuiRestClientBuilder#retry(RetryConfig)
+ */
+@Documented
+@Retention(RUNTIME)
+@Target({TYPE, METHOD})
+public @interface Retryable {
+
+    /**
+     * @return {@code false} to exclude an otherwise idempotent method from
+     * being retried. Defaults to {@code true}.
+     */
+    boolean value() default true;
+}
@@ -18,26 +18,56 @@ package de.cuioss.portal.restclient;
 import de.cuioss.portal.configuration.connections.TokenResolver;
 import jakarta.ws.rs.client.ClientRequestContext;
 import jakarta.ws.rs.client.ClientRequestFilter;
-import lombok.RequiredArgsConstructor;
 
 /**
  * Client filter that implements token-based authentication for REST client requests.
- * The actual token is provided through a {@link TokenResolver} implementation.
+ * The actual token is provided through a {@link TokenResolver} implementation,
+ * which is called on every request, or through a {@link CredentialProvider},
+ * e.g. a {@link RefreshingCredentialProvider} reading the token from a file.
  *
  * <p>The filter is automatically configured by {@link CuiRestClientBuilder}
  * when token authentication is specified in the configuration.
  *
  * @see CuiRestClientBuilder
  */
-@RequiredArgsConstructor
 public class TokenFilter implements ClientRequestFilter {
 
-    private final TokenResolver tokenResolver;
+    private final CredentialProvider credentials;
+
+    /**
+     * @param tokenResolver to be called on every request, may be null, resulting in no header
+     */
+    public TokenFilter(final TokenResolver tokenResolver) {
+        credentials = null == tokenResolver ? null : new ResolvingCredentials(tokenResolver);
+    }
+
+    /**
+     * @param credentials providing the header, may be null, resulting in no header
+     */
+    public TokenFilter(final CredentialProvider credentials) {
+        this.credentials = credentials;
+    }
 
     @Override
     public void filter(ClientRequestContext requestContext) {
-        if (null != tokenResolver) {
-            requestContext.getHeaders().putSingle(tokenResolver.getKey(), tokenResolver.resolve());
+        if (null != credentials) {
+            final var value = credentials.getHeaderValue();
+            if (null != value) {
+                requestContext.getHeaders().putSingle(credentials.getHeaderName(), value);
+            }
+        }
+    }
+
+    private record ResolvingCredentials(TokenResolver resolver) implements CredentialProvider {
+
+        @Override
+        public String getHeaderName() {
+            return resolver.getKey();
+        }
+
+        @Override
+        public String getHeaderValue() {
+            return resolver.resolve();
         }
     }
 }
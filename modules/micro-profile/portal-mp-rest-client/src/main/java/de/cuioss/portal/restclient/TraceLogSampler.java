@@ -0,0 +1,143 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.restclient;
+
+import jakarta.annotation.Priority;
+import jakarta.ws.rs.client.ClientRequestContext;
+import jakarta.ws.rs.client.ClientRequestFilter;
+import jakarta.ws.rs.client.ClientResponseContext;
+import jakarta.ws.rs.client.ClientResponseFilter;
+import jakarta.ws.rs.ext.InterceptorContext;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Decides per exchange whether it is trace-logged and optionally records it
+ * into an {@link ExchangeHistory}.
+ *
+ * <p>The decision is taken once, before any other request filter runs, and
+ * stored as request property {@link #DECISION_PROPERTY}. The trace-log
+ * components {@link LogClientRequestFilter}, {@link LogClientResponseFilter}
+ * and {@link LogReaderInterceptor} consult it via the static
+ * {@code isTraced} methods. Without the property, i.e. without a sampler
+ * being registered, every exchange is traced.
+ *
+ * @see TraceLogSampling
+ */
+@Priority(Integer.MIN_VALUE)
+class TraceLogSampler implements ClientRequestFilter, ClientResponseFilter {
+
+    static final String DECISION_PROPERTY = TraceLogSampler.class.getName() + ".decision";
+
+    private static final String START_PROPERTY = TraceLogSampler.class.getName() + ".start";
+
+    private static final int ERROR_STATUS = 400;
+
+    enum Decision {
+        /** The exchange is logged. */
+        TRACE,
+        /** The exchange is logged if answered with an error status. */
+        ON_ERROR,
+        /** The exchange is not logged. */
+        SKIP
+    }
+
+    private final TraceLogSampling sampling;
+    private final boolean traceAll;
+    private final ExchangeHistory history;
+
+    /**
+     * @param sampling to decide with, must not be null
+     * @param traceAll if {@code true}, every exchange is traced regardless of
+     *                 the sampling
+     * @param history  to record exchanges to, may be null
+     */
+    TraceLogSampler(final TraceLogSampling sampling, final boolean traceAll, final ExchangeHistory history) {
+        this.sampling = requireNonNull(sampling);
+        this.traceAll = traceAll;
+        this.history = history;
+    }
+
+    @Override
+    public void filter(final ClientRequestContext requestContext) {
+        final Decision decision;
+        if (traceAll || sampling.sample()) {
+            decision = Decision.TRACE;
+        } else if (sampling.isOnError()) {
+            decision = Decision.ON_ERROR;
+        } else {
+            decision = Decision.SKIP;
+        }
+        requestContext.setProperty(DECISION_PROPERTY, decision);
+        if (null != history) {
+            requestContext.setProperty(START_PROPERTY, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void filter(final ClientRequestContext requestContext, final ClientResponseContext responseContext) {
+        if (null == history) {
+            return;
+        }
+        var durationMillis = -1L;
+        if (requestContext.getProperty(START_PROPERTY) instanceof Long start) {
+            durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        }
+        history.record(new ExchangeHistory.Exchange(Instant.now(), requestContext.getMethod(),
+                requestContext.getUri(), responseContext.getStatus(), durationMillis,
+                Decision.TRACE == requestContext.getProperty(DECISION_PROPERTY)));
+    }
+
+    /**
+     * @param requestContext may be null
+     * @return {@code true} if the request is to be traced
+     */
+    static boolean isTraced(final ClientRequestContext requestContext) {
+        return null == requestContext || isTraced(requestContext.getProperty(DECISION_PROPERTY));
+    }
+
+    /**
+     * @param context may be null
+     * @return {@code true} if the entity is to be traced
+     */
+    static boolean isTraced(final InterceptorContext context) {
+        return null == context || isTraced(context.getProperty(DECISION_PROPERTY));
+    }
+
+    /**
+     * Switches an exchange decided as {@link Decision#ON_ERROR} to
+     * {@link Decision#TRACE} if the given status is an error status.
+     *
+     * @param requestContext must not be null
+     * @param status         of the response
+     * @return {@code true} if the exchange has been switched to be traced by
+     *         this call
+     */
+    static boolean traceOnError(final ClientRequestContext requestContext, final int status) {
+        if (status >= ERROR_STATUS && Decision.ON_ERROR == requestContext.getProperty(DECISION_PROPERTY)) {
+            requestContext.setProperty(DECISION_PROPERTY, Decision.TRACE);
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean isTraced(final Object decision) {
+        return null == decision || Decision.TRACE == decision;
+    }
+}
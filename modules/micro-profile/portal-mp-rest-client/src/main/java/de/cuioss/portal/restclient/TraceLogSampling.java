@@ -0,0 +1,123 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.restclient;
+
+import de.cuioss.portal.configuration.connections.impl.ConnectionMetadataKeys;
+import lombok.Builder;
+import lombok.Value;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static de.cuioss.tools.base.Preconditions.checkArgument;
+
+/**
+ * Configuration for sampled trace-logging of a REST client, see
+ * {@link CuiRestClientBuilder#traceLogSampling(TraceLogSampling)}.
+ *
+ * <p>In contrast to {@link CuiRestClientBuilder#traceLogEnabled(boolean)},
+ * which logs every exchange, only a fraction of the exchanges is logged:
+ * <ul>
+ *   <li>{@link #getSampleRate()}: the probability of an exchange to be logged</li>
+ *   <li>{@link #isOnError()}: log every exchange answered with a status of
+ *   400 or above</li>
+ *   <li>{@link #getHistorySize()}: the number of recent exchanges to be kept
+ *   in an {@link ExchangeHistory}</li>
+ * </ul>
+ *
+ * <p>Usually created from the context map of a
+ * {@link de.cuioss.portal.configuration.connections.impl.ConnectionMetadata}
+ * by {@link #fromContextMap(Map)}.
+ */
+@Value
+@Builder(toBuilder = true)
+public class TraceLogSampling implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 5235384453720066012L;
+
+    /**
+     * Neither samples nor records any exchange.
+     */
+    public static final TraceLogSampling DISABLED = builder().build();
+
+    /**
+     * Rate between 0.0 (none) and 1.0 (all) of the exchanges to be logged.
+     */
+    @Builder.Default
+    double sampleRate = 0.0;
+
+    /**
+     * Whether every exchange with a status code of 400 or above is logged.
+     */
+    boolean onError;
+
+    /**
+     * Number of recent exchanges to be kept in memory, 0 for none.
+     */
+    int historySize;
+
+    private TraceLogSampling(final double sampleRate, final boolean onError, final int historySize) {
+        checkArgument(sampleRate >= 0.0 && sampleRate <= 1.0, "sampleRate must be between 0.0 and 1.0");
+        checkArgument(historySize >= 0, "historySize must not be negative");
+        this.sampleRate = sampleRate;
+        this.onError = onError;
+        this.historySize = historySize;
+    }
+
+    /**
+     * @return {@code true} if any exchange may be logged due to this sampling
+     */
+    public boolean isLogging() {
+        return sampleRate > 0.0 || onError;
+    }
+
+    /**
+     * @return {@code true} if the current exchange is to be logged according
+     *         to {@link #getSampleRate()}
+     */
+    boolean sample() {
+        return sampleRate >= 1.0 || sampleRate > 0.0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    /**
+     * Reads the sampling from the given context map, see
+     * {@link ConnectionMetadataKeys#TRACE_LOG_SAMPLE_RATE},
+     * {@link ConnectionMetadataKeys#TRACE_LOG_ON_ERROR} and
+     * {@link ConnectionMetadataKeys#TRACE_LOG_HISTORY_SIZE}. Invalid values
+     * are logged and ignored.
+     *
+     * @param contextMap to be read, must not be null
+     * @return the sampling, {@link #DISABLED} if none of the keys is present
+     */
+    public static TraceLogSampling fromContextMap(final Map<? extends Serializable, ? extends Serializable> contextMap) {
+        final var rate = contextMap.get(ConnectionMetadataKeys.TRACE_LOG_SAMPLE_RATE);
+        final var onError = contextMap.get(ConnectionMetadataKeys.TRACE_LOG_ON_ERROR);
+        final var historySize = contextMap.get(ConnectionMetadataKeys.TRACE_LOG_HISTORY_SIZE);
+        if (null == rate && null == onError && null == historySize) {
+            return DISABLED;
+        }
+        return builder()
+                .sampleRate(ContextMapValues.readDouble(contextMap, ConnectionMetadataKeys.TRACE_LOG_SAMPLE_RATE,
+                        0.0, 0.0, 1.0))
+                .onError(ContextMapValues.readBoolean(contextMap, ConnectionMetadataKeys.TRACE_LOG_ON_ERROR, false))
+                .historySize(ContextMapValues.readInt(contextMap, ConnectionMetadataKeys.TRACE_LOG_HISTORY_SIZE, 0,
+                        0, Integer.MAX_VALUE))
+                .build();
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.restclient;
+
+import de.cuioss.portal.common.cdi.PortalBeanManager;
+import de.cuioss.portal.configuration.connections.TokenResolver;
+import de.cuioss.portal.configuration.connections.impl.UserTokenResolver;
+import de.cuioss.tools.logging.CuiLogger;
+import jakarta.enterprise.context.ContextNotActiveException;
+import lombok.ToString;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@link CredentialProvider} for a token that depends on the current user,
+ * usually a {@link UserTokenResolver}. The token is resolved once per
+ * request and cached in the {@link RequestTokenCache}. Outside a request,
+ * e.g. in a background thread, it is resolved on every call.
+ *
+ * <p>As the token is not bound to the client, a single client can serve all
+ * users.
+ */
+@ToString(of = "resolver")
+final class UserTokenCredentialProvider implements CredentialProvider {
+
+    private static final CuiLogger LOGGER = new CuiLogger(UserTokenCredentialProvider.class);
+
+    private final TokenResolver resolver;
+    private volatile RequestTokenCache cache;
+
+    /**
+     * @param resolver resolving the token of the current user, must not be
+     *                 null
+     */
+    UserTokenCredentialProvider(final TokenResolver resolver) {
+        this.resolver = requireNonNull(resolver);
+    }
+
+    @Override
+    public String getHeaderName() {
+        return resolver.getKey();
+    }
+
+    @Override
+    public String getHeaderValue() {
+        final var current = resolveCache();
+        if (null != current) {
+            try {
+                return current.resolve(resolver);
+            } catch (ContextNotActiveException e) {
+                LOGGER.trace("No active request, resolving token directly");
+            }
+        }
+        return resolver.resolve();
+    }
+
+    private RequestTokenCache resolveCache() {
+        var current = cache;
+        if (null == current) {
+            try {
+                current = PortalBeanManager.resolveBean(RequestTokenCache.class, null).orElse(null);
+            } catch (IllegalStateException | IllegalArgumentException e) {
+                LOGGER.debug(e, "Unable to resolve RequestTokenCache, tokens are not cached");
+            }
+            cache = current;
+        }
+        return current;
+    }
+}
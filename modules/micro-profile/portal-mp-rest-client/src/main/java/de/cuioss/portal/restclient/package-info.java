@@ -28,6 +28,10 @@
  *   <li>{@link de.cuioss.portal.restclient.BasicAuthenticationFilter} - HTTP Basic Authentication</li>
  *   <li>{@link de.cuioss.portal.restclient.BearerTokenAuthFilter} - Bearer Token Authentication</li>
  *   <li>{@link de.cuioss.portal.restclient.TokenFilter} - Token-based authentication</li>
+ *   <li>{@link de.cuioss.portal.restclient.RefreshingCredentialProvider} - Precomputed authentication header,
+ *   refreshed when its secret file changes</li>
+ *   <li>{@link de.cuioss.portal.restclient.RequestTokenCache} - Token of the current user, resolved once per
+ *   request for all clients</li>
  * </ul>
  * 
  * <h2>Logging Support</h2>
@@ -35,8 +39,42 @@
  *   <li>{@link de.cuioss.portal.restclient.LogClientRequestFilter} - Request logging</li>
  *   <li>{@link de.cuioss.portal.restclient.LogClientResponseFilter} - Response logging</li>
  *   <li>{@link de.cuioss.portal.restclient.LogReaderInterceptor} - Message body logging</li>
+ *   <li>{@link de.cuioss.portal.restclient.TraceLogSampling} - Sampled logging and exchange history</li>
+ *   <li>{@link de.cuioss.portal.restclient.ExchangeHistory} - Recent exchanges, dumped on demand</li>
  * </ul>
  * 
+ * <h2>Metrics</h2>
+ * <ul>
+ *   <li>{@link de.cuioss.portal.restclient.RestClientMetrics} - Per connection timers, status counters and
+ *   byte counts, registered if {@code portal.metrics.enabled} is set</li>
+ * </ul>
+ *
+ * <h2>Caching</h2>
+ * <ul>
+ *   <li>{@link de.cuioss.portal.restclient.ResponseCacheFilter} - Per client HTTP cache honouring
+ *   {@code Cache-Control} and revalidating with {@code ETag} / {@code Last-Modified}</li>
+ *   <li>{@link de.cuioss.portal.restclient.RequestCoalescingFilter} - Identical concurrent {@code GET} requests
+ *   share one upstream call</li>
+ * </ul>
+ *
+ * <h2>Resilience</h2>
+ * <ul>
+ *   <li>{@link de.cuioss.portal.restclient.ResilienceConfig} - Per connection bulkhead and circuit breaker
+ *   settings</li>
+ *   <li>{@link de.cuioss.portal.restclient.ConnectionGuard} - Rejects calls while a connection is overloaded or
+ *   failing</li>
+ *   <li>{@link de.cuioss.portal.restclient.RetryConfig} - Per connection retry with jittered exponential backoff,
+ *   restricted to idempotent or {@link de.cuioss.portal.restclient.Retryable} methods</li>
+ * </ul>
+ *
+ * <h2>Connection Pool</h2>
+ * <ul>
+ *   <li>{@link de.cuioss.portal.restclient.ConnectionPoolConfig} - Per connection pool size, time to live and idle
+ *   timeout</li>
+ *   <li>{@link de.cuioss.portal.restclient.ConnectionPool} - Pooled engine per client, with gauges for leased,
+ *   available and pending connections</li>
+ * </ul>
+ *
  * <p>Configuration is provided through {@link de.cuioss.portal.configuration.types.ConfigAsConnectionMetadata}
  * 
  * @see de.cuioss.portal.configuration.types.ConfigAsConnectionMetadata
@@ -0,0 +1,96 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.restclient;
+
+import de.cuioss.tools.io.IOStreams;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Tests BodyCaptureInputStream")
+class BodyCaptureInputStreamTest {
+
+    private static final String CONTENT = "Some text that is longer than the buffer";
+
+    @Test
+    @DisplayName("Should pass through all bytes and capture only the prefix")
+    void shouldCapturePrefix() throws IOException {
+        var underTest = new BodyCaptureInputStream(stream(CONTENT), new byte[9]);
+
+        assertEquals(CONTENT, IOStreams.toString(underTest, StandardCharsets.UTF_8));
+        assertEquals("Some text", underTest.getCaptured(StandardCharsets.UTF_8));
+        assertEquals(CONTENT.length(), underTest.getTotalLength());
+        assertTrue(underTest.isTruncated());
+    }
+
+    @Test
+    @DisplayName("Should capture everything if the buffer is large enough")
+    void shouldCaptureAll() throws IOException {
+        var underTest = new BodyCaptureInputStream(stream(CONTENT), new byte[128]);
+
+        assertEquals(CONTENT, IOStreams.toString(underTest, StandardCharsets.UTF_8));
+        assertEquals(CONTENT, underTest.getCaptured(StandardCharsets.UTF_8));
+        assertFalse(underTest.isTruncated());
+    }
+
+    @Test
+    @DisplayName("Should capture single byte reads")
+    void shouldCaptureSingleByteReads() throws IOException {
+        var underTest = new BodyCaptureInputStream(stream("abc"), new byte[2]);
+
+        assertEquals('a', underTest.read());
+        assertEquals('b', underTest.read());
+        assertEquals('c', underTest.read());
+        assertEquals(-1, underTest.read());
+        assertEquals("ab", underTest.getCaptured(StandardCharsets.UTF_8));
+        assertEquals(3, underTest.getTotalLength());
+    }
+
+    @Test
+    @DisplayName("Should leave the buffer untouched once detached")
+    void shouldStopCapturingWhenDetached() throws IOException {
+        var buffer = new byte[4];
+        var underTest = new BodyCaptureInputStream(stream("abcdef"), buffer);
+
+        assertEquals('a', underTest.read());
+        underTest.detach();
+        buffer[1] = 'x';
+        assertEquals("bcdef", IOStreams.toString(underTest, StandardCharsets.UTF_8));
+        assertEquals("a", underTest.getCaptured(StandardCharsets.UTF_8));
+        assertEquals('x', buffer[1]);
+    }
+
+    @Test
+    @DisplayName("Should not support mark and reset")
+    void shouldNotSupportMark() {
+        var underTest = new BodyCaptureInputStream(stream(CONTENT), new byte[2]);
+
+        assertFalse(underTest.markSupported());
+        assertThrows(IOException.class, underTest::reset);
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
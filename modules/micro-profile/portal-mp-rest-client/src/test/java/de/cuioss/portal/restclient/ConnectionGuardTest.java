@@ -0,0 +1,269 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.restclient;
+
+import de.cuioss.portal.configuration.connections.exception.ConnectionException;
+import de.cuioss.portal.configuration.connections.exception.ErrorReason;
+import de.cuioss.test.juli.LogAsserts;
+import de.cuioss.test.juli.TestLogLevel;
+import de.cuioss.test.juli.junit5.EnableTestLogger;
+import jakarta.ws.rs.ProcessingException;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Response;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.Closeable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@EnableTestLogger
+@DisplayName("Tests ConnectionGuard")
+class ConnectionGuardTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private static final ResilienceConfig BREAKER = ResilienceConfig.builder().failureRateThreshold(50)
+            .windowSize(4).minimumCalls(4).openDurationMillis(50).halfOpenCalls(2).build();
+
+    interface Service extends Closeable {
+
+        Response call(int status);
+
+        CompletionStage<Response> callAsync(CompletableFuture<Response> pending);
+    }
+
+    interface FutureService extends Closeable {
+
+        Future<Response> call();
+    }
+
+    @Test
+    @DisplayName("Should share guard per connection and configuration")
+    void shouldShareGuard() {
+        var first = ConnectionGuard.forConnection("shared", BREAKER);
+
+        assertSame(first, ConnectionGuard.forConnection("shared", BREAKER));
+        assertNotSame(first, ConnectionGuard.forConnection("shared", BREAKER.toBuilder().windowSize(5).build()));
+    }
+
+    @Test
+    @DisplayName("Should reject calls exceeding the bulkhead")
+    void shouldRejectOnBulkhead() {
+        var underTest = new ConnectionGuard("bulkhead", ResilienceConfig.builder().maxConcurrentCalls(2).build());
+        underTest.acquire();
+        underTest.acquire();
+
+        assertRejected(underTest);
+        assertEquals(2, underTest.getConcurrentCalls());
+        assertEquals(1, underTest.getRejectedCount());
+
+        underTest.release(false, FAST);
+        underTest.acquire();
+        assertEquals(2, underTest.getConcurrentCalls());
+    }
+
+    @Test
+    @DisplayName("Should open, half-open and close the circuit breaker")
+    void shouldRunThroughStates() throws InterruptedException {
+        var underTest = new ConnectionGuard("breaker", BREAKER);
+        call(underTest, false);
+        call(underTest, true);
+        call(underTest, false);
+        assertEquals(ConnectionGuard.State.CLOSED, underTest.getState());
+
+        call(underTest, true);
+        assertEquals(ConnectionGuard.State.OPEN, underTest.getState());
+        assertRejected(underTest);
+        LogAsserts.assertLogMessagePresentContaining(TestLogLevel.WARN, "PortalMPRestClient-101");
+
+        TimeUnit.MILLISECONDS.sleep(60);
+        assertEquals(ConnectionGuard.State.HALF_OPEN, underTest.getState());
+        underTest.acquire();
+        underTest.acquire();
+        assertRejected(underTest);
+        underTest.release(false, FAST);
+        underTest.release(false, FAST);
+
+        assertEquals(ConnectionGuard.State.CLOSED, underTest.getState());
+        LogAsserts.assertLogMessagePresentContaining(TestLogLevel.INFO,
+                RestClientLogMessages.INFO.CIRCUIT_BREAKER_STATE_CHANGED.resolveIdentifierString());
+    }
+
+    @Test
+    @DisplayName("Should reopen on failing trial calls")
+    void shouldReopenOnFailingTrialCalls() throws InterruptedException {
+        var underTest = new ConnectionGuard("reopen", BREAKER);
+        for (var i = 0; i < 4; i++) {
+            call(underTest, true);
+        }
+        TimeUnit.MILLISECONDS.sleep(60);
+        call(underTest, true);
+        call(underTest, false);
+
+        assertEquals(ConnectionGuard.State.OPEN, underTest.getState());
+    }
+
+    @Test
+    @DisplayName("Should open on slow calls")
+    void shouldOpenOnSlowCalls() {
+        var underTest = new ConnectionGuard("slow", ResilienceConfig.builder().slowCallRateThreshold(100)
+                .slowCallDurationMillis(10).windowSize(2).minimumCalls(2).build());
+        for (var i = 0; i < 2; i++) {
+            underTest.acquire();
+            underTest.release(false, TimeUnit.MILLISECONDS.toNanos(10));
+        }
+
+        assertEquals(ConnectionGuard.State.OPEN, underTest.getState());
+    }
+
+    @Test
+    @DisplayName("Should count server errors and exceptions of a guarded client as failures")
+    void shouldGuardClient() {
+        var guard = new ConnectionGuard("proxy", BREAKER);
+        Service delegate = new Service() {
+
+            @Override
+            public CompletionStage<Response> callAsync(final CompletableFuture<Response> pending) {
+                return pending;
+            }
+
+            @Override
+            public Response call(final int status) {
+                if (status < 0) {
+                    throw new ProcessingException("Connection refused");
+                }
+                if (404 == status) {
+                    throw new WebApplicationException(status);
+                }
+                return Response.status(status).build();
+            }
+
+            @Override
+            public void close() {
+                // Nothing to close
+            }
+        };
+        var underTest = GuardedInvocationHandler.wrap(Service.class, delegate, guard);
+
+        assertEquals(200, underTest.call(200).getStatus());
+        assertThrows(WebApplicationException.class, () -> underTest.call(404));
+        assertEquals(503, underTest.call(503).getStatus());
+        assertEquals(ConnectionGuard.State.CLOSED, guard.getState());
+        assertThrows(ProcessingException.class, () -> underTest.call(-1));
+
+        assertEquals(ConnectionGuard.State.OPEN, guard.getState());
+        assertEquals(0, guard.getConcurrentCalls());
+        var rejected = assertThrows(ProcessingException.class, () -> underTest.call(200));
+        assertEquals(ErrorReason.CALL_REJECTED,
+                assertInstanceOf(ConnectionException.class, rejected.getCause()).getErrorReason());
+    }
+
+    @Test
+    @DisplayName("Should hold the permit and record the outcome of asynchronous calls on completion")
+    void shouldGuardAsyncCalls() {
+        var guard = new ConnectionGuard("async", BREAKER.toBuilder().maxConcurrentCalls(1).build());
+        var underTest = GuardedInvocationHandler.wrap(Service.class, new ServiceImpl(), guard);
+
+        var first = new CompletableFuture<Response>();
+        var stage = underTest.callAsync(first);
+        assertEquals(1, guard.getConcurrentCalls());
+        assertRejected(guard);
+        first.completeExceptionally(new ProcessingException("Connection refused"));
+        assertTrue(stage.toCompletableFuture().isCompletedExceptionally());
+        assertEquals(0, guard.getConcurrentCalls());
+
+        for (var i = 0; i < 3; i++) {
+            var pending = new CompletableFuture<Response>();
+            underTest.callAsync(pending);
+            pending.completeExceptionally(new WebApplicationException(503));
+        }
+        assertEquals(ConnectionGuard.State.OPEN, guard.getState());
+    }
+
+    @Test
+    @DisplayName("Should reject Future methods")
+    void shouldRejectFutureMethods() {
+        var guard = new ConnectionGuard("future", BREAKER);
+        FutureService delegate = new FutureService() {
+
+            @Override
+            public Future<Response> call() {
+                return CompletableFuture.completedFuture(Response.ok().build());
+            }
+
+            @Override
+            public void close() {
+                // Nothing to close
+            }
+        };
+        assertThrows(IllegalArgumentException.class,
+                () -> GuardedInvocationHandler.wrap(FutureService.class, delegate, guard));
+    }
+
+    @Test
+    @DisplayName("Should apply the replacing guard to clients built before")
+    void shouldFollowReplacedGuard() {
+        var initial = ConnectionGuard.forConnection("replaced", BREAKER);
+        var underTest = GuardedInvocationHandler.wrap(Service.class, new ServiceImpl(), initial);
+        var replacing = ConnectionGuard.forConnection("replaced", BREAKER.toBuilder().windowSize(8).build());
+
+        var pending = new CompletableFuture<Response>();
+        underTest.callAsync(pending);
+        assertEquals(0, initial.getConcurrentCalls());
+        assertEquals(1, replacing.getConcurrentCalls());
+        pending.complete(Response.ok().build());
+        assertEquals(0, replacing.getConcurrentCalls());
+    }
+
+    private static final class ServiceImpl implements Service {
+
+        @Override
+        public Response call(final int status) {
+            return Response.status(status).build();
+        }
+
+        @Override
+        public CompletionStage<Response> callAsync(final CompletableFuture<Response> pending) {
+            return pending;
+        }
+
+        @Override
+        public void close() {
+            // Nothing to close
+        }
+    }
+
+    private static void call(final ConnectionGuard guard, final boolean failed) {
+        guard.acquire();
+        guard.release(failed, FAST);
+    }
+
+    private static void assertRejected(final ConnectionGuard guard) {
+        var exception = assertThrows(ProcessingException.class, guard::acquire);
+        assertEquals(ErrorReason.CALL_REJECTED,
+                assertInstanceOf(ConnectionException.class, exception.getCause()).getErrorReason());
+    }
+}
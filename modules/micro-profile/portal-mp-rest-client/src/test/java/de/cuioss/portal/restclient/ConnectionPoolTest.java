@@ -0,0 +1,173 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.restclient;
+
+import de.cuioss.portal.configuration.connections.impl.ConnectionMetadata;
+import de.cuioss.portal.core.test.junit5.EnablePortalConfiguration;
+import de.cuioss.test.juli.junit5.EnableTestLogger;
+import de.cuioss.test.mockwebserver.EnableMockWebServer;
+import de.cuioss.test.mockwebserver.URIBuilder;
+import de.cuioss.test.mockwebserver.dispatcher.HttpMethodMapper;
+import de.cuioss.test.mockwebserver.mockresponse.MockResponseConfig;
+import de.cuioss.tools.logging.CuiLogger;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.core.Response;
+import org.easymock.EasyMock;
+import org.eclipse.microprofile.metrics.MetricID;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.jboss.resteasy.cdi.ResteasyCdiExtension;
+import org.jboss.weld.junit5.ExplicitParamInjection;
+import org.jboss.weld.junit5.auto.AddExtensions;
+import org.jboss.weld.junit5.auto.EnableAutoWeld;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import static org.easymock.EasyMock.anyObject;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.getCurrentArgument;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@EnableAutoWeld
+@EnablePortalConfiguration(configuration = "portal.tracing.enabled:false")
+@EnableMockWebServer
+@EnableTestLogger
+@AddExtensions(ResteasyCdiExtension.class)
+@ExplicitParamInjection
+@MockResponseConfig(
+        path = "/something",
+        status = HttpServletResponse.SC_OK,
+        method = HttpMethodMapper.GET,
+        textContent = ConnectionPoolTest.TEXT
+)
+@DisplayName("Tests ConnectionPool")
+class ConnectionPoolTest {
+
+    private static final CuiLogger LOGGER = new CuiLogger(ConnectionPoolTest.class);
+
+    static final String TEXT = "Some text";
+
+    private static final String CONNECTION_ID = "pool-test";
+
+    public interface TestService extends Closeable {
+
+        @GET
+        @Path("something")
+        String getSomething();
+
+        @GET
+        @Path("something")
+        Response getResponse();
+    }
+
+    private final Map<String, Supplier<? extends Number>> gauges = new ConcurrentHashMap<>();
+    private MetricRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = EasyMock.createNiceMock(MetricRegistry.class);
+        expect(registry.gauge(anyObject(MetricID.class), EasyMock.<Supplier<Long>>anyObject())).andAnswer(() -> {
+            final MetricID id = getCurrentArgument(0);
+            if (CONNECTION_ID.equals(id.getTags().get(RestClientMetrics.CONNECTION_TAG))) {
+                gauges.put(id.getName(), getCurrentArgument(1));
+            }
+            return null;
+        }).anyTimes();
+        EasyMock.replay(registry);
+    }
+
+    @Test
+    @DisplayName("Should use pooled engine and expose pool statistics")
+    void shouldExposePoolStatistics(URIBuilder uriBuilder) throws IOException {
+        var config = ConnectionPoolConfig.builder().maxConnections(4).maxConnectionsPerRoute(2)
+                .idleTimeoutMillis(60000).build();
+        try (var service = new CuiRestClientBuilder(LOGGER).url(uriBuilder.build().toString()).metricsEnabled(true)
+                .metricRegistry(registry).connectionId(CONNECTION_ID).connectionPool(config)
+                .build(TestService.class)) {
+            assertEquals(TEXT, service.getSomething());
+            assertEquals(TEXT, service.getSomething());
+
+            assertEquals(4, gauge(ConnectionPool.MAX));
+            assertEquals(0, gauge(ConnectionPool.LEASED));
+            assertEquals(0, gauge(ConnectionPool.PENDING));
+            assertEquals(1, gauge(ConnectionPool.AVAILABLE), "Connection must be kept and reused");
+        }
+
+        assertEquals(0, gauge(ConnectionPool.MAX), "Pool of a closed client must not be counted");
+    }
+
+    @Test
+    @DisplayName("Should lease a pooled connection while a request is processed")
+    void shouldLeasePooledConnection(URIBuilder uriBuilder) throws IOException {
+        var config = ConnectionPoolConfig.builder().maxConnections(4).build();
+        try (var service = new CuiRestClientBuilder(LOGGER).url(uriBuilder.build().toString()).metricsEnabled(true)
+                .metricRegistry(registry).connectionId(CONNECTION_ID).connectionPool(config)
+                .build(TestService.class)) {
+            assertEquals(0, gauge(ConnectionPool.LEASED));
+            assertEquals(0, gauge(ConnectionPool.AVAILABLE));
+
+            try (var response = service.getResponse()) {
+                assertEquals(1, gauge(ConnectionPool.LEASED), "Connection must be leased until the body is read");
+                assertEquals(TEXT, response.readEntity(String.class));
+            }
+
+            assertEquals(0, gauge(ConnectionPool.LEASED));
+            assertEquals(1, gauge(ConnectionPool.AVAILABLE), "Connection must be returned to the pool");
+        }
+    }
+
+    @Test
+    @DisplayName("Should create configuration from connection metadata")
+    void shouldReadConnectionMetadata() {
+        var metadata = ConnectionMetadata.builder().connectionId(CONNECTION_ID).build();
+        assertSame(ConnectionPoolConfig.DISABLED, ConnectionPoolConfig.fromConnectionMetadata(metadata));
+
+        metadata = metadata.toBuilder().maxConnections(20).connectionTimeToLive(300).build();
+        var underTest = ConnectionPoolConfig.fromConnectionMetadata(metadata);
+
+        assertTrue(underTest.isEnabled());
+        assertEquals(20, underTest.resolveMaxConnections());
+        assertEquals(20, underTest.resolveMaxConnectionsPerRoute());
+        assertEquals(300000, underTest.getTimeToLiveMillis());
+        assertEquals(0, underTest.getIdleTimeoutMillis());
+    }
+
+    @Test
+    @DisplayName("Should apply defaults and reject negative values")
+    void shouldValidate() {
+        assertFalse(ConnectionPoolConfig.DISABLED.isEnabled());
+        assertEquals(ConnectionPoolConfig.DEFAULT_MAX_CONNECTIONS,
+                ConnectionPoolConfig.DISABLED.resolveMaxConnections());
+        var builder = ConnectionPoolConfig.builder().maxConnections(-1);
+        assertThrows(IllegalArgumentException.class, builder::build);
+    }
+
+    private int gauge(String name) {
+        return gauges.get(name).get().intValue();
+    }
+}
@@ -53,6 +53,7 @@ import org.jboss.weld.junit5.auto.EnableAutoWeld;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.Closeable;
 import java.io.IOException;
@@ -260,6 +261,33 @@ class CuiRestClientBuilderTest {
         assertEquals("Basic dXNlcjpwYXNz", headers.get("Authorization"));
     }
 
+    @Test
+    @MockResponseConfig(
+            path = "/success/test",
+            status = HttpServletResponse.SC_OK,
+            headers = "Content-Type=" + MEDIA_TYPE_FHIR_XML + ";ETag=W/123;Expires=Fri, 02 Dec 2050 16:00:00 GMT",
+            textContent = TEXT
+    )
+    void basicAuthWithSecretFile(MockWebServer mockWebServer, @TempDir java.nio.file.Path tempDir)
+            throws Exception {
+        // The file is only read on change, the password has already been read by the producer
+        service = new CuiRestClientBuilder(LOGGER)
+                .connectionMetadata(ConnectionMetadata.builder()
+                        .serviceUrl(mockWebServer.url("success").toString())
+                        .authenticationType(AuthenticationType.BASIC)
+                        .loginCredentials(LoginCredentials.builder()
+                                .username("user")
+                                .password("pass")
+                                .build())
+                        .secretFile(tempDir.resolve("password").toString())
+                        .build())
+                .build(TestResource.class);
+
+        assertDoesNotThrow(() -> service.test());
+        final var headers = mockWebServer.takeRequest().getHeaders();
+        assertEquals("Basic dXNlcjpwYXNz", headers.get("Authorization"));
+    }
+
     @Test
     @MockResponseConfig(
             path = "/success/test",
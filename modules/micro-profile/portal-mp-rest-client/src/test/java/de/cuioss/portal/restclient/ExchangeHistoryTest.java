@@ -0,0 +1,67 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.restclient;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Tests ExchangeHistory")
+class ExchangeHistoryTest {
+
+    @Test
+    @DisplayName("Should retain the most recent exchanges, oldest first")
+    void shouldRetainMostRecent() {
+        var underTest = new ExchangeHistory(2);
+        underTest.record(exchange(200));
+        underTest.record(exchange(201));
+        underTest.record(exchange(500));
+
+        var exchanges = underTest.getExchanges();
+        assertEquals(2, exchanges.size());
+        assertEquals(201, exchanges.get(0).status());
+        assertEquals(500, exchanges.get(1).status());
+        assertEquals(3, underTest.getRecordedCount());
+    }
+
+    @Test
+    @DisplayName("Should dump exchanges")
+    void shouldDump() {
+        var underTest = new ExchangeHistory(4);
+        underTest.record(exchange(404));
+
+        var dump = underTest.dump();
+        assertTrue(dump.contains("-- Last 4 exchanges, 1 recorded --"));
+        assertTrue(dump.contains("GET http://localhost/test -> 404 (5 ms, traced)"));
+    }
+
+    @Test
+    @DisplayName("Should reject invalid capacity")
+    void shouldRejectInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new ExchangeHistory(0));
+    }
+
+    private static ExchangeHistory.Exchange exchange(int status) {
+        return new ExchangeHistory.Exchange(Instant.now(), "GET", URI.create("http://localhost/test"), status, 5,
+                true);
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.restclient;
+
+import de.cuioss.test.juli.LogAsserts;
+import de.cuioss.test.juli.TestLogLevel;
+import de.cuioss.test.juli.junit5.EnableTestLogger;
+import jakarta.ws.rs.client.ClientRequestContext;
+import jakarta.ws.rs.core.MultivaluedHashMap;
+import org.easymock.EasyMock;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@EnableTestLogger
+@DisplayName("Tests RefreshingCredentialProvider")
+class RefreshingCredentialProviderTest {
+
+    private static final String USER = "user";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should precompute basic authentication header")
+    void shouldPrecomputeBasicHeader() {
+        var underTest = RefreshingCredentialProvider.basic(USER, "secret");
+
+        assertEquals(RefreshingCredentialProvider.AUTHORIZATION, underTest.getHeaderName());
+        assertEquals(basic("secret"), underTest.getHeaderValue());
+        assertSame(underTest.getHeaderValue(), underTest.getHeaderValue());
+        assertFalse(underTest.refresh());
+        assertTrue(underTest.getSecretFile().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should pick up rotated password on file change")
+    void shouldRefreshOnFileChange() throws IOException {
+        var passwordFile = Files.writeString(tempDir.resolve("password"), "first\n");
+        var underTest = RefreshingCredentialProvider.basic(USER, passwordFile);
+        assertEquals(basic("first"), underTest.getHeaderValue());
+
+        Files.writeString(passwordFile, "second");
+        assertEquals(basic("first"), underTest.getHeaderValue(), "Value must only change on refresh");
+
+        RefreshingCredentialProvider.refreshAll(passwordFile);
+        assertEquals(basic("second"), underTest.getHeaderValue());
+        LogAsserts.assertLogMessagePresentContaining(TestLogLevel.INFO,
+                RestClientLogMessages.INFO.CREDENTIALS_REFRESHED.resolveIdentifierString());
+
+        Files.writeString(passwordFile, "third");
+        RefreshingCredentialProvider.refreshAll(tempDir);
+        assertEquals(basic("third"), underTest.getHeaderValue(), "Change of directory must refresh as well");
+    }
+
+    @Test
+    @DisplayName("Should keep previous token if file is unreadable")
+    void shouldKeepTokenOnFailure() throws IOException {
+        var tokenFile = Files.writeString(tempDir.resolve("token"), "Bearer abc");
+        var underTest = RefreshingCredentialProvider.token("X-Token", tokenFile);
+        assertEquals("Bearer abc", underTest.getHeaderValue());
+
+        Files.delete(tokenFile);
+        assertFalse(underTest.refresh());
+        assertEquals("Bearer abc", underTest.getHeaderValue());
+        LogAsserts.assertLogMessagePresentContaining(TestLogLevel.WARN,
+                RestClientLogMessages.WARN.CREDENTIALS_REFRESH_FAILED.resolveIdentifierString());
+
+        var missing = tempDir.resolve("missing");
+        assertThrows(UncheckedIOException.class, () -> RefreshingCredentialProvider.token("X-Token", missing));
+    }
+
+    @Test
+    @DisplayName("Should start with the already read secret and use the file for refreshes only")
+    void shouldUseResolvedSecret() throws IOException {
+        var passwordFile = tempDir.resolve("password");
+        var underTest = RefreshingCredentialProvider.basic(USER, "inline", passwordFile);
+        assertEquals(basic("inline"), underTest.getHeaderValue());
+        assertFalse(underTest.refresh());
+        assertEquals(basic("inline"), underTest.getHeaderValue());
+
+        Files.writeString(passwordFile, "rotated");
+        RefreshingCredentialProvider.refreshAll(passwordFile);
+        assertEquals(basic("rotated"), underTest.getHeaderValue());
+
+        var token = RefreshingCredentialProvider.token("X-Token", "Bearer abc", tempDir.resolve("missing"));
+        assertEquals("Bearer abc", token.getHeaderValue());
+    }
+
+    @Test
+    @DisplayName("Should add header of provider in TokenFilter")
+    void shouldAddProviderHeader() throws IOException {
+        var tokenFile = Files.writeString(tempDir.resolve("token"), "Bearer abc");
+        var filter = new TokenFilter(RefreshingCredentialProvider.token("X-Token", tokenFile));
+        var headers = new MultivaluedHashMap<String, Object>();
+        ClientRequestContext requestContext = EasyMock.createMock(ClientRequestContext.class);
+        EasyMock.expect(requestContext.getHeaders()).andReturn(headers).anyTimes();
+        EasyMock.replay(requestContext);
+
+        filter.filter(requestContext);
+
+        assertEquals("Bearer abc", headers.getFirst("X-Token"));
+    }
+
+    private static String basic(String password) {
+        return "Basic " + Base64.getEncoder().encodeToString((USER + ":" + password).getBytes(StandardCharsets.UTF_8));
+    }
+}
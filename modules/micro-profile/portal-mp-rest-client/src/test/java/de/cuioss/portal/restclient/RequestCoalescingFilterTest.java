@@ -0,0 +1,205 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.restclient;
+
+import de.cuioss.portal.core.test.junit5.EnablePortalConfiguration;
+import de.cuioss.test.juli.junit5.EnableTestLogger;
+import de.cuioss.test.mockwebserver.EnableMockWebServer;
+import de.cuioss.tools.logging.CuiLogger;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.ProcessingException;
+import mockwebserver3.Dispatcher;
+import mockwebserver3.MockResponse;
+import mockwebserver3.MockWebServer;
+import mockwebserver3.RecordedRequest;
+import okhttp3.Headers;
+import org.jboss.resteasy.cdi.ResteasyCdiExtension;
+import org.jboss.weld.junit5.ExplicitParamInjection;
+import org.jboss.weld.junit5.auto.AddExtensions;
+import org.jboss.weld.junit5.auto.EnableAutoWeld;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@EnableAutoWeld
+@AddExtensions(ResteasyCdiExtension.class)
+@ExplicitParamInjection
+@EnablePortalConfiguration(configuration = "portal.tracing.enabled:false")
+@EnableMockWebServer
+@EnableTestLogger(trace = RequestCoalescingFilter.class)
+@DisplayName("Tests RequestCoalescingFilter")
+class RequestCoalescingFilterTest {
+
+    private static final CuiLogger LOGGER = new CuiLogger(RequestCoalescingFilterTest.class);
+
+    private static final int THREADS = 5;
+
+    @Path("/")
+    public interface TestResource extends Closeable {
+
+        @GET
+        @Path("data")
+        String get(@HeaderParam("Authorization") String authorization);
+
+        @GET
+        @Path("data")
+        CompletionStage<String> getAsync(@HeaderParam("Authorization") String authorization);
+    }
+
+    /**
+     * Answers slowly with the Authorization header of the request as body.
+     */
+    static class SlowDispatcher extends Dispatcher {
+
+        private final AtomicInteger requests = new AtomicInteger();
+
+        @Override
+        public MockResponse dispatch(final RecordedRequest request) throws InterruptedException {
+            requests.incrementAndGet();
+            TimeUnit.MILLISECONDS.sleep(500);
+            return new MockResponse(HttpServletResponse.SC_OK, Headers.of("Content-Type", "text/plain"),
+                    "for " + request.getHeaders().get("Authorization"));
+        }
+    }
+
+    @Test
+    @DisplayName("Should share one upstream call between identical requests")
+    void shouldCoalesceIdenticalRequests(MockWebServer mockWebServer) throws Exception {
+        var dispatcher = new SlowDispatcher();
+        var client = createClient(mockWebServer, dispatcher);
+
+        var results = callConcurrently(client, "Bearer a", "Bearer a", "Bearer a", "Bearer a", "Bearer a");
+
+        for (String result : results) {
+            assertEquals("for Bearer a", result);
+        }
+        assertTrue(dispatcher.requests.get() < THREADS, "Requests must be coalesced");
+    }
+
+    @Test
+    @DisplayName("Should never share responses between identities")
+    void shouldSeparateIdentities(MockWebServer mockWebServer) throws Exception {
+        var dispatcher = new SlowDispatcher();
+        var client = createClient(mockWebServer, dispatcher);
+
+        var results = callConcurrently(client, "Bearer a", "Bearer b", "Bearer a", "Bearer b", "Bearer a");
+
+        assertEquals(List.of("for Bearer a", "for Bearer b", "for Bearer a", "for Bearer b", "for Bearer a"),
+                results);
+        assertTrue(dispatcher.requests.get() >= 2);
+    }
+
+    @Test
+    @DisplayName("Should release the flight of a request failing without response")
+    void shouldReleaseFailedFlight() throws IOException {
+        int port;
+        try (var socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        var client = new CuiRestClientBuilder(LOGGER).url("http://localhost:" + port).coalesceRequests(true)
+                .readTimeout(5, TimeUnit.SECONDS).build(TestResource.class);
+
+        assertThrows(ProcessingException.class, () -> client.get("Bearer a"));
+        var start = System.nanoTime();
+        assertThrows(ProcessingException.class, () -> client.get("Bearer a"));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2),
+                "Request must not wait for the failed one");
+    }
+
+    @Test
+    @DisplayName("Should release the flight of an asynchronous request failing without response")
+    void shouldReleaseFailedAsyncFlight() throws IOException {
+        int port;
+        try (var socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        var client = new CuiRestClientBuilder(LOGGER).url("http://localhost:" + port).coalesceRequests(true)
+                .readTimeout(5, TimeUnit.SECONDS).build(TestResource.class);
+
+        var first = assertThrows(ExecutionException.class,
+                () -> client.getAsync("Bearer a").toCompletableFuture().get(10, TimeUnit.SECONDS));
+        assertInstanceOf(ProcessingException.class, first.getCause());
+        var start = System.nanoTime();
+        var second = assertThrows(ExecutionException.class,
+                () -> client.getAsync("Bearer a").toCompletableFuture().get(10, TimeUnit.SECONDS));
+        assertInstanceOf(ProcessingException.class, second.getCause());
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2),
+                "Request must not wait for the failed one");
+    }
+
+    @Test
+    @DisplayName("Should answer coalesced asynchronous requests")
+    void shouldCoalesceAsyncRequests(MockWebServer mockWebServer) throws Exception {
+        var dispatcher = new SlowDispatcher();
+        var client = createClient(mockWebServer, dispatcher);
+
+        var first = client.getAsync("Bearer a");
+        var second = client.getAsync("Bearer a");
+
+        assertEquals("for Bearer a", first.toCompletableFuture().get(10, TimeUnit.SECONDS));
+        assertEquals("for Bearer a", second.toCompletableFuture().get(10, TimeUnit.SECONDS));
+    }
+
+    private static List<String> callConcurrently(final TestResource client, final String... identities)
+            throws Exception {
+        var start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (String identity : identities) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return client.get(identity);
+                }));
+            }
+            start.countDown();
+            List<String> results = new ArrayList<>();
+            for (Future<String> future : futures) {
+                results.add(future.get(10, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static TestResource createClient(final MockWebServer mockWebServer, final Dispatcher dispatcher) {
+        mockWebServer.setDispatcher(dispatcher);
+        return new CuiRestClientBuilder(LOGGER).url(mockWebServer.url("").toString()).coalesceRequests(true)
+                .build(TestResource.class);
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.restclient;
+
+import de.cuioss.test.juli.LogAsserts;
+import de.cuioss.test.juli.TestLogLevel;
+import de.cuioss.test.juli.junit5.EnableTestLogger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+import static de.cuioss.portal.configuration.connections.impl.ConnectionMetadataKeys.RESILIENCE_FAILURE_RATE_THRESHOLD;
+import static de.cuioss.portal.configuration.connections.impl.ConnectionMetadataKeys.RESILIENCE_MAX_CONCURRENT_CALLS;
+import static de.cuioss.portal.configuration.connections.impl.ConnectionMetadataKeys.RESILIENCE_MINIMUM_CALLS;
+import static de.cuioss.portal.configuration.connections.impl.ConnectionMetadataKeys.RESILIENCE_OPEN_DURATION;
+import static de.cuioss.portal.configuration.connections.impl.ConnectionMetadataKeys.RESILIENCE_WINDOW_SIZE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@EnableTestLogger
+@DisplayName("Tests ResilienceConfig")
+class ResilienceConfigTest {
+
+    @Test
+    @DisplayName("Should be disabled without configuration")
+    void shouldBeDisabledByDefault() {
+        var underTest = ResilienceConfig.fromContextMap(Map.of("key", "value"));
+
+        assertSame(ResilienceConfig.DISABLED, underTest);
+        assertFalse(underTest.isEnabled());
+        assertFalse(underTest.isCircuitBreakerEnabled());
+    }
+
+    @Test
+    @DisplayName("Should read configuration from context map")
+    void shouldReadContextMap() {
+        var underTest = ResilienceConfig.fromContextMap(Map.of(RESILIENCE_MAX_CONCURRENT_CALLS, "5",
+                RESILIENCE_FAILURE_RATE_THRESHOLD, "50", RESILIENCE_WINDOW_SIZE, "8",
+                RESILIENCE_OPEN_DURATION, "1000"));
+
+        assertTrue(underTest.isEnabled());
+        assertTrue(underTest.isCircuitBreakerEnabled());
+        assertEquals(5, underTest.getMaxConcurrentCalls());
+        assertEquals(50, underTest.getFailureRateThreshold());
+        assertEquals(8, underTest.getWindowSize());
+        assertEquals(8, underTest.getMinimumCalls());
+        assertEquals(1000, underTest.getOpenDurationMillis());
+    }
+
+    @Test
+    @DisplayName("Should ignore and warn on invalid values")
+    void shouldIgnoreInvalidValues() {
+        Map<Serializable, Serializable> contextMap = new HashMap<>();
+        contextMap.put(RESILIENCE_MAX_CONCURRENT_CALLS, "2");
+        contextMap.put(RESILIENCE_FAILURE_RATE_THRESHOLD, "150");
+        contextMap.put(RESILIENCE_MINIMUM_CALLS, "few");
+        var underTest = ResilienceConfig.fromContextMap(contextMap);
+
+        assertEquals(2, underTest.getMaxConcurrentCalls());
+        assertFalse(underTest.isCircuitBreakerEnabled());
+        assertEquals(10, underTest.getMinimumCalls());
+        LogAsserts.assertLogMessagePresentContaining(TestLogLevel.WARN, "PortalMPRestClient-100");
+    }
+
+    @Test
+    @DisplayName("Should reject invalid values on build")
+    void shouldRejectInvalidValues() {
+        var builder = ResilienceConfig.builder().failureRateThreshold(101);
+        assertThrows(IllegalArgumentException.class, builder::build);
+        var windowBuilder = ResilienceConfig.builder().windowSize(5).minimumCalls(6);
+        assertThrows(IllegalArgumentException.class, windowBuilder::build);
+    }
+}
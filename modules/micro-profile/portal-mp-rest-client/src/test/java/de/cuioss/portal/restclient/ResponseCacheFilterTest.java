@@ -0,0 +1,230 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.restclient;
+
+import de.cuioss.portal.configuration.cache.CacheConfig;
+import de.cuioss.portal.core.test.junit5.EnablePortalConfiguration;
+import de.cuioss.test.juli.junit5.EnableTestLogger;
+import de.cuioss.test.mockwebserver.EnableMockWebServer;
+import de.cuioss.tools.logging.CuiLogger;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.ws.rs.CookieParam;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import mockwebserver3.Dispatcher;
+import mockwebserver3.MockResponse;
+import mockwebserver3.MockWebServer;
+import mockwebserver3.RecordedRequest;
+import okhttp3.Headers;
+import org.jboss.resteasy.cdi.ResteasyCdiExtension;
+import org.jboss.weld.junit5.ExplicitParamInjection;
+import org.jboss.weld.junit5.auto.AddExtensions;
+import org.jboss.weld.junit5.auto.EnableAutoWeld;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.Closeable;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static de.cuioss.portal.configuration.connections.impl.ConnectionMetadataKeys.HTTP_CACHE_EXPIRATION_UNIT;
+import static de.cuioss.portal.configuration.connections.impl.ConnectionMetadataKeys.HTTP_CACHE_SIZE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@EnableAutoWeld
+@AddExtensions(ResteasyCdiExtension.class)
+@ExplicitParamInjection
+@EnablePortalConfiguration(configuration = "portal.tracing.enabled:false")
+@EnableMockWebServer
+@EnableTestLogger(trace = ResponseCacheFilter.class)
+@DisplayName("Tests ResponseCacheFilter")
+class ResponseCacheFilterTest {
+
+    private static final CuiLogger LOGGER = new CuiLogger(ResponseCacheFilterTest.class);
+
+    private static final String TEXT = "Reference data";
+    private static final String ETAG = "\"v1\"";
+
+    private static final CacheConfig CONFIG = new CacheConfig(1, TimeUnit.MINUTES, 10, false);
+
+    @Path("/")
+    public interface TestResource extends Closeable {
+
+        @GET
+        @Path("data")
+        String get();
+
+        @GET
+        @Path("data")
+        String getWithCookie(@CookieParam("session") String session);
+
+        @GET
+        @Path("data")
+        Response getResponse();
+    }
+
+    /**
+     * Answers with the given headers and {@code 304} for a matching
+     * {@code If-None-Match}.
+     */
+    static class CachingDispatcher extends Dispatcher {
+
+        private final AtomicInteger requests = new AtomicInteger();
+        private final Headers headers;
+        private volatile RecordedRequest lastRequest;
+
+        CachingDispatcher(final String... headers) {
+            this.headers = Headers.of(headers).newBuilder().add("Content-Type", "text/plain").build();
+        }
+
+        @Override
+        public MockResponse dispatch(final RecordedRequest request) {
+            requests.incrementAndGet();
+            lastRequest = request;
+            if (ETAG.equals(request.getHeaders().get("If-None-Match"))) {
+                return new MockResponse(HttpServletResponse.SC_NOT_MODIFIED, headers, "");
+            }
+            return new MockResponse(HttpServletResponse.SC_OK, headers, TEXT);
+        }
+    }
+
+    @Test
+    @DisplayName("Should serve fresh responses from cache")
+    void shouldServeFreshResponse(MockWebServer mockWebServer) {
+        var dispatcher = new CachingDispatcher("Cache-Control", "max-age=60");
+        var client = createClient(mockWebServer, dispatcher);
+
+        assertEquals(TEXT, client.get());
+        assertEquals(TEXT, client.get());
+        assertEquals(1, dispatcher.requests.get());
+    }
+
+    @Test
+    @DisplayName("Should revalidate with If-None-Match and serve 304 from cache")
+    void shouldRevalidate(MockWebServer mockWebServer) {
+        var dispatcher = new CachingDispatcher("Cache-Control", "no-cache", "ETag", ETAG);
+        var client = createClient(mockWebServer, dispatcher);
+
+        assertEquals(TEXT, client.get());
+        assertNull(dispatcher.lastRequest.getHeaders().get("If-None-Match"));
+        assertEquals(TEXT, client.get());
+        assertEquals(ETAG, dispatcher.lastRequest.getHeaders().get("If-None-Match"));
+        assertEquals(2, dispatcher.requests.get());
+    }
+
+    @Test
+    @DisplayName("Should revalidate with If-Modified-Since")
+    void shouldRevalidateLastModified(MockWebServer mockWebServer) {
+        var lastModified = "Wed, 21 Oct 2015 07:28:00 GMT";
+        var dispatcher = new CachingDispatcher("Last-Modified", lastModified);
+        var client = createClient(mockWebServer, dispatcher);
+
+        assertEquals(TEXT, client.get());
+        assertEquals(TEXT, client.get());
+        assertEquals(lastModified, dispatcher.lastRequest.getHeaders().get("If-Modified-Since"));
+    }
+
+    @Test
+    @DisplayName("Should not store no-store responses")
+    void shouldNotStoreNoStore(MockWebServer mockWebServer) {
+        var dispatcher = new CachingDispatcher("Cache-Control", "no-store, max-age=60");
+        var client = createClient(mockWebServer, dispatcher);
+
+        assertEquals(TEXT, client.get());
+        assertEquals(TEXT, client.get());
+        assertEquals(2, dispatcher.requests.get());
+    }
+
+    @Test
+    @DisplayName("Should not share authorized responses unless public")
+    void shouldNotShareAuthorizedResponses(MockWebServer mockWebServer) {
+        var dispatcher = new CachingDispatcher("Cache-Control", "max-age=60");
+        mockWebServer.setDispatcher(dispatcher);
+        var client = new CuiRestClientBuilder(LOGGER).url(mockWebServer.url("").toString()).responseCache(CONFIG)
+                .bearerAuthToken("token").build(TestResource.class);
+
+        assertEquals(TEXT, client.get());
+        assertEquals(TEXT, client.get());
+        assertEquals(2, dispatcher.requests.get());
+    }
+
+    @Test
+    @DisplayName("Should not share responses to requests with cookies unless public")
+    void shouldNotShareCookieResponses(MockWebServer mockWebServer) {
+        var dispatcher = new CachingDispatcher("Cache-Control", "max-age=60");
+        var client = createClient(mockWebServer, dispatcher);
+
+        assertEquals(TEXT, client.getWithCookie("first"));
+        assertEquals(TEXT, client.getWithCookie("second"));
+        assertEquals(2, dispatcher.requests.get());
+
+        var publicDispatcher = new CachingDispatcher("Cache-Control", "public, max-age=60");
+        var publicClient = createClient(mockWebServer, publicDispatcher);
+        assertEquals(TEXT, publicClient.getWithCookie("first"));
+        assertEquals(TEXT, publicClient.getWithCookie("second"));
+        assertEquals(1, publicDispatcher.requests.get());
+    }
+
+    @Test
+    @DisplayName("Should never replay Set-Cookie from cache")
+    void shouldNotReplaySetCookie(MockWebServer mockWebServer) {
+        var dispatcher = new CachingDispatcher("Cache-Control", "public, max-age=60", "Set-Cookie", "session=abc");
+        var client = createClient(mockWebServer, dispatcher);
+
+        try (var response = client.getResponse()) {
+            assertEquals("session=abc", response.getHeaderString(HttpHeaders.SET_COOKIE));
+        }
+        try (var response = client.getResponse()) {
+            assertEquals(TEXT, response.readEntity(String.class));
+            assertNull(response.getHeaderString(HttpHeaders.SET_COOKIE));
+        }
+        assertEquals(1, dispatcher.requests.get());
+    }
+
+    @Test
+    @DisplayName("Should parse Cache-Control directives")
+    void shouldParseCacheControl() {
+        var directives = ResponseCacheFilter.parseCacheControl(List.of("Public, Max-Age=\"60\"", "no-cache"));
+
+        assertEquals(Map.of("public", "", "max-age", "60", "no-cache", ""), directives);
+        assertTrue(ResponseCacheFilter.parseCacheControl(null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should read configuration from context map")
+    void shouldReadConfig() {
+        assertFalse(ResponseCacheFilter.readConfig(Map.of()).isPresent());
+
+        var config = ResponseCacheFilter.readConfig(Map.of(HTTP_CACHE_SIZE, "100",
+                HTTP_CACHE_EXPIRATION_UNIT, "hours")).orElseThrow();
+        assertEquals(100, config.getSize());
+        assertEquals(10, config.getExpiration());
+        assertEquals(TimeUnit.HOURS, config.getTimeUnit());
+    }
+
+    private static TestResource createClient(final MockWebServer mockWebServer, final Dispatcher dispatcher) {
+        mockWebServer.setDispatcher(dispatcher);
+        return new CuiRestClientBuilder(LOGGER).url(mockWebServer.url("").toString()).responseCache(CONFIG)
+                .build(TestResource.class);
+    }
+}
@@ -24,11 +24,13 @@ import de.cuioss.test.mockwebserver.URIBuilder;
 import de.cuioss.test.mockwebserver.dispatcher.HttpMethodMapper;
 import de.cuioss.test.mockwebserver.mockresponse.MockResponseConfig;
 import de.cuioss.tools.collect.CollectionBuilder;
+import de.cuioss.tools.io.IOStreams;
 import de.cuioss.tools.logging.CuiLogger;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
+import jakarta.ws.rs.core.Response;
 import org.jboss.resteasy.cdi.ResteasyCdiExtension;
 import org.jboss.weld.junit5.ExplicitParamInjection;
 import org.jboss.weld.junit5.auto.AddExtensions;
@@ -36,6 +38,9 @@ import org.jboss.weld.junit5.auto.EnableAutoWeld;
 import org.junit.jupiter.api.Test;
 
 import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.logging.LogRecord;
 
@@ -74,9 +79,17 @@ class RestClientLoggingTest {
         @Path("something")
         String getSomething();
 
+        @GET
+        @Path("something")
+        InputStream getSomethingStreamed();
+
         @POST
         @Path("something-post")
         void postSomething();
+
+        @GET
+        @Path("failing")
+        Response getFailing();
     }
 
     @Test
@@ -137,6 +150,60 @@ class RestClientLoggingTest {
         assertTrue(clientResponseInfoLog.contains(TEXT));
     }
 
+    @Test
+    void shouldTruncateLoggedBody(URIBuilder uriBuilder) {
+        final var underTest = new CuiRestClientBuilder(LOGGER).url(uriBuilder.build().toString()).traceLogEnabled(true)
+                .traceLogMaxBodyBytes(4);
+        final var service = underTest.build(TestService.class);
+        assertEquals(TEXT, service.getSomething());
+
+        final var clientResponseInfoLog = TestLoggerFactory.getTestHandler().resolveLogMessages(TestLogLevel.INFO)
+                .stream().map(LogRecord::getMessage).filter(msg -> msg.contains("-- Client response info --"))
+                .findFirst().orElseThrow(() -> new AssertionError("client response info not logged"));
+        assertTrue(clientResponseInfoLog.contains("Body:\nSome\n"));
+        assertTrue(clientResponseInfoLog.contains("[truncated, " + TEXT.length() + " bytes read, 4 logged]"));
+    }
+
+    @Test
+    void shouldNotCaptureStreamedBody(URIBuilder uriBuilder) throws IOException {
+        final var underTest = new CuiRestClientBuilder(LOGGER).url(uriBuilder.build().toString()).traceLogEnabled(true);
+        final var service = underTest.build(TestService.class);
+        try (var stream = service.getSomethingStreamed()) {
+            assertEquals(TEXT, IOStreams.toString(stream, StandardCharsets.UTF_8));
+        }
+
+        LogAsserts.assertLogMessagePresentContaining(TestLogLevel.INFO,
+                "Body: [not logged, streamed entity of type java.io.InputStream]");
+    }
+
+    @Test
+    @MockResponseConfig(
+            path = "/failing",
+            status = HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
+            method = HttpMethodMapper.GET,
+            textContent = TEXT
+    )
+    void shouldOnlyLogErrorsWhenSampling(URIBuilder uriBuilder) {
+        final var underTest = new CuiRestClientBuilder(LOGGER).url(uriBuilder.build().toString()).traceLogEnabled(false)
+                .traceLogSampling(TraceLogSampling.builder().onError(true).historySize(5).build());
+        final var service = underTest.build(TestService.class);
+
+        assertEquals(TEXT, service.getSomething());
+        assertTrue(TestLoggerFactory.getTestHandler().resolveLogMessages(TestLogLevel.INFO).stream()
+                .map(LogRecord::getMessage).noneMatch(msg -> msg.contains("-- Client re")),
+                "Exchange without error must not be logged");
+
+        assertEquals(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, service.getFailing().getStatus());
+        LogAsserts.assertLogMessagePresentContaining(TestLogLevel.INFO,
+                "Request URI: " + uriBuilder.addPathSegment("failing").build());
+        LogAsserts.assertLogMessagePresentContaining(TestLogLevel.INFO, "Status: 500");
+
+        final var history = underTest.getExchangeHistory().orElseThrow();
+        assertEquals(2, history.getExchanges().size());
+        assertEquals(HttpServletResponse.SC_OK, history.getExchanges().get(0).status());
+        assertTrue(history.getExchanges().get(1).traced());
+    }
+
     private void assertClientResponseFilter(List<LogRecord> allMessages) throws AssertionError {
         final var lastClientResponseFilter = allMessages.stream().map(LogRecord::getMessage)
                 .filter(msg -> msg.contains("[Last ClientResponseFilter]")).findFirst()
@@ -0,0 +1,272 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.restclient;
+
+import de.cuioss.portal.configuration.MetricsConfigKeys;
+import de.cuioss.portal.core.test.junit5.EnablePortalConfiguration;
+import de.cuioss.test.juli.junit5.EnableTestLogger;
+import de.cuioss.test.mockwebserver.EnableMockWebServer;
+import de.cuioss.test.mockwebserver.URIBuilder;
+import de.cuioss.test.mockwebserver.dispatcher.HttpMethodMapper;
+import de.cuioss.test.mockwebserver.mockresponse.MockResponseConfig;
+import de.cuioss.tools.logging.CuiLogger;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.ProcessingException;
+import jakarta.ws.rs.client.ClientRequestContext;
+import jakarta.ws.rs.core.MediaType;
+import org.easymock.EasyMock;
+import org.eclipse.microprofile.metrics.Counter;
+import org.eclipse.microprofile.metrics.MetricID;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.Timer;
+import org.jboss.resteasy.cdi.ResteasyCdiExtension;
+import org.jboss.weld.junit5.ExplicitParamInjection;
+import org.jboss.weld.junit5.auto.AddExtensions;
+import org.jboss.weld.junit5.auto.EnableAutoWeld;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.easymock.EasyMock.anyLong;
+import static org.easymock.EasyMock.anyObject;
+import static org.easymock.EasyMock.eq;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.expectLastCall;
+import static org.easymock.EasyMock.getCurrentArgument;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@EnableAutoWeld
+@EnablePortalConfiguration(configuration = MetricsConfigKeys.PORTAL_METRICS_APP_NAME + ":test-app")
+@EnableMockWebServer
+@EnableTestLogger
+@AddExtensions(ResteasyCdiExtension.class)
+@ExplicitParamInjection
+@MockResponseConfig(
+        path = "/something",
+        status = HttpServletResponse.SC_OK,
+        method = HttpMethodMapper.GET,
+        textContent = RestClientMetricsTest.TEXT
+)
+@DisplayName("Tests RestClientMetrics")
+class RestClientMetricsTest {
+
+    private static final CuiLogger LOGGER = new CuiLogger(RestClientMetricsTest.class);
+
+    static final String TEXT = "Some text";
+
+    private static final String CONNECTION_ID = "metrics-test";
+
+    public interface TestService extends Closeable {
+
+        @GET
+        @Path("something")
+        String getSomething();
+
+        @GET
+        @Path("something")
+        CompletionStage<String> getSomethingAsync();
+
+        @POST
+        @Path("something-post")
+        @Consumes(MediaType.TEXT_PLAIN)
+        void postSomething(String body);
+    }
+
+    private final Map<MetricID, AtomicLong> values = new ConcurrentHashMap<>();
+    private Supplier<? extends Number> inFlightGauge;
+    private MetricRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = EasyMock.createNiceMock(MetricRegistry.class);
+        expect(registry.counter(anyObject(MetricID.class)))
+                .andAnswer(() -> counter(getCurrentArgument(0))).anyTimes();
+        expect(registry.timer(anyObject(MetricID.class))).andAnswer(() -> timer(getCurrentArgument(0))).anyTimes();
+        expect(registry.gauge(anyObject(MetricID.class), EasyMock.<Supplier<Long>>anyObject())).andAnswer(() -> {
+            inFlightGauge = getCurrentArgument(1);
+            return null;
+        }).anyTimes();
+        EasyMock.replay(registry);
+    }
+
+    @Test
+    @DisplayName("Should record timer, status and response bytes")
+    void shouldRecordGet(URIBuilder uriBuilder) throws IOException {
+        try (var service = createBuilder(uriBuilder).build(TestService.class)) {
+            assertEquals(TEXT, service.getSomething());
+            assertEquals(TEXT, service.getSomething());
+        }
+
+        assertEquals(2, value(RestClientMetrics.REQUESTS, RestClientMetrics.METHOD_TAG, "GET"));
+        assertEquals(2, value(RestClientMetrics.RESPONSES, RestClientMetrics.STATUS_TAG, "200"));
+        assertEquals(2L * TEXT.length(), value(RestClientMetrics.RESPONSE_BYTES, RestClientMetrics.CONNECTION_TAG,
+                CONNECTION_ID));
+        assertNotNull(inFlightGauge);
+        assertEquals(0L, inFlightGauge.get().longValue());
+    }
+
+    @Test
+    @MockResponseConfig(
+            path = "/something-post",
+            status = HttpServletResponse.SC_NO_CONTENT,
+            method = HttpMethodMapper.POST
+    )
+    @DisplayName("Should record request bytes")
+    void shouldRecordPost(URIBuilder uriBuilder) throws IOException {
+        try (var service = createBuilder(uriBuilder).build(TestService.class)) {
+            service.postSomething(TEXT);
+        }
+
+        assertEquals(1, value(RestClientMetrics.REQUESTS, RestClientMetrics.METHOD_TAG, "POST"));
+        assertEquals(1, value(RestClientMetrics.RESPONSES, RestClientMetrics.STATUS_TAG, "204"));
+        assertEquals(TEXT.length(), value(RestClientMetrics.REQUEST_BYTES, RestClientMetrics.CONNECTION_TAG,
+                CONNECTION_ID));
+    }
+
+    @Test
+    @DisplayName("Should record calls failing without response")
+    void shouldRecordFailedCalls() throws IOException {
+        int port;
+        try (var socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        try (var service = new CuiRestClientBuilder(LOGGER).url("http://localhost:" + port).metricsEnabled(true)
+                .metricRegistry(registry).connectionId(CONNECTION_ID).build(TestService.class)) {
+            assertThrows(ProcessingException.class, service::getSomething);
+            var failure = assertThrows(ExecutionException.class,
+                    () -> service.getSomethingAsync().toCompletableFuture().get(10, TimeUnit.SECONDS));
+            assertInstanceOf(ProcessingException.class, failure.getCause());
+        }
+
+        assertEquals(2, value(RestClientMetrics.REQUESTS, RestClientMetrics.METHOD_TAG, "GET"));
+        assertEquals(2, value(RestClientMetrics.RESPONSES, RestClientMetrics.STATUS_TAG,
+                RestClientMetrics.ERROR_STATUS));
+        assertEquals(0L, inFlightGauge.get().longValue());
+    }
+
+    @Test
+    @DisplayName("Should not count answered calls as error")
+    void shouldNotCountAnsweredAsError(URIBuilder uriBuilder) throws Exception {
+        try (var service = createBuilder(uriBuilder).build(TestService.class)) {
+            assertEquals(TEXT, service.getSomethingAsync().toCompletableFuture().get(10, TimeUnit.SECONDS));
+        }
+
+        assertEquals(1, value(RestClientMetrics.REQUESTS, RestClientMetrics.METHOD_TAG, "GET"));
+        assertEquals(1, value(RestClientMetrics.RESPONSES, RestClientMetrics.STATUS_TAG, "200"));
+        assertEquals(0, value(RestClientMetrics.RESPONSES, RestClientMetrics.STATUS_TAG,
+                RestClientMetrics.ERROR_STATUS));
+    }
+
+    @Test
+    @DisplayName("Should not register metrics if disabled")
+    void shouldNotRecordIfDisabled(URIBuilder uriBuilder) throws IOException {
+        try (var service = createBuilder(uriBuilder).metricsEnabled(false).build(TestService.class)) {
+            assertEquals(TEXT, service.getSomething());
+        }
+
+        assertTrue(values.isEmpty(), "No metric must be registered");
+    }
+
+    @Test
+    @DisplayName("Should share instances per registry and apply the longest stale period")
+    void shouldApplyLongestStalePeriod() {
+        var metrics = RestClientMetrics.forConnection(registry, "stale-test", 1);
+        assertSame(metrics, RestClientMetrics.forConnection(registry, "stale-test", Duration.ofHours(1).toNanos()));
+
+        ClientRequestContext requestContext = EasyMock.createNiceMock(ClientRequestContext.class);
+        requestContext.setProperty(eq(RestClientMetrics.IN_FLIGHT_PROPERTY), anyObject());
+        expectLastCall().once();
+        EasyMock.replay(requestContext);
+
+        metrics.filter(requestContext);
+        assertEquals(1, metrics.getInFlightCount());
+        EasyMock.verify(requestContext);
+    }
+
+    @Test
+    @DisplayName("Should drop requests without response once stale")
+    void shouldDropStaleRequests() throws InterruptedException {
+        var metrics = RestClientMetrics.forConnection(registry, "drop-test", 1);
+        ClientRequestContext requestContext = EasyMock.createNiceMock(ClientRequestContext.class);
+        EasyMock.replay(requestContext);
+
+        metrics.filter(requestContext);
+        Thread.sleep(1);
+        assertEquals(0, metrics.getInFlightCount());
+    }
+
+    private CuiRestClientBuilder createBuilder(URIBuilder uriBuilder) {
+        return new CuiRestClientBuilder(LOGGER).url(uriBuilder.build().toString()).metricsEnabled(true)
+                .metricRegistry(registry).connectionId(CONNECTION_ID);
+    }
+
+    private long value(String name, String tagName, String tagValue) {
+        return values.entrySet().stream()
+                .filter(entry -> entry.getKey().getName().equals(name))
+                .filter(entry -> tagValue.equals(entry.getKey().getTags().get(tagName)))
+                .mapToLong(entry -> entry.getValue().get()).sum();
+    }
+
+    private Counter counter(MetricID id) {
+        final var value = values.computeIfAbsent(id, key -> new AtomicLong());
+        final Counter counter = EasyMock.createNiceMock(Counter.class);
+        counter.inc();
+        expectLastCall().andAnswer(() -> {
+            value.incrementAndGet();
+            return null;
+        }).anyTimes();
+        counter.inc(anyLong());
+        expectLastCall().andAnswer(() -> {
+            value.addAndGet(getCurrentArgument(0));
+            return null;
+        }).anyTimes();
+        EasyMock.replay(counter);
+        return counter;
+    }
+
+    private Timer timer(MetricID id) {
+        final var value = values.computeIfAbsent(id, key -> new AtomicLong());
+        final Timer timer = EasyMock.createNiceMock(Timer.class);
+        timer.update(anyObject(Duration.class));
+        expectLastCall().andAnswer(() -> {
+            value.incrementAndGet();
+            return null;
+        }).anyTimes();
+        EasyMock.replay(timer);
+        return timer;
+    }
+}
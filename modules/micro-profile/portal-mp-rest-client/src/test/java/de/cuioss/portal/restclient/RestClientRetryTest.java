@@ -0,0 +1,210 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.restclient;
+
+import de.cuioss.portal.core.test.junit5.EnablePortalConfiguration;
+import de.cuioss.test.juli.junit5.EnableTestLogger;
+import de.cuioss.test.mockwebserver.EnableMockWebServer;
+import de.cuioss.tools.logging.CuiLogger;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.PUT;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import mockwebserver3.Dispatcher;
+import mockwebserver3.MockResponse;
+import mockwebserver3.MockWebServer;
+import mockwebserver3.RecordedRequest;
+import okhttp3.Headers;
+import org.jboss.resteasy.cdi.ResteasyCdiExtension;
+import org.jboss.weld.junit5.ExplicitParamInjection;
+import org.jboss.weld.junit5.auto.AddExtensions;
+import org.jboss.weld.junit5.auto.EnableAutoWeld;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@EnableAutoWeld
+@AddExtensions(ResteasyCdiExtension.class)
+@ExplicitParamInjection
+@EnablePortalConfiguration(configuration = "portal.tracing.enabled:false")
+@EnableMockWebServer
+@EnableTestLogger(debug = RetryInvocationHandler.class)
+@DisplayName("Tests retrying REST client calls")
+class RestClientRetryTest {
+
+    private static final CuiLogger LOGGER = new CuiLogger(RestClientRetryTest.class);
+
+    private static final String TEXT = "Success";
+
+    private static final RetryConfig RETRY = RetryConfig.builder().maxAttempts(3).baseDelayMillis(10)
+            .maxDelayMillis(20).build();
+
+    @Path("/")
+    public interface TestResource extends Closeable {
+
+        @GET
+        @Path("resource")
+        Response get();
+
+        @POST
+        @Path("resource")
+        Response post();
+
+        @POST
+        @Path("resource")
+        @Retryable
+        Response retryablePost();
+
+        @GET
+        @Path("resource")
+        @Retryable(false)
+        Response notRetryableGet();
+
+        @PUT
+        @Path("resource")
+        @Consumes(MediaType.APPLICATION_OCTET_STREAM)
+        @Retryable
+        Response upload(InputStream body);
+    }
+
+    /**
+     * Answers with the given status until the given number of requests is
+     * reached, afterwards with 200.
+     */
+    static class FailingDispatcher extends Dispatcher {
+
+        private final AtomicInteger requests = new AtomicInteger();
+        private final int failures;
+        private final int status;
+
+        FailingDispatcher(final int failures, final int status) {
+            this.failures = failures;
+            this.status = status;
+        }
+
+        @Override
+        public MockResponse dispatch(final RecordedRequest request) {
+            if (requests.incrementAndGet() <= failures) {
+                return new MockResponse(status, Headers.of(), "");
+            }
+            return new MockResponse(HttpServletResponse.SC_OK, Headers.of("Content-Type", "text/plain"), TEXT);
+        }
+    }
+
+    @Test
+    @DisplayName("Should retry idempotent call on unavailable service")
+    void shouldRetryIdempotentCall(MockWebServer mockWebServer) {
+        var dispatcher = new FailingDispatcher(2, HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        mockWebServer.setDispatcher(dispatcher);
+        var client = new CuiRestClientBuilder(LOGGER).url(mockWebServer.url("").toString()).retry(RETRY)
+                .build(TestResource.class);
+
+        try (var response = client.get()) {
+            assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+            assertEquals(TEXT, response.readEntity(String.class));
+        }
+        assertEquals(3, dispatcher.requests.get());
+    }
+
+    @Test
+    @DisplayName("Should return last response once attempts are exhausted")
+    void shouldStopAfterMaxAttempts(MockWebServer mockWebServer) {
+        var dispatcher = new FailingDispatcher(5, HttpServletResponse.SC_BAD_GATEWAY);
+        mockWebServer.setDispatcher(dispatcher);
+        var client = new CuiRestClientBuilder(LOGGER).url(mockWebServer.url("").toString()).retry(RETRY)
+                .build(TestResource.class);
+
+        assertEquals(HttpServletResponse.SC_BAD_GATEWAY, client.get().getStatus());
+        assertEquals(3, dispatcher.requests.get());
+    }
+
+    @Test
+    @DisplayName("Should not retry status codes that are not configured")
+    void shouldNotRetryOtherStatus(MockWebServer mockWebServer) {
+        var dispatcher = new FailingDispatcher(1, HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        mockWebServer.setDispatcher(dispatcher);
+        var client = new CuiRestClientBuilder(LOGGER).url(mockWebServer.url("").toString()).retry(RETRY)
+                .build(TestResource.class);
+
+        assertEquals(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, client.get().getStatus());
+        assertEquals(1, dispatcher.requests.get());
+    }
+
+    @Test
+    @DisplayName("Should only retry non-idempotent calls if annotated")
+    void shouldRespectRetryable(MockWebServer mockWebServer) {
+        var dispatcher = new FailingDispatcher(1, HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        mockWebServer.setDispatcher(dispatcher);
+        var client = new CuiRestClientBuilder(LOGGER).url(mockWebServer.url("").toString()).retry(RETRY)
+                .build(TestResource.class);
+
+        assertEquals(HttpServletResponse.SC_SERVICE_UNAVAILABLE, client.post().getStatus());
+        assertEquals(HttpServletResponse.SC_OK, client.retryablePost().getStatus());
+        assertEquals(2, dispatcher.requests.get());
+    }
+
+    @Test
+    @DisplayName("Should not retry methods excluded by annotation")
+    void shouldRespectRetryableFalse(MockWebServer mockWebServer) {
+        var dispatcher = new FailingDispatcher(1, HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        mockWebServer.setDispatcher(dispatcher);
+        var client = new CuiRestClientBuilder(LOGGER).url(mockWebServer.url("").toString()).retry(RETRY)
+                .build(TestResource.class);
+
+        assertEquals(HttpServletResponse.SC_SERVICE_UNAVAILABLE, client.notRetryableGet().getStatus());
+        assertEquals(1, dispatcher.requests.get());
+    }
+
+    @Test
+    @DisplayName("Should not start attempts that could exceed the maximum duration")
+    void shouldHonourDeadline(MockWebServer mockWebServer) {
+        var dispatcher = new FailingDispatcher(5, HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        mockWebServer.setDispatcher(dispatcher);
+        // The first retry ends after 600 ms delay plus 1 s timeout, the second one after 2.2 s
+        var client = new CuiRestClientBuilder(LOGGER).url(mockWebServer.url("").toString())
+                .retry(RETRY.toBuilder().maxAttempts(10).baseDelayMillis(600).maxDelayMillis(600).jitter(0)
+                        .maxDurationMillis(2000).build())
+                .readTimeout(1, TimeUnit.SECONDS).build(TestResource.class);
+
+        assertEquals(HttpServletResponse.SC_SERVICE_UNAVAILABLE, client.get().getStatus());
+        assertEquals(2, dispatcher.requests.get());
+    }
+
+    @Test
+    @DisplayName("Should not retry calls with a stream parameter")
+    void shouldNotRetryStreams(MockWebServer mockWebServer) {
+        var dispatcher = new FailingDispatcher(1, HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        mockWebServer.setDispatcher(dispatcher);
+        var client = new CuiRestClientBuilder(LOGGER).url(mockWebServer.url("").toString()).retry(RETRY)
+                .build(TestResource.class);
+
+        var body = new ByteArrayInputStream(TEXT.getBytes(StandardCharsets.UTF_8));
+        assertEquals(HttpServletResponse.SC_SERVICE_UNAVAILABLE, client.upload(body).getStatus());
+        assertEquals(1, dispatcher.requests.get());
+    }
+}
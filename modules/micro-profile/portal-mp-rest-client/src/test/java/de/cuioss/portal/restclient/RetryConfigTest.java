@@ -0,0 +1,117 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.restclient;
+
+import de.cuioss.test.juli.LogAsserts;
+import de.cuioss.test.juli.TestLogLevel;
+import de.cuioss.test.juli.junit5.EnableTestLogger;
+import jakarta.ws.rs.ProcessingException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.net.SocketException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+
+import static de.cuioss.portal.configuration.connections.impl.ConnectionMetadataKeys.RETRY_BASE_DELAY;
+import static de.cuioss.portal.configuration.connections.impl.ConnectionMetadataKeys.RETRY_EXCEPTIONS;
+import static de.cuioss.portal.configuration.connections.impl.ConnectionMetadataKeys.RETRY_MAX_ATTEMPTS;
+import static de.cuioss.portal.configuration.connections.impl.ConnectionMetadataKeys.RETRY_MAX_DURATION;
+import static de.cuioss.portal.configuration.connections.impl.ConnectionMetadataKeys.RETRY_STATUS_CODES;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@EnableTestLogger
+@DisplayName("Tests RetryConfig")
+class RetryConfigTest {
+
+    @Test
+    @DisplayName("Should be disabled without configuration")
+    void shouldBeDisabledByDefault() {
+        var underTest = RetryConfig.fromContextMap(Map.of(RETRY_BASE_DELAY, "50"));
+
+        assertSame(RetryConfig.DISABLED, underTest);
+        assertFalse(underTest.isEnabled());
+    }
+
+    @Test
+    @DisplayName("Should read configuration from context map")
+    void shouldReadContextMap() {
+        var underTest = RetryConfig.fromContextMap(Map.of(RETRY_MAX_ATTEMPTS, "4", RETRY_BASE_DELAY, "50",
+                RETRY_STATUS_CODES, "503, 429", RETRY_EXCEPTIONS, "java.net.SocketException", RETRY_MAX_DURATION,
+                "5000"));
+
+        assertTrue(underTest.isEnabled());
+        assertEquals(4, underTest.getMaxAttempts());
+        assertEquals(50, underTest.getBaseDelayMillis());
+        assertEquals(Set.of(503, 429), underTest.getRetryStatusCodes());
+        assertEquals(Set.of(SocketException.class), underTest.getRetryExceptions());
+        assertEquals(5000, underTest.getMaxDurationMillis());
+    }
+
+    @Test
+    @DisplayName("Should ignore and warn on invalid values")
+    void shouldIgnoreInvalidValues() {
+        Map<Serializable, Serializable> contextMap = new HashMap<>();
+        contextMap.put(RETRY_MAX_ATTEMPTS, "2");
+        contextMap.put(RETRY_STATUS_CODES, "503,teapot");
+        contextMap.put(RETRY_EXCEPTIONS, "java.lang.String,not.Existing");
+        var underTest = RetryConfig.fromContextMap(contextMap);
+
+        assertEquals(Set.of(503), underTest.getRetryStatusCodes());
+        assertTrue(underTest.getRetryExceptions().isEmpty());
+        LogAsserts.assertLogMessagePresentContaining(TestLogLevel.WARN, "PortalMPRestClient-100");
+    }
+
+    @Test
+    @DisplayName("Should compute exponential, capped and jittered delays")
+    void shouldComputeDelay() {
+        var underTest = RetryConfig.builder().maxAttempts(5).baseDelayMillis(100).maxDelayMillis(300)
+                .jitter(0.5).build();
+
+        assertEquals(100, underTest.computeDelayMillis(1, 0.0));
+        assertEquals(200, underTest.computeDelayMillis(2, 0.0));
+        assertEquals(300, underTest.computeDelayMillis(3, 0.0));
+        assertEquals(300, underTest.computeDelayMillis(64, 0.0));
+        assertEquals(50, underTest.computeDelayMillis(1, 1.0));
+    }
+
+    @Test
+    @DisplayName("Should match exceptions in the cause chain")
+    void shouldMatchCauseChain() {
+        var underTest = RetryConfig.builder().maxAttempts(2).build();
+
+        assertTrue(underTest.isRetryable(new ProcessingException(new SocketException("Connection reset"))));
+        assertTrue(underTest.isRetryable(new IOException()));
+        assertFalse(underTest.isRetryable(new ProcessingException(new TimeoutException())));
+    }
+
+    @Test
+    @DisplayName("Should reject invalid values on build")
+    void shouldRejectInvalidValues() {
+        var builder = RetryConfig.builder().maxAttempts(0);
+        assertThrows(IllegalArgumentException.class, builder::build);
+        var jitterBuilder = RetryConfig.builder().jitter(1.5);
+        assertThrows(IllegalArgumentException.class, jitterBuilder::build);
+    }
+}
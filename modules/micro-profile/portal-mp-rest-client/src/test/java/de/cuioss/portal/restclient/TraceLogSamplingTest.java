@@ -0,0 +1,95 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.restclient;
+
+import de.cuioss.test.juli.LogAsserts;
+import de.cuioss.test.juli.TestLogLevel;
+import de.cuioss.test.juli.junit5.EnableTestLogger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+import static de.cuioss.portal.configuration.connections.impl.ConnectionMetadataKeys.TRACE_LOG_HISTORY_SIZE;
+import static de.cuioss.portal.configuration.connections.impl.ConnectionMetadataKeys.TRACE_LOG_ON_ERROR;
+import static de.cuioss.portal.configuration.connections.impl.ConnectionMetadataKeys.TRACE_LOG_SAMPLE_RATE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@EnableTestLogger
+@DisplayName("Tests TraceLogSampling")
+class TraceLogSamplingTest {
+
+    @Test
+    @DisplayName("Should be disabled without configuration")
+    void shouldBeDisabledByDefault() {
+        var underTest = TraceLogSampling.fromContextMap(Map.of("key", "value"));
+
+        assertSame(TraceLogSampling.DISABLED, underTest);
+        assertFalse(underTest.isLogging());
+        assertFalse(underTest.sample());
+        assertEquals(0, underTest.getHistorySize());
+    }
+
+    @Test
+    @DisplayName("Should read configuration from context map")
+    void shouldReadContextMap() {
+        var underTest = TraceLogSampling.fromContextMap(Map.of(TRACE_LOG_SAMPLE_RATE, "1.0",
+                TRACE_LOG_ON_ERROR, "true", TRACE_LOG_HISTORY_SIZE, "10"));
+
+        assertEquals(1.0, underTest.getSampleRate());
+        assertTrue(underTest.isOnError());
+        assertEquals(10, underTest.getHistorySize());
+        assertTrue(underTest.isLogging());
+        assertTrue(underTest.sample());
+    }
+
+    @Test
+    @DisplayName("Should ignore and warn on invalid values")
+    void shouldIgnoreInvalidValues() {
+        Map<Serializable, Serializable> contextMap = new HashMap<>();
+        contextMap.put(TRACE_LOG_SAMPLE_RATE, "2.0");
+        contextMap.put(TRACE_LOG_HISTORY_SIZE, "many");
+        var underTest = TraceLogSampling.fromContextMap(contextMap);
+
+        assertEquals(0.0, underTest.getSampleRate());
+        assertEquals(0, underTest.getHistorySize());
+        LogAsserts.assertLogMessagePresentContaining(TestLogLevel.WARN, "PortalMPRestClient-100");
+    }
+
+    @Test
+    @DisplayName("Should sample only on error with rate 0")
+    void shouldOnlyLogOnError() {
+        var underTest = TraceLogSampling.builder().onError(true).build();
+
+        assertTrue(underTest.isLogging());
+        assertFalse(underTest.sample());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid builder values")
+    void shouldRejectInvalidBuilderValues() {
+        var builder = TraceLogSampling.builder().sampleRate(-0.1);
+        assertThrows(IllegalArgumentException.class, builder::build);
+        var sizeBuilder = TraceLogSampling.builder().historySize(-1);
+        assertThrows(IllegalArgumentException.class, sizeBuilder::build);
+    }
+}
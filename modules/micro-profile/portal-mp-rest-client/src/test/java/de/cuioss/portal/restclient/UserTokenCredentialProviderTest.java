@@ -0,0 +1,95 @@
+/*
+ * Copyright © 2025 CUI-OpenSource-Software (info@cuioss.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.cuioss.portal.restclient;
+
+import de.cuioss.portal.configuration.connections.TokenResolver;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.ws.rs.client.ClientRequestContext;
+import jakarta.ws.rs.core.MultivaluedHashMap;
+import org.easymock.EasyMock;
+import org.jboss.weld.junit5.auto.ActivateScopes;
+import org.jboss.weld.junit5.auto.AddBeanClasses;
+import org.jboss.weld.junit5.auto.EnableAutoWeld;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.Serial;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@EnableAutoWeld
+@AddBeanClasses(RequestTokenCache.class)
+@ActivateScopes(RequestScoped.class)
+@DisplayName("Tests UserTokenCredentialProvider")
+class UserTokenCredentialProviderTest {
+
+    @Test
+    @DisplayName("Should resolve token once per request")
+    void shouldResolveOncePerRequest() {
+        var resolver = new CountingResolver("Bearer user");
+        var first = new UserTokenCredentialProvider(resolver);
+        var second = new UserTokenCredentialProvider(resolver);
+
+        assertEquals("Authorization", first.getHeaderName());
+        assertEquals("Bearer user", first.getHeaderValue());
+        assertEquals("Bearer user", first.getHeaderValue());
+        assertEquals("Bearer user", second.getHeaderValue(), "Clients must share the token of the request");
+        assertEquals(1, resolver.calls.get());
+    }
+
+    @Test
+    @DisplayName("Should not add header without user token")
+    void shouldSkipMissingToken() {
+        var resolver = new CountingResolver(null);
+        var filter = new TokenFilter(new UserTokenCredentialProvider(resolver));
+        var headers = new MultivaluedHashMap<String, Object>();
+        ClientRequestContext requestContext = EasyMock.createMock(ClientRequestContext.class);
+        EasyMock.expect(requestContext.getHeaders()).andReturn(headers).anyTimes();
+        EasyMock.replay(requestContext);
+
+        filter.filter(requestContext);
+        filter.filter(requestContext);
+
+        assertFalse(headers.containsKey("Authorization"));
+        assertEquals(1, resolver.calls.get(), "Missing token must be cached as well");
+    }
+
+    static class CountingResolver implements TokenResolver {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final String token;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        CountingResolver(String token) {
+            this.token = token;
+        }
+
+        @Override
+        public String getKey() {
+            return "Authorization";
+        }
+
+        @Override
+        public String resolve() {
+            calls.incrementAndGet();
+            return token;
+        }
+    }
+}